@@ -0,0 +1,119 @@
+package com.hubspot.jinjava.benchmarks;
+
+import com.google.common.base.Strings;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Templates and bindings shared by the benchmarks.
+ */
+final class BenchmarkTemplates {
+
+  static final String SMALL =
+    "<h1>{{ title }}</h1>\n" +
+    "{% if user %}Hello {{ user.name|capitalize }}!{% else %}Hello stranger!{% endif %}";
+
+  private static final String SECTION =
+    "{% set heading = title ~ ' ' ~ loop_index %}\n" +
+    "<section id=\"{{ heading|lower|replace(' ', '-') }}\">\n" +
+    "  <h2>{{ heading|title }}</h2>\n" +
+    "  {% if user and user.name -%}\n" +
+    "    <p>Welcome back, {{ user.name|capitalize }}.</p>\n" +
+    "  {%- elif title is string -%}\n" +
+    "    <p>{{ title|truncate(20) }}</p>\n" +
+    "  {%- endif %}\n" +
+    "  <ul>\n" +
+    "  {% for item in items -%}\n" +
+    "    <li class=\"{{ loop.cycle('odd', 'even') }}\">{{ item.name }}: " +
+    "{{ item.price|round(2) }}</li>\n" +
+    "  {% endfor -%}\n" +
+    "  </ul>\n" +
+    "  {# a comment that the parser has to skip #}\n" +
+    "  {% raw %}{{ not rendered }}{% endraw %}\n" +
+    "</section>\n";
+
+  /**
+   * Roughly the size of a long landing page, with every section using the common
+   * statement and expression shapes.
+   */
+  static final String LARGE = Strings.repeat(SECTION, 200);
+
+  static final String FOR_LOOP =
+    "<ul>\n" +
+    "{% for item in items -%}\n" +
+    "  <li class=\"{{ loop.cycle('odd', 'even') }}\">" +
+    "{{ loop.index }}. {{ item.name|upper }} {{ item.price|round(2) }}" +
+    "{% if not loop.last %},{% endif %}</li>\n" +
+    "{% endfor -%}\n" +
+    "</ul>";
+
+  static final String MACROS =
+    "{% macro price(value, currency='$') -%}\n" +
+    "  {{ currency }}{{ value|round(2) }}\n" +
+    "{%- endmacro %}\n" +
+    "{% macro tag(name) -%}\n" +
+    "  <span class=\"tag\">{{ name|lower }}</span>\n" +
+    "{%- endmacro %}\n" +
+    "{% macro card(item) -%}\n" +
+    "  <div class=\"card\">\n" +
+    "    <h3>{{ item.name|title }}</h3>\n" +
+    "    <p>{{ price(item.price) }}</p>\n" +
+    "    {% for t in item.tags %}{{ tag(t) }}{% endfor %}\n" +
+    "    {{ caller() }}\n" +
+    "  </div>\n" +
+    "{%- endmacro %}\n" +
+    "{% for item in items -%}\n" +
+    "  {% call card(item) %}<a href=\"/items/{{ item.id }}\">more</a>{% endcall %}\n" +
+    "{% endfor %}";
+
+  static final String PAGE =
+    "{% macro nav_link(href, label) -%}\n" +
+    "  <a href=\"{{ href }}\"{% if href == current %} class=\"active\"{% endif %}>" +
+    "{{ label }}</a>\n" +
+    "{%- endmacro %}\n" +
+    "<html>\n" +
+    "<head><title>{{ title|e }}</title></head>\n" +
+    "<body>\n" +
+    "  <nav>{% for link in links %}{{ nav_link(link.href, link.label) }}{% endfor %}</nav>\n" +
+    "  {% set total = items|map(attribute='price')|sum %}\n" +
+    "  <p>{{ items|length }} items, {{ total|round(2) }} in total</p>\n" +
+    "  {% for group in items|groupby('category') -%}\n" +
+    "    <h2>{{ group.grouper|capitalize }}</h2>\n" +
+    "    {% for item in group.list|sort(attribute='name') -%}\n" +
+    "      <p>{{ item.name }} {{ item.tags|join(', ') }}</p>\n" +
+    "    {% endfor %}\n" +
+    "  {%- endfor %}\n" +
+    "</body>\n" +
+    "</html>";
+
+  private BenchmarkTemplates() {}
+
+  static Map<String, Object> bindings(int itemCount) {
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (int i = 0; i < itemCount; i++) {
+      Map<String, Object> item = new HashMap<>();
+      item.put("id", i);
+      item.put("name", "item number " + i);
+      item.put("price", i * 1.25);
+      item.put("category", "category" + (i % 5));
+      item.put("tags", List.of("Tag" + (i % 3), "Tag" + (i % 7)));
+      items.add(item);
+    }
+
+    List<Map<String, Object>> links = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      links.add(Map.of("href", "/page/" + i, "label", "Page " + i));
+    }
+
+    Map<String, Object> bindings = new HashMap<>();
+    bindings.put("title", "A benchmark page");
+    bindings.put("user", Map.of("name", "jinjava"));
+    bindings.put("items", items);
+    bindings.put("links", links);
+    bindings.put("current", "/page/2");
+    bindings.put("loop_index", 1);
+    return bindings;
+  }
+}
@@ -0,0 +1,60 @@
+package com.hubspot.jinjava.benchmarks;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolving common expression shapes with
+ * {@link com.hubspot.jinjava.el.ExpressionResolver#resolveExpression(String)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+  @Param(
+    {
+      "title",
+      "user.name",
+      "items[3].price",
+      "loop_index + 2 * 3",
+      "title ~ ' ' ~ user.name",
+      "user.name == 'jinjava' and items|length > 3",
+      "'/page/2' in links|map(attribute='href')",
+      "title.toUpperCase()",
+      "range(10)",
+      "{'a': title, 'b': [1, 2, 3]}",
+    }
+  )
+  public String expression;
+
+  private JinjavaInterpreter interpreter;
+
+  @Setup
+  public void setup() {
+    interpreter = new Jinjava().newInterpreter();
+    interpreter.getContext().putAll(BenchmarkTemplates.bindings(10));
+  }
+
+  @Benchmark
+  public Object resolveExpression() {
+    try (var a = JinjavaInterpreter.closeablePushCurrent(interpreter).get()) {
+      return interpreter.resolveELExpression(expression, 1);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.hubspot.jinjava.benchmarks;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Nested filter chains, with and without
+ * {@link JinjavaConfig#isEnableFilterChainOptimization()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class FilterChainBenchmark {
+
+  @Param({ "true", "false" })
+  public boolean optimized;
+
+  @Param(
+    {
+      "title|trim",
+      "title|trim|lower|capitalize",
+      "title|upper|replace('A', 'the')|trim|lower|title",
+      "items|map(attribute='name')|select('string')|map('upper')|join(', ')",
+      "items|sort(attribute='price', reverse=true)|map(attribute='name')|first|truncate(5)",
+    }
+  )
+  public String expression;
+
+  private JinjavaInterpreter interpreter;
+
+  @Setup
+  public void setup() {
+    interpreter =
+      new Jinjava(
+        JinjavaConfig.newBuilder().withEnableFilterChainOptimization(optimized).build()
+      )
+        .newInterpreter();
+    interpreter.getContext().putAll(BenchmarkTemplates.bindings(20));
+  }
+
+  @Benchmark
+  public Object resolveFilterChain() {
+    try (var a = JinjavaInterpreter.closeablePushCurrent(interpreter).get()) {
+      return interpreter.resolveELExpression(expression, 1);
+    }
+  }
+}
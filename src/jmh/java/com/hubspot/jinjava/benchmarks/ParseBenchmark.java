@@ -0,0 +1,48 @@
+package com.hubspot.jinjava.benchmarks;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.TreeParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a template into a tree with {@link TreeParser#buildTree()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ParseBenchmark {
+
+  @Param({ "small", "large" })
+  public String template;
+
+  private JinjavaInterpreter interpreter;
+  private String source;
+
+  @Setup
+  public void setup() {
+    interpreter = new Jinjava().newInterpreter();
+    source =
+      "small".equals(template) ? BenchmarkTemplates.SMALL : BenchmarkTemplates.LARGE;
+  }
+
+  @Benchmark
+  public Node buildTree() {
+    return new TreeParser(interpreter, source).buildTree();
+  }
+}
@@ -0,0 +1,78 @@
+package com.hubspot.jinjava.benchmarks;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.cache.DefaultTemplateCache;
+import com.hubspot.jinjava.mode.DefaultExecutionMode;
+import com.hubspot.jinjava.mode.EagerExecutionMode;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering whole templates in the default and eager execution modes. Parsed templates
+ * are cached, so this measures rendering rather than parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+  @Param({ "for_loop", "macros", "page" })
+  public String template;
+
+  @Param({ "default", "eager" })
+  public String executionMode;
+
+  @Param({ "10", "1000" })
+  public int items;
+
+  private Jinjava jinjava;
+  private String source;
+  private Map<String, Object> bindings;
+
+  @Setup
+  public void setup() {
+    jinjava =
+      new Jinjava(
+        JinjavaConfig
+          .newBuilder()
+          .withExecutionMode(
+            "eager".equals(executionMode)
+              ? EagerExecutionMode.instance()
+              : DefaultExecutionMode.instance()
+          )
+          .build()
+      );
+    jinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    switch (template) {
+      case "for_loop":
+        source = BenchmarkTemplates.FOR_LOOP;
+        break;
+      case "macros":
+        source = BenchmarkTemplates.MACROS;
+        break;
+      default:
+        source = BenchmarkTemplates.PAGE;
+    }
+    bindings = BenchmarkTemplates.bindings(items);
+  }
+
+  @Benchmark
+  public String render() {
+    return jinjava.render(source, bindings);
+  }
+}
@@ -15,6 +15,16 @@
  **********************************************************************/
 package com.hubspot.jinjava;
 
+import com.google.common.base.Preconditions;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
+import com.hubspot.jinjava.cache.ExpressionTreeCache;
+import com.hubspot.jinjava.cache.MacroResultCache;
+import com.hubspot.jinjava.cache.ParsedTemplate;
+import com.hubspot.jinjava.cache.PrecompileResult;
+import com.hubspot.jinjava.cache.ResourceCache;
+import com.hubspot.jinjava.cache.TemplateCache;
+import com.hubspot.jinjava.cache.TemplateCacheStats;
+import com.hubspot.jinjava.cache.TemplatePrecompiler;
 import com.hubspot.jinjava.doc.JinjavaDoc;
 import com.hubspot.jinjava.doc.JinjavaDocFactory;
 import com.hubspot.jinjava.el.ExtendedSyntaxBuilder;
@@ -35,15 +45,32 @@ import com.hubspot.jinjava.lib.filter.Filter;
 import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
 import com.hubspot.jinjava.lib.tag.Tag;
 import com.hubspot.jinjava.loader.ClasspathResourceLocator;
+import com.hubspot.jinjava.loader.RelativePathResolver;
 import com.hubspot.jinjava.loader.ResourceLocator;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyGraph;
 import de.odysseus.el.ExpressionFactoryImpl;
 import de.odysseus.el.misc.TypeConverter;
 import de.odysseus.el.tree.TreeBuilder;
+import de.odysseus.el.tree.TreeStore;
+import de.odysseus.el.tree.impl.Builder.Feature;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.el.ExpressionFactory;
 
 /**
@@ -64,7 +91,17 @@ public class Jinjava {
 
   private ExpressionFactory expressionFactory;
   private ExpressionFactory eagerExpressionFactory;
+  private TreeBuilder expressionTreeBuilder;
+  private TreeBuilder eagerExpressionTreeBuilder;
+  private TypeConverter expressionTypeConverter;
+  private ExpressionTreeCache expressionTreeCache;
+  private ExpressionTreeCache eagerExpressionTreeCache;
+  private MacroResultCache macroResultCache;
+  private final CompiledArgumentCache compiledArgumentCache;
   private ResourceLocator resourceLocator;
+  private TemplateCache templateCache = TemplateCache.disabled();
+  private ResourceCache resourceCache = ResourceCache.disabled();
+  private final TemplateDependencyGraph templateDependencyGraph;
 
   private Context globalContext;
   private JinjavaConfig globalConfig;
@@ -86,23 +123,32 @@ public class Jinjava {
     this.globalConfig = globalConfig;
     this.globalContext = new Context();
 
-    Properties expConfig = new Properties();
-
-    expConfig.setProperty(
-      TreeBuilder.class.getName(),
-      ExtendedSyntaxBuilder.class.getName()
-    );
-    Properties eagerExpConfig = new Properties();
-
-    eagerExpConfig.setProperty(
-      TreeBuilder.class.getName(),
-      EagerExtendedSyntaxBuilder.class.getName()
-    );
-    eagerExpConfig.setProperty(ExpressionFactoryImpl.PROP_CACHE_SIZE, "0");
-
-    TypeConverter converter = new TruthyTypeConverter();
-    this.expressionFactory = new ExpressionFactoryImpl(expConfig, converter);
-    this.eagerExpressionFactory = new ExpressionFactoryImpl(eagerExpConfig, converter);
+    // The tree stores are built here, rather than from factory properties, so that the
+    // same builder can parse the expressions which are kept with template trees
+    this.expressionTreeBuilder =
+      new ExtendedSyntaxBuilder(Feature.METHOD_INVOCATIONS, Feature.VARARGS);
+    this.eagerExpressionTreeBuilder =
+      new EagerExtendedSyntaxBuilder(Feature.METHOD_INVOCATIONS, Feature.VARARGS);
+    this.expressionTypeConverter = new TruthyTypeConverter();
+    this.expressionTreeCache =
+      new ExpressionTreeCache(globalConfig.getExpressionCacheSize());
+    this.expressionFactory =
+      new ExpressionFactoryImpl(
+        new TreeStore(expressionTreeBuilder, expressionTreeCache),
+        expressionTypeConverter
+      );
+    this.eagerExpressionTreeCache =
+      new ExpressionTreeCache(globalConfig.getExpressionCacheSize());
+    this.eagerExpressionFactory =
+      new ExpressionFactoryImpl(
+        new TreeStore(eagerExpressionTreeBuilder, eagerExpressionTreeCache),
+        expressionTypeConverter
+      );
+    this.macroResultCache = new MacroResultCache(globalConfig.getMacroResultCacheSize());
+    this.compiledArgumentCache =
+      new CompiledArgumentCache(globalConfig.getCompiledArgumentCacheSize());
+    this.templateDependencyGraph =
+      new TemplateDependencyGraph(globalConfig.getMaxTemplateDependencies());
 
     this.resourceLocator = new ClasspathResourceLocator();
   }
@@ -117,6 +163,65 @@ public class Jinjava {
     this.resourceLocator = resourceLocator;
   }
 
+  /**
+   * Set the cache used to reuse parsed templates across render operations. Caching is
+   * disabled by default.
+   *
+   * @param templateCache
+   *          the cache to use for all templates rendered by this instance
+   */
+  public void setTemplateCache(TemplateCache templateCache) {
+    this.templateCache = templateCache;
+  }
+
+  public TemplateCache getTemplateCache() {
+    return templateCache;
+  }
+
+  /**
+   * Set the cache used to reuse parsed resources, such as the targets of include, import,
+   * from and extends tags, across tag invocations and render operations. Caching is
+   * disabled by default.
+   *
+   * @param resourceCache
+   *          the cache to use for all resources loaded by this instance
+   */
+  public void setResourceCache(ResourceCache resourceCache) {
+    this.resourceCache = resourceCache;
+  }
+
+  public ResourceCache getResourceCache() {
+    return resourceCache;
+  }
+
+  /**
+   * @return Which templates reference which others, by resolved location, as observed
+   *         while rendering or precompiling them with this instance. References are only
+   *         recorded while a resource cache is set, as they're used to invalidate it, and
+   *         only from templates with a known location: resources, and templates rendered
+   *         with a {@value RelativePathResolver#CURRENT_PATH_CONTEXT_KEY} binding. At
+   *         most {@link JinjavaConfig#getMaxTemplateDependencies()} references are kept.
+   */
+  public TemplateDependencyGraph getTemplateDependencyGraph() {
+    return templateDependencyGraph;
+  }
+
+  /**
+   * Evict the resource at the given resolved location from the resource cache, such as
+   * after it has been edited, and find the templates whose output may change as a result.
+   * The parsed trees of those templates don't contain the evicted resource, so they stay
+   * cached; only the output of rendering them, if cached elsewhere, needs to be evicted.
+   *
+   * @param path
+   *          resolved location of the resource which changed
+   * @return The locations of the templates which reference the resource, directly or
+   *         through other templates, according to {@link #getTemplateDependencyGraph()}.
+   */
+  public Set<String> invalidate(String path) {
+    resourceCache.invalidate(path);
+    return templateDependencyGraph.getTransitiveDependents(path);
+  }
+
   /**
    * @return The EL factory used to process expressions in templates by this instance.
    */
@@ -131,6 +236,70 @@ public class Jinjava {
     return eagerExpressionFactory;
   }
 
+  /**
+   * @return Statistics for the cache of expressions parsed by
+   *         {@link #getExpressionFactory()}.
+   */
+  public TemplateCacheStats getExpressionCacheStats() {
+    return expressionTreeCache.getStats();
+  }
+
+  /**
+   * @return Statistics for the cache of expressions parsed by
+   *         {@link #getEagerExpressionFactory()}.
+   */
+  public TemplateCacheStats getEagerExpressionCacheStats() {
+    return eagerExpressionTreeCache.getStats();
+  }
+
+  /**
+   * @return The purity of the macros rendered by this instance, and the results of calls
+   *         to pure macros shared between renders, used when
+   *         {@link JinjavaConfig#isEnableMacroMemoization()} is set.
+   */
+  public MacroResultCache getMacroResultCache() {
+    return macroResultCache;
+  }
+
+  /**
+   * @return The values compiled from the arguments of filters and formatters while
+   *         rendering with this instance, at most
+   *         {@link JinjavaConfig#getCompiledArgumentCacheSize()} of them.
+   */
+  public CompiledArgumentCache getCompiledArgumentCache() {
+    return compiledArgumentCache;
+  }
+
+  /**
+   * @return Statistics for the calls to pure macros whose results were remembered, within
+   *         or between renders.
+   */
+  public TemplateCacheStats getMacroCacheStats() {
+    return macroResultCache.getStats();
+  }
+
+  /**
+   * @return The builder used by {@link #getExpressionFactory()} to parse expressions.
+   */
+  public TreeBuilder getExpressionTreeBuilder() {
+    return expressionTreeBuilder;
+  }
+
+  /**
+   * @return The builder used by {@link #getEagerExpressionFactory()} to parse
+   *         expressions.
+   */
+  public TreeBuilder getEagerExpressionTreeBuilder() {
+    return eagerExpressionTreeBuilder;
+  }
+
+  /**
+   * @return The type converter used by the EL factories of this instance.
+   */
+  public TypeConverter getExpressionTypeConverter() {
+    return expressionTypeConverter;
+  }
+
   /**
    * @return The global config used as a base for all render operations performed by this instance.
    */
@@ -182,7 +351,31 @@ public class Jinjava {
    */
   public String render(String template, Map<String, ?> bindings) {
     RenderResult result = renderForResult(template, bindings);
+    throwIfFatal(template, result);
+    return result.getOutput();
+  }
+
+  /**
+   * Render the given template using the given context bindings, writing the output to the
+   * given appendable (such as a {@link java.io.Writer}) instead of returning it. Output
+   * already written when a fatal error is encountered is not taken back. See
+   * {@link JinjavaInterpreter#render(String, Appendable)} for when output is written as
+   * it is rendered rather than once the whole template has been rendered.
+   *
+   * @param template
+   *          jinja source template
+   * @param bindings
+   *          map of objects to put into scope for this rendering action
+   * @param output
+   *          destination for the rendered template
+   * @throws InterpretException
+   *           if any syntax errors were encountered during rendering
+   */
+  public void render(String template, Map<String, ?> bindings, Appendable output) {
+    throwIfFatal(template, renderForResult(template, bindings, globalConfig, output));
+  }
 
+  private static void throwIfFatal(String template, RenderResult result) {
     List<TemplateError> fatalErrors = result
       .getErrors()
       .stream()
@@ -192,8 +385,6 @@ public class Jinjava {
     if (!fatalErrors.isEmpty()) {
       throw new FatalTemplateErrorsException(template, fatalErrors);
     }
-
-    return result.getOutput();
   }
 
   /**
@@ -226,6 +417,162 @@ public class Jinjava {
     String template,
     Map<String, ?> bindings,
     JinjavaConfig renderConfig
+  ) {
+    return renderForResult(
+      template,
+      bindings,
+      renderConfig,
+      interpreter -> stripTrailingNewlineIfNeeded(interpreter.render(template))
+    );
+  }
+
+  /**
+   * Render the given template using the given context bindings, writing the output to the
+   * given appendable (such as a {@link java.io.Writer}) rather than building up a single
+   * string. Like {@link #renderForResult(String, Map, JinjavaConfig)} this method will
+   * not throw any exceptions, including those thrown by the appendable; the output of the
+   * returned result is always empty.
+   *
+   * @param template
+   *          jinja source template
+   * @param bindings
+   *          map of objects to put into scope for this rendering action
+   * @param renderConfig
+   *          used to override specific config values for this render operation
+   * @param output
+   *          destination for the rendered template
+   * @return result object containing render context and any encountered errors
+   */
+  public RenderResult renderForResult(
+    String template,
+    Map<String, ?> bindings,
+    JinjavaConfig renderConfig,
+    Appendable output
+  ) {
+    return renderForResult(
+      template,
+      bindings,
+      renderConfig,
+      interpreter -> {
+        interpreter.render(
+          template,
+          globalConfig.isKeepTrailingNewline()
+            ? output
+            : new TrailingNewlineStrippingAppendable(output)
+        );
+        return "";
+      }
+    );
+  }
+
+  /**
+   * Load and parse the given templates through the resource locator ahead of their first
+   * render, so they can be rendered without waiting for that. Templates which they
+   * include, import, extend or import from are precompiled too, when their location is a
+   * string literal. Parsed templates are kept in the resource cache, so precompiling only
+   * saves later work when one is set with {@link #setResourceCache(ResourceCache)}; a
+   * warning is logged otherwise. A template which can't be resolved, loaded or parsed is
+   * reported in the result, and the others are still precompiled.
+   *
+   * @param paths
+   *          locations of the templates to precompile, as used in an include tag
+   * @param executor
+   *          loads and parses the templates, which is done in parallel
+   * @return how long each template took to parse, and any errors encountered
+   */
+  public PrecompileResult precompile(Collection<String> paths, Executor executor) {
+    return TemplatePrecompiler.precompile(this, paths, executor);
+  }
+
+  /**
+   * Render the given template once for each of the given sets of bindings, with up to one
+   * render per available processor in progress on the given executor. See
+   * {@link #renderAll(String, Stream, Executor, int)}.
+   */
+  public Stream<RenderResult> renderAll(
+    String template,
+    Stream<? extends Map<String, ?>> bindings,
+    Executor executor
+  ) {
+    return renderAll(
+      template,
+      bindings,
+      executor,
+      Runtime.getRuntime().availableProcessors()
+    );
+  }
+
+  /**
+   * Render the given template once for each of the given sets of bindings, on the given
+   * executor. The template is parsed once, and the parsed tree is shared by every render,
+   * so only the rendering itself is done per set of bindings.
+   *
+   * <p>The bindings are read, and their renders submitted to the executor, as the
+   * returned stream is consumed, with at most {@code maxConcurrency} renders in progress
+   * or waiting to be consumed at any time. The results are in the same order as the
+   * bindings. Like {@link #renderForResult(String, Map)}, renders don't throw; errors are
+   * reported in each result, including any errors found while parsing the template.
+   *
+   * <p>Closing the returned stream cancels the renders which have been submitted but not
+   * started yet; renders already in progress run to completion. A stream which isn't
+   * consumed to the end, such as by {@link Stream#findFirst()}, should be closed, for
+   * example with a try-with-resources statement.
+   *
+   * @param template
+   *          jinja source template
+   * @param bindings
+   *          the bindings for each render, which is closed along with the returned stream
+   * @param executor
+   *          runs the renders, such as a fixed thread pool or a virtual thread per task
+   * @param maxConcurrency
+   *          maximum number of renders submitted to the executor and not yet consumed
+   * @return the result of each render, in the order of the bindings
+   */
+  public Stream<RenderResult> renderAll(
+    String template,
+    Stream<? extends Map<String, ?>> bindings,
+    Executor executor,
+    int maxConcurrency
+  ) {
+    Preconditions.checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    ParsedTemplate parsedTemplate = newInterpreter().parseForReuse(template);
+    OrderedRenderIterator results = new OrderedRenderIterator(
+      bindings.iterator(),
+      renderBindings ->
+        CompletableFuture.supplyAsync(
+          () ->
+            renderForResult(
+              template,
+              renderBindings,
+              globalConfig,
+              interpreter -> {
+                interpreter.reportParseErrors(parsedTemplate);
+                return stripTrailingNewlineIfNeeded(
+                  interpreter.render(parsedTemplate.getRoot())
+                );
+              }
+            ),
+          executor
+        ),
+      maxConcurrency
+    );
+    return StreamSupport
+      .stream(
+        Spliterators.spliteratorUnknownSize(
+          results,
+          Spliterator.ORDERED | Spliterator.NONNULL
+        ),
+        false
+      )
+      .onClose(results::cancel)
+      .onClose(bindings::close);
+  }
+
+  private RenderResult renderForResult(
+    String template,
+    Map<String, ?> bindings,
+    JinjavaConfig renderConfig,
+    RenderFunction renderFunction
   ) {
     Context context;
     JinjavaInterpreter parentInterpreter = JinjavaInterpreter.getCurrent();
@@ -249,47 +596,55 @@ public class Jinjava {
       JinjavaInterpreter interpreter = globalConfig
         .getInterpreterFactory()
         .newInstance(this, context, renderConfig);
-      try {
-        String result = stripTrailingNewlineIfNeeded(interpreter.render(template));
-        return new RenderResult(
-          result,
-          interpreter.getContext(),
-          interpreter.getErrorsCopy()
-        );
-      } catch (InterpretException e) {
-        if (e instanceof TemplateSyntaxException) {
-          return new RenderResult(
-            TemplateError.fromException((TemplateSyntaxException) e),
-            interpreter.getContext(),
-            interpreter.getErrorsCopy()
-          );
-        }
-        return new RenderResult(
-          TemplateError.fromSyntaxError(e),
-          interpreter.getContext(),
-          interpreter.getErrorsCopy()
-        );
-      } catch (InvalidArgumentException e) {
-        return new RenderResult(
-          TemplateError.fromInvalidArgumentException(e),
-          interpreter.getContext(),
-          interpreter.getErrorsCopy()
-        );
-      } catch (InvalidInputException e) {
-        return new RenderResult(
-          TemplateError.fromInvalidInputException(e),
-          interpreter.getContext(),
-          interpreter.getErrorsCopy()
-        );
-      } catch (Exception e) {
+      RenderResult result = renderForResult(interpreter, renderFunction);
+      return interpreter.getRenderProfile().map(result::withRenderProfile).orElse(result);
+    } finally {
+      globalContext.reset();
+    }
+  }
+
+  private RenderResult renderForResult(
+    JinjavaInterpreter interpreter,
+    RenderFunction renderFunction
+  ) {
+    try {
+      String result = renderFunction.render(interpreter);
+      return new RenderResult(
+        result,
+        interpreter.getContext(),
+        interpreter.getErrorsCopy()
+      );
+    } catch (InterpretException e) {
+      if (e instanceof TemplateSyntaxException) {
         return new RenderResult(
-          TemplateError.fromException(e),
+          TemplateError.fromException((TemplateSyntaxException) e),
           interpreter.getContext(),
           interpreter.getErrorsCopy()
         );
       }
-    } finally {
-      globalContext.reset();
+      return new RenderResult(
+        TemplateError.fromSyntaxError(e),
+        interpreter.getContext(),
+        interpreter.getErrorsCopy()
+      );
+    } catch (InvalidArgumentException e) {
+      return new RenderResult(
+        TemplateError.fromInvalidArgumentException(e),
+        interpreter.getContext(),
+        interpreter.getErrorsCopy()
+      );
+    } catch (InvalidInputException e) {
+      return new RenderResult(
+        TemplateError.fromInvalidInputException(e),
+        interpreter.getContext(),
+        interpreter.getErrorsCopy()
+      );
+    } catch (Exception e) {
+      return new RenderResult(
+        TemplateError.fromException(e),
+        interpreter.getContext(),
+        interpreter.getErrorsCopy()
+      );
     }
   }
 
@@ -318,6 +673,9 @@ public class Jinjava {
 
   public void registerTag(Tag t) {
     globalContext.registerTag(t);
+    // previously parsed templates may have resolved this tag's name to another tag
+    templateCache.invalidateAll();
+    resourceCache.invalidateAll();
   }
 
   public void registerFunction(ELFunctionDefinition f) {
@@ -343,13 +701,125 @@ public class Jinjava {
     return bindingsWithParentContext;
   }
 
+  private interface RenderFunction {
+    String render(JinjavaInterpreter interpreter) throws IOException;
+  }
+
+  /**
+   * Holds back a trailing newline until something else is appended after it, so that the
+   * final newline of the output is never written.
+   */
+  private static class TrailingNewlineStrippingAppendable implements Appendable {
+
+    private final Appendable delegate;
+    private boolean pendingNewline = false;
+
+    private TrailingNewlineStrippingAppendable(Appendable delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      if (csq == null) {
+        return append("null");
+      }
+      if (csq.length() > 0) {
+        writePendingNewline();
+        if (csq.charAt(csq.length() - 1) == '\n') {
+          delegate.append(csq, 0, csq.length() - 1);
+          pendingNewline = true;
+        } else {
+          delegate.append(csq);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      return append((csq == null ? "null" : csq).subSequence(start, end));
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      writePendingNewline();
+      if (c == '\n') {
+        pendingNewline = true;
+      } else {
+        delegate.append(c);
+      }
+      return this;
+    }
+
+    private void writePendingNewline() throws IOException {
+      if (pendingNewline) {
+        delegate.append('\n');
+        pendingNewline = false;
+      }
+    }
+  }
+
+  /**
+   * Starts renders as their results are consumed, keeping a bounded number in flight, and
+   * returns the results in the order the renders were started. Once cancelled, no more
+   * renders are started.
+   */
+  private static class OrderedRenderIterator implements Iterator<RenderResult> {
+
+    private final Iterator<? extends Map<String, ?>> bindings;
+    private final Function<Map<String, ?>, CompletableFuture<RenderResult>> render;
+    private final int maxInFlight;
+    private final Deque<CompletableFuture<RenderResult>> inFlight = new ArrayDeque<>();
+    private boolean cancelled = false;
+
+    private OrderedRenderIterator(
+      Iterator<? extends Map<String, ?>> bindings,
+      Function<Map<String, ?>, CompletableFuture<RenderResult>> render,
+      int maxInFlight
+    ) {
+      this.bindings = bindings;
+      this.render = render;
+      this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public boolean hasNext() {
+      startRenders();
+      return !inFlight.isEmpty();
+    }
+
+    @Override
+    public RenderResult next() {
+      startRenders();
+      if (inFlight.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      return inFlight.poll().join();
+    }
+
+    private void startRenders() {
+      try {
+        while (!cancelled && inFlight.size() < maxInFlight && bindings.hasNext()) {
+          inFlight.add(render.apply(bindings.next()));
+        }
+      } catch (RuntimeException e) {
+        cancel();
+        throw e;
+      }
+    }
+
+    private void cancel() {
+      cancelled = true;
+      CompletableFuture<RenderResult> result;
+      while ((result = inFlight.poll()) != null) {
+        // renders which haven't started are skipped, running ones aren't interrupted
+        result.cancel(false);
+      }
+    }
+  }
+
   private Context copyGlobalContext() {
-    Context context = new Context(null, globalContext);
-    // copy registered.
-    globalContext.getAllExpTests().forEach(context::registerExpTest);
-    globalContext.getAllFilters().forEach(context::registerFilter);
-    globalContext.getAllFunctions().forEach(context::registerFunction);
-    globalContext.getAllTags().forEach(context::registerTag);
+    Context context = Context.withLibrariesOf(globalContext, globalContext);
     context.setAutoEscape(globalContext.isAutoEscape());
     context.setDynamicVariableResolver(globalContext.getDynamicVariableResolver());
     return context;
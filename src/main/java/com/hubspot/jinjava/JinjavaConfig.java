@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
 import com.hubspot.jinjava.el.JinjavaInterpreterResolver;
 import com.hubspot.jinjava.el.JinjavaObjectUnwrapper;
 import com.hubspot.jinjava.el.JinjavaProcessors;
@@ -159,6 +160,15 @@ public class JinjavaConfig {
     return 1000;
   }
 
+  /**
+   * The maximum number of parsed expressions cached by each of the expression factories
+   * of a {@link Jinjava} instance, for default and for eager execution.
+   */
+  @Value.Default
+  public int getExpressionCacheSize() {
+    return 1000;
+  }
+
   @Value.Default
   public InterpreterFactory getInterpreterFactory() {
     return new JinjavaInterpreterFactory();
@@ -216,6 +226,85 @@ public class JinjavaConfig {
     return false;
   }
 
+  /**
+   * When {@code true}, the bindings and macros produced by an {@code import} tag are
+   * remembered for the rest of the render, keyed by resolved template path and alias,
+   * so importing the same template again does not render it again. Imports which
+   * produce deferred nodes are never remembered.
+   *
+   * <p>Only templates which read no variables from the context they're imported into,
+   * and which don't include or import other templates, are remembered, as their result
+   * would otherwise depend on where they're imported. This is decided statically, and a
+   * variable which may be read before the template sets it counts as read from the
+   * importing context. Remembered bindings are copied for each import, and a
+   * template which binds anything other than strings, numbers, booleans, macros, and
+   * lists and dicts of those isn't remembered.
+   */
+  @Value.Default
+  public boolean isEnableImportMemoization() {
+    return false;
+  }
+
+  /**
+   * When {@code true}, the output of a call to a pure macro is remembered for the rest of
+   * the render, keyed by the values of its arguments, so calling it again with the same
+   * arguments does not render its body again. A macro is pure when its body only reads
+   * its own arguments and doesn't call other macros, {@code caller()}, or filters and
+   * functions which depend on the current time or on random numbers. Only calls whose
+   * arguments are all strings, numbers, booleans or {@code null} are remembered, and
+   * never in eager execution mode.
+   *
+   * <p>Functions and filters registered by the application are assumed to return the
+   * same result for the same input.
+   */
+  @Value.Default
+  public boolean isEnableMacroMemoization() {
+    return false;
+  }
+
+  /**
+   * The maximum number of pure macro call results shared between the renders of a
+   * {@link Jinjava} instance, when {@link #isEnableMacroMemoization()} is set. Results
+   * are only shared between renders of the same parsed templates, so the templates
+   * should be cached, such as with {@link Jinjava#setTemplateCache}. {@code 0} disables
+   * sharing, so results are only remembered within a render.
+   */
+  @Value.Default
+  public int getMacroResultCacheSize() {
+    return 0;
+  }
+
+  /**
+   * The maximum number of references between templates kept in the template dependency
+   * graph of a {@link Jinjava} instance, which is only recorded while a resource cache is
+   * set. Once full, templates whose references can't all be recorded are treated as
+   * referencing every template, so they're always invalidated.
+   */
+  @Value.Default
+  public int getMaxTemplateDependencies() {
+    return 100_000;
+  }
+
+  /**
+   * The maximum number of values which filters and formatters compile from their
+   * arguments, such as regular expressions and date formatters, cached by a
+   * {@link Jinjava} instance. {@code 0} disables caching them.
+   */
+  @Value.Default
+  public int getCompiledArgumentCacheSize() {
+    return CompiledArgumentCache.DEFAULT_MAXIMUM_SIZE;
+  }
+
+  /**
+   * Record the time spent in each tag, expression, macro call, filter and include of a
+   * render, which is then available from
+   * {@link com.hubspot.jinjava.interpret.RenderResult#getRenderProfile()}.
+   */
+  @Value.Default
+  public boolean isEnableRenderProfiling() {
+    return false;
+  }
+
   /**
    * When {@code false}, a single trailing newline is stripped from the rendered output,
    * matching Python Jinja2's default.
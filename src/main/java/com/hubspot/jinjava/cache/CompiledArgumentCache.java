@@ -0,0 +1,126 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, thread-safe cache of what filters and formatters compile from their
+ * arguments, such as regular expressions and date formatters, so that calling them in a
+ * loop doesn't compile the same argument on every call. Values are keyed by the name of
+ * what compiled them, the argument and the locale they were compiled for.
+ *
+ * <p>Only immutable values should be cached. Mutable ones, such as a
+ * {@link java.text.NumberFormat}, can be cached as a prototype which is cloned for
+ * each use.
+ */
+public class CompiledArgumentCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 5000;
+
+  private static final CompiledArgumentCache DEFAULT = new CompiledArgumentCache(
+    DEFAULT_MAXIMUM_SIZE
+  );
+
+  private final Cache<Key, Object> cache;
+
+  public CompiledArgumentCache(long maximumSize) {
+    Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+    cache = CacheBuilder.newBuilder().recordStats().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * @return The cache of the {@link com.hubspot.jinjava.Jinjava} instance rendering on
+   *         this thread, or a cache of {@value #DEFAULT_MAXIMUM_SIZE} values shared
+   *         outside of rendering.
+   */
+  public static CompiledArgumentCache getCurrent() {
+    return JinjavaInterpreter
+      .getCurrentMaybe()
+      .map(JinjavaInterpreter::getCompiledArgumentCache)
+      .orElse(DEFAULT);
+  }
+
+  /**
+   * @param owner
+   *          the name of what compiles the argument, such as the name of a filter
+   * @param argument
+   *          the argument to compile
+   * @param locale
+   *          the locale the argument is compiled for, or {@code null}
+   * @param compiler
+   *          compiles the argument if it isn't cached yet, which mustn't return
+   *          {@code null}. It's only called once for concurrent requests for the same
+   *          argument. Anything it throws is passed on to the caller, and nothing is
+   *          cached.
+   * @return The cached value, or the newly compiled one.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String owner, Object argument, Locale locale, Supplier<T> compiler) {
+    try {
+      return (T) cache.get(new Key(owner, argument, locale), compiler::get);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  public TemplateCacheStats getStats() {
+    CacheStats stats = cache.stats();
+    return new TemplateCacheStats(
+      stats.hitCount(),
+      stats.missCount(),
+      stats.evictionCount(),
+      cache.size()
+    );
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static final class Key {
+
+    private final String owner;
+    private final Object argument;
+    private final Locale locale;
+    private final int hashCode;
+
+    private Key(String owner, Object argument, Locale locale) {
+      this.owner = owner;
+      this.argument = argument;
+      this.locale = locale;
+      this.hashCode = Objects.hash(owner, argument, locale);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) o;
+      return (
+        hashCode == that.hashCode &&
+        owner.equals(that.owner) &&
+        Objects.equals(argument, that.argument) &&
+        Objects.equals(locale, that.locale)
+      );
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded {@link ResourceCache} which evicts the least recently used resources once the
+ * number of cached resources exceeds the configured maximum.
+ *
+ * A cached resource is reloaded when its locator reports a different version than the one
+ * it was cached with, or, if a time to live is configured, once that long has passed
+ * since it was loaded. The version of a cached resource is checked at most once per
+ * {@link Builder#withVersionCheckInterval version check interval}, so a resource used
+ * repeatedly, such as an include in a loop, isn't looked up again each time.
+ *
+ * A resource whose locator can't report its version is only cached for the
+ * {@link Builder#withUnversionedTimeToLive unversioned time to live}, unless it is
+ * invalidated sooner.
+ */
+public class DefaultResourceCache implements ResourceCache {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+  public static final Duration DEFAULT_VERSION_CHECK_INTERVAL = Duration.ofSeconds(1);
+  public static final Duration DEFAULT_UNVERSIONED_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+  private final Cache<ResourceCacheKey, CachedResource> cache;
+  private final long versionCheckIntervalNanos;
+  private final long unversionedTimeToLiveNanos;
+  private final Ticker ticker;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  private DefaultResourceCache(Builder builder) {
+    CacheBuilder<Object, Object> cacheBuilder = CacheBuilder
+      .newBuilder()
+      .recordStats()
+      .ticker(builder.ticker)
+      .maximumSize(builder.maximumSize);
+    if (builder.timeToLive != null) {
+      cacheBuilder.expireAfterWrite(builder.timeToLive);
+    }
+    cache = cacheBuilder.build();
+    versionCheckIntervalNanos = builder.versionCheckInterval.toNanos();
+    unversionedTimeToLiveNanos = builder.unversionedTimeToLive.toNanos();
+    ticker = builder.ticker;
+  }
+
+  @Override
+  public ParsedTemplate get(ResourceCacheKey key, ResourceLoader loader)
+    throws IOException {
+    long now = ticker.read();
+    CachedResource cachedResource = cache.getIfPresent(key);
+    Optional<String> version = null;
+    if (cachedResource != null) {
+      if (cachedResource.version.isEmpty()) {
+        if (now - cachedResource.loadedAt < unversionedTimeToLiveNanos) {
+          hitCount.increment();
+          return cachedResource.parsedTemplate;
+        }
+      } else if (now - cachedResource.checkedAt < versionCheckIntervalNanos) {
+        hitCount.increment();
+        return cachedResource.parsedTemplate;
+      } else {
+        version = loader.getVersion();
+        if (cachedResource.version.equals(version)) {
+          cachedResource.checkedAt = now;
+          hitCount.increment();
+          return cachedResource.parsedTemplate;
+        }
+      }
+      // only removes the stale resource, not one which another render just reloaded
+      cache.asMap().remove(key, cachedResource);
+    }
+    if (version == null) {
+      version = loader.getVersion();
+    }
+    if (version.isEmpty() && unversionedTimeToLiveNanos == 0) {
+      missCount.increment();
+      return loader.load();
+    }
+    Optional<String> loadedVersion = version;
+    AtomicBoolean loaded = new AtomicBoolean();
+    CachedResource loadedResource;
+    try {
+      // concurrent requests for the same resource wait for a single load
+      loadedResource =
+        cache.get(
+          key,
+          () -> {
+            loaded.set(true);
+            ParsedTemplate parsedTemplate = loader.load();
+            parsedTemplate.getRoot().freeze();
+            return new CachedResource(parsedTemplate, loadedVersion, now);
+          }
+        );
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+    (loaded.get() ? missCount : hitCount).increment();
+    return loadedResource.parsedTemplate;
+  }
+
+  @Override
+  public void invalidate(String path) {
+    cache.asMap().keySet().removeIf(key -> key.getPath().equals(path));
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public TemplateCacheStats getStats() {
+    return new TemplateCacheStats(
+      hitCount.sum(),
+      missCount.sum(),
+      cache.stats().evictionCount(),
+      cache.size()
+    );
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  private static class CachedResource {
+
+    private final ParsedTemplate parsedTemplate;
+    private final Optional<String> version;
+    private final long loadedAt;
+    // when the version was last found to be unchanged; racing updates are harmless
+    private volatile long checkedAt;
+
+    private CachedResource(
+      ParsedTemplate parsedTemplate,
+      Optional<String> version,
+      long loadedAt
+    ) {
+      this.parsedTemplate = parsedTemplate;
+      this.version = version;
+      this.loadedAt = loadedAt;
+      this.checkedAt = loadedAt;
+    }
+  }
+
+  public static class Builder {
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration timeToLive;
+    private Duration versionCheckInterval = DEFAULT_VERSION_CHECK_INTERVAL;
+    private Duration unversionedTimeToLive = DEFAULT_UNVERSIONED_TIME_TO_LIVE;
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Builder() {}
+
+    /**
+     * Limit the number of cached resources.
+     */
+    public Builder withMaximumSize(long maximumSize) {
+      Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Reload resources once this long has passed since they were loaded, regardless of
+     * whether their locator reports a new version.
+     */
+    public Builder withTimeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * Reuse a cached resource without asking its locator for its version again until
+     * this long has passed since its version was last checked. A zero interval checks the
+     * version every time the resource is used.
+     */
+    public Builder withVersionCheckInterval(Duration versionCheckInterval) {
+      Preconditions.checkArgument(
+        !versionCheckInterval.isNegative(),
+        "versionCheckInterval must not be negative"
+      );
+      this.versionCheckInterval = versionCheckInterval;
+      return this;
+    }
+
+    /**
+     * Reload resources whose locator can't report their version once this long has passed
+     * since they were loaded. A zero time to live doesn't cache them at all.
+     */
+    public Builder withUnversionedTimeToLive(Duration unversionedTimeToLive) {
+      Preconditions.checkArgument(
+        !unversionedTimeToLive.isNegative(),
+        "unversionedTimeToLive must not be negative"
+      );
+      this.unversionedTimeToLive = unversionedTimeToLive;
+      return this;
+    }
+
+    /**
+     * The time source used to expire resources and to decide when to check their
+     * versions again.
+     */
+    public Builder withTicker(Ticker ticker) {
+      this.ticker = Preconditions.checkNotNull(ticker);
+      return this;
+    }
+
+    public DefaultResourceCache build() {
+      return new DefaultResourceCache(this);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A bounded {@link TemplateCache} which evicts the least recently used templates once
+ * either the number of cached templates or their combined source length exceeds the
+ * configured maximum.
+ */
+public class DefaultTemplateCache implements TemplateCache {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+  private final Cache<TemplateCacheKey, ParsedTemplate> cache;
+
+  private DefaultTemplateCache(Builder builder) {
+    if (builder.maximumWeight > 0) {
+      cache =
+        CacheBuilder
+          .newBuilder()
+          .recordStats()
+          .maximumWeight(builder.maximumWeight)
+          .weigher(
+            (Weigher<TemplateCacheKey, ParsedTemplate>) (key, value) ->
+              key.getTemplate().length()
+          )
+          .build();
+    } else {
+      cache =
+        CacheBuilder.newBuilder().recordStats().maximumSize(builder.maximumSize).build();
+    }
+  }
+
+  @Override
+  public ParsedTemplate get(
+    TemplateCacheKey key,
+    Function<TemplateCacheKey, ParsedTemplate> parser
+  ) {
+    try {
+      // concurrent requests for the same template wait for a single parse
+      return cache.get(key, () -> freeze(parser.apply(key)));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @Override
+  public void put(TemplateCacheKey key, ParsedTemplate parsedTemplate) {
+    cache.put(key, freeze(parsedTemplate));
+  }
+
+  private static ParsedTemplate freeze(ParsedTemplate parsedTemplate) {
+    parsedTemplate.getRoot().freeze();
+    return parsedTemplate;
+  }
+
+  @Override
+  public Map<TemplateCacheKey, ParsedTemplate> asMap() {
+    return ImmutableMap.copyOf(cache.asMap());
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public TemplateCacheStats getStats() {
+    CacheStats stats = cache.stats();
+    return new TemplateCacheStats(
+      stats.hitCount(),
+      stats.missCount(),
+      stats.evictionCount(),
+      cache.size()
+    );
+  }
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private long maximumWeight = 0;
+
+    private Builder() {}
+
+    /**
+     * Limit the number of cached templates.
+     */
+    public Builder withMaximumSize(long maximumSize) {
+      Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Limit the combined length of the sources of all cached templates. Takes precedence
+     * over {@link #withMaximumSize(long)}.
+     */
+    public Builder withMaximumWeight(long maximumWeight) {
+      Preconditions.checkArgument(
+        maximumWeight >= 0,
+        "maximumWeight must not be negative"
+      );
+      this.maximumWeight = maximumWeight;
+      return this;
+    }
+
+    public DefaultTemplateCache build() {
+      return new DefaultTemplateCache(this);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.TreeCache;
+
+/**
+ * A bounded, thread-safe cache of parsed EL expression trees, used by the expression
+ * factories of a {@link com.hubspot.jinjava.Jinjava} instance. The least recently used
+ * trees are evicted once the maximum size is reached.
+ */
+public class ExpressionTreeCache implements TreeCache {
+
+  private final Cache<String, Tree> cache;
+
+  public ExpressionTreeCache(long maximumSize) {
+    Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+    cache = CacheBuilder.newBuilder().recordStats().maximumSize(maximumSize).build();
+  }
+
+  @Override
+  public Tree get(String expression) {
+    return cache.getIfPresent(expression);
+  }
+
+  @Override
+  public void put(String expression, Tree tree) {
+    cache.put(expression, tree);
+  }
+
+  public TemplateCacheStats getStats() {
+    CacheStats stats = cache.stats();
+    return new TemplateCacheStats(
+      stats.hitCount(),
+      stats.missCount(),
+      stats.evictionCount(),
+      cache.size()
+    );
+  }
+}
@@ -0,0 +1,137 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.tree.Node;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Identifies a call to a pure macro by the body of the macro, the values it was called
+ * with, and the settings of the render which affect its output. The body and the config
+ * are compared by identity.
+ */
+public final class MacroCacheKey {
+
+  // immutable types whose equal values always render the same way
+  private static final Set<Class<?>> CACHEABLE_TYPES = ImmutableSet.of(
+    String.class,
+    Boolean.class,
+    Character.class,
+    Byte.class,
+    Short.class,
+    Integer.class,
+    Long.class,
+    Float.class,
+    Double.class,
+    BigInteger.class,
+    BigDecimal.class
+  );
+
+  private final List<Node> content;
+  private final JinjavaConfig config;
+  private final boolean autoEscape;
+  private final List<Object> args;
+  private final Map<String, Object> kwargs;
+  private final List<Object> varArgs;
+  private final int hashCode;
+
+  private MacroCacheKey(
+    List<Node> content,
+    JinjavaConfig config,
+    boolean autoEscape,
+    List<Object> args,
+    Map<String, Object> kwargs,
+    List<Object> varArgs
+  ) {
+    this.content = content;
+    this.config = config;
+    this.autoEscape = autoEscape;
+    this.args = args;
+    this.kwargs = kwargs;
+    this.varArgs = varArgs;
+    this.hashCode =
+      Objects.hash(
+        System.identityHashCode(content),
+        System.identityHashCode(config),
+        autoEscape,
+        args,
+        kwargs,
+        varArgs
+      );
+  }
+
+  /**
+   * @return The key for a call with the given argument values, or empty if any of them
+   *         isn't a string, number, boolean or {@code null}, as other values may be
+   *         mutated or may not be comparable.
+   */
+  public static Optional<MacroCacheKey> of(
+    List<Node> content,
+    Map<String, Object> argMap,
+    Map<String, Object> kwargMap,
+    List<Object> varArgs,
+    JinjavaInterpreter interpreter
+  ) {
+    if (
+      !isCacheable(argMap.values()) ||
+      !isCacheable(kwargMap.values()) ||
+      !isCacheable(varArgs)
+    ) {
+      return Optional.empty();
+    }
+    return Optional.of(
+      new MacroCacheKey(
+        content,
+        interpreter.getConfig(),
+        interpreter.getContext().isAutoEscape(),
+        new ArrayList<>(argMap.values()),
+        new HashMap<>(kwargMap),
+        new ArrayList<>(varArgs)
+      )
+    );
+  }
+
+  private static boolean isCacheable(Collection<Object> values) {
+    for (Object value : values) {
+      if (value != null && !CACHEABLE_TYPES.contains(value.getClass())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MacroCacheKey that = (MacroCacheKey) o;
+    return (
+      hashCode == that.hashCode &&
+      content == that.content &&
+      config == that.config &&
+      autoEscape == that.autoEscape &&
+      args.equals(that.args) &&
+      kwargs.equals(that.kwargs) &&
+      varArgs.equals(that.varArgs)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
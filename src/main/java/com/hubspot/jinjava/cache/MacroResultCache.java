@@ -0,0 +1,226 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.fn.MacroFunction;
+import com.hubspot.jinjava.lib.tag.AutoEscapeTag;
+import com.hubspot.jinjava.lib.tag.BreakTag;
+import com.hubspot.jinjava.lib.tag.ContinueTag;
+import com.hubspot.jinjava.lib.tag.CycleTag;
+import com.hubspot.jinjava.lib.tag.DoTag;
+import com.hubspot.jinjava.lib.tag.ElseIfTag;
+import com.hubspot.jinjava.lib.tag.ElseTag;
+import com.hubspot.jinjava.lib.tag.ForTag;
+import com.hubspot.jinjava.lib.tag.IfTag;
+import com.hubspot.jinjava.lib.tag.PrintTag;
+import com.hubspot.jinjava.lib.tag.RawTag;
+import com.hubspot.jinjava.lib.tag.SetTag;
+import com.hubspot.jinjava.lib.tag.UnlessTag;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencies;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyAnalyzer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers which macro bodies are pure, and the output of calls to pure macros shared
+ * between the renders of a {@link com.hubspot.jinjava.Jinjava} instance, when
+ * {@link com.hubspot.jinjava.JinjavaConfig#isEnableMacroMemoization()} is set. The
+ * results of the calls made within a render are kept by its interpreter, while the hit
+ * and miss counts of both are recorded here.
+ */
+public class MacroResultCache {
+
+  // tags which only affect the output of the body they're in
+  private static final Set<String> PURE_TAGS = ImmutableSet.of(
+    IfTag.TAG_NAME,
+    ElseIfTag.TAG_NAME,
+    ElseTag.TAG_NAME,
+    UnlessTag.TAG_NAME,
+    ForTag.TAG_NAME,
+    BreakTag.TAG_NAME,
+    ContinueTag.TAG_NAME,
+    CycleTag.TAG_NAME,
+    SetTag.TAG_NAME,
+    DoTag.TAG_NAME,
+    PrintTag.TAG_NAME,
+    RawTag.TAG_NAME,
+    AutoEscapeTag.TAG_NAME
+  );
+  // built in filters and functions which depend on the current time, random numbers or
+  // the context they're called in, such as by rendering their input as a template
+  private static final Set<String> IMPURE_FILTERS = ImmutableSet.of(
+    "render",
+    "striptags",
+    "random",
+    "shuffle",
+    "datetimeformat",
+    "format_date",
+    "format_time",
+    "format_datetime",
+    "unixtimestamp",
+    "between_times",
+    "plus_time",
+    "minus_time"
+  );
+  private static final Set<String> IMPURE_FUNCTIONS = ImmutableSet.of(
+    "today",
+    "datetimeformat",
+    "unixtimestamp",
+    "format_date",
+    "format_time",
+    "format_datetime",
+    "super"
+  );
+
+  // keyed by identity, and dropped along with the parsed template. Bodies which may be
+  // pure map to the functions they call, which are looked up again for each call, as
+  // the functions which are registered depend on the context of the render.
+  private final Map<List<Node>, Optional<Set<String>>> pureContent = CacheBuilder
+    .newBuilder()
+    .weakKeys()
+    .<List<Node>, Optional<Set<String>>>build()
+    .asMap();
+  // null unless results are shared between renders
+  private final Cache<MacroCacheKey, String> results;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  public MacroResultCache(long maximumSize) {
+    Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+    results =
+      maximumSize == 0
+        ? null
+        : CacheBuilder.newBuilder().recordStats().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Whether a macro body only depends on the given arguments, as far as can be told
+   * without rendering it. The body is analyzed once, while the functions it calls are
+   * checked on each call.
+   *
+   * @param content
+   *          the nodes of the body of a macro
+   * @param argNames
+   *          the names of the macro's arguments
+   * @param interpreter
+   *          an interpreter with the config the macro is rendered with
+   */
+  public boolean isPure(
+    List<Node> content,
+    Collection<String> argNames,
+    JinjavaInterpreter interpreter
+  ) {
+    Optional<Set<String>> functions = pureContent.computeIfAbsent(
+      content,
+      k -> analyzePurity(content, argNames, interpreter)
+    );
+    if (functions.isEmpty()) {
+      return false;
+    }
+    for (String function : functions.get()) {
+      // macros, including the macro itself and caller(), aren't registered functions
+      if (!isRegisteredFunction(function, interpreter)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return The functions the body calls if it's pure as long as they're registered
+   *         functions, or empty if it isn't pure.
+   */
+  private static Optional<Set<String>> analyzePurity(
+    List<Node> content,
+    Collection<String> argNames,
+    JinjavaInterpreter interpreter
+  ) {
+    TemplateDependencies dependencies = TemplateDependencyAnalyzer.analyze(
+      content,
+      interpreter
+    );
+    if (
+      !dependencies.getTemplates().isEmpty() ||
+      !dependencies.getMacroCalls().isEmpty() ||
+      !PURE_TAGS.containsAll(dependencies.getTags()) ||
+      !Collections.disjoint(dependencies.getFilters(), IMPURE_FILTERS) ||
+      !Collections.disjoint(dependencies.getFunctions(), IMPURE_FUNCTIONS)
+    ) {
+      return Optional.empty();
+    }
+    // anything read from outside of the macro, including objects whose attributes are set
+    Set<String> variables = new HashSet<>(dependencies.getVariables());
+    variables.removeAll(argNames);
+    variables.remove(MacroFunction.KWARGS_KEY);
+    variables.remove(MacroFunction.VARARGS_KEY);
+    return variables.isEmpty()
+      ? Optional.of(ImmutableSet.copyOf(dependencies.getFunctions()))
+      : Optional.empty();
+  }
+
+  private static boolean isRegisteredFunction(
+    String name,
+    JinjavaInterpreter interpreter
+  ) {
+    // functions without a namespace are registered with an empty one
+    String qualifiedName = name.indexOf(':') < 0 ? ":" + name : name;
+    return (
+      !interpreter.getContext().isGlobalMacro(name) &&
+      interpreter.getContext().getFunction(qualifiedName) != null
+    );
+  }
+
+  /**
+   * @return The output of an earlier call with the given key in any render, if it's
+   *         still cached.
+   */
+  public Optional<String> get(MacroCacheKey key) {
+    return results == null
+      ? Optional.empty()
+      : Optional.ofNullable(results.getIfPresent(key));
+  }
+
+  public void put(MacroCacheKey key, String result) {
+    if (results != null) {
+      results.put(key, result);
+    }
+  }
+
+  public void recordHit() {
+    hitCount.increment();
+  }
+
+  public void recordMiss() {
+    missCount.increment();
+  }
+
+  /**
+   * @return The hit and miss counts of all calls to pure macros, whether their results
+   *         were remembered within a render or between renders, and the eviction count
+   *         and size of the results shared between renders.
+   */
+  public TemplateCacheStats getStats() {
+    return new TemplateCacheStats(
+      hitCount.sum(),
+      missCount.sum(),
+      results == null ? 0 : results.stats().evictionCount(),
+      results == null ? 0 : results.size()
+    );
+  }
+
+  public void invalidateAll() {
+    if (results != null) {
+      results.invalidateAll();
+    }
+  }
+}
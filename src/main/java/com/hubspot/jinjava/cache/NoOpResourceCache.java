@@ -0,0 +1,24 @@
+package com.hubspot.jinjava.cache;
+
+import java.io.IOException;
+
+public class NoOpResourceCache implements ResourceCache {
+
+  public static final NoOpResourceCache INSTANCE = new NoOpResourceCache();
+
+  private NoOpResourceCache() {}
+
+  @Override
+  public ParsedTemplate get(ResourceCacheKey key, ResourceLoader loader)
+    throws IOException {
+    return loader.load();
+  }
+
+  @Override
+  public void invalidateAll() {}
+
+  @Override
+  public TemplateCacheStats getStats() {
+    return TemplateCacheStats.EMPTY;
+  }
+}
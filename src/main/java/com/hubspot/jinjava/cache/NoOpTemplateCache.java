@@ -0,0 +1,26 @@
+package com.hubspot.jinjava.cache;
+
+import java.util.function.Function;
+
+public class NoOpTemplateCache implements TemplateCache {
+
+  public static final NoOpTemplateCache INSTANCE = new NoOpTemplateCache();
+
+  private NoOpTemplateCache() {}
+
+  @Override
+  public ParsedTemplate get(
+    TemplateCacheKey key,
+    Function<TemplateCacheKey, ParsedTemplate> parser
+  ) {
+    return parser.apply(key);
+  }
+
+  @Override
+  public void invalidateAll() {}
+
+  @Override
+  public TemplateCacheStats getStats() {
+    return TemplateCacheStats.EMPTY;
+  }
+}
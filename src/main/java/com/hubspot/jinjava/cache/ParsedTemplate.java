@@ -0,0 +1,47 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencies;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyAnalyzer;
+import java.util.List;
+
+/**
+ * The result of parsing a template: the root of its node tree along with any errors
+ * which were encountered while parsing, so they can be reported again every time the
+ * tree is reused.
+ */
+public class ParsedTemplate {
+
+  private final Node root;
+  private final List<TemplateError> parseErrors;
+  private volatile TemplateDependencies dependencies;
+
+  public ParsedTemplate(Node root, List<TemplateError> parseErrors) {
+    this.root = root;
+    this.parseErrors = ImmutableList.copyOf(parseErrors);
+  }
+
+  public Node getRoot() {
+    return root;
+  }
+
+  public List<TemplateError> getParseErrors() {
+    return parseErrors;
+  }
+
+  /**
+   * @return The dependencies of the parsed tree, which are only found the first time
+   *         they're needed, so that a cached tree is only analyzed once.
+   */
+  public TemplateDependencies getDependencies(JinjavaInterpreter interpreter) {
+    TemplateDependencies result = dependencies;
+    if (result == null) {
+      result = TemplateDependencyAnalyzer.analyze(root, interpreter);
+      dependencies = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,68 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyGraph;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of {@link com.hubspot.jinjava.Jinjava#precompile}: how long each template
+ * took to load and parse, the errors encountered while doing so, and which templates
+ * reference which others.
+ */
+public class PrecompileResult {
+
+  private final Map<String, Duration> parseTimes;
+  private final Map<String, List<TemplateError>> errors;
+  private final TemplateDependencyGraph dependencyGraph;
+  private final Duration elapsed;
+
+  public PrecompileResult(
+    Map<String, Duration> parseTimes,
+    Map<String, List<TemplateError>> errors,
+    TemplateDependencyGraph dependencyGraph,
+    Duration elapsed
+  ) {
+    this.parseTimes = ImmutableMap.copyOf(parseTimes);
+    this.errors = ImmutableMap.copyOf(errors);
+    this.dependencyGraph = dependencyGraph;
+    this.elapsed = elapsed;
+  }
+
+  /**
+   * @return The time taken to load and parse each template, by resolved location,
+   *         including the templates which were found to be referenced by others.
+   */
+  public Map<String, Duration> getParseTimes() {
+    return parseTimes;
+  }
+
+  /**
+   * @return The errors encountered while loading or parsing each template which had any,
+   *         by resolved location.
+   */
+  public Map<String, List<TemplateError>> getErrors() {
+    return errors;
+  }
+
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  /**
+   * @return Which of the precompiled templates reference which others, by resolved
+   *         location.
+   */
+  public TemplateDependencyGraph getDependencyGraph() {
+    return dependencyGraph;
+  }
+
+  /**
+   * @return The wall clock time taken by the whole precompilation.
+   */
+  public Duration getElapsed() {
+    return elapsed;
+  }
+}
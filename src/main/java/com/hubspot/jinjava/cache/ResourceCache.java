@@ -0,0 +1,49 @@
+package com.hubspot.jinjava.cache;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Stores parsed resources loaded through a
+ * {@link com.hubspot.jinjava.loader.ResourceLocator}, such as the targets of include,
+ * import, from and extends tags, so that using the same resource again doesn't require
+ * it to be loaded and parsed again.
+ *
+ * Implementations must be thread-safe, as a single cache is shared by every render
+ * performed by a {@link com.hubspot.jinjava.Jinjava} instance. As with a
+ * {@link TemplateCache}, kept resources should be
+ * {@link com.hubspot.jinjava.tree.Node#freeze() frozen} before they're shared.
+ */
+public interface ResourceCache {
+  /**
+   * Get the parsed resource for the given key, using the loader to load and parse it if
+   * it is not yet cached or if its version has changed since it was cached.
+   */
+  ParsedTemplate get(ResourceCacheKey key, ResourceLoader loader) throws IOException;
+
+  /**
+   * Evict every cached copy of the resource at the given resolved path, such as when it
+   * has changed and its locator can't report versions. Implementations which can't evict
+   * a single resource evict everything.
+   */
+  default void invalidate(String path) {
+    invalidateAll();
+  }
+
+  void invalidateAll();
+
+  TemplateCacheStats getStats();
+
+  static ResourceCache disabled() {
+    return NoOpResourceCache.INSTANCE;
+  }
+
+  interface ResourceLoader {
+    /**
+     * @see com.hubspot.jinjava.loader.ResourceLocator#getVersion
+     */
+    Optional<String> getVersion() throws IOException;
+
+    ParsedTemplate load() throws IOException;
+  }
+}
@@ -0,0 +1,79 @@
+package com.hubspot.jinjava.cache;
+
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.loader.ResourceLocator;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies a parsed resource by its resolved path, the locator it was loaded from, and
+ * every setting which affects how it is loaded and parsed.
+ */
+public final class ResourceCacheKey {
+
+  private final String path;
+  private final ResourceLocator resourceLocator;
+  private final Charset charset;
+  private final List<Object> parseSettings;
+  private final int hashCode;
+
+  private ResourceCacheKey(
+    String path,
+    ResourceLocator resourceLocator,
+    Charset charset,
+    List<Object> parseSettings
+  ) {
+    this.path = path;
+    this.resourceLocator = resourceLocator;
+    this.charset = charset;
+    this.parseSettings = parseSettings;
+    this.hashCode =
+      Objects.hash(
+        path,
+        System.identityHashCode(resourceLocator),
+        charset,
+        parseSettings
+      );
+  }
+
+  public static ResourceCacheKey of(
+    String path,
+    ResourceLocator resourceLocator,
+    JinjavaInterpreter interpreter
+  ) {
+    return new ResourceCacheKey(
+      path,
+      resourceLocator,
+      interpreter.getConfig().getCharset(),
+      TemplateCacheKey.getParseSettings(interpreter)
+    );
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ResourceCacheKey that = (ResourceCacheKey) o;
+    return (
+      hashCode == that.hashCode &&
+      resourceLocator == that.resourceLocator &&
+      path.equals(that.path) &&
+      charset.equals(that.charset) &&
+      parseSettings.equals(that.parseSettings)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
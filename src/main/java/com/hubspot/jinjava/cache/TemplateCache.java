@@ -0,0 +1,48 @@
+package com.hubspot.jinjava.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stores parsed templates so that rendering the same template source again doesn't
+ * require it to be tokenized and built into a node tree again.
+ *
+ * Implementations must be thread-safe, as a single cache is shared by every render
+ * performed by a {@link com.hubspot.jinjava.Jinjava} instance. Implementations which keep
+ * templates should {@link com.hubspot.jinjava.tree.Node#freeze() freeze} them before
+ * sharing them, so that renders on other threads can't modify them. Trees which aren't
+ * cached aren't frozen.
+ */
+public interface TemplateCache {
+  /**
+   * Get the parsed template for the given key, using the parser to create it if it is
+   * not yet cached.
+   */
+  ParsedTemplate get(
+    TemplateCacheKey key,
+    Function<TemplateCacheKey, ParsedTemplate> parser
+  );
+
+  /**
+   * Add a template which was parsed elsewhere, such as one read from a
+   * {@link TemplateCacheSnapshot}. Caches which don't keep templates ignore it.
+   */
+  default void put(TemplateCacheKey key, ParsedTemplate parsedTemplate) {}
+
+  /**
+   * @return A copy of the templates currently in the cache, or an empty map for caches
+   *         which don't keep templates.
+   */
+  default Map<TemplateCacheKey, ParsedTemplate> asMap() {
+    return Collections.emptyMap();
+  }
+
+  void invalidateAll();
+
+  TemplateCacheStats getStats();
+
+  static TemplateCache disabled() {
+    return NoOpTemplateCache.INSTANCE;
+  }
+}
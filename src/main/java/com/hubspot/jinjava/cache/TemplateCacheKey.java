@@ -0,0 +1,89 @@
+package com.hubspot.jinjava.cache;
+
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.LegacyOverrides;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.tree.parse.TokenScannerSymbols;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifies a parsed template by its source along with every setting which affects how
+ * that source is parsed, so that a tree is never reused under a config which would have
+ * parsed it differently.
+ */
+public final class TemplateCacheKey {
+
+  private final String template;
+  private final List<Object> parseSettings;
+  private final int hashCode;
+
+  private TemplateCacheKey(String template, List<Object> parseSettings) {
+    this.template = template;
+    this.parseSettings = parseSettings;
+    this.hashCode = Objects.hash(template, parseSettings);
+  }
+
+  public static TemplateCacheKey of(String template, JinjavaInterpreter interpreter) {
+    return new TemplateCacheKey(template, getParseSettings(interpreter));
+  }
+
+  static List<Object> getParseSettings(JinjavaInterpreter interpreter) {
+    JinjavaConfig config = interpreter.getConfig();
+    TokenScannerSymbols symbols = config.getTokenScannerSymbols();
+    LegacyOverrides legacyOverrides = config.getLegacyOverrides();
+    return Arrays.asList(
+      symbols.getClass(),
+      symbols.getExpressionStart(),
+      symbols.getExpressionEnd(),
+      symbols.getExpressionStartWithTag(),
+      symbols.getExpressionEndWithTag(),
+      symbols.getOpeningComment(),
+      symbols.getClosingComment(),
+      symbols.getTrimChar(),
+      symbols.getLineStatementPrefix(),
+      symbols.getLineCommentPrefix(),
+      config.isTrimBlocks(),
+      config.isLstripBlocks(),
+      legacyOverrides.isParseWhitespaceControlStrictly(),
+      legacyOverrides.isAllowAdjacentTextNodes(),
+      legacyOverrides.isUseTrimmingForNotesAndExpressions(),
+      legacyOverrides.isHandleBackslashInQuotesOnly(),
+      config.getExecutionMode().getClass(),
+      interpreter.getContext().getExpressionStrategy().getClass(),
+      config.getDisabled(),
+      // tags registered by Jinjava#registerTag invalidate the cache instead
+      interpreter.getTagsRegisteredForRender()
+    );
+  }
+
+  public String getTemplate() {
+    return template;
+  }
+
+  List<Object> getParseSettings() {
+    return parseSettings;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TemplateCacheKey that = (TemplateCacheKey) o;
+    return (
+      hashCode == that.hashCode &&
+      template.equals(that.template) &&
+      parseSettings.equals(that.parseSettings)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+}
@@ -0,0 +1,294 @@
+package com.hubspot.jinjava.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.tag.Tag;
+import com.hubspot.jinjava.tree.Node;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the parsed templates in the template cache of a {@link Jinjava} instance to a
+ * file, and reads them back into the template cache of another instance, such as after a
+ * restart, so that the templates don't have to be parsed again as traffic arrives.
+ *
+ * <p>A snapshot starts with a header holding the snapshot format version, the Jinjava
+ * version and every setting which affects how templates are parsed. A snapshot whose
+ * header doesn't match the reading instance is ignored, and its templates are parsed as
+ * usual when they are first rendered. Snapshots can only be written and read when the
+ * Jinjava version is known, from the manifest of the Jinjava jar, as the parsed form of
+ * templates can change between any two builds. Each template is stored separately, so a
+ * template which can't be read is also just parsed again.
+ *
+ * <p>Tags are stored by name, and are looked up in the tags of the reading instance, so a
+ * template using a tag which the reading instance doesn't have is parsed again.
+ * Templates with parse errors are not written. Expressions are stored as their source,
+ * and their parsed form is rebuilt when they are first evaluated, through the expression
+ * cache.
+ *
+ * <p>Templates are stored with Java serialization. Only classes of parsed templates are
+ * accepted when reading, but snapshots should still only be read from a trusted source.
+ */
+public final class TemplateCacheSnapshot {
+
+  private static final int MAGIC = 0x4A4A5443;
+  private static final int FORMAT_VERSION = 2;
+  // the classes which make up parsed templates; anything else in a snapshot is rejected
+  private static final ObjectInputFilter CLASS_FILTER =
+    ObjectInputFilter.Config.createFilter(
+      "maxdepth=10000;" +
+      "com.hubspot.jinjava.tree.**;" +
+      "com.hubspot.jinjava.el.CompiledExpression;" +
+      "com.hubspot.jinjava.lib.expression.*;" +
+      "com.hubspot.jinjava.cache.TemplateCacheSnapshot$TagReference;" +
+      "java.lang.Enum;java.lang.Number;java.lang.Integer;java.lang.Long;" +
+      "java.lang.String;java.util.LinkedList;java.util.ArrayList;" +
+      "!*"
+    );
+
+  private TemplateCacheSnapshot() {}
+
+  /**
+   * Write the parsed templates in the template cache of the given instance.
+   *
+   * @return the number of templates written
+   * @throws IllegalStateException
+   *           if the Jinjava version is unknown, such as when Jinjava isn't loaded from
+   *           its jar, in which case nothing is written
+   */
+  public static int write(Jinjava jinjava, OutputStream out) throws IOException {
+    return write(jinjava, out, getJinjavaVersion());
+  }
+
+  public static int write(Jinjava jinjava, Path path) throws IOException {
+    String jinjavaVersion = getJinjavaVersion();
+    checkJinjavaVersion(jinjavaVersion);
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+      return write(jinjava, out, jinjavaVersion);
+    }
+  }
+
+  static int write(Jinjava jinjava, OutputStream out, String jinjavaVersion)
+    throws IOException {
+    checkJinjavaVersion(jinjavaVersion);
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    List<Object> parseSettings = TemplateCacheKey.getParseSettings(interpreter);
+
+    List<String> templates = new ArrayList<>();
+    List<byte[]> roots = new ArrayList<>();
+    for (Map.Entry<TemplateCacheKey, ParsedTemplate> entry : jinjava
+      .getTemplateCache()
+      .asMap()
+      .entrySet()) {
+      if (
+        entry.getKey().getParseSettings().equals(parseSettings) &&
+        entry.getValue().getParseErrors().isEmpty()
+      ) {
+        byte[] root = serialize(entry.getValue().getRoot());
+        if (root != null) {
+          templates.add(entry.getKey().getTemplate());
+          roots.add(root);
+        }
+      }
+    }
+
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeInt(FORMAT_VERSION);
+    writeString(data, jinjavaVersion);
+    writeString(data, parseSettings.toString());
+    data.writeInt(templates.size());
+    for (int i = 0; i < templates.size(); i++) {
+      writeString(data, templates.get(i));
+      writeBytes(data, roots.get(i));
+    }
+    data.flush();
+    return templates.size();
+  }
+
+  /**
+   * Add the templates of a snapshot to the template cache of the given instance. Nothing
+   * is added if the snapshot was written by a different version of Jinjava, with
+   * different parse settings, or if the Jinjava version is unknown.
+   *
+   * @return the number of templates added to the cache
+   */
+  public static int read(Jinjava jinjava, InputStream in) throws IOException {
+    return read(jinjava, in, getJinjavaVersion());
+  }
+
+  public static int read(Jinjava jinjava, Path path) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+      return read(jinjava, in);
+    }
+  }
+
+  static int read(Jinjava jinjava, InputStream in, String jinjavaVersion)
+    throws IOException {
+    if (jinjavaVersion == null) {
+      return 0;
+    }
+    DataInputStream data = new DataInputStream(in);
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    if (
+      data.readInt() != MAGIC ||
+      data.readInt() != FORMAT_VERSION ||
+      !readString(data).equals(jinjavaVersion) ||
+      !readString(data).equals(TemplateCacheKey.getParseSettings(interpreter).toString())
+    ) {
+      return 0;
+    }
+
+    int added = 0;
+    int count = data.readInt();
+    for (int i = 0; i < count; i++) {
+      String template = readString(data);
+      Node root = deserialize(readBytes(data), interpreter);
+      if (root != null) {
+        jinjava
+          .getTemplateCache()
+          .put(
+            TemplateCacheKey.of(template, interpreter),
+            new ParsedTemplate(root, ImmutableList.of())
+          );
+        added++;
+      }
+    }
+    return added;
+  }
+
+  private static byte[] serialize(Node root) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new TagWritingOutputStream(bytes)) {
+      out.writeObject(root);
+    } catch (IOException e) {
+      return null;
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Node deserialize(byte[] bytes, JinjavaInterpreter interpreter) {
+    try (
+      ObjectInputStream in = new TagResolvingInputStream(
+        new ByteArrayInputStream(bytes),
+        interpreter
+      )
+    ) {
+      return (Node) in.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      return null;
+    }
+  }
+
+  private static String getJinjavaVersion() {
+    return Jinjava.class.getPackage().getImplementationVersion();
+  }
+
+  private static void checkJinjavaVersion(String jinjavaVersion) {
+    Preconditions.checkState(
+      jinjavaVersion != null,
+      "Can't write a template cache snapshot as the Jinjava version is unknown"
+    );
+  }
+
+  private static void writeString(DataOutputStream data, String value)
+    throws IOException {
+    writeBytes(data, value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    return new String(readBytes(data), StandardCharsets.UTF_8);
+  }
+
+  private static void writeBytes(DataOutputStream data, byte[] bytes) throws IOException {
+    data.writeInt(bytes.length);
+    data.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[data.readInt()];
+    data.readFully(bytes);
+    return bytes;
+  }
+
+  private static final class TagReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+
+    private TagReference(String name) {
+      this.name = name;
+    }
+  }
+
+  private static final class TagWritingOutputStream extends ObjectOutputStream {
+
+    private TagWritingOutputStream(OutputStream out) throws IOException {
+      super(out);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(Object obj) {
+      return obj instanceof Tag ? new TagReference(((Tag) obj).getName()) : obj;
+    }
+  }
+
+  private static final class TagResolvingInputStream extends ObjectInputStream {
+
+    private final JinjavaInterpreter interpreter;
+    private Tag resolvedTag;
+
+    private TagResolvingInputStream(InputStream in, JinjavaInterpreter interpreter)
+      throws IOException {
+      super(in);
+      this.interpreter = interpreter;
+      enableResolveObject(true);
+      setObjectInputFilter(this::checkInput);
+    }
+
+    private ObjectInputFilter.Status checkInput(ObjectInputFilter.FilterInfo info) {
+      // resolved objects are checked too, but tags come from the reading instance
+      if (resolvedTag != null && info.serialClass() == resolvedTag.getClass()) {
+        resolvedTag = null;
+        return ObjectInputFilter.Status.ALLOWED;
+      }
+      return CLASS_FILTER.checkInput(info);
+    }
+
+    @Override
+    protected Object resolveObject(Object obj) throws IOException {
+      if (!(obj instanceof TagReference)) {
+        return obj;
+      }
+      String name = ((TagReference) obj).name;
+      Tag tag = interpreter.getContext().getTag(name);
+      if (tag == null) {
+        throw new InvalidObjectException("Unknown tag: " + name);
+      }
+      resolvedTag = tag;
+      return tag;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.hubspot.jinjava.cache;
+
+public class TemplateCacheStats {
+
+  public static final TemplateCacheStats EMPTY = new TemplateCacheStats(0, 0, 0, 0);
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final long size;
+
+  public TemplateCacheStats(
+    long hitCount,
+    long missCount,
+    long evictionCount,
+    long size
+  ) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.size = size;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  @Override
+  public String toString() {
+    return (
+      "TemplateCacheStats{" +
+      "hitCount=" +
+      hitCount +
+      ", missCount=" +
+      missCount +
+      ", evictionCount=" +
+      evictionCount +
+      ", size=" +
+      size +
+      '}'
+    );
+  }
+}
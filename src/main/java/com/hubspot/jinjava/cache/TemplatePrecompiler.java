@@ -0,0 +1,178 @@
+package com.hubspot.jinjava.cache;
+
+import static com.hubspot.jinjava.util.Logging.ENGINE_LOG;
+
+import com.google.common.collect.ImmutableList;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.loader.RelativePathResolver;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencies;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyAnalyzer;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencyGraph;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads and parses templates through the resource locator and resource cache of a
+ * {@link Jinjava} instance ahead of their first render, along with the templates they
+ * include, import, extend or import from, as found by
+ * {@link TemplateDependencyAnalyzer}. A template which can't be resolved, loaded or
+ * parsed is reported in the result along with its errors, and doesn't stop the others
+ * from being precompiled.
+ */
+public final class TemplatePrecompiler {
+
+  private final Jinjava jinjava;
+  private final Executor executor;
+  private final Set<String> seen = ConcurrentHashMap.newKeySet();
+  private final Map<String, Duration> parseTimes = new ConcurrentHashMap<>();
+  private final Map<String, List<TemplateError>> errors = new ConcurrentHashMap<>();
+  private final TemplateDependencyGraph dependencyGraph = new TemplateDependencyGraph();
+
+  private TemplatePrecompiler(Jinjava jinjava, Executor executor) {
+    this.jinjava = jinjava;
+    this.executor = executor;
+  }
+
+  /**
+   * @see Jinjava#precompile(Collection, Executor)
+   */
+  public static PrecompileResult precompile(
+    Jinjava jinjava,
+    Collection<String> paths,
+    Executor executor
+  ) {
+    return new TemplatePrecompiler(jinjava, executor).precompile(paths);
+  }
+
+  private PrecompileResult precompile(Collection<String> paths) {
+    if (jinjava.getResourceCache() == ResourceCache.disabled()) {
+      ENGINE_LOG.warn(
+        "Precompiling templates without a resource cache, so they'll be parsed again " +
+        "when rendered. Set one with Jinjava#setResourceCache."
+      );
+    }
+    long start = System.nanoTime();
+    CompletableFuture
+      .allOf(
+        paths
+          .stream()
+          .map(path -> precompile(path, false))
+          .toArray(CompletableFuture[]::new)
+      )
+      .join();
+    return new PrecompileResult(
+      parseTimes,
+      errors,
+      dependencyGraph,
+      Duration.ofNanos(System.nanoTime() - start)
+    );
+  }
+
+  private CompletableFuture<Void> precompile(String path, boolean resolved) {
+    return CompletableFuture
+      .supplyAsync(() -> load(path, resolved), executor)
+      .thenCompose(references ->
+        CompletableFuture.allOf(
+          references
+            .stream()
+            .map(reference -> precompile(reference, true))
+            .toArray(CompletableFuture[]::new)
+        )
+      );
+  }
+
+  /**
+   * @return the resolved locations of the templates referenced by the given template
+   *         which haven't been seen yet
+   */
+  private List<String> load(String path, boolean resolved) {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    try (
+      AutoCloseableImpl<JinjavaInterpreter> c = JinjavaInterpreter
+        .closeablePushCurrent(interpreter)
+        .get()
+    ) {
+      return load(path, resolved, interpreter);
+    } catch (RuntimeException e) {
+      addError(path, e);
+      return ImmutableList.of();
+    }
+  }
+
+  private List<String> load(
+    String path,
+    boolean resolved,
+    JinjavaInterpreter interpreter
+  ) {
+    String location = resolved ? path : interpreter.resolveResourceLocation(path);
+    if (!seen.add(location)) {
+      return ImmutableList.of();
+    }
+    // resolve relative references against the location of this template
+    interpreter.getContext().put(RelativePathResolver.CURRENT_PATH_CONTEXT_KEY, location);
+
+    long start = System.nanoTime();
+    ParsedTemplate parsedTemplate;
+    try {
+      parsedTemplate = interpreter.getParsedResource(location);
+    } catch (Exception e) {
+      addError(location, e);
+      return ImmutableList.of();
+    } finally {
+      parseTimes.put(location, Duration.ofNanos(System.nanoTime() - start));
+    }
+    if (!parsedTemplate.getParseErrors().isEmpty()) {
+      errors.merge(
+        location,
+        parsedTemplate.getParseErrors(),
+        TemplatePrecompiler::concat
+      );
+    }
+
+    TemplateDependencies dependencies = TemplateDependencyAnalyzer.analyze(
+      parsedTemplate.getRoot(),
+      interpreter
+    );
+    List<String> references = new ArrayList<>();
+    for (String reference : dependencies.getTemplates()) {
+      try {
+        references.add(interpreter.resolveResourceLocation(reference));
+      } catch (RuntimeException e) {
+        addError(location, e);
+      }
+    }
+    dependencyGraph.setDependencies(location, references);
+    if (jinjava.getResourceCache() != ResourceCache.disabled()) {
+      for (String reference : references) {
+        jinjava.getTemplateDependencyGraph().addDependency(location, reference);
+      }
+    }
+    references.removeIf(seen::contains);
+    return references;
+  }
+
+  private void addError(String location, Exception e) {
+    errors.merge(
+      location,
+      ImmutableList.of(TemplateError.fromException(e)),
+      TemplatePrecompiler::concat
+    );
+  }
+
+  private static List<TemplateError> concat(
+    List<TemplateError> first,
+    List<TemplateError> second
+  ) {
+    return ImmutableList.<TemplateError>builder().addAll(first).addAll(second).build();
+  }
+}
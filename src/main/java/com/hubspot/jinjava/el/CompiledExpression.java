@@ -0,0 +1,69 @@
+package com.hubspot.jinjava.el;
+
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.TreeBuilder;
+import java.io.Serializable;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * An expression which is kept with the template tree, such as the expression of a
+ * {@code {{ }}} node or the condition of an {@code if} tag. It's parsed the first time
+ * it's resolved, and later resolutions evaluate the parsed tree directly rather than
+ * looking it up in the expression factory's cache.
+ *
+ * <p>Template trees can be shared between threads, so the parsed tree is published
+ * through a volatile field. Two threads may both parse the expression the first time,
+ * in which case either tree is kept.
+ */
+public class CompiledExpression implements Serializable {
+
+  private static final long serialVersionUID = -3539385591683154211L;
+
+  private final String expression;
+  private transient volatile ParsedTree parsedTree;
+
+  public CompiledExpression(String expression) {
+    this.expression = StringUtils.trimToEmpty(expression);
+  }
+
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * Get the tree built for this expression by {@code builder}, parsing it if it hasn't
+   * been parsed by that builder yet.
+   */
+  Tree getTree(TreeBuilder builder) {
+    ParsedTree current = parsedTree;
+    if (current == null || current.builder != builder) {
+      current =
+        new ParsedTree(
+          builder,
+          builder.build(
+            ExpressionResolver.EXPRESSION_START_TOKEN +
+            expression +
+            ExpressionResolver.EXPRESSION_END_TOKEN
+          )
+        );
+      parsedTree = current;
+    }
+    return current.tree;
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  private static class ParsedTree {
+
+    private final TreeBuilder builder;
+    private final Tree tree;
+
+    private ParsedTree(TreeBuilder builder, Tree tree) {
+      this.builder = builder;
+      this.tree = tree;
+    }
+  }
+}
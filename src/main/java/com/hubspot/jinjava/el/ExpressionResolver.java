@@ -21,9 +21,12 @@ import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
 import com.hubspot.jinjava.interpret.TemplateSyntaxException;
 import com.hubspot.jinjava.interpret.UnknownTokenException;
 import com.hubspot.jinjava.interpret.errorcategory.BasicTemplateErrorCategory;
-import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
 import com.hubspot.jinjava.objects.serialization.PyishObjectMapper;
 import com.hubspot.jinjava.util.WhitespaceUtils;
+import de.odysseus.el.misc.TypeConverter;
+import de.odysseus.el.tree.Bindings;
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.TreeBuilder;
 import de.odysseus.el.tree.TreeBuilderException;
 import java.util.Arrays;
 import java.util.List;
@@ -44,26 +47,36 @@ public class ExpressionResolver {
   private final ReturnTypeValidatingJinjavaInterpreterResolver resolver;
   private final JinjavaELContext elContext;
   private final ObjectUnwrapper objectUnwrapper;
+  private final TreeBuilder treeBuilder;
+  private final TypeConverter typeConverter;
 
-  private static final String EXPRESSION_START_TOKEN = "#{";
-  private static final String EXPRESSION_END_TOKEN = "}";
+  static final String EXPRESSION_START_TOKEN = "#{";
+  static final String EXPRESSION_END_TOKEN = "}";
 
   public ExpressionResolver(JinjavaInterpreter interpreter, Jinjava jinjava) {
     this.interpreter = interpreter;
+    boolean useEagerParser = interpreter.getConfig().getExecutionMode().useEagerParser();
     this.expressionFactory =
-      interpreter.getConfig().getExecutionMode().useEagerParser()
+      useEagerParser
         ? jinjava.getEagerExpressionFactory()
         : jinjava.getExpressionFactory();
+    this.treeBuilder =
+      useEagerParser
+        ? jinjava.getEagerExpressionTreeBuilder()
+        : jinjava.getExpressionTreeBuilder();
+    this.typeConverter = jinjava.getExpressionTypeConverter();
 
     this.resolver =
       new ReturnTypeValidatingJinjavaInterpreterResolver(
         interpreter.getConfig().getReturnTypeValidator(),
         new JinjavaInterpreterResolver(interpreter)
       );
-    this.elContext = new JinjavaELContext(interpreter, resolver);
-    for (ELFunctionDefinition fn : jinjava.getGlobalContext().getAllFunctions()) {
-      this.elContext.setFunction(fn.getNamespace(), fn.getLocalName(), fn.getMethod());
-    }
+    this.elContext =
+      new JinjavaELContext(
+        interpreter,
+        resolver,
+        jinjava.getGlobalContext().getFunctionMethods()
+      );
     objectUnwrapper = interpreter.getConfig().getObjectUnwrapper();
   }
 
@@ -87,11 +100,43 @@ public class ExpressionResolver {
     return resolveExpression(expression, false);
   }
 
+  /**
+   * Resolve an expression kept with the template tree against current context. The
+   * expression is only parsed the first time it's resolved.
+   *
+   * @param expression Compiled Jinja expression.
+   * @return Value of expression.
+   */
+  public Object resolveExpression(CompiledExpression expression) {
+    if (expression.getExpression().isEmpty()) {
+      return null;
+    }
+    return resolveExpression(expression.getExpression(), expression, true);
+  }
+
+  /**
+   * Parse an expression without evaluating it, such as to analyze what it refers to.
+   *
+   * @param expression Jinja expression.
+   * @return The parsed expression.
+   * @throws de.odysseus.el.tree.TreeBuilderException if the expression is invalid
+   */
+  public Tree parse(String expression) {
+    return treeBuilder.build(EXPRESSION_START_TOKEN + expression + EXPRESSION_END_TOKEN);
+  }
+
   private Object resolveExpression(String expression, boolean addToResolvedExpressions) {
     if (StringUtils.isBlank(expression)) {
       return null;
     }
-    expression = expression.trim();
+    return resolveExpression(expression.trim(), null, addToResolvedExpressions);
+  }
+
+  private Object resolveExpression(
+    String expression,
+    CompiledExpression compiledExpression,
+    boolean addToResolvedExpressions
+  ) {
     if (addToResolvedExpressions) {
       if (WhitespaceUtils.isWrappedWith(expression, "[", "]")) {
         String commaSeparatedExpress = expression
@@ -112,13 +157,7 @@ public class ExpressionResolver {
     }
 
     try {
-      String elExpression = EXPRESSION_START_TOKEN + expression + EXPRESSION_END_TOKEN;
-      ValueExpression valueExp = expressionFactory.createValueExpression(
-        elContext,
-        elExpression,
-        Object.class
-      );
-      Object result = valueExp.getValue(elContext);
+      Object result = evaluate(expression, compiledExpression);
       if (result == null && interpreter.getConfig().isFailOnUnknownTokens()) {
         throw new UnknownTokenException(
           expression,
@@ -227,6 +266,26 @@ public class ExpressionResolver {
     return null;
   }
 
+  private Object evaluate(String expression, CompiledExpression compiledExpression) {
+    if (compiledExpression == null) {
+      String elExpression = EXPRESSION_START_TOKEN + expression + EXPRESSION_END_TOKEN;
+      ValueExpression valueExp = expressionFactory.createValueExpression(
+        elContext,
+        elExpression,
+        Object.class
+      );
+      return valueExp.getValue(elContext);
+    }
+    // the same as TreeValueExpression.getValue(), without looking the tree up by string
+    Tree tree = compiledExpression.getTree(treeBuilder);
+    Bindings bindings = tree.bind(
+      elContext.getFunctionMapper(),
+      elContext.getVariableMapper(),
+      typeConverter
+    );
+    return tree.getRoot().getValue(bindings, elContext, Object.class);
+  }
+
   private void handleELException(String expression, ELException e) {
     if (e.getCause() != null && e.getCause() instanceof DeferredValueException) {
       throw (DeferredValueException) e.getCause();
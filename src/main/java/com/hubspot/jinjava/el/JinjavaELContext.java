@@ -3,6 +3,7 @@ package com.hubspot.jinjava.el;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import de.odysseus.el.util.SimpleContext;
 import java.lang.reflect.Method;
+import java.util.Map;
 import javax.el.ELResolver;
 
 public class JinjavaELContext extends SimpleContext implements HasInterpreter {
@@ -20,6 +21,19 @@ public class JinjavaELContext extends SimpleContext implements HasInterpreter {
     this.interpreter = interpreter;
   }
 
+  /**
+   * @param functions the functions available to expressions, keyed by
+   *        "prefix:localName", which are shared rather than copied
+   */
+  public JinjavaELContext(
+    JinjavaInterpreter interpreter,
+    ELResolver resolver,
+    Map<String, Method> functions
+  ) {
+    this(interpreter, resolver);
+    this.functionMapper = new MacroFunctionMapper(interpreter, functions);
+  }
+
   @Override
   public JinjavaInterpreter interpreter() {
     return interpreter;
@@ -12,11 +12,14 @@ import com.hubspot.jinjava.el.ext.NamedParameter;
 import com.hubspot.jinjava.interpret.DeferredValueException;
 import com.hubspot.jinjava.interpret.DisabledException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
 import com.hubspot.jinjava.interpret.errorcategory.BasicTemplateErrorCategory;
+import com.hubspot.jinjava.lib.filter.Filter;
+import com.hubspot.jinjava.lib.fn.MacroFunction;
 import com.hubspot.jinjava.objects.Namespace;
 import com.hubspot.jinjava.objects.PyWrapper;
 import com.hubspot.jinjava.objects.collections.SizeLimitingPyList;
@@ -94,7 +97,7 @@ public class JinjavaInterpreterResolver extends SimpleResolver {
       if (methodProperty instanceof AbstractCallableMethod) {
         Object result = interpreter.getContext().isValidationMode()
           ? ""
-          : ((AbstractCallableMethod) methodProperty).evaluate(params);
+          : evaluate((AbstractCallableMethod) methodProperty, params);
         context.setPropertyResolved(true);
         return result;
       }
@@ -102,6 +105,7 @@ public class JinjavaInterpreterResolver extends SimpleResolver {
       // failed to access property, continue with method calls
     }
 
+    RenderProfiler.Span span = startProfiling(base, method);
     try {
       return interpreter.getContext().isValidationMode()
         ? ""
@@ -114,9 +118,30 @@ public class JinjavaInterpreterResolver extends SimpleResolver {
         );
     } catch (IllegalArgumentException e) {
       return null;
+    } finally {
+      span.close();
     }
   }
 
+  private Object evaluate(AbstractCallableMethod method, Object[] params) {
+    if (!(method instanceof MacroFunction)) {
+      return method.evaluate(params);
+    }
+    RenderProfiler.Span span = ((MacroFunction) method).startProfiling(interpreter);
+    try {
+      return method.evaluate(params);
+    } finally {
+      span.close();
+    }
+  }
+
+  private RenderProfiler.Span startProfiling(Object base, Object method) {
+    if (base instanceof Filter && "filter".equals(method)) {
+      return interpreter.startProfiling("filter", ((Filter) base).getName(), -1);
+    }
+    return RenderProfiler.Span.NONE;
+  }
+
   /**
    * {@inheritDoc}
    *
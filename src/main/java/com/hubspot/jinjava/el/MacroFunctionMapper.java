@@ -14,10 +14,24 @@ import javax.el.FunctionMapper;
 public class MacroFunctionMapper extends FunctionMapper {
 
   private final JinjavaInterpreter interpreter;
-  private Map<String, Method> map = Collections.emptyMap();
+  private Map<String, Method> map;
+  // set until setFunction copies the map it was given
+  private boolean mapIsShared = true;
 
   public MacroFunctionMapper(JinjavaInterpreter interpreter) {
+    this(interpreter, Collections.emptyMap());
+  }
+
+  /**
+   * @param functions the functions to resolve, keyed by "prefix:localName". The map isn't
+   *        changed, so it can be shared by many mappers.
+   */
+  public MacroFunctionMapper(
+    JinjavaInterpreter interpreter,
+    Map<String, Method> functions
+  ) {
     this.interpreter = interpreter;
+    this.map = functions;
   }
 
   private static String buildFunctionName(String prefix, String name) {
@@ -47,8 +61,9 @@ public class MacroFunctionMapper extends FunctionMapper {
   }
 
   public void setFunction(String prefix, String localName, Method method) {
-    if (map.isEmpty()) {
-      map = new HashMap<>();
+    if (mapIsShared) {
+      map = new HashMap<>(map);
+      mapIsShared = false;
     }
     map.put(buildFunctionName(prefix, localName), method);
   }
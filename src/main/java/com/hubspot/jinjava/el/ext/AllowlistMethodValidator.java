@@ -82,4 +82,12 @@ public final class AllowlistMethodValidator {
 
     return m;
   }
+
+  /**
+   * Whether any {@link MethodValidator}s besides the allowlist were supplied. Their
+   * decisions can't be assumed to stay the same for a given method.
+   */
+  boolean hasAdditionalValidators() {
+    return !additionalValidators.isEmpty();
+  }
 }
@@ -23,6 +23,10 @@ public class AstDict extends AstLiteral {
     this.dict = dict;
   }
 
+  public Map<AstNode, AstNode> getDict() {
+    return dict;
+  }
+
   @Override
   public Object eval(Bindings bindings, ELContext context) {
     Map<String, Object> resolved = new LinkedHashMap<>();
@@ -3,6 +3,7 @@ package com.hubspot.jinjava.el.ext;
 import com.hubspot.jinjava.el.HasInterpreter;
 import com.hubspot.jinjava.interpret.DisabledException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
@@ -13,11 +14,9 @@ import de.odysseus.el.tree.Bindings;
 import de.odysseus.el.tree.impl.ast.AstNode;
 import de.odysseus.el.tree.impl.ast.AstParameters;
 import de.odysseus.el.tree.impl.ast.AstRightValue;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import javax.el.ELContext;
 import javax.el.ELException;
 
@@ -34,11 +33,14 @@ import javax.el.ELException;
  * - Method invocation overhead
  * - Object wrapping/unwrapping between filters
  * - Context operations
+ * - Evaluating and converting literal filter arguments, which is done once
  */
 public class AstFilterChain extends AstRightValue {
 
   protected final AstNode input;
   protected final List<FilterSpec> filterSpecs;
+  // the arguments of the filters with constant parameters, once they've been evaluated
+  private final AtomicReferenceArray<FilterArguments> constantArguments;
 
   public AstFilterChain(AstNode input, List<FilterSpec> filterSpecs) {
     this.input = Objects.requireNonNull(input, "Input node cannot be null");
@@ -46,6 +48,7 @@ public class AstFilterChain extends AstRightValue {
     if (filterSpecs.isEmpty()) {
       throw new IllegalArgumentException("Filter chain must have at least one filter");
     }
+    this.constantArguments = new AtomicReferenceArray<>(filterSpecs.size());
   }
 
   public AstNode getInput() {
@@ -66,7 +69,8 @@ public class AstFilterChain extends AstRightValue {
 
     Object value = input.eval(bindings, context);
 
-    for (FilterSpec spec : filterSpecs) {
+    for (int i = 0; i < filterSpecs.size(); i++) {
+      FilterSpec spec = filterSpecs.get(i);
       String filterKey = ExtendedParser.FILTER_PREFIX + spec.getName();
       interpreter.getContext().addResolvedValue(filterKey);
 
@@ -94,17 +98,20 @@ public class AstFilterChain extends AstRightValue {
         continue;
       }
 
-      Object[] args = evaluateFilterArgs(spec, bindings, context);
-      Map<String, Object> kwargs = extractNamedParams(args);
-      Object[] positionalArgs = extractPositionalArgs(args);
+      FilterArguments args = getFilterArguments(i, spec, bindings, context);
 
       boolean wasSafeString = value instanceof SafeString;
       if (wasSafeString) {
         value = value.toString();
       }
 
+      RenderProfiler.Span span = interpreter.startProfiling(
+        "filter",
+        spec.getName(),
+        -1
+      );
       try {
-        value = filter.filter(value, interpreter, positionalArgs, kwargs);
+        value = args.invoke(filter, value, interpreter);
       } catch (ELException e) {
         throw e;
       } catch (RuntimeException e) {
@@ -112,6 +119,8 @@ public class AstFilterChain extends AstRightValue {
           String.format("Error in filter '%s': %s", spec.getName(), e.getMessage()),
           e
         );
+      } finally {
+        span.close();
       }
 
       if (wasSafeString && filter.preserveSafeString() && value instanceof String) {
@@ -126,6 +135,23 @@ public class AstFilterChain extends AstRightValue {
     return ((HasInterpreter) context).interpreter();
   }
 
+  private FilterArguments getFilterArguments(
+    int index,
+    FilterSpec spec,
+    Bindings bindings,
+    ELContext context
+  ) {
+    if (!spec.hasConstantParams()) {
+      return FilterArguments.of(evaluateFilterArgs(spec, bindings, context));
+    }
+    FilterArguments arguments = constantArguments.get(index);
+    if (arguments == null) {
+      arguments = FilterArguments.of(evaluateFilterArgs(spec, bindings, context));
+      constantArguments.set(index, arguments);
+    }
+    return arguments;
+  }
+
   protected Object[] evaluateFilterArgs(
     FilterSpec spec,
     Bindings bindings,
@@ -143,27 +169,6 @@ public class AstFilterChain extends AstRightValue {
     return args;
   }
 
-  private Map<String, Object> extractNamedParams(Object[] args) {
-    Map<String, Object> kwargs = new LinkedHashMap<>();
-    for (Object arg : args) {
-      if (arg instanceof NamedParameter) {
-        NamedParameter namedParam = (NamedParameter) arg;
-        kwargs.put(namedParam.getName(), namedParam.getValue());
-      }
-    }
-    return kwargs;
-  }
-
-  private Object[] extractPositionalArgs(Object[] args) {
-    List<Object> positional = new ArrayList<>();
-    for (Object arg : args) {
-      if (!(arg instanceof NamedParameter)) {
-        positional.add(arg);
-      }
-    }
-    return positional.toArray();
-  }
-
   @Override
   public void appendStructure(StringBuilder builder, Bindings bindings) {
     input.appendStructure(builder, bindings);
@@ -19,6 +19,10 @@ public class AstList extends AstLiteral {
     this.elements = elements;
   }
 
+  public AstParameters getElements() {
+    return elements;
+  }
+
   @Override
   public Object eval(Bindings bindings, ELContext context) {
     List<Object> list = new ArrayList<>();
@@ -8,6 +8,7 @@ import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
 import com.hubspot.jinjava.interpret.CallStack;
 import com.hubspot.jinjava.interpret.DeferredValueException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.interpret.TagCycleException;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.errorcategory.BasicTemplateErrorCategory;
@@ -44,7 +45,7 @@ public class AstMacroFunction extends AstFunction {
         );
       }
       if (macroFunction.isCaller()) {
-        return wrapInvoke(bindings, context, macroFunction);
+        return wrapInvoke(bindings, context, interpreter, macroFunction);
       }
       try (
         AutoCloseableImpl<Result<String, MacroCallError>> macroStackPush =
@@ -52,7 +53,10 @@ public class AstMacroFunction extends AstFunction {
       ) {
         return macroStackPush
           .value()
-          .match(err -> "", path -> wrapInvoke(bindings, context, macroFunction));
+          .match(
+            err -> "",
+            path -> wrapInvoke(bindings, context, interpreter, macroFunction)
+          );
       }
     }
 
@@ -64,8 +68,10 @@ public class AstMacroFunction extends AstFunction {
   private Object wrapInvoke(
     Bindings bindings,
     ELContext context,
+    JinjavaInterpreter interpreter,
     MacroFunction macroFunction
   ) {
+    RenderProfiler.Span span = macroFunction.startProfiling(interpreter);
     try {
       return invoke(bindings, context, macroFunction, AbstractCallableMethod.EVAL_METHOD);
     } catch (IllegalAccessException e) {
@@ -75,6 +81,8 @@ public class AstMacroFunction extends AstFunction {
         LocalMessages.get("error.function.invocation", getName()),
         e.getCause()
       );
+    } finally {
+      span.close();
     }
   }
 
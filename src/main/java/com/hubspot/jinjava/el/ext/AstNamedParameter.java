@@ -16,6 +16,14 @@ public class AstNamedParameter extends AstLiteral {
     this.value = value;
   }
 
+  public AstIdentifier getName() {
+    return name;
+  }
+
+  public AstNode getValue() {
+    return value;
+  }
+
   @Override
   public Object eval(Bindings bindings, ELContext context) {
     return new NamedParameter(name.getName(), value.eval(bindings, context));
@@ -172,6 +172,7 @@ public class BeanELResolver extends ELResolver {
 
   private final boolean readOnly;
   private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+  private final ConcurrentHashMap<Method, MethodAccessor> accessorCache;
 
   private ExpressionFactory defaultFactory;
 
@@ -188,6 +189,7 @@ public class BeanELResolver extends ELResolver {
   public BeanELResolver(boolean readOnly) {
     this.readOnly = readOnly;
     this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+    this.accessorCache = new ConcurrentHashMap<Method, MethodAccessor>();
   }
 
   /**
@@ -342,12 +344,12 @@ public class BeanELResolver extends ELResolver {
     }
     Object result = null;
     if (isResolvable(base)) {
-      Method method = getReadMethod(base, property);
-      if (method == null) {
+      MethodAccessor accessor = getReadAccessor(context, base, property);
+      if (accessor == null) {
         throw new PropertyNotFoundException("Cannot read property " + property);
       }
       try {
-        result = method.invoke(base);
+        result = accessor.invoke(base);
       } catch (InvocationTargetException e) {
         throw new ELException(e.getCause());
       } catch (Exception e) {
@@ -526,7 +528,14 @@ public class BeanELResolver extends ELResolver {
         params = new Object[0];
       }
       String name = method.toString();
-      Method target = findMethod(base, name, paramTypes, params, params.length);
+      MethodAccessor target = findMethodAccessor(
+        context,
+        base,
+        name,
+        paramTypes,
+        params,
+        params.length
+      );
       if (target == null) {
         throw new MethodNotFoundException(
           "Cannot find method " +
@@ -541,7 +550,7 @@ public class BeanELResolver extends ELResolver {
         result =
           target.invoke(
             base,
-            coerceParams(getExpressionFactory(context), target, params)
+            coerceParams(getExpressionFactory(context), target.getMethod(), params)
           );
       } catch (InvocationTargetException e) {
         throw new ELException(e.getCause());
@@ -553,6 +562,21 @@ public class BeanELResolver extends ELResolver {
     return result;
   }
 
+  /**
+   * Find the method to call along with its {@link MethodAccessor}. By default this wraps
+   * {@link #findMethod(Object, String, Class[], Object[], int)}.
+   */
+  protected MethodAccessor findMethodAccessor(
+    ELContext context,
+    Object base,
+    String name,
+    Class<?>[] types,
+    Object[] params,
+    int paramCount
+  ) {
+    return toAccessor(findMethod(base, name, types, params, paramCount));
+  }
+
   // Changed modifier to protected; Added `Object[] params` parameter
   protected Method findMethod(
     Object base,
@@ -662,6 +686,25 @@ public class BeanELResolver extends ELResolver {
     return toBeanProperty(base, property).getReadMethod();
   }
 
+  /**
+   * Get the {@link MethodAccessor} used to read a property. By default this wraps
+   * {@link #getReadMethod(Object, Object)}.
+   */
+  protected MethodAccessor getReadAccessor(
+    ELContext context,
+    Object base,
+    Object property
+  ) {
+    return toAccessor(getReadMethod(base, property));
+  }
+
+  protected MethodAccessor toAccessor(Method method) {
+    if (method == null) {
+      return null;
+    }
+    return accessorCache.computeIfAbsent(method, MethodAccessor::of);
+  }
+
   protected void coerceValue(
     Object array,
     int index,
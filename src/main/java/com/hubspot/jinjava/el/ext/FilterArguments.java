@@ -0,0 +1,118 @@
+package com.hubspot.jinjava.el.ext;
+
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.filter.Filter;
+import com.hubspot.jinjava.objects.SafeString;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The evaluated arguments of a filter call, split into positional and named arguments,
+ * ready to be passed to a filter. The arguments of a filter whose parameters are all
+ * literals are only evaluated once, and are then shared by every call through its
+ * {@link FilterSpec}, so the arguments are copied before being passed to a filter.
+ */
+final class FilterArguments {
+
+  static final FilterArguments NONE = new FilterArguments(
+    new Object[0],
+    new LinkedHashMap<>()
+  );
+
+  // whether a filter only implements filter(Object, JinjavaInterpreter, String...)
+  private static final ClassValue<Boolean> USES_STRING_ARGUMENTS = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return (
+          type
+            .getMethod(
+              "filter",
+              Object.class,
+              JinjavaInterpreter.class,
+              Object[].class,
+              Map.class
+            )
+            .getDeclaringClass() ==
+          Filter.class
+        );
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+  };
+
+  private final Object[] positionalArgs;
+  private final Map<String, Object> kwargs;
+  // positional arguments followed by the values of named ones, as the filter's default
+  // implementation of filter(Object, JinjavaInterpreter, Object[], Map) passes them on
+  private volatile String[] stringArgs;
+
+  private FilterArguments(Object[] positionalArgs, Map<String, Object> kwargs) {
+    this.positionalArgs = positionalArgs;
+    this.kwargs = kwargs;
+  }
+
+  /**
+   * @param args
+   *          the evaluated parameters of a filter, where named parameters are
+   *          {@link NamedParameter}s
+   */
+  static FilterArguments of(Object[] args) {
+    if (args.length == 0) {
+      return NONE;
+    }
+    int positionalCount = 0;
+    for (Object arg : args) {
+      if (!(arg instanceof NamedParameter)) {
+        positionalCount++;
+      }
+    }
+    Object[] positionalArgs = new Object[positionalCount];
+    Map<String, Object> kwargs = new LinkedHashMap<>();
+    int i = 0;
+    for (Object arg : args) {
+      if (arg instanceof NamedParameter) {
+        NamedParameter namedParam = (NamedParameter) arg;
+        kwargs.put(namedParam.getName(), namedParam.getValue());
+      } else {
+        positionalArgs[i++] = arg;
+      }
+    }
+    return new FilterArguments(positionalArgs, kwargs);
+  }
+
+  Object invoke(Filter filter, Object value, JinjavaInterpreter interpreter) {
+    if (USES_STRING_ARGUMENTS.get(filter.getClass())) {
+      // skips the default adapter, and converts constant arguments only once
+      String[] args = getStringArgs().clone();
+      if (value instanceof SafeString) {
+        return filter.filter((SafeString) value, interpreter, args);
+      }
+      return filter.filter(value, interpreter, args);
+    }
+    return filter.filter(
+      value,
+      interpreter,
+      positionalArgs.clone(),
+      new LinkedHashMap<>(kwargs)
+    );
+  }
+
+  private String[] getStringArgs() {
+    String[] args = stringArgs;
+    if (args == null) {
+      args = new String[positionalArgs.length + kwargs.size()];
+      int i = 0;
+      for (Object arg : positionalArgs) {
+        args[i++] = arg == null ? null : Objects.toString(arg);
+      }
+      for (Object arg : kwargs.values()) {
+        args[i++] = arg == null ? null : Objects.toString(arg);
+      }
+      stringArgs = args;
+    }
+    return args;
+  }
+}
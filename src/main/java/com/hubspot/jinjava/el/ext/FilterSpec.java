@@ -1,6 +1,11 @@
 package com.hubspot.jinjava.el.ext;
 
+import de.odysseus.el.tree.impl.ast.AstBoolean;
+import de.odysseus.el.tree.impl.ast.AstNode;
+import de.odysseus.el.tree.impl.ast.AstNull;
+import de.odysseus.el.tree.impl.ast.AstNumber;
 import de.odysseus.el.tree.impl.ast.AstParameters;
+import de.odysseus.el.tree.impl.ast.AstString;
 import java.util.Objects;
 
 /**
@@ -11,10 +16,30 @@ public class FilterSpec {
 
   private final String name;
   private final AstParameters params;
+  private final boolean constantParams;
 
   public FilterSpec(String name, AstParameters params) {
     this.name = Objects.requireNonNull(name, "Filter name cannot be null");
     this.params = params;
+    this.constantParams = params == null || areConstant(params);
+  }
+
+  private static boolean areConstant(AstParameters params) {
+    for (int i = 0; i < params.getCardinality(); i++) {
+      AstNode param = params.getChild(i);
+      if (param instanceof AstNamedParameter) {
+        param = ((AstNamedParameter) param).getValue();
+      }
+      if (
+        !(param instanceof AstString ||
+          param instanceof AstNumber ||
+          param instanceof AstBoolean ||
+          param instanceof AstNull)
+      ) {
+        return false;
+      }
+    }
+    return true;
   }
 
   public String getName() {
@@ -29,6 +54,13 @@ public class FilterSpec {
     return params != null && params.getCardinality() > 0;
   }
 
+  /**
+   * @return Whether the parameters are all literals, or there aren't any.
+   */
+  public boolean hasConstantParams() {
+    return constantParams;
+  }
+
   @Override
   public String toString() {
     if (hasParams()) {
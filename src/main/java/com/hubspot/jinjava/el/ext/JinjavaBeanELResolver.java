@@ -1,7 +1,9 @@
 package com.hubspot.jinjava.el.ext;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableSet;
+import com.hubspot.jinjava.el.HasInterpreter;
 import com.hubspot.jinjava.interpret.DeferredValueException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.util.EagerReconstructionUtils;
@@ -11,6 +13,7 @@ import java.beans.MethodDescriptor;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -97,7 +100,135 @@ public class JinjavaBeanELResolver extends BeanELResolver {
     }
   }
 
+  /**
+   * Identifies a property read, or a call of a method by name with a number of arguments.
+   */
+  private static final class AccessorKey {
+
+    private final Class<?> type;
+    private final String name;
+    private final int arity;
+
+    private AccessorKey(Class<?> type, String name, int arity) {
+      this.type = type;
+      this.name = name;
+      this.arity = arity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof AccessorKey)) {
+        return false;
+      }
+      AccessorKey that = (AccessorKey) o;
+      return type == that.type && arity == that.arity && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * type.hashCode() + name.hashCode()) + arity;
+    }
+  }
+
+  /**
+   * A {@link MethodAccessor} which remembers the last {@link AllowlistMethodValidator}
+   * that allowed it, so that repeated calls don't need to be validated again.
+   */
+  private static final class ValidatedAccessor {
+
+    private final MethodAccessor accessor;
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] wrappedParameterTypes;
+    private volatile AllowlistMethodValidator allowedBy;
+
+    private ValidatedAccessor(MethodAccessor accessor) {
+      this.accessor = accessor;
+      if (accessor == null) {
+        parameterTypes = new Class<?>[0];
+        wrappedParameterTypes = parameterTypes;
+      } else {
+        parameterTypes = accessor.getMethod().getParameterTypes();
+        wrappedParameterTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+          wrappedParameterTypes[i] =
+            MethodType.methodType(parameterTypes[i]).wrap().returnType();
+        }
+      }
+    }
+
+    private MethodAccessor validate(AllowlistMethodValidator validator) {
+      if (accessor == null) {
+        return null;
+      }
+      if (allowedBy == validator) {
+        return accessor;
+      }
+      // A rejection isn't remembered so that the validator is told about every attempt
+      if (validator.validateMethod(accessor.getMethod()) == null) {
+        return null;
+      }
+      if (!validator.hasAdditionalValidators()) {
+        allowedBy = validator;
+      }
+      return accessor;
+    }
+  }
+
+  /**
+   * The methods which could be called for a given name and number of arguments. Choosing
+   * between overloads still depends on the runtime types of the arguments.
+   */
+  private static final class MethodCandidates {
+
+    private final ValidatedAccessor[] potentialMethods;
+    private final ValidatedAccessor varArgsMethod;
+
+    private MethodCandidates(
+      ValidatedAccessor[] potentialMethods,
+      ValidatedAccessor varArgsMethod
+    ) {
+      this.potentialMethods = potentialMethods;
+      this.varArgsMethod = varArgsMethod;
+    }
+
+    private boolean isEmpty() {
+      return potentialMethods.length == 0 && varArgsMethod.accessor == null;
+    }
+
+    private ValidatedAccessor select(Object[] params) {
+      if (potentialMethods.length == 0) {
+        return varArgsMethod;
+      }
+      if (potentialMethods.length == 1) {
+        return potentialMethods[0];
+      }
+      ValidatedAccessor best = null;
+      for (ValidatedAccessor candidate : potentialMethods) {
+        if (
+          checkAssignableParameterTypes(params, candidate.wrappedParameterTypes) &&
+          (
+            best == null ||
+            pickMoreSpecificMethod(best.parameterTypes, candidate.parameterTypes) > 0
+          )
+        ) {
+          best = candidate;
+        }
+      }
+      return best == null ? potentialMethods[0] : best;
+    }
+  }
+
   private final ConcurrentHashMap<Class<?>, BeanMethods> beanMethodsCache;
+  // only lookups which find something are cached, so these are bounded by the members of
+  // the classes used, rather than by the names templates try
+  private final ConcurrentHashMap<AccessorKey, ValidatedAccessor> readAccessorCache;
+  private final ConcurrentHashMap<AccessorKey, MethodCandidates> methodCandidatesCache;
+  // a subclass which overrides these hooks must be asked every time, so isn't cached
+  private final boolean overridesGetReadMethod;
+  private final boolean overridesFindMethod;
 
   public JinjavaBeanELResolver() {
     this(true);
@@ -109,6 +240,35 @@ public class JinjavaBeanELResolver extends BeanELResolver {
   public JinjavaBeanELResolver(boolean readOnly) {
     super(readOnly);
     this.beanMethodsCache = new ConcurrentHashMap<Class<?>, BeanMethods>();
+    this.readAccessorCache = new ConcurrentHashMap<>();
+    this.methodCandidatesCache = new ConcurrentHashMap<>();
+    this.overridesGetReadMethod =
+      isOverridden("getReadMethod", Object.class, Object.class);
+    this.overridesFindMethod =
+      isOverridden(
+        "findMethod",
+        Object.class,
+        String.class,
+        Class[].class,
+        Object[].class,
+        int.class
+      );
+  }
+
+  private boolean isOverridden(String name, Class<?>... parameterTypes) {
+    for (
+      Class<?> type = getClass();
+      type != JinjavaBeanELResolver.class;
+      type = type.getSuperclass()
+    ) {
+      try {
+        type.getDeclaredMethod(name, parameterTypes);
+        return true;
+      } catch (NoSuchMethodException e) {
+        // keep looking in the superclass
+      }
+    }
+    return false;
   }
 
   @Override
@@ -182,45 +342,99 @@ public class JinjavaBeanELResolver extends BeanELResolver {
     Object[] params,
     int paramCount
   ) {
-    Method method;
     if (types != null) {
-      method = super.findMethod(base, name, types, params, paramCount);
-    } else {
-      Method varArgsMethod = null;
-      BeanMethods beanMethods = beanMethodsCache.get(base.getClass());
-      if (beanMethods == null) {
-        BeanMethods newBeanMethods = new BeanMethods(base.getClass());
-        beanMethods = beanMethodsCache.putIfAbsent(base.getClass(), newBeanMethods);
-        if (beanMethods == null) { // put succeeded, use new value
-          beanMethods = newBeanMethods;
-        }
-      }
+      return getAllowlistMethodValidator()
+        .validateMethod(super.findMethod(base, name, types, params, paramCount));
+    }
+    MethodAccessor accessor = findCachedMethodAccessor(
+      base,
+      name,
+      params,
+      paramCount,
+      getAllowlistMethodValidator()
+    );
+    return accessor == null ? null : accessor.getMethod();
+  }
 
-      List<Method> potentialMethods = new LinkedList<>();
+  @Override
+  protected MethodAccessor findMethodAccessor(
+    ELContext context,
+    Object base,
+    String name,
+    Class<?>[] types,
+    Object[] params,
+    int paramCount
+  ) {
+    if (types != null || overridesFindMethod) {
+      return toAccessor(findMethod(base, name, types, params, paramCount));
+    }
+    return findCachedMethodAccessor(
+      base,
+      name,
+      params,
+      paramCount,
+      getAllowlistMethodValidator(context)
+    );
+  }
 
-      List<BeanMethods.BeanMethod> methodsForName = beanMethods.getBeanMethods(name);
-      if (methodsForName == null) {
-        methodsForName = List.of();
+  private MethodAccessor findCachedMethodAccessor(
+    Object base,
+    String name,
+    Object[] params,
+    int paramCount,
+    AllowlistMethodValidator validator
+  ) {
+    AccessorKey key = new AccessorKey(base.getClass(), name, paramCount);
+    MethodCandidates candidates = methodCandidatesCache.get(key);
+    if (candidates == null) {
+      candidates = findMethodCandidates(key);
+      if (candidates.isEmpty()) {
+        return null;
       }
-      for (BeanMethods.BeanMethod bm : methodsForName) {
-        Method m = bm.getMethod();
-        int formalParamCount = m.getParameterTypes().length;
-        if (m.isVarArgs() && paramCount >= formalParamCount - 1) {
-          varArgsMethod = m;
-        } else if (paramCount == formalParamCount) {
-          potentialMethods.add(m);
-        }
+      MethodCandidates existing = methodCandidatesCache.putIfAbsent(key, candidates);
+      if (existing != null) {
+        candidates = existing;
       }
-      final Method finalVarArgsMethod = varArgsMethod;
-      method =
-        potentialMethods
-          .stream()
-          .filter(m -> checkAssignableParameterTypes(params, m))
-          .min(JinjavaBeanELResolver::pickMoreSpecificMethod)
-          .orElseGet(() -> potentialMethods.stream().findAny().orElse(finalVarArgsMethod)
-          );
     }
-    return getAllowlistMethodValidator().validateMethod(method);
+    return candidates.select(params).validate(validator);
+  }
+
+  private MethodCandidates findMethodCandidates(AccessorKey key) {
+    List<BeanMethods.BeanMethod> methodsForName = getBeanMethods(key.type)
+      .getBeanMethods(key.name);
+    if (methodsForName == null) {
+      methodsForName = List.of();
+    }
+    List<ValidatedAccessor> potentialMethods = new ArrayList<>();
+    Method varArgsMethod = null;
+    for (BeanMethods.BeanMethod bm : methodsForName) {
+      Method m = bm.getMethod();
+      if (m == null) {
+        continue;
+      }
+      int formalParamCount = m.getParameterCount();
+      if (m.isVarArgs() && key.arity >= formalParamCount - 1) {
+        varArgsMethod = m;
+      } else if (key.arity == formalParamCount) {
+        potentialMethods.add(new ValidatedAccessor(toAccessor(m)));
+      }
+    }
+    return new MethodCandidates(
+      potentialMethods.toArray(new ValidatedAccessor[0]),
+      new ValidatedAccessor(toAccessor(varArgsMethod))
+    );
+  }
+
+  private BeanMethods getBeanMethods(Class<?> baseClass) {
+    BeanMethods beanMethods = beanMethodsCache.get(baseClass);
+    if (beanMethods == null) {
+      BeanMethods newBeanMethods = new BeanMethods(baseClass);
+      beanMethods = beanMethodsCache.putIfAbsent(baseClass, newBeanMethods);
+      if (beanMethods == null) { // put succeeded, use new value
+        beanMethods = newBeanMethods;
+      }
+    }
+    return beanMethods;
   }
 
   @Override
@@ -235,6 +449,48 @@ public class JinjavaBeanELResolver extends BeanELResolver {
       .validateMethod(super.getReadMethod(base, property));
   }
 
+  @Override
+  protected MethodAccessor getReadAccessor(
+    ELContext context,
+    Object base,
+    Object property
+  ) {
+    if (property == null || overridesGetReadMethod) {
+      return super.getReadAccessor(context, base, property);
+    }
+    AccessorKey key = new AccessorKey(base.getClass(), property.toString(), 0);
+    ValidatedAccessor accessor = readAccessorCache.get(key);
+    if (accessor == null) {
+      MethodAccessor found = toAccessor(super.getReadMethod(base, property));
+      if (found == null) {
+        return null;
+      }
+      accessor = new ValidatedAccessor(found);
+      ValidatedAccessor existing = readAccessorCache.putIfAbsent(key, accessor);
+      if (existing != null) {
+        accessor = existing;
+      }
+    }
+    return accessor.validate(getAllowlistMethodValidator(context));
+  }
+
+  @VisibleForTesting
+  int getCachedAccessorCount() {
+    return readAccessorCache.size() + methodCandidatesCache.size();
+  }
+
+  // the hooks which are passed the context use its interpreter rather than looking up
+  // the current one, as they're called on every property access and method call
+  private static AllowlistMethodValidator getAllowlistMethodValidator(ELContext context) {
+    if (context instanceof HasInterpreter) {
+      JinjavaInterpreter interpreter = ((HasInterpreter) context).interpreter();
+      if (interpreter != null) {
+        return interpreter.getConfig().getMethodValidator();
+      }
+    }
+    return getAllowlistMethodValidator();
+  }
+
   private static AllowlistMethodValidator getAllowlistMethodValidator() {
     return JinjavaInterpreter
       .getCurrentMaybe()
@@ -242,22 +498,19 @@ public class JinjavaBeanELResolver extends BeanELResolver {
       .orElse(AllowlistMethodValidator.DEFAULT);
   }
 
-  private static boolean checkAssignableParameterTypes(Object[] params, Method method) {
-    for (int i = 0; i < method.getParameterTypes().length; i++) {
-      Class<?> paramType = method.getParameterTypes()[i];
-      if (paramType.isPrimitive()) {
-        paramType = MethodType.methodType(paramType).wrap().returnType();
-      }
-      if (params[i] != null && !paramType.isAssignableFrom(params[i].getClass())) {
+  private static boolean checkAssignableParameterTypes(
+    Object[] params,
+    Class<?>[] wrappedParameterTypes
+  ) {
+    for (int i = 0; i < wrappedParameterTypes.length; i++) {
+      if (params[i] != null && !wrappedParameterTypes[i].isInstance(params[i])) {
         return false;
       }
     }
     return true;
   }
 
-  private static int pickMoreSpecificMethod(Method methodA, Method methodB) {
-    Class<?>[] typesA = methodA.getParameterTypes();
-    Class<?>[] typesB = methodB.getParameterTypes();
+  private static int pickMoreSpecificMethod(Class<?>[] typesA, Class<?>[] typesB) {
     for (int i = 0; i < typesA.length; i++) {
       if (!typesA[i].isAssignableFrom(typesB[i])) {
         if (typesB[i].isPrimitive()) {
@@ -0,0 +1,160 @@
+package com.hubspot.jinjava.el.ext;
+
+import com.google.common.primitives.Primitives;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * A {@link Method} together with a {@link MethodHandle} that calls it, so that getters
+ * and methods which are called over and over from templates don't go through
+ * {@link Method#invoke(Object, Object...)} each time.
+ *
+ * <p>The handle is adapted to take the receiver and an array holding exactly one argument
+ * per formal parameter (the varargs array already built, as by
+ * {@link BeanELResolver#coerceParams}). If the method can't be unreflected, calls fall
+ * back to reflection. Either way, a call fails with the same exceptions as
+ * {@link Method#invoke(Object, Object...)}.
+ */
+public final class MethodAccessor {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType GENERIC_TYPE = MethodType.methodType(
+    Object.class,
+    Object.class,
+    Object[].class
+  );
+  private static final Object[] NO_ARGS = new Object[0];
+  // in the order in which each can be widened to the ones after it
+  private static final List<Class<?>> NUMERIC_TYPES = List.of(
+    byte.class,
+    short.class,
+    int.class,
+    long.class,
+    float.class,
+    double.class
+  );
+
+  private final Method method;
+  private final MethodHandle handle;
+  private final boolean isStatic;
+  // the parameter types with primitives boxed, to check arguments when a call fails
+  private final Class<?>[] wrappedParameterTypes;
+
+  private MethodAccessor(Method method, MethodHandle handle) {
+    this.method = method;
+    this.handle = handle;
+    this.isStatic = Modifier.isStatic(method.getModifiers());
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    this.wrappedParameterTypes = new Class<?>[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      wrappedParameterTypes[i] =
+        MethodType.methodType(parameterTypes[i]).wrap().returnType();
+    }
+  }
+
+  public static MethodAccessor of(Method method) {
+    return new MethodAccessor(method, toHandle(method));
+  }
+
+  private static MethodHandle toHandle(Method method) {
+    MethodHandle handle;
+    try {
+      handle = LOOKUP.unreflect(method).asFixedArity();
+    } catch (IllegalAccessException | SecurityException e) {
+      return null;
+    }
+    if (Modifier.isStatic(method.getModifiers())) {
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    }
+    return handle
+      .asSpreader(Object[].class, method.getParameterCount())
+      .asType(GENERIC_TYPE);
+  }
+
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * Calls the method on {@code base}. Exceptions are reported the same way as by
+   * {@link Method#invoke(Object, Object...)}: anything thrown by the method itself is
+   * wrapped in an {@link InvocationTargetException}, a missing receiver is a
+   * {@link NullPointerException} and arguments which don't match the method's parameters
+   * are an {@link IllegalArgumentException}.
+   */
+  public Object invoke(Object base, Object... args)
+    throws InvocationTargetException, IllegalAccessException {
+    if (handle == null) {
+      return method.invoke(base, args);
+    }
+    Object[] arguments = args == null ? NO_ARGS : args;
+    try {
+      return handle.invokeExact(base, arguments);
+    } catch (Throwable t) {
+      // the handle fails like this before calling the method if it can't adapt the call
+      if (
+        (t instanceof ClassCastException ||
+          t instanceof NullPointerException ||
+          t instanceof IllegalArgumentException ||
+          t instanceof WrongMethodTypeException)
+      ) {
+        checkArguments(base, arguments, t);
+      }
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  private void checkArguments(Object base, Object[] arguments, Throwable cause) {
+    if (!isStatic) {
+      if (base == null) {
+        throw new NullPointerException(
+          "Cannot invoke " + method + " without a receiver"
+        );
+      }
+      if (!method.getDeclaringClass().isInstance(base)) {
+        throw new IllegalArgumentException(
+          "object is not an instance of declaring class",
+          cause
+        );
+      }
+    }
+    if (arguments.length != wrappedParameterTypes.length) {
+      throw new IllegalArgumentException("wrong number of arguments", cause);
+    }
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    for (int i = 0; i < arguments.length; i++) {
+      if (!isAssignable(parameterTypes[i], wrappedParameterTypes[i], arguments[i])) {
+        throw new IllegalArgumentException("argument type mismatch", cause);
+      }
+    }
+  }
+
+  private static boolean isAssignable(
+    Class<?> parameterType,
+    Class<?> wrappedParameterType,
+    Object argument
+  ) {
+    if (argument == null) {
+      return !parameterType.isPrimitive();
+    }
+    if (wrappedParameterType.isInstance(argument)) {
+      return true;
+    }
+    if (!parameterType.isPrimitive()) {
+      return false;
+    }
+    // a widening primitive conversion, such as of an Integer to a long parameter
+    Class<?> argumentType = Primitives.unwrap(argument.getClass());
+    if (argumentType == char.class) {
+      return NUMERIC_TYPES.indexOf(parameterType) >= NUMERIC_TYPES.indexOf(int.class);
+    }
+    int argumentRank = NUMERIC_TYPES.indexOf(argumentType);
+    return argumentRank >= 0 && NUMERIC_TYPES.indexOf(parameterType) > argumentRank;
+  }
+}
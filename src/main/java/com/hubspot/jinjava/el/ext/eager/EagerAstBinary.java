@@ -11,8 +11,6 @@ import javax.el.ELContext;
 
 public class EagerAstBinary extends AstBinary implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final EvalResultHolder left;
   protected final EvalResultHolder right;
   protected final Operator operator;
@@ -72,20 +70,4 @@ public class EagerAstBinary extends AstBinary implements EvalResultHolder {
       )
     );
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
@@ -9,9 +9,6 @@ import javax.el.ELContext;
 
 public class EagerAstBracket extends AstBracket implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstBracket(
     AstNode base,
     AstNode property,
@@ -37,22 +34,6 @@ public class EagerAstBracket extends AstBracket implements EvalResultHolder {
     );
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   public AstNode getPrefix() {
     return prefix;
   }
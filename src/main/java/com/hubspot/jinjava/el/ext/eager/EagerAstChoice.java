@@ -11,8 +11,6 @@ import javax.el.ELException;
 
 public class EagerAstChoice extends AstChoice implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final EvalResultHolder question;
   protected final EvalResultHolder yes;
   protected final EvalResultHolder no;
@@ -58,22 +56,6 @@ public class EagerAstChoice extends AstChoice implements EvalResultHolder {
     }
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   @Override
   public String getPartiallyResolved(
     Bindings bindings,
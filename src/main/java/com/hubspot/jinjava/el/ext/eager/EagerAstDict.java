@@ -15,9 +15,6 @@ import javax.el.ELContext;
 
 public class EagerAstDict extends AstDict implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstDict(Map<AstNode, AstNode> dict) {
     super(dict);
   }
@@ -87,20 +84,4 @@ public class EagerAstDict extends AstDict implements EvalResultHolder {
     }
     return String.format("{%s}", joined);
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
@@ -10,8 +10,6 @@ import javax.el.ELException;
 
 public class EagerAstDot extends AstDot implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final EvalResultHolder base;
   protected final String property;
 
@@ -69,22 +67,6 @@ public class EagerAstDot extends AstDot implements EvalResultHolder {
     );
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   public AstNode getPrefix() {
     return prefix;
   }
@@ -8,9 +8,6 @@ import javax.el.ELContext;
 
 public class EagerAstIdentifier extends AstIdentifier implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstIdentifier(String name, int index, boolean ignoreReturnType) {
     super(name, index, ignoreReturnType);
   }
@@ -24,22 +21,6 @@ public class EagerAstIdentifier extends AstIdentifier implements EvalResultHolde
     );
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   @Override
   public String getPartiallyResolved(
     Bindings bindings,
@@ -10,9 +10,6 @@ import javax.el.ELContext;
 
 public class EagerAstList extends AstList implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstList(AstParameters elements) {
     super(elements);
   }
@@ -26,22 +23,6 @@ public class EagerAstList extends AstList implements EvalResultHolder {
     );
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   @Override
   public String getPartiallyResolved(
     Bindings bindings,
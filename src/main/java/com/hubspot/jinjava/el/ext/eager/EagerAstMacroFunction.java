@@ -17,8 +17,6 @@ import javax.el.ELException;
 
 public class EagerAstMacroFunction extends AstMacroFunction implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   // instanceof AstParameters
   protected EvalResultHolder params;
   protected boolean varargs;
@@ -169,20 +167,4 @@ public class EagerAstMacroFunction extends AstMacroFunction implements EvalResul
 
     return (getName() + String.format("(%s)", paramString));
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
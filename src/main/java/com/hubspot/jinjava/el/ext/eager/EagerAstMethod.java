@@ -13,8 +13,6 @@ import javax.el.ELException;
 
 public class EagerAstMethod extends AstMethod implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   // instanceof AstProperty
   protected final EvalResultHolder property;
   // instanceof AstParameters
@@ -55,22 +53,6 @@ public class EagerAstMethod extends AstMethod implements EvalResultHolder {
     }
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   /**
    * This method is used when we need to reconstruct the method property and params manually.
    * Neither the property or params could be evaluated so we dive into the property and figure out
@@ -12,8 +12,6 @@ public class EagerAstNamedParameter
   extends AstNamedParameter
   implements EvalResultHolder {
 
-  protected boolean hasEvalResult;
-  protected Object evalResult;
   protected final AstIdentifier name;
   protected final EvalResultHolder value;
 
@@ -55,20 +53,4 @@ public class EagerAstNamedParameter
       )
     );
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
@@ -13,8 +13,6 @@ import javax.el.ELContext;
  */
 public class EagerAstNested extends AstRightValue implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final AstNode child;
 
   public EagerAstNested(AstNode child) {
@@ -37,27 +35,11 @@ public class EagerAstNested extends AstRightValue implements EvalResultHolder {
     );
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
   @Override
   public String toString() {
     return "(...)";
   }
 
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   @Override
   public int getCardinality() {
     return 1;
@@ -17,8 +17,6 @@ import javax.el.ValueReference;
 public class EagerAstNodeDecorator extends AstNode implements EvalResultHolder {
 
   private final AstNode astNode;
-  protected Object evalResult;
-  protected boolean hasEvalResult;
 
   public static EvalResultHolder getAsEvalResultHolder(AstNode astNode) {
     if (astNode instanceof EvalResultHolder) {
@@ -34,22 +32,6 @@ public class EagerAstNodeDecorator extends AstNode implements EvalResultHolder {
     this.astNode = astNode;
   }
 
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
-
   @Override
   public void appendStructure(StringBuilder stringBuilder, Bindings bindings) {
     astNode.appendStructure(stringBuilder, bindings);
@@ -124,11 +106,10 @@ public class EagerAstNodeDecorator extends AstNode implements EvalResultHolder {
     Class<?>[] classes,
     Object[] objects
   ) {
-    if (hasEvalResult) {
-      return evalResult;
+    if (hasEvalResult()) {
+      return getEvalResult();
     }
-    evalResult = astNode.invoke(bindings, elContext, aClass, classes, objects);
-    return evalResult;
+    return astNode.invoke(bindings, elContext, aClass, classes, objects);
   }
 
   @Override
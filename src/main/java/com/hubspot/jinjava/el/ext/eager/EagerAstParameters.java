@@ -16,8 +16,6 @@ import javax.el.ELException;
 
 public class EagerAstParameters extends AstParameters implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final List<AstNode> nodes;
 
   public EagerAstParameters(List<AstNode> nodes) {
@@ -89,20 +87,4 @@ public class EagerAstParameters extends AstParameters implements EvalResultHolde
       );
     return joiner.toString();
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
@@ -9,9 +9,6 @@ import javax.el.ELContext;
 
 public class EagerAstRangeBracket extends AstRangeBracket implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstRangeBracket(
     AstNode base,
     AstNode rangeStart,
@@ -73,20 +70,4 @@ public class EagerAstRangeBracket extends AstRangeBracket implements EvalResultH
       "]"
     );
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
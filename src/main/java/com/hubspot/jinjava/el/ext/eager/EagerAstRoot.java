@@ -7,9 +7,13 @@ import javax.el.ELContext;
 import javax.el.MethodInfo;
 import javax.el.ValueReference;
 
+/**
+ * The root of an eager expression tree. Each evaluation of the tree keeps the results of
+ * evaluating its nodes separately, in {@link EvalResults}.
+ */
 public class EagerAstRoot extends AstNode {
 
-  private AstNode rootNode;
+  private final AstNode rootNode;
 
   public EagerAstRoot(AstNode rootNode) {
     this.rootNode = rootNode;
@@ -22,7 +26,7 @@ public class EagerAstRoot extends AstNode {
 
   @Override
   public Object eval(Bindings bindings, ELContext context) {
-    return rootNode.eval(bindings, context);
+    return EvalResults.evaluate(() -> rootNode.eval(bindings, context));
   }
 
   @Override
@@ -78,7 +82,9 @@ public class EagerAstRoot extends AstNode {
     Class<?>[] paramTypes,
     Object[] paramValues
   ) {
-    return rootNode.invoke(bindings, context, returnType, paramTypes, paramValues);
+    return EvalResults.evaluate(() ->
+      rootNode.invoke(bindings, context, returnType, paramTypes, paramValues)
+    );
   }
 
   @Override
@@ -10,9 +10,6 @@ import javax.el.ELContext;
 
 public class EagerAstTuple extends AstTuple implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
-
   public EagerAstTuple(AstParameters elements) {
     super(elements);
   }
@@ -47,20 +44,4 @@ public class EagerAstTuple extends AstTuple implements EvalResultHolder {
     }
     return '(' + joiner.toString() + ')';
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
@@ -9,8 +9,6 @@ import javax.el.ELContext;
 
 public class EagerAstUnary extends AstUnary implements EvalResultHolder {
 
-  protected Object evalResult;
-  protected boolean hasEvalResult;
   protected final EvalResultHolder child;
   protected final Operator operator;
 
@@ -51,20 +49,4 @@ public class EagerAstUnary extends AstUnary implements EvalResultHolder {
       )
     );
   }
-
-  @Override
-  public Object getEvalResult() {
-    return evalResult;
-  }
-
-  @Override
-  public void setEvalResult(Object evalResult) {
-    this.evalResult = evalResult;
-    hasEvalResult = true;
-  }
-
-  @Override
-  public boolean hasEvalResult() {
-    return hasEvalResult;
-  }
 }
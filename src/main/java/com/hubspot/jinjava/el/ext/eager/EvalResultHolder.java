@@ -16,12 +16,23 @@ import java.util.function.Supplier;
 import javax.el.ELContext;
 import javax.el.ELException;
 
+/**
+ * A node of an eager expression tree. The results of evaluating it are kept in
+ * {@link EvalResults} for the duration of the evaluation of its tree, rather than on the
+ * node, so that parsed trees can be cached and shared.
+ */
 public interface EvalResultHolder {
-  Object getEvalResult();
+  default Object getEvalResult() {
+    return EvalResults.get(this);
+  }
 
-  void setEvalResult(Object evalResult);
+  default void setEvalResult(Object evalResult) {
+    EvalResults.set(this, evalResult);
+  }
 
-  boolean hasEvalResult();
+  default boolean hasEvalResult() {
+    return EvalResults.has(this);
+  }
 
   default Object eval(
     Supplier<Object> evalSupplier,
@@ -0,0 +1,61 @@
+package com.hubspot.jinjava.el.ext.eager;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The results of evaluating the nodes of an eager expression tree, which are used to
+ * reconstruct the parts of the expression that couldn't be fully resolved.
+ *
+ * <p>Parsed trees are cached and shared between renders and threads, so the results are
+ * kept here rather than on the nodes themselves. Each evaluation of a tree, which is
+ * started by {@link EagerAstRoot}, gets its own results on the current thread. Evaluating
+ * the same tree again while it is being evaluated, such as from a recursive macro call,
+ * doesn't affect the results of the outer evaluation.
+ *
+ * <p>Outside of an evaluation results aren't kept, so {@link EvalResultHolder} nodes
+ * behave as if they hadn't been evaluated yet.
+ */
+final class EvalResults {
+
+  private static final ThreadLocal<EvalResults> CURRENT = new ThreadLocal<>();
+
+  private final EvalResults outer;
+  private final Map<EvalResultHolder, Object> results = new IdentityHashMap<>();
+
+  private EvalResults(EvalResults outer) {
+    this.outer = outer;
+  }
+
+  static <T> T evaluate(Supplier<T> evaluation) {
+    EvalResults results = new EvalResults(CURRENT.get());
+    CURRENT.set(results);
+    try {
+      return evaluation.get();
+    } finally {
+      if (results.outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(results.outer);
+      }
+    }
+  }
+
+  static Object get(EvalResultHolder node) {
+    EvalResults current = CURRENT.get();
+    return current == null ? null : current.results.get(node);
+  }
+
+  static void set(EvalResultHolder node, Object result) {
+    EvalResults current = CURRENT.get();
+    if (current != null) {
+      current.results.put(node, result);
+    }
+  }
+
+  static boolean has(EvalResultHolder node) {
+    EvalResults current = CURRENT.get();
+    return current != null && current.results.containsKey(node);
+  }
+}
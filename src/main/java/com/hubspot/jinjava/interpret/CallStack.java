@@ -8,7 +8,7 @@ public class CallStack {
 
   private final CallStack parent;
   private final Class<? extends TagCycleException> exceptionClass;
-  private final Stack<String> stack = new Stack<>();
+  private Stack<String> stack; // created on the first push
   private final int depth;
   private int topLineNumber = -1;
   private int topStartPosition = -1;
@@ -21,7 +21,7 @@ public class CallStack {
   }
 
   public boolean contains(String path) {
-    if (stack.contains(path)) {
+    if (stack != null && stack.contains(path)) {
       return true;
     }
 
@@ -73,7 +73,7 @@ public class CallStack {
   }
 
   public Optional<String> pop() {
-    if (stack.isEmpty()) {
+    if (stack == null || stack.isEmpty()) {
       if (parent != null) {
         return parent.pop();
       }
@@ -84,7 +84,7 @@ public class CallStack {
   }
 
   public Optional<String> peek() {
-    if (stack.isEmpty()) {
+    if (stack == null || stack.isEmpty()) {
       if (parent != null) {
         return parent.peek();
       }
@@ -109,7 +109,7 @@ public class CallStack {
   }
 
   public boolean isEmpty() {
-    return stack.empty() && (parent == null || parent.isEmpty());
+    return (stack == null || stack.empty()) && (parent == null || parent.isEmpty());
   }
 
   public AutoCloseableSupplier<Result<String, TagCycleException>> closeablePush(
@@ -168,6 +168,9 @@ public class CallStack {
       topLineNumber = lineNumber;
       topStartPosition = startPosition;
     }
+    if (stack == null) {
+      stack = new Stack<>();
+    }
     stack.push(path);
   }
 }
@@ -40,16 +40,21 @@ import com.hubspot.jinjava.mode.EagerExecutionMode;
 import com.hubspot.jinjava.tree.Node;
 import com.hubspot.jinjava.util.DeferredValueUtils;
 import com.hubspot.jinjava.util.ScopeMap;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.Stack;
+import java.util.TreeMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class Context extends ScopeMap<String, Object> {
@@ -80,12 +85,15 @@ public class Context extends ScopeMap<String, Object> {
     TAG,
   }
 
-  private final CallStack extendPathStack;
-  private final CallStack importPathStack;
-  private final CallStack includePathStack;
-  private final CallStack macroStack;
-  private final CallStack fromStack;
-  private final CallStack currentPathStack;
+  // Call stacks are created when they're first used, as most scopes never use them.
+  // Unless makeNewCallStacks is set, they're the parent's call stacks.
+  private final boolean makeNewCallStacks;
+  private CallStack extendPathStack;
+  private CallStack importPathStack;
+  private CallStack includePathStack;
+  private CallStack macroStack;
+  private CallStack fromStack;
+  private CallStack currentPathStack;
 
   private final Set<String> resolvedExpressions = new HashSet<>();
   private final Set<String> resolvedValues = new HashSet<>();
@@ -96,10 +104,12 @@ public class Context extends ScopeMap<String, Object> {
   @Beta
   private Set<DeferredToken> deferredTokens = new HashSet<>();
 
-  private final ExpTestLibrary expTestLibrary;
-  private final FilterLibrary filterLibrary;
-  private final FunctionLibrary functionLibrary;
-  private final TagLibrary tagLibrary;
+  // A child context's libraries are only created once something is registered in them,
+  // or if some of their entries are disabled, and are otherwise null.
+  private ExpTestLibrary expTestLibrary;
+  private FilterLibrary filterLibrary;
+  private FunctionLibrary functionLibrary;
+  private TagLibrary tagLibrary;
 
   private final Context parent;
 
@@ -138,6 +148,16 @@ public class Context extends ScopeMap<String, Object> {
     Map<String, ?> bindings,
     Map<Library, Set<String>> disabled,
     boolean makeNewCallStacks
+  ) {
+    this(parent, bindings, disabled, makeNewCallStacks, null);
+  }
+
+  private Context(
+    Context parent,
+    Map<String, ?> bindings,
+    Map<Library, Set<String>> disabled,
+    boolean makeNewCallStacks,
+    Context librarySource
   ) {
     super(parent);
     this.disabled = disabled;
@@ -148,59 +168,36 @@ public class Context extends ScopeMap<String, Object> {
 
     this.parent = parent;
 
-    this.extendPathStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getExtendPathStack(),
-          ExtendsTagCycleException.class
-        )
-        : parent == null ? null : parent.getExtendPathStack();
-    this.importPathStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getImportPathStack(),
-          ImportTagCycleException.class
-        )
-        : parent == null ? null : parent.getImportPathStack();
-    this.includePathStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getIncludePathStack(),
-          IncludeTagCycleException.class
-        )
-        : parent == null ? null : parent.getIncludePathStack();
-    this.macroStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getMacroStack(),
-          MacroTagCycleException.class
-        )
-        : parent == null ? null : parent.getMacroStack();
-    this.fromStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getFromStack(),
-          FromTagCycleException.class
-        )
-        : parent == null ? null : parent.getFromStack();
-    this.currentPathStack =
-      makeNewCallStacks
-        ? new CallStack(
-          parent == null ? null : parent.getCurrentPathStack(),
-          TagCycleException.class
-        )
-        : parent == null ? null : parent.getCurrentPathStack();
+    this.makeNewCallStacks = makeNewCallStacks;
 
     if (disabled == null) {
       disabled = ImmutableMap.of();
     }
 
-    this.expTestLibrary =
-      new ExpTestLibrary(parent == null, disabled.get(Library.EXP_TEST));
-    this.filterLibrary = new FilterLibrary(parent == null, disabled.get(Library.FILTER));
-    this.tagLibrary = new TagLibrary(parent == null, disabled.get(Library.TAG));
-    this.functionLibrary =
-      new FunctionLibrary(parent == null, disabled.get(Library.FUNCTION));
+    if (librarySource != null) {
+      this.expTestLibrary = new ExpTestLibrary(librarySource.expTestLibrary);
+      this.filterLibrary = new FilterLibrary(librarySource.filterLibrary);
+      this.tagLibrary = new TagLibrary(librarySource.tagLibrary);
+      this.functionLibrary = new FunctionLibrary(librarySource.functionLibrary);
+    } else if (parent == null) {
+      this.expTestLibrary = new ExpTestLibrary(true, disabled.get(Library.EXP_TEST));
+      this.filterLibrary = new FilterLibrary(true, disabled.get(Library.FILTER));
+      this.tagLibrary = new TagLibrary(true, disabled.get(Library.TAG));
+      this.functionLibrary = new FunctionLibrary(true, disabled.get(Library.FUNCTION));
+    } else {
+      if (disabled.get(Library.EXP_TEST) != null) {
+        this.expTestLibrary = new ExpTestLibrary(false, disabled.get(Library.EXP_TEST));
+      }
+      if (disabled.get(Library.FILTER) != null) {
+        this.filterLibrary = new FilterLibrary(false, disabled.get(Library.FILTER));
+      }
+      if (disabled.get(Library.TAG) != null) {
+        this.tagLibrary = new TagLibrary(false, disabled.get(Library.TAG));
+      }
+      if (disabled.get(Library.FUNCTION) != null) {
+        this.functionLibrary = new FunctionLibrary(false, disabled.get(Library.FUNCTION));
+      }
+    }
     this.metaContextVariables =
       parent == null ? new HashSet<>() : parent.metaContextVariables;
     this.overriddenNonMetaContextVariables =
@@ -210,6 +207,16 @@ public class Context extends ScopeMap<String, Object> {
     }
   }
 
+  /**
+   * Create a context with no parent whose exp tests, filters, functions and tags are
+   * those registered in {@code source}, instead of the defaults. The registrations are
+   * shared with {@code source} until either context registers something else, so this is
+   * much cheaper than registering everything again.
+   */
+  public static Context withLibrariesOf(Context source, Map<String, ?> bindings) {
+    return new Context(null, bindings, null, true, source);
+  }
+
   public void reset() {
     // clear anything that pushes up to its parent's values
     resolvedExpressions.clear();
@@ -468,10 +475,11 @@ public class Context extends ScopeMap<String, Object> {
 
   public Map<String, Object> getCombinedScope() {
     Map<String, Object> scopeMap = new HashMap<>(getScope());
-    Context parent = this.parent;
-    while (parent != null && parent.currentPathStack == currentPathStack) {
-      parent.getScope().forEach(scopeMap::putIfAbsent);
-      parent = parent.parent;
+    // include the parents which share this context's current path stack
+    Context context = this;
+    while (!context.makeNewCallStacks && context.parent != null) {
+      context = context.parent;
+      context.getScope().forEach(scopeMap::putIfAbsent);
     }
     return scopeMap;
   }
@@ -523,17 +531,19 @@ public class Context extends ScopeMap<String, Object> {
   public final void registerClasses(Class<? extends Importable>... classes) {
     for (Class<? extends Importable> c : classes) {
       if (ExpTest.class.isAssignableFrom(c)) {
-        expTestLibrary.registerClasses((Class<? extends ExpTest>) c);
+        getOrCreateExpTestLibrary().registerClasses((Class<? extends ExpTest>) c);
       } else if (Filter.class.isAssignableFrom(c)) {
-        filterLibrary.registerClasses((Class<? extends Filter>) c);
+        getOrCreateFilterLibrary().registerClasses((Class<? extends Filter>) c);
       } else if (Tag.class.isAssignableFrom(c)) {
-        tagLibrary.registerClasses((Class<? extends Tag>) c);
+        getOrCreateTagLibrary().registerClasses((Class<? extends Tag>) c);
       }
     }
   }
 
   public Collection<ExpTest> getAllExpTests() {
-    List<ExpTest> expTests = new ArrayList<>(expTestLibrary.entries());
+    List<ExpTest> expTests = expTestLibrary == null
+      ? new ArrayList<>()
+      : new ArrayList<>(expTestLibrary.entries());
 
     if (parent != null) {
       expTests.addAll(parent.getAllExpTests());
@@ -543,7 +553,7 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public ExpTest getExpTest(String name) {
-    ExpTest t = expTestLibrary.getExpTest(name);
+    ExpTest t = expTestLibrary == null ? null : expTestLibrary.getExpTest(name);
     if (t != null) {
       return t;
     }
@@ -554,11 +564,13 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public void registerExpTest(ExpTest t) {
-    expTestLibrary.addExpTest(t);
+    getOrCreateExpTestLibrary().addExpTest(t);
   }
 
   public Collection<Filter> getAllFilters() {
-    List<Filter> filters = new ArrayList<>(filterLibrary.entries());
+    List<Filter> filters = filterLibrary == null
+      ? new ArrayList<>()
+      : new ArrayList<>(filterLibrary.entries());
 
     if (parent != null) {
       filters.addAll(parent.getAllFilters());
@@ -568,7 +580,7 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public Filter getFilter(String name) {
-    Filter f = filterLibrary.getFilter(name);
+    Filter f = filterLibrary == null ? null : filterLibrary.getFilter(name);
     if (f != null) {
       return f;
     }
@@ -579,7 +591,7 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public void registerFilter(Filter f) {
-    filterLibrary.addFilter(f);
+    getOrCreateFilterLibrary().addFilter(f);
   }
 
   public boolean isFunctionDisabled(String name) {
@@ -591,7 +603,9 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public ELFunctionDefinition getFunction(String name) {
-    ELFunctionDefinition f = functionLibrary.getFunction(name);
+    ELFunctionDefinition f = functionLibrary == null
+      ? null
+      : functionLibrary.getFunction(name);
     if (f != null) {
       return f;
     }
@@ -602,7 +616,9 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public Collection<ELFunctionDefinition> getAllFunctions() {
-    List<ELFunctionDefinition> fns = new ArrayList<>(functionLibrary.entries());
+    List<ELFunctionDefinition> fns = functionLibrary == null
+      ? new ArrayList<>()
+      : new ArrayList<>(functionLibrary.entries());
 
     if (parent != null) {
       fns.addAll(parent.getAllFunctions());
@@ -620,12 +636,25 @@ public class Context extends ScopeMap<String, Object> {
       .collect(Collectors.toList());
   }
 
+  /**
+   * @return The methods of the functions registered in this context, not including those
+   *         of its parents, keyed by function name. The map is immutable, and is shared
+   *         until another function is registered in this context.
+   */
+  public Map<String, Method> getFunctionMethods() {
+    return functionLibrary == null
+      ? Collections.emptyMap()
+      : functionLibrary.getMethods();
+  }
+
   public void registerFunction(ELFunctionDefinition f) {
-    functionLibrary.addFunction(f);
+    getOrCreateFunctionLibrary().addFunction(f);
   }
 
   public Collection<Tag> getAllTags() {
-    List<Tag> tags = new ArrayList<>(tagLibrary.entries());
+    List<Tag> tags = tagLibrary == null
+      ? new ArrayList<>()
+      : new ArrayList<>(tagLibrary.entries());
 
     if (parent != null) {
       tags.addAll(parent.getAllTags());
@@ -635,7 +664,7 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public Tag getTag(String name) {
-    Tag t = tagLibrary.getTag(name);
+    Tag t = tagLibrary == null ? null : tagLibrary.getTag(name);
     if (t != null) {
       return t;
     }
@@ -646,7 +675,60 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public void registerTag(Tag t) {
-    tagLibrary.addTag(t);
+    getOrCreateTagLibrary().addTag(t);
+  }
+
+  /**
+   * @return The class of each tag by its name which has been registered in this context
+   *         or any of its parents, other than those shared with {@code globalContext},
+   *         such as the tags an execution mode registers for each render.
+   */
+  public SortedMap<String, Class<?>> getTagsNotRegisteredIn(Context globalContext) {
+    SortedMap<String, Class<?>> tags = new TreeMap<>();
+    for (Context context = this; context != null; context = context.parent) {
+      if (context == globalContext) {
+        break;
+      }
+      TagLibrary library = context.tagLibrary;
+      if (
+        library != null &&
+        (globalContext.tagLibrary == null ||
+          !library.sharesEntriesWith(globalContext.tagLibrary))
+      ) {
+        library
+          .getEntriesByName()
+          .forEach((name, tag) -> tags.putIfAbsent(name, tag.getClass()));
+      }
+    }
+    return tags;
+  }
+
+  private ExpTestLibrary getOrCreateExpTestLibrary() {
+    if (expTestLibrary == null) {
+      expTestLibrary = new ExpTestLibrary(false, null);
+    }
+    return expTestLibrary;
+  }
+
+  private FilterLibrary getOrCreateFilterLibrary() {
+    if (filterLibrary == null) {
+      filterLibrary = new FilterLibrary(false, null);
+    }
+    return filterLibrary;
+  }
+
+  private FunctionLibrary getOrCreateFunctionLibrary() {
+    if (functionLibrary == null) {
+      functionLibrary = new FunctionLibrary(false, null);
+    }
+    return functionLibrary;
+  }
+
+  private TagLibrary getOrCreateTagLibrary() {
+    if (tagLibrary == null) {
+      tagLibrary = new TagLibrary(false, null);
+    }
+    return tagLibrary;
   }
 
   public DynamicVariableResolver getDynamicVariableResolver() {
@@ -674,41 +756,73 @@ public class Context extends ScopeMap<String, Object> {
   }
 
   public CallStack getExtendPathStack() {
+    if (extendPathStack == null) {
+      extendPathStack =
+        newCallStack(Context::getExtendPathStack, ExtendsTagCycleException.class);
+    }
     return extendPathStack;
   }
 
   public CallStack getImportPathStack() {
+    if (importPathStack == null) {
+      importPathStack =
+        newCallStack(Context::getImportPathStack, ImportTagCycleException.class);
+    }
     return importPathStack;
   }
 
   public CallStack getFromPathStack() {
-    return fromStack;
+    return getFromStack();
   }
 
   public CallStack getIncludePathStack() {
+    if (includePathStack == null) {
+      includePathStack =
+        newCallStack(Context::getIncludePathStack, IncludeTagCycleException.class);
+    }
     return includePathStack;
   }
 
   private CallStack getFromStack() {
+    if (fromStack == null) {
+      fromStack = newCallStack(Context::getFromStack, FromTagCycleException.class);
+    }
     return fromStack;
   }
 
   public CallStack getMacroStack() {
+    if (macroStack == null) {
+      macroStack = newCallStack(Context::getMacroStack, MacroTagCycleException.class);
+    }
     return macroStack;
   }
 
   public CallStack getCurrentPathStack() {
+    if (currentPathStack == null) {
+      currentPathStack =
+        newCallStack(Context::getCurrentPathStack, TagCycleException.class);
+    }
     return currentPathStack;
   }
 
+  private CallStack newCallStack(
+    Function<Context, CallStack> parentStack,
+    Class<? extends TagCycleException> exceptionClass
+  ) {
+    CallStack parentCallStack = parent == null ? null : parentStack.apply(parent);
+    return makeNewCallStacks
+      ? new CallStack(parentCallStack, exceptionClass)
+      : parentCallStack;
+  }
+
   @Deprecated
   public void pushFromStack(String path, int lineNumber, int startPosition) {
-    fromStack.push(path, lineNumber, startPosition);
+    getFromStack().push(path, lineNumber, startPosition);
   }
 
   @Deprecated
   public void popFromStack() {
-    fromStack.pop();
+    getFromStack().pop();
   }
 
   public int getRenderDepth() {
@@ -0,0 +1,31 @@
+package com.hubspot.jinjava.interpret;
+
+import java.util.Arrays;
+
+/**
+ * The interpreters rendering on a thread, innermost last. Unlike {@link java.util.Stack}
+ * it isn't synchronized, as it's only ever used by its own thread, which keeps
+ * {@link JinjavaInterpreter#getCurrent()} cheap.
+ */
+final class InterpreterStack {
+
+  private JinjavaInterpreter[] interpreters = new JinjavaInterpreter[8];
+  private int size;
+
+  void push(JinjavaInterpreter interpreter) {
+    if (size == interpreters.length) {
+      interpreters = Arrays.copyOf(interpreters, size * 2);
+    }
+    interpreters[size++] = interpreter;
+  }
+
+  void pop() {
+    if (size > 0) {
+      interpreters[--size] = null;
+    }
+  }
+
+  JinjavaInterpreter peek() {
+    return size == 0 ? null : interpreters[size - 1];
+  }
+}
@@ -20,13 +20,24 @@ import static com.hubspot.jinjava.util.Logging.ENGINE_LOG;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Table;
 import com.hubspot.algebra.Result;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
+import com.hubspot.jinjava.cache.MacroCacheKey;
+import com.hubspot.jinjava.cache.MacroResultCache;
+import com.hubspot.jinjava.cache.ParsedTemplate;
+import com.hubspot.jinjava.cache.ResourceCache;
+import com.hubspot.jinjava.cache.ResourceCache.ResourceLoader;
+import com.hubspot.jinjava.cache.ResourceCacheKey;
+import com.hubspot.jinjava.cache.TemplateCacheKey;
+import com.hubspot.jinjava.el.CompiledExpression;
 import com.hubspot.jinjava.el.ExpressionResolver;
 import com.hubspot.jinjava.el.ext.DeferredParsingException;
 import com.hubspot.jinjava.el.ext.ExtendedParser;
@@ -39,8 +50,14 @@ import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
 import com.hubspot.jinjava.interpret.errorcategory.BasicTemplateErrorCategory;
 import com.hubspot.jinjava.lib.tag.DoTag;
 import com.hubspot.jinjava.lib.tag.ExtendsTag;
+import com.hubspot.jinjava.lib.tag.FromTag;
+import com.hubspot.jinjava.lib.tag.ImportResult;
+import com.hubspot.jinjava.lib.tag.ImportTag;
+import com.hubspot.jinjava.lib.tag.IncludeTag;
+import com.hubspot.jinjava.lib.tag.Tag;
 import com.hubspot.jinjava.lib.tag.eager.EagerGenericTag;
 import com.hubspot.jinjava.loader.RelativePathResolver;
+import com.hubspot.jinjava.loader.ResourceLocator;
 import com.hubspot.jinjava.objects.serialization.PyishObjectMapper;
 import com.hubspot.jinjava.objects.serialization.PyishSerializable;
 import com.hubspot.jinjava.random.ConstantZeroRandomNumberGenerator;
@@ -51,6 +68,7 @@ import com.hubspot.jinjava.tree.TagNode;
 import com.hubspot.jinjava.tree.TreeParser;
 import com.hubspot.jinjava.tree.output.BlockInfo;
 import com.hubspot.jinjava.tree.output.BlockPlaceholderOutputNode;
+import com.hubspot.jinjava.tree.output.CompositeOutputNode;
 import com.hubspot.jinjava.tree.output.DynamicRenderedOutputNode;
 import com.hubspot.jinjava.tree.output.OutputList;
 import com.hubspot.jinjava.tree.output.OutputNode;
@@ -60,7 +78,9 @@ import com.hubspot.jinjava.util.EagerReconstructionUtils;
 import com.hubspot.jinjava.util.RenderLimitUtils;
 import com.hubspot.jinjava.util.Variable;
 import com.hubspot.jinjava.util.WhitespaceUtils;
+import de.odysseus.el.tree.Tree;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -73,6 +93,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.Stack;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
@@ -92,6 +113,10 @@ public class JinjavaInterpreter implements PyishSerializable {
   private final Multimap<String, BlockInfo> blocks = ArrayListMultimap.create();
   private final LinkedList<Node> extendParentRoots = new LinkedList<>();
   private final Map<String, RevertibleObject> revertibleObjects = new HashMap<>();
+  private Table<String, String, ImportResult> importResults = HashBasedTable.create();
+  private Map<MacroCacheKey, String> macroResults = new HashMap<>();
+  // null unless render profiling is enabled
+  private RenderProfiler renderProfiler;
 
   private Context context;
   private final JinjavaConfig config;
@@ -118,6 +143,9 @@ public class JinjavaInterpreter implements PyishSerializable {
     this.config = renderConfig;
     this.application = application;
     this.config.getExecutionMode().prepareContext(this.context);
+    if (config.isEnableRenderProfiling()) {
+      renderProfiler = new RenderProfiler();
+    }
 
     switch (config.getRandomNumberGeneratorStrategy()) {
       case THREAD_LOCAL:
@@ -142,6 +170,9 @@ public class JinjavaInterpreter implements PyishSerializable {
   public JinjavaInterpreter(JinjavaInterpreter orig) {
     this(orig.application, new Context(orig.context), orig.config);
     scopeDepth = orig.getScopeDepth() + 1;
+    importResults = orig.importResults;
+    macroResults = orig.macroResults;
+    renderProfiler = orig.renderProfiler;
   }
 
   public static void checkOutputSize(String string) {
@@ -240,6 +271,67 @@ public class JinjavaInterpreter implements PyishSerializable {
     return new TreeParser(this, template).buildTree();
   }
 
+  /**
+   * Parse the given string into a root Node, reusing a previously parsed tree from the
+   * template cache of this interpreter's {@link Jinjava} instance when there is one.
+   * Errors encountered while parsing are reported every time, whether or not the tree
+   * came from the cache.
+   *
+   * @param template
+   *          string to parse
+   * @return root node of the parsed tree
+   */
+  public Node parseCached(String template) {
+    ParsedTemplate parsedTemplate = application
+      .getTemplateCache()
+      .get(TemplateCacheKey.of(template, this), key -> parseForReuse(template));
+    reportParseErrors(parsedTemplate);
+    return parsedTemplate.getRoot();
+  }
+
+  /**
+   * @return The class of each tag by its name which was registered in this interpreter's
+   *         context rather than in the global context of its {@link Jinjava} instance,
+   *         since the global context's tags are the same for every render.
+   */
+  public SortedMap<String, Class<?>> getTagsRegisteredForRender() {
+    return context.getTagsNotRegisteredIn(application.getGlobalContext());
+  }
+
+  /**
+   * Add the errors which were encountered while parsing the given template to this
+   * interpreter's errors.
+   */
+  public void reportParseErrors(ParsedTemplate parsedTemplate) {
+    for (TemplateError error : parsedTemplate.getParseErrors()) {
+      addError(error.withScopeDepth(error.getScopeDepth()));
+    }
+  }
+
+  /**
+   * Parse the given string into a tree which can be shared by renders on any interpreter
+   * of the same {@link Jinjava} instance and config. Errors encountered while parsing are
+   * kept in the returned template instead of being added to this interpreter; see
+   * {@link #reportParseErrors(ParsedTemplate)}.
+   *
+   * @param template
+   *          string to parse
+   * @return the parsed tree along with its parse errors
+   */
+  public ParsedTemplate parseForReuse(String template) {
+    TreeParser treeParser = new TreeParser(this, template);
+    Node root;
+    // errors are added afterwards from the parsed template, the same as for a cache hit
+    try (
+      TemporaryValueClosable<ErrorHandlingStrategy> c = context.withErrorHandlingStrategy(
+        ErrorHandlingStrategy.ignoreAll()
+      )
+    ) {
+      root = treeParser.buildTree();
+    }
+    return new ParsedTemplate(root, treeParser.getParseErrors());
+  }
+
   /**
    * Parse the given string into a root Node, and then render it without processing any extend parents.
    * This method should be used when the template is known to not have any extends or block tags.
@@ -314,7 +406,38 @@ public class JinjavaInterpreter implements PyishSerializable {
    * @return rendered result
    */
   public String render(String template, long renderLimit) {
-    return render(parse(template), true, renderLimit);
+    return render(parseCached(template), true, renderLimit);
+  }
+
+  /**
+   * Parse the given string into a root Node, and then render it processing extend
+   * parents, writing the output to the given appendable. Each top level node up to the
+   * first block is written as soon as it has been rendered, unless the template extends,
+   * includes or imports other templates. Blocks and extend parents can only be resolved
+   * once the whole template has been rendered, so the rest of the output is held until
+   * then and written node by node.
+   *
+   * @param template
+   *          string to parse
+   * @param out
+   *          destination for the rendered output
+   */
+  public void render(String template, Appendable out) throws IOException {
+    render(parseCached(template), true, config.getMaxOutputSize(), out);
+  }
+
+  /**
+   * Render the given root node, processing extend parents, writing the output to the given
+   * appendable. As with {@link #render(String, Appendable)}, output is only written as it
+   * is rendered when there are no blocks or other templates to resolve first.
+   *
+   * @param root
+   *          node to render
+   * @param out
+   *          destination for the rendered output
+   */
+  public void render(Node root, Appendable out) throws IOException {
+    render(root, true, config.getMaxOutputSize(), out);
   }
 
   /**
@@ -352,6 +475,38 @@ public class JinjavaInterpreter implements PyishSerializable {
    * @return rendered result
    */
   private String render(Node root, boolean processExtendRoots, long renderLimit) {
+    StringBuilder result = new StringBuilder();
+    try {
+      render(root, processExtendRoots, renderLimit, result);
+    } catch (IOException e) {
+      // StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Render the given root node using this interpreter's current context, writing the
+   * output to the given appendable rather than building it up as a single string. When
+   * processing extend parents and nothing could change the output afterwards, each node
+   * is written as soon as it is rendered. Otherwise the rendered nodes are collected
+   * until blocks and extend parents are resolved, and then written out one at a time.
+   *
+   * @param root
+   *          node to render
+   * @param processExtendRoots
+   *          if true, also render all extend parents
+   * @param renderLimit
+   *          stop rendering once this output length is reached
+   * @param appendable
+   *          destination for the rendered output
+   */
+  private void render(
+    Node root,
+    boolean processExtendRoots,
+    long renderLimit,
+    Appendable appendable
+  ) throws IOException {
     boolean pushed = false;
     //noinspection ErrorProne
     if (JinjavaInterpreter.getCurrent() != this) {
@@ -360,8 +515,10 @@ public class JinjavaInterpreter implements PyishSerializable {
     }
     try {
       OutputList output = new OutputList(
-        RenderLimitUtils.clampProvidedRenderLimitToConfig(renderLimit, config)
+        RenderLimitUtils.clampProvidedRenderLimitToConfig(renderLimit, config),
+        this
       );
+      boolean streamOutput = processExtendRoots && canStreamOutput(root);
       for (Node node : root.getChildren()) {
         lineNumber = node.getLineNumber();
         position = node.getStartPosition();
@@ -402,9 +559,17 @@ public class JinjavaInterpreter implements PyishSerializable {
             }
             output.addNode(out);
           }
+          if (
+            streamOutput &&
+            extendParentRoots.isEmpty() &&
+            output.getBlocks().isEmpty()
+          ) {
+            output.flush(appendable);
+          }
         } catch (OutputTooBigException e) {
           addError(TemplateError.fromOutputTooBigException(e));
-          return output.getValue();
+          output.writeTo(appendable);
+          return;
         } catch (CollectionTooBigException e) {
           addError(
             new TemplateError(
@@ -420,7 +585,8 @@ public class JinjavaInterpreter implements PyishSerializable {
               ImmutableMap.of()
             )
           );
-          return output.getValue();
+          output.writeTo(appendable);
+          return;
         }
       }
       DynamicRenderedOutputNode pathSetter = new DynamicRenderedOutputNode();
@@ -467,13 +633,16 @@ public class JinjavaInterpreter implements PyishSerializable {
                 output
                   .getNodes()
                   .stream()
-                  .filter(node -> node instanceof RenderedOutputNode)
+                  .filter(node ->
+                    node instanceof RenderedOutputNode ||
+                    node instanceof CompositeOutputNode
+                  )
                   .map(OutputNode::getValue)
                   .collect(Collectors.joining())
               );
             }
             numDeferredTokensBefore = context.getDeferredTokens().size();
-            output = new OutputList(config.getMaxOutputSize());
+            output = new OutputList(config.getMaxOutputSize(), this);
             output.addNode(pathSetter);
             boolean hasNestedExtends = false;
             for (Node node : parentRoot.getChildren()) {
@@ -487,7 +656,8 @@ public class JinjavaInterpreter implements PyishSerializable {
                 }
               } catch (OutputTooBigException e) {
                 addError(TemplateError.fromOutputTooBigException(e));
-                return output.getValue();
+                output.writeTo(appendable);
+                return;
               }
             }
             Optional<String> currentExtendPath = context.getExtendPathStack().pop();
@@ -524,7 +694,7 @@ public class JinjavaInterpreter implements PyishSerializable {
       }
 
       if (ignoredOutput.length() > 0) {
-        return (
+        appendable.append(
           EagerReconstructionUtils.labelWithNotes(
             EagerReconstructionUtils.wrapInTag(
               ignoredOutput.toString(),
@@ -534,11 +704,10 @@ public class JinjavaInterpreter implements PyishSerializable {
             ),
             IGNORED_OUTPUT_FROM_EXTENDS_NOTE,
             this
-          ) +
-          output.getValue()
+          )
         );
       }
-      return output.getValue();
+      output.writeTo(appendable);
     } finally {
       if (pushed) {
         JinjavaInterpreter.popCurrent();
@@ -550,6 +719,41 @@ public class JinjavaInterpreter implements PyishSerializable {
     resolveBlockStubs(output, new Stack<>());
   }
 
+  /**
+   * Whether the output of the given root can be written out as each of its children is
+   * rendered. It has to be held back if an extends tag could replace it, which could come
+   * from an included or imported template or from nested interpretation, or if eager
+   * execution could wrap it in deferred tags afterwards.
+   */
+  private boolean canStreamOutput(Node root) {
+    return (
+      extendParentRoots.isEmpty() &&
+      !config.getExecutionMode().useEagerParser() &&
+      !config.isNestedInterpretationEnabled() &&
+      !mayExtend(root)
+    );
+  }
+
+  private static boolean mayExtend(Node node) {
+    if (node instanceof TagNode) {
+      Tag tag = ((TagNode) node).getTag();
+      if (
+        tag instanceof ExtendsTag ||
+        tag instanceof IncludeTag ||
+        tag instanceof ImportTag ||
+        tag instanceof FromTag
+      ) {
+        return true;
+      }
+    }
+    for (Node child : node.getChildren()) {
+      if (mayExtend(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private boolean isExtendsTag(Node node) {
     return (
       node instanceof TagNode &&
@@ -579,7 +783,10 @@ public class JinjavaInterpreter implements PyishSerializable {
           context.setSuperBlock(superBlock);
           currentBlock = block;
 
-          OutputList blockValueBuilder = new OutputList(config.getMaxOutputSize());
+          OutputList blockValueBuilder = new OutputList(
+            config.getMaxOutputSize(),
+            this
+          );
           DynamicRenderedOutputNode prefix = new DynamicRenderedOutputNode();
           blockValueBuilder.addNode(prefix);
           int numDeferredTokensBefore = context.getDeferredTokens().size();
@@ -776,10 +983,142 @@ public class JinjavaInterpreter implements PyishSerializable {
       .getString(resource, config.getCharset(), this);
   }
 
+  /**
+   * Record that the template being rendered references the given resource, such as
+   * through an include tag, in the template dependency graph of this interpreter's
+   * {@link Jinjava} instance. Nothing is recorded when the instance has no resource
+   * cache, or when the location of the template being rendered isn't known.
+   *
+   * @param resource
+   *          resolved location of the referenced resource
+   */
+  public void addTemplateDependency(String resource) {
+    if (application.getResourceCache() == ResourceCache.disabled()) {
+      return;
+    }
+    String currentPath = RelativePathResolver.getCurrentPathFromStackOrKey(this);
+    if (StringUtils.isNotEmpty(currentPath)) {
+      application.getTemplateDependencyGraph().addDependency(currentPath, resource);
+    }
+  }
+
+  /**
+   * Load the given resource and parse it into a root Node, reusing a previously parsed
+   * tree from the resource cache of this interpreter's {@link Jinjava} instance when the
+   * resource hasn't changed since it was cached.
+   *
+   * @param resource
+   *          resolved location of the resource
+   * @return root node of the parsed tree
+   */
+  public Node parseResource(String resource) throws IOException {
+    ParsedTemplate parsedTemplate = getParsedResource(resource);
+    reportParseErrors(parsedTemplate);
+    return parsedTemplate.getRoot();
+  }
+
+  /**
+   * Like {@link #parseResource(String)}, but leaves it to the caller to report any parse
+   * errors with {@link #reportParseErrors(ParsedTemplate)}.
+   */
+  public ParsedTemplate getParsedResource(String resource) throws IOException {
+    ResourceLocator resourceLocator = application.getResourceLocator();
+    return application
+      .getResourceCache()
+      .get(
+        ResourceCacheKey.of(resource, resourceLocator, this),
+        new ResourceLoader() {
+          @Override
+          public Optional<String> getVersion() throws IOException {
+            return resourceLocator.getVersion(resource, JinjavaInterpreter.this);
+          }
+
+          @Override
+          public ParsedTemplate load() throws IOException {
+            return parseForReuse(
+              resourceLocator.getString(
+                resource,
+                config.getCharset(),
+                JinjavaInterpreter.this
+              )
+            );
+          }
+        }
+      );
+  }
+
+  /**
+   * Get the result of an earlier import of the given template under the given alias,
+   * by this interpreter or any interpreter in the same render.
+   */
+  public Optional<ImportResult> getImportResult(String templateFile, String alias) {
+    return Optional.ofNullable(importResults.get(templateFile, alias));
+  }
+
+  public void putImportResult(String templateFile, String alias, ImportResult result) {
+    importResults.put(templateFile, alias, result);
+  }
+
+  /**
+   * Get the output of an earlier call to a pure macro with the same key, by any
+   * interpreter in the same render or, when results are shared between renders, in any
+   * render by this interpreter's {@link Jinjava} instance.
+   */
+  public Optional<String> getMacroResult(MacroCacheKey key) {
+    MacroResultCache macroResultCache = application.getMacroResultCache();
+    Optional<String> result = Optional.ofNullable(macroResults.get(key));
+    if (result.isEmpty()) {
+      result = macroResultCache.get(key);
+      result.ifPresent(r -> macroResults.put(key, r));
+    }
+    if (result.isPresent()) {
+      macroResultCache.recordHit();
+    } else {
+      macroResultCache.recordMiss();
+    }
+    return result;
+  }
+
+  public void putMacroResult(MacroCacheKey key, String result) {
+    macroResults.put(key, result);
+    application.getMacroResultCache().put(key, result);
+  }
+
+  /**
+   * @return Whether the given macro body only depends on the given arguments. See
+   *         {@link MacroResultCache#isPure}.
+   */
+  public boolean isPureMacro(List<Node> content, Collection<String> argNames) {
+    return application.getMacroResultCache().isPure(content, argNames, this);
+  }
+
+  /**
+   * @return The cache of values compiled from the arguments of filters and formatters
+   *         kept by this interpreter's {@link Jinjava} instance.
+   */
+  public CompiledArgumentCache getCompiledArgumentCache() {
+    return application.getCompiledArgumentCache();
+  }
+
+  public int getErrorCount() {
+    return errors.size();
+  }
+
   public JinjavaConfig getConfig() {
     return config;
   }
 
+  /**
+   * Parse an expression without evaluating it.
+   *
+   * @param expression
+   *          Jinja expression.
+   * @return The parsed expression.
+   */
+  public Tree parseELExpression(String expression) {
+    return expressionResolver.parse(expression);
+  }
+
   /**
    * Resolve expression against current context, but does not add the expression to the set of resolved expressions.
    *
@@ -818,6 +1157,38 @@ public class JinjavaInterpreter implements PyishSerializable {
     return resolveELExpression(expression, lineNumber);
   }
 
+  /**
+   * Resolve an expression kept with the template tree against current context. It's
+   * parsed the first time it's resolved rather than each time.
+   *
+   * @param expression
+   *          Compiled Jinja expression.
+   * @param lineNumber
+   *          Line number of expression.
+   * @return Value of expression.
+   */
+  public Object resolveELExpression(CompiledExpression expression, int lineNumber) {
+    this.lineNumber = lineNumber;
+    return expressionResolver.resolveExpression(expression);
+  }
+
+  /**
+   * Resolve an expression kept with the template tree against current context, also
+   * setting the interpreter's position.
+   * @param expression Compiled Jinja expression.
+   * @param lineNumber Line number of expression.
+   * @param position Start position of expression.
+   * @return Value of expression.
+   */
+  public Object resolveELExpression(
+    CompiledExpression expression,
+    int lineNumber,
+    int position
+  ) {
+    this.position = position;
+    return resolveELExpression(expression, lineNumber);
+  }
+
   /**
    * Resolve property of bean.
    *
@@ -987,15 +1358,11 @@ public class JinjavaInterpreter implements PyishSerializable {
     return Lists.newArrayList(errors);
   }
 
-  private static final ThreadLocal<Stack<JinjavaInterpreter>> CURRENT_INTERPRETER =
-    ThreadLocal.withInitial(Stack::new);
+  private static final ThreadLocal<InterpreterStack> CURRENT_INTERPRETER =
+    ThreadLocal.withInitial(InterpreterStack::new);
 
   public static JinjavaInterpreter getCurrent() {
-    Stack<JinjavaInterpreter> stack = CURRENT_INTERPRETER.get();
-    if (stack.isEmpty()) {
-      return null;
-    }
-    return stack.peek();
+    return CURRENT_INTERPRETER.get().peek();
   }
 
   public static Optional<JinjavaInterpreter> getCurrentMaybe() {
@@ -1005,7 +1372,7 @@ public class JinjavaInterpreter implements PyishSerializable {
   public static AutoCloseableSupplier<JinjavaInterpreter> closeablePushCurrent(
     JinjavaInterpreter interpreter
   ) {
-    Stack<JinjavaInterpreter> stack = CURRENT_INTERPRETER.get();
+    InterpreterStack stack = CURRENT_INTERPRETER.get();
     stack.push(interpreter);
     return AutoCloseableSupplier.of(() -> interpreter, i -> stack.pop());
   }
@@ -1017,9 +1384,7 @@ public class JinjavaInterpreter implements PyishSerializable {
 
   @Deprecated
   public static void popCurrent() {
-    if (!CURRENT_INTERPRETER.get().isEmpty()) {
-      CURRENT_INTERPRETER.get().pop();
-    }
+    CURRENT_INTERPRETER.get().pop();
   }
 
   public void startRender(String name) {
@@ -1027,6 +1392,9 @@ public class JinjavaInterpreter implements PyishSerializable {
     if (renderTimings != null) {
       renderTimings.start(this, name);
     }
+    if (renderProfiler != null) {
+      renderProfiler.start(this, name);
+    }
   }
 
   public void endRender(String name) {
@@ -1034,6 +1402,9 @@ public class JinjavaInterpreter implements PyishSerializable {
     if (renderTimings != null) {
       renderTimings.end(this, name);
     }
+    if (renderProfiler != null) {
+      renderProfiler.end(this, name);
+    }
   }
 
   public void endRender(String name, Map<String, Object> data) {
@@ -1041,6 +1412,26 @@ public class JinjavaInterpreter implements PyishSerializable {
     if (renderTimings != null) {
       renderTimings.end(this, name, data);
     }
+    if (renderProfiler != null) {
+      renderProfiler.end(this, name, data);
+    }
+  }
+
+  /**
+   * Start timing part of the render, if render profiling is enabled. The returned span
+   * must be closed when that part of the render is done.
+   *
+   * @see RenderProfiler#start(String, String, int)
+   */
+  public RenderProfiler.Span startProfiling(String kind, String name, int lineNumber) {
+    if (renderProfiler == null) {
+      return RenderProfiler.Span.NONE;
+    }
+    return renderProfiler.start(kind, name, lineNumber);
+  }
+
+  public Optional<RenderProfile> getRenderProfile() {
+    return Optional.ofNullable(renderProfiler).map(RenderProfiler::getProfile);
   }
 
   private String getWrappedErrorMessage(
@@ -0,0 +1,132 @@
+package com.hubspot.jinjava.interpret;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The time spent in part of a render, as recorded by a {@link RenderProfiler}. Each time
+ * the same part of a template is rendered within the same parent, such as a tag inside
+ * a for loop, it is added to the same profile, so the profile of a render is a tree with
+ * one node per call path.
+ *
+ * <p>Times are in nanoseconds. Allocated bytes are only recorded when the JVM supports
+ * measuring thread allocation, and are otherwise 0.
+ */
+public class RenderProfile {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final String name;
+  private long invocationCount;
+  private long wallNanos;
+  private long selfNanos;
+  private long allocatedBytes;
+  private final Map<String, RenderProfile> children = new LinkedHashMap<>();
+
+  RenderProfile(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getInvocationCount() {
+    return invocationCount;
+  }
+
+  /**
+   * @return The total time spent in this part of the render, including its children.
+   */
+  public long getWallNanos() {
+    return wallNanos;
+  }
+
+  /**
+   * @return The time spent in this part of the render, excluding its children.
+   */
+  public long getSelfNanos() {
+    return selfNanos;
+  }
+
+  /**
+   * @return The number of bytes allocated by this part of the render, including its
+   *         children.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public Collection<RenderProfile> getChildren() {
+    return Collections.unmodifiableCollection(children.values());
+  }
+
+  RenderProfile getOrCreateChild(String childName) {
+    return children.computeIfAbsent(childName, RenderProfile::new);
+  }
+
+  void record(long wallNanos, long selfNanos, long allocatedBytes) {
+    invocationCount++;
+    this.wallNanos += wallNanos;
+    this.selfNanos += selfNanos;
+    this.allocatedBytes += allocatedBytes;
+  }
+
+  void addChildTotals(long wallNanos, long allocatedBytes) {
+    this.wallNanos += wallNanos;
+    this.allocatedBytes += allocatedBytes;
+  }
+
+  public String toJson() {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(this);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Export the profile in the collapsed stack format read by flame graph tools: one line
+   * per call path, with the frames separated by semicolons, followed by the self time in
+   * nanoseconds.
+   */
+  public String toCollapsedStacks() {
+    StringBuilder builder = new StringBuilder();
+    appendCollapsedStacks(builder, "");
+    return builder.toString();
+  }
+
+  private void appendCollapsedStacks(StringBuilder builder, String parentStack) {
+    String stack = parentStack + name.replace(';', ',').replaceAll("\\s+", " ");
+    if (selfNanos > 0) {
+      builder.append(stack).append(' ').append(selfNanos).append('\n');
+    }
+    for (RenderProfile child : children.values()) {
+      child.appendCollapsedStacks(builder, stack + ";");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return (
+      "RenderProfile{" +
+      "name='" +
+      name +
+      '\'' +
+      ", invocationCount=" +
+      invocationCount +
+      ", wallNanos=" +
+      wallNanos +
+      ", selfNanos=" +
+      selfNanos +
+      ", allocatedBytes=" +
+      allocatedBytes +
+      '}'
+    );
+  }
+}
@@ -0,0 +1,152 @@
+package com.hubspot.jinjava.interpret;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Records the time spent rendering each tag, expression, macro call, filter and include
+ * of a render, along with any parts of the render timed through
+ * {@link JinjavaInterpreter#startRender(String)}, into a {@link RenderProfile} tree.
+ *
+ * <p>A profiler is created for each render when
+ * {@link com.hubspot.jinjava.JinjavaConfig#isEnableRenderProfiling()} is set, and is
+ * shared by the child interpreters of that render. It is not thread-safe.
+ */
+public class RenderProfiler implements RenderTimings {
+
+  private static final int MAX_NAME_LENGTH = 60;
+  private static final ThreadMXBean THREAD_MX_BEAN = getAllocationMeasuringBean();
+
+  private final RenderProfile root = new RenderProfile("render");
+  private final Deque<Span> spans = new ArrayDeque<>();
+
+  public RenderProfiler() {
+    root.record(0, 0, 0);
+  }
+
+  /**
+   * Start timing part of the render. The returned span must be closed when that part of
+   * the render is done.
+   *
+   * @param kind what is being rendered, such as "tag" or "filter"
+   * @param name the name of what is being rendered
+   * @param lineNumber the line being rendered, or a non-positive number if not relevant
+   */
+  public Span start(String kind, String name, int lineNumber) {
+    String spanName = kind + ":" + StringUtils.abbreviate(name, MAX_NAME_LENGTH);
+    if (lineNumber > 0) {
+      spanName += " (line " + lineNumber + ")";
+    }
+    return push(spanName);
+  }
+
+  @Override
+  public void start(JinjavaInterpreter interpreter, String name) {
+    push(name);
+  }
+
+  @Override
+  public void end(JinjavaInterpreter interpreter, String name) {
+    for (Span span : spans) {
+      if (span.profile.getName().equals(name)) {
+        end(span);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void end(JinjavaInterpreter interpreter, String name, Map<String, Object> data) {
+    end(interpreter, name);
+  }
+
+  /**
+   * @return The profile of everything rendered so far, with one child for each part of
+   *         the render at the top level.
+   */
+  public RenderProfile getProfile() {
+    return root;
+  }
+
+  private Span push(String name) {
+    Span parent = spans.peek();
+    RenderProfile parentProfile = parent == null ? root : parent.profile;
+    Span span = new Span(this, parentProfile.getOrCreateChild(name));
+    spans.push(span);
+    return span;
+  }
+
+  private void end(Span span) {
+    if (!spans.contains(span)) {
+      return;
+    }
+    // close any spans which were started within this one and never closed
+    while (spans.peek() != span) {
+      end(spans.peek());
+    }
+    spans.pop();
+
+    long wallNanos = System.nanoTime() - span.startNanos;
+    long allocatedBytes = getAllocatedBytes() - span.startAllocatedBytes;
+    span.profile.record(wallNanos, wallNanos - span.childNanos, allocatedBytes);
+
+    Span parent = spans.peek();
+    if (parent != null) {
+      parent.childNanos += wallNanos;
+    } else {
+      root.addChildTotals(wallNanos, allocatedBytes);
+    }
+  }
+
+  private static long getAllocatedBytes() {
+    return THREAD_MX_BEAN == null ? 0 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+  }
+
+  private static ThreadMXBean getAllocationMeasuringBean() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (
+      bean instanceof ThreadMXBean &&
+      ((ThreadMXBean) bean).isThreadAllocatedMemorySupported() &&
+      ((ThreadMXBean) bean).isThreadAllocatedMemoryEnabled()
+    ) {
+      return (ThreadMXBean) bean;
+    }
+    return null;
+  }
+
+  /**
+   * A part of the render which is being timed. Closing it records its time in the
+   * profile.
+   */
+  public static class Span implements AutoCloseable {
+
+    /**
+     * Returned instead of a span when profiling is disabled.
+     */
+    public static final Span NONE = new Span(null, null);
+
+    private final RenderProfiler profiler;
+    private final RenderProfile profile;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private long childNanos;
+
+    private Span(RenderProfiler profiler, RenderProfile profile) {
+      this.profiler = profiler;
+      this.profile = profile;
+      this.startAllocatedBytes = profiler == null ? 0 : getAllocatedBytes();
+      this.startNanos = profiler == null ? 0 : System.nanoTime();
+    }
+
+    @Override
+    public void close() {
+      if (profiler != null) {
+        profiler.end(this);
+      }
+    }
+  }
+}
@@ -10,11 +10,22 @@ public class RenderResult {
   private final String output;
   private final Context context;
   private final List<TemplateError> errors;
+  private final RenderProfile renderProfile;
 
   public RenderResult(String output, Context context, List<TemplateError> errors) {
+    this(output, context, errors, null);
+  }
+
+  private RenderResult(
+    String output,
+    Context context,
+    List<TemplateError> errors,
+    RenderProfile renderProfile
+  ) {
     this.output = output;
     this.context = context;
     this.errors = errors;
+    this.renderProfile = renderProfile;
   }
 
   public RenderResult(
@@ -30,12 +41,14 @@ public class RenderResult {
         .add(fromException)
         .addAll(Optional.ofNullable(errors).orElse(Collections.emptyList()))
         .build();
+    this.renderProfile = null;
   }
 
   public RenderResult(String result) {
     this.output = result;
     this.context = null;
     this.errors = Collections.emptyList();
+    this.renderProfile = null;
   }
 
   public boolean hasErrors() {
@@ -54,7 +67,19 @@ public class RenderResult {
     return output;
   }
 
+  /**
+   * @return The profile of the render, if
+   *         {@link com.hubspot.jinjava.JinjavaConfig#isEnableRenderProfiling()} was set.
+   */
+  public Optional<RenderProfile> getRenderProfile() {
+    return Optional.ofNullable(renderProfile);
+  }
+
   public RenderResult withOutput(String newOutput) {
-    return new RenderResult(newOutput, getContext(), getErrors());
+    return new RenderResult(newOutput, getContext(), getErrors(), renderProfile);
+  }
+
+  public RenderResult withRenderProfile(RenderProfile renderProfile) {
+    return new RenderResult(getOutput(), getContext(), getErrors(), renderProfile);
   }
 }
@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableSet;
 import com.hubspot.jinjava.interpret.DisabledException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,9 @@ public abstract class SimpleLibrary<T extends Importable> {
 
   private Map<String, T> lib = new HashMap<>();
   private Set<String> disabled = new HashSet<>();
+  // set while lib is shared with a copy of this library, so it must be copied before it's
+  // changed
+  private volatile boolean shared = false;
 
   protected SimpleLibrary(boolean registerDefaults) {
     this(registerDefaults, null);
@@ -45,6 +49,18 @@ public abstract class SimpleLibrary<T extends Importable> {
     }
   }
 
+  /**
+   * Create a library with the same entries as {@code source}. The entries are shared by
+   * both libraries until either of them registers something, so no entries are created
+   * or copied here.
+   */
+  protected SimpleLibrary(SimpleLibrary<T> source) {
+    source.shared = true;
+    this.lib = source.lib;
+    this.disabled = source.disabled;
+    this.shared = true;
+  }
+
   protected abstract void registerDefaults();
 
   public T fetch(String item) {
@@ -79,10 +95,30 @@ public abstract class SimpleLibrary<T extends Importable> {
 
   public void register(String name, T obj) {
     if (!disabled.contains(obj.getName())) {
+      if (shared) {
+        lib = new HashMap<>(lib);
+        shared = false;
+      }
       lib.put(name, obj);
     }
   }
 
+  /**
+   * @return Whether this library has the same entries as {@code other} because it shares
+   *         them, such as a copy which neither library has registered anything in since.
+   */
+  public boolean sharesEntriesWith(SimpleLibrary<T> other) {
+    return lib == other.lib;
+  }
+
+  /**
+   * @return The entries of this library by the names they're registered under, including
+   *         disabled ones.
+   */
+  public Map<String, T> getEntriesByName() {
+    return Collections.unmodifiableMap(lib);
+  }
+
   public Collection<T> entries() {
     return lib
       .values()
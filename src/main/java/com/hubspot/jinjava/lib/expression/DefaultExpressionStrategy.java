@@ -20,7 +20,7 @@ public class DefaultExpressionStrategy implements ExpressionStrategy {
     JinjavaInterpreter interpreter
   ) {
     Object var = interpreter.resolveELExpression(
-      master.getExpr(),
+      master.getCompiledExpr(),
       master.getLineNumber()
     );
 
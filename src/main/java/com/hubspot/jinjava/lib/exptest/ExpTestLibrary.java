@@ -9,6 +9,10 @@ public class ExpTestLibrary extends SimpleLibrary<ExpTest> {
     super(registerDefaults, disabled);
   }
 
+  public ExpTestLibrary(ExpTestLibrary source) {
+    super(source);
+  }
+
   @Override
   protected void registerDefaults() {
     registerClasses(
@@ -16,19 +16,21 @@
 package com.hubspot.jinjava.lib.filter;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.interpret.InvalidInputException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -47,15 +49,28 @@ public abstract class AbstractFilter implements Filter {
     new ConcurrentHashMap<>();
   private static final Map<Class, Map<String, Object>> DEFAULT_VALUES_CACHE =
     new ConcurrentHashMap<>();
+  // types of arguments which are passed on as they are
+  private static final Set<String> UNPARSED_TYPES = ImmutableSet.of(
+    "object",
+    "dict",
+    "sequence"
+  );
 
   private final Map<String, JinjavaParam> namedArguments;
   private final Map<String, Object> defaultValues;
+  private final List<String> argumentNames;
+  // the default values parsed by their declared types, once a call has parsed them
+  private volatile Map<String, Object> parsedDefaultValues;
 
   public AbstractFilter() {
     namedArguments =
       NAMED_ARGUMENTS_CACHE.computeIfAbsent(getClass(), cls -> initNamedArguments());
     defaultValues =
       DEFAULT_VALUES_CACHE.computeIfAbsent(getClass(), cls -> initDefaultValues());
+    argumentNames =
+      namedArguments == null
+        ? ImmutableList.of()
+        : ImmutableList.copyOf(namedArguments.keySet());
   }
 
   abstract Object filter(
@@ -74,13 +89,8 @@ public abstract class AbstractFilter implements Filter {
     Object[] args,
     Map<String, Object> kwargs
   ) {
-    //Set defaults
-    Map<String, Object> namedArgs = new HashMap<>(defaultValues);
-
-    //Process named params
-    for (Map.Entry<String, Object> passedNamedArgEntry : kwargs.entrySet()) {
-      String argName = passedNamedArgEntry.getKey();
-      Object argValue = passedNamedArgEntry.getValue();
+    //Check named params
+    for (String argName : kwargs.keySet()) {
       int argPosition = getNamedArgumentPosition(argName);
       if (argPosition == -1) {
         throw new InvalidInputException(
@@ -93,34 +103,56 @@ public abstract class AbstractFilter implements Filter {
           )
         );
       }
-      namedArgs.put(argName, argValue);
     }
 
-    //Process indexed params, as declared
+    //Check indexed params, as declared
+    String[] indexedArgNames = new String[args.length];
     for (int i = 0; i < args.length; i++) {
-      Object arg = args[i];
-      String argName = getIndexedArgumentName(i);
-      if (argName == null) {
+      indexedArgNames[i] = getIndexedArgumentName(i);
+      if (indexedArgNames[i] == null) {
         throw new InvalidInputException(
           interpreter,
           "INVALID_ARG_NAME",
           String.format("Argument at index '%s' is invalid for filter %s", i, getName())
         );
       }
-      namedArgs.put(argName, arg);
     }
 
-    //Parse args based on their declared types
-    Map<String, Object> parsedArgs = new HashMap<>();
-    namedArgs.forEach((k, v) ->
-      parsedArgs.put(k, parseArg(interpreter, namedArguments.get(k), v))
-    );
+    //Set defaults, then parse args based on their declared types
+    Map<String, Object> parsedArgs = new HashMap<>(getParsedDefaultValues(interpreter));
+    for (Map.Entry<String, Object> passedNamedArgEntry : kwargs.entrySet()) {
+      String argName = passedNamedArgEntry.getKey();
+      parsedArgs.put(
+        argName,
+        parseArg(interpreter, namedArguments.get(argName), passedNamedArgEntry.getValue())
+      );
+    }
+    for (int i = 0; i < args.length; i++) {
+      String argName = indexedArgNames[i];
+      parsedArgs.put(
+        argName,
+        parseArg(interpreter, namedArguments.get(argName), args[i])
+      );
+    }
 
     validateArgs(interpreter, parsedArgs);
 
     return filter(var, interpreter, parsedArgs);
   }
 
+  private Map<String, Object> getParsedDefaultValues(JinjavaInterpreter interpreter) {
+    Map<String, Object> parsed = parsedDefaultValues;
+    if (parsed == null) {
+      Map<String, Object> values = new HashMap<>();
+      defaultValues.forEach((k, v) ->
+        values.put(k, parseArg(interpreter, namedArguments.get(k), v))
+      );
+      parsed = Collections.unmodifiableMap(values);
+      parsedDefaultValues = parsed;
+    }
+    return parsed;
+  }
+
   protected Object parseArg(
     JinjavaInterpreter interpreter,
     JinjavaParam jinjavaParamMetadata,
@@ -129,7 +161,7 @@ public abstract class AbstractFilter implements Filter {
     if (
       jinjavaParamMetadata.type() == null ||
       value == null ||
-      Arrays.asList("object", "dict", "sequence").contains(jinjavaParamMetadata.type())
+      UNPARSED_TYPES.contains(jinjavaParamMetadata.type())
     ) {
       return value;
     }
@@ -189,23 +221,11 @@ public abstract class AbstractFilter implements Filter {
   }
 
   public int getNamedArgumentPosition(String argName) {
-    return Optional
-      .ofNullable(namedArguments)
-      .map(Map::keySet)
-      .map(ArrayList::new)
-      .flatMap(argNames -> Optional.of(argNames.indexOf(argName)))
-      .orElse(-1);
+    return argumentNames.indexOf(argName);
   }
 
   public String getIndexedArgumentName(int position) {
-    return Optional
-      .ofNullable(namedArguments)
-      .map(Map::keySet)
-      .map(ArrayList::new)
-      .flatMap(argNames ->
-        Optional.ofNullable(argNames.size() > position ? argNames.get(position) : null)
-      )
-      .orElse(null);
+    return argumentNames.size() > position ? argumentNames.get(position) : null;
   }
 
   public Map<String, JinjavaParam> initNamedArguments() {
@@ -1,15 +1,13 @@
 package com.hubspot.jinjava.lib.filter;
 
-import com.google.common.collect.Lists;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.KeyedSort;
 import java.io.Serializable;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import org.apache.commons.lang3.BooleanUtils;
 
 @JinjavaDoc(
@@ -64,30 +62,27 @@ public class DictSortFilter implements Filter {
     @SuppressWarnings("unchecked")
     Map<String, Object> dict = (Map<String, Object>) var;
 
-    List<Map.Entry<String, Object>> sorted = Lists.newArrayList(dict.entrySet());
-    sorted.sort(new MapEntryComparator(caseSensitive, sortByKey));
-
-    return sorted;
+    boolean byKey = sortByKey;
+    return KeyedSort.sort(
+      dict.entrySet(),
+      e -> byKey ? e.getKey() : e.getValue(),
+      new ValueComparator(caseSensitive)
+    );
   }
 
-  private static class MapEntryComparator
-    implements Comparator<Map.Entry<String, Object>>, Serializable {
+  private static class ValueComparator implements Comparator<Object>, Serializable {
 
     private static final long serialVersionUID = 1L;
 
     private final boolean caseSensitive;
-    private final boolean sortByKey;
 
-    MapEntryComparator(boolean caseSensitive, boolean sortByKey) {
+    ValueComparator(boolean caseSensitive) {
       this.caseSensitive = caseSensitive;
-      this.sortByKey = sortByKey;
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public int compare(Entry<String, Object> o1, Entry<String, Object> o2) {
-      Object sVal1 = sortByKey ? o1.getKey() : o1.getValue();
-      Object sVal2 = sortByKey ? o2.getKey() : o2.getValue();
+    public int compare(Object sVal1, Object sVal2) {
       if (sVal1 == null || sVal2 == null) {
         return 0;
       }
@@ -19,6 +19,7 @@ import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.Escaper;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 
@@ -48,11 +49,11 @@ public class EscapeFilter implements Filter {
   private static final String[] TO_REPLACE = new String[] { SAMP, SGT, SLT, "'", "\"" };
   private static final String[] REPLACE_WITH = new String[] { BAMP, BGT, BLT, BSQ, BDQ };
 
+  /**
+   * @return The input with HTML entities escaped, or the input itself if it has none.
+   */
   public static String escapeHtmlEntities(String input) {
-    for (int idx = 0; idx < TO_REPLACE.length; ++idx) {
-      input = input.replace(TO_REPLACE[idx], REPLACE_WITH[idx]);
-    }
-    return input;
+    return Escaper.HTML.escape(input);
   }
 
   public static String oldEscapeHtmlEntities(String input) {
@@ -19,8 +19,8 @@ import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.Escaper;
 import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
-import java.util.Locale;
 import java.util.Objects;
 
 @JinjavaDoc(
@@ -41,65 +41,11 @@ public class EscapeJsFilter implements Filter {
     JinjavaInterpreter jinjavaInterpreter,
     String... strings
   ) {
-    String input = Objects.toString(objectToFilter, "");
     LengthLimitingStringBuilder builder = new LengthLimitingStringBuilder(
       jinjavaInterpreter.getConfig().getMaxOutputSize()
     );
-
-    for (int i = 0; i < input.length(); i++) {
-      char ch = input.charAt(i);
-
-      if (ch > 0xfff) {
-        builder.append("\\u");
-        builder.append(toHex(ch));
-      } else if (ch > 0xff) {
-        builder.append("\\u0");
-        builder.append(toHex(ch));
-      } else if (ch > 0x7f) {
-        builder.append("\\u00");
-        builder.append(toHex(ch));
-      } else if (ch < 32) {
-        switch (ch) {
-          case '\b':
-            builder.append("\\b");
-            break;
-          case '\f':
-            builder.append("\\f");
-            break;
-          case '\n':
-            builder.append("\\n");
-            break;
-          case '\t':
-            builder.append("\\t");
-            break;
-          case '\r':
-            builder.append("\\r");
-            break;
-          default:
-            if (ch > 0xf) {
-              builder.append("\\u00");
-              builder.append(toHex(ch));
-            } else {
-              builder.append("\\u000");
-              builder.append(toHex(ch));
-            }
-            break;
-        }
-      } else {
-        switch (ch) {
-          case '"':
-            builder.append("\\\"");
-            break;
-          case '\\':
-            builder.append("\\\\");
-            break;
-          default:
-            builder.append(ch);
-            break;
-        }
-      }
-    }
-
+    // stops escaping as soon as the output is too big
+    Escaper.JS.escape(Objects.toString(objectToFilter, ""), builder);
     return builder.toString();
   }
 
@@ -107,8 +53,4 @@ public class EscapeJsFilter implements Filter {
   public String getName() {
     return "escapejs";
   }
-
-  private String toHex(char ch) {
-    return Integer.toHexString(ch).toUpperCase(Locale.ENGLISH);
-  }
 }
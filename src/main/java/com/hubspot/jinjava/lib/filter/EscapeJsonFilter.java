@@ -4,8 +4,8 @@ import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.Escaper;
 import java.util.Objects;
-import org.apache.commons.lang3.StringEscapeUtils;
 
 @JinjavaDoc(
   value = "Escapes strings so that they can be used as JSON values",
@@ -21,6 +21,6 @@ public class EscapeJsonFilter implements Filter {
 
   @Override
   public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
-    return StringEscapeUtils.escapeJson(Objects.toString(var));
+    return Escaper.JSON.escape(Objects.toString(var));
   }
 }
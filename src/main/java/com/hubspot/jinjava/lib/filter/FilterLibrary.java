@@ -27,6 +27,10 @@ public class FilterLibrary extends SimpleLibrary<Filter> {
     super(registerDefaults, disabled);
   }
 
+  public FilterLibrary(FilterLibrary source) {
+    super(source);
+  }
+
   @Override
   protected void registerDefaults() {
     registerClasses(
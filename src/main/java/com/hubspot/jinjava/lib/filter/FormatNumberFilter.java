@@ -2,6 +2,7 @@ package com.hubspot.jinjava.lib.filter;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
@@ -87,18 +88,45 @@ public class FormatNumberFilter implements Filter {
   }
 
   private BigDecimal parseInput(Object input) throws Exception {
-    DecimalFormat df = (DecimalFormat) NumberFormat.getInstance();
-    df.setParseBigDecimal(true);
+    DecimalFormat df = (DecimalFormat) CompiledArgumentCache
+      .getCurrent()
+      .get(
+        FORMAT_NUMBER_FILTER_NAME,
+        "parse",
+        Locale.getDefault(Locale.Category.FORMAT),
+        () -> {
+          DecimalFormat format = (DecimalFormat) NumberFormat.getInstance();
+          format.setParseBigDecimal(true);
+          return format;
+        }
+      )
+      .clone();
 
     return (BigDecimal) df.parseObject(Objects.toString(input));
   }
 
+  /**
+   * @return A number format for the locale, cloned from a cached one as number formats
+   *         aren't thread-safe.
+   */
+  static NumberFormat getNumberInstance(Locale locale) {
+    return (NumberFormat) CompiledArgumentCache
+      .getCurrent()
+      .get(
+        FORMAT_NUMBER_FILTER_NAME,
+        "number",
+        locale,
+        () -> NumberFormat.getNumberInstance(locale)
+      )
+      .clone();
+  }
+
   private String formatNumber(
     Locale locale,
     BigDecimal number,
     Optional<Integer> maxDecimalPrecision
   ) {
-    NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+    NumberFormat numberFormat = getNumberInstance(locale);
     int numDecimalPlacesInInput = Math.max(0, number.scale());
 
     numberFormat.setMaximumFractionDigits(
@@ -1,8 +1,5 @@
 package com.hubspot.jinjava.lib.filter;
 
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
@@ -11,7 +8,8 @@ import com.hubspot.jinjava.interpret.TemplateSyntaxException;
 import com.hubspot.jinjava.util.ForLoop;
 import com.hubspot.jinjava.util.ObjectIterator;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -61,31 +59,24 @@ public class GroupByFilter implements Filter {
       );
     }
 
-    String attr = args[0];
+    List<String> attr = Collections.singletonList(args[0]);
 
-    ForLoop loop = ObjectIterator.getLoop(var);
-    Multimap<String, Object> groupBuckets = LinkedListMultimap.create();
-    Map<String, Object> groupMapRaw = new HashMap<>();
+    ForLoop loop = ObjectIterator.getLoop(var, interpreter);
+    // the attribute is resolved once per item, and each item added straight to its group
+    Map<String, Group> groups = new LinkedHashMap<>();
 
     while (loop.hasNext()) {
       Object val = loop.next();
 
       Object resolvedProperty = interpreter.resolveProperty(val, attr);
       String grouper = Objects.toString(resolvedProperty);
-      groupBuckets.put(grouper, val);
-
-      if (!groupMapRaw.containsKey(grouper)) {
-        groupMapRaw.put(grouper, resolvedProperty);
-      }
-    }
-
-    List<Group> groups = new ArrayList<>();
-    for (String grouper : groupBuckets.keySet()) {
-      List<Object> list = Lists.newArrayList(groupBuckets.get(grouper));
-      groups.add(new Group(grouper, groupMapRaw.get(grouper), list));
+      groups
+        .computeIfAbsent(grouper, g -> new Group(g, resolvedProperty, new ArrayList<>()))
+        .getList()
+        .add(val);
     }
 
-    return groups;
+    return new ArrayList<>(groups.values());
   }
 
   public static class Group {
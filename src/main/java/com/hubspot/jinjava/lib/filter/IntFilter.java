@@ -1,5 +1,7 @@
 package com.hubspot.jinjava.lib.filter;
 
+import static com.hubspot.jinjava.lib.filter.FormatNumberFilter.getNumberInstance;
+
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
@@ -59,7 +61,7 @@ public class IntFilter implements Filter {
 
     String input = var.toString().trim();
     Locale locale = interpreter.getConfig().getLocale();
-    NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+    NumberFormat numberFormat = getNumberInstance(locale);
     ParsePosition pp = new ParsePosition(0);
     Long result;
     try {
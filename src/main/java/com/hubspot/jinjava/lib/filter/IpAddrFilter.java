@@ -142,7 +142,7 @@ public class IpAddrFilter implements Filter {
     Object object
   ) {
     List<String> filteredItems = new ArrayList<>();
-    ForLoop loop = ObjectIterator.getLoop(object);
+    ForLoop loop = ObjectIterator.getLoop(object, interpreter);
 
     while (loop.hasNext()) {
       String filteredItem = filterItem(interpreter, parameter, loop.next());
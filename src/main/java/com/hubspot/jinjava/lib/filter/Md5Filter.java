@@ -17,6 +17,7 @@ package com.hubspot.jinjava.lib.filter;
 
 import static com.hubspot.jinjava.util.Logging.ENGINE_LOG;
 
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
@@ -78,7 +79,7 @@ public class Md5Filter implements Filter {
     String result = null;
     MessageDigest md;
     try {
-      md = MessageDigest.getInstance(MD5);
+      md = newMessageDigest();
       result = byteToString(md.digest(str.getBytes(encoding)));
     } catch (NoSuchAlgorithmException ex) {
       ENGINE_LOG.error(ex.getMessage());
@@ -87,6 +88,27 @@ public class Md5Filter implements Filter {
     return result;
   }
 
+  private MessageDigest newMessageDigest() throws NoSuchAlgorithmException {
+    // cloning a cached digest is cheaper than looking up the provider on every call
+    MessageDigest prototype = CompiledArgumentCache
+      .getCurrent()
+      .get(getName(), MD5, null, Md5Filter::getMessageDigest);
+    try {
+      return (MessageDigest) prototype.clone();
+    } catch (CloneNotSupportedException e) {
+      return MessageDigest.getInstance(MD5);
+    }
+  }
+
+  private static MessageDigest getMessageDigest() {
+    try {
+      return MessageDigest.getInstance(MD5);
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports MD5
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Override
   public Object filter(Object object, JinjavaInterpreter interpreter, String... arg) {
     if (object instanceof String) {
@@ -81,7 +81,9 @@ public class RegexReplaceFilter implements Filter {
       String replaceWith = args[1];
 
       try {
-        Pattern p = Pattern.compile(toReplace);
+        Pattern p = interpreter
+          .getCompiledArgumentCache()
+          .get(getName(), toReplace, null, () -> Pattern.compile(toReplace));
         Matcher matcher = p.matcher(s);
 
         return matcher.replaceAll(replaceWith);
@@ -110,7 +110,7 @@ public class SelectAttrFilter implements AdvancedFilter {
       }
     }
 
-    ForLoop loop = ObjectIterator.getLoop(var);
+    ForLoop loop = ObjectIterator.getLoop(var, interpreter);
     Variable tempVariable = new Variable(
       interpreter,
       String.format("%s.%s", "placeholder", attr)
@@ -88,7 +88,7 @@ public class SelectFilter implements AdvancedFilter {
       );
     }
 
-    ForLoop loop = ObjectIterator.getLoop(var);
+    ForLoop loop = ObjectIterator.getLoop(var, interpreter);
     while (loop.hasNext()) {
       Object val = loop.next();
 
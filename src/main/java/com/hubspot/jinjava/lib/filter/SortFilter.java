@@ -10,12 +10,13 @@ import com.hubspot.jinjava.interpret.InvalidArgumentException;
 import com.hubspot.jinjava.interpret.InvalidInputException;
 import com.hubspot.jinjava.interpret.InvalidReason;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.KeyedSort;
 import com.hubspot.jinjava.util.ObjectIterator;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.BooleanUtils;
 
 @JinjavaDoc(
@@ -39,7 +40,10 @@ import org.apache.commons.lang3.BooleanUtils;
       defaultValue = "False",
       desc = "Determines whether or not the sorting is case sensitive"
     ),
-    @JinjavaParam(value = "attribute", desc = "Specifies an attribute to sort by"),
+    @JinjavaParam(
+      value = "attribute",
+      desc = "Specifies an attribute to sort by, or a comma separated list of attributes to sort by in turn"
+    ),
   },
   snippets = {
     @JinjavaSnippet(
@@ -56,6 +60,10 @@ import org.apache.commons.lang3.BooleanUtils;
 )
 public class SortFilter implements Filter {
 
+  private static final Splitter COMMA_SPLITTER = Splitter
+    .on(',')
+    .trimResults()
+    .omitEmptyStrings();
   private static final Splitter DOT_SPLITTER = Splitter.on('.').omitEmptyStrings();
   private static final Joiner DOT_JOINER = Joiner.on('.');
 
@@ -77,19 +85,37 @@ public class SortFilter implements Filter {
       throw new InvalidArgumentException(interpreter, this, InvalidReason.NULL, 2);
     }
 
-    List<String> attr = args.length > 2
-      ? DOT_SPLITTER.splitToList(args[2])
-      : Collections.emptyList();
-    return Lists
-      .newArrayList(ObjectIterator.getLoop(var))
-      .stream()
-      .sorted(
-        Comparator.comparing(
-          o -> mapObject(interpreter, o, attr),
-          new ObjectComparator(reverse, caseSensitive)
-        )
-      )
-      .collect(Collectors.toList());
+    List<List<String>> attrs = new ArrayList<>();
+    if (args.length > 2) {
+      for (String attr : COMMA_SPLITTER.split(args[2])) {
+        attrs.add(DOT_SPLITTER.splitToList(attr));
+      }
+    }
+    List<Object> items = Lists.newArrayList(ObjectIterator.getLoop(var, interpreter));
+    ObjectComparator comparator = new ObjectComparator(reverse, caseSensitive);
+
+    // each attribute is resolved once per item, rather than on every comparison
+    if (attrs.size() > 1) {
+      return KeyedSort.sort(
+        items,
+        o -> mapObjects(interpreter, o, attrs),
+        KeyedSort.lexicographic(comparator)
+      );
+    }
+    List<String> attr = attrs.isEmpty() ? Collections.emptyList() : attrs.get(0);
+    return KeyedSort.sort(items, o -> mapObject(interpreter, o, attr), comparator);
+  }
+
+  private Object[] mapObjects(
+    JinjavaInterpreter interpreter,
+    Object o,
+    List<List<String>> propertyChains
+  ) {
+    Object[] result = new Object[propertyChains.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = mapObject(interpreter, o, propertyChains.get(i));
+    }
+    return result;
   }
 
   private Object mapObject(
@@ -6,7 +6,9 @@ import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.util.ForLoop;
 import com.hubspot.jinjava.util.ObjectIterator;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @JinjavaDoc(
@@ -45,13 +47,13 @@ public class UniqueFilter implements Filter {
   @Override
   public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
     Map<Object, Object> result = new LinkedHashMap<>();
-    String attr = null;
+    List<String> attr = null;
 
     if (args.length > 0) {
-      attr = args[0];
+      attr = Collections.singletonList(args[0]);
     }
 
-    ForLoop loop = ObjectIterator.getLoop(var);
+    ForLoop loop = ObjectIterator.getLoop(var, interpreter);
     while (loop.hasNext()) {
       Object val = loop.next();
       Object key = val;
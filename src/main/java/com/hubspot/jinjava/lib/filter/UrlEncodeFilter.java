@@ -4,8 +4,7 @@ import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import com.hubspot.jinjava.util.Escaper;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -46,9 +45,9 @@ public class UrlEncodeFilter implements Filter {
 
         for (Map.Entry<Object, Object> param : dict.entrySet()) {
           StringBuilder paramPair = new StringBuilder();
-          paramPair.append(urlEncode(Objects.toString(param.getKey())));
+          Escaper.URL.escape(Objects.toString(param.getKey()), paramPair);
           paramPair.append("=");
-          paramPair.append(urlEncode(Objects.toString(param.getValue())));
+          Escaper.URL.escape(Objects.toString(param.getValue()), paramPair);
 
           paramPairs.add(paramPair.toString());
         }
@@ -56,17 +55,9 @@ public class UrlEncodeFilter implements Filter {
         return StringUtils.join(paramPairs, "&");
       }
 
-      return urlEncode(var.toString());
+      return Escaper.URL.escape(var.toString());
     }
 
-    return urlEncode(args[0]);
-  }
-
-  private String urlEncode(String s) {
-    try {
-      return URLEncoder.encode(s, "UTF-8");
-    } catch (UnsupportedEncodingException e) {
-      throw new RuntimeException(e);
-    }
+    return Escaper.URL.escape(args[0]);
   }
 }
@@ -4,13 +4,13 @@ import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.util.Escaper;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.BooleanUtils;
-import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 
 @JinjavaDoc(
@@ -64,13 +64,9 @@ public class XmlAttrFilter implements Filter {
           String.format("Invalid character in attribute name: %s", entry.getKey())
         );
       }
-      attrs.add(
-        new StringBuilder(entry.getKey())
-          .append("=\"")
-          .append(StringEscapeUtils.escapeXml10(Objects.toString(entry.getValue(), "")))
-          .append("\"")
-          .toString()
-      );
+      StringBuilder attr = new StringBuilder(entry.getKey()).append("=\"");
+      Escaper.XML.escape(Objects.toString(entry.getValue(), ""), attr);
+      attrs.add(attr.append('"').toString());
     }
 
     String space = " ";
@@ -1,6 +1,7 @@
 package com.hubspot.jinjava.lib.filter.time;
 
 import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
 import com.hubspot.jinjava.features.BuiltInFeatures;
 import com.hubspot.jinjava.features.DateTimeFeatureActivationStrategy;
 import com.hubspot.jinjava.features.FeatureActivationStrategy;
@@ -47,8 +48,9 @@ public final class DateTimeFormatHelper {
           .orElse(Locale.ENGLISH)
       );
 
-    return buildFormatter(format)
-      .withLocale(locale)
+    return CompiledArgumentCache
+      .getCurrent()
+      .get(name, format, locale, () -> buildFormatter(format).withLocale(locale))
       .format(Functions.getDateTimeArg(var, zoneId));
   }
 
@@ -5,14 +5,48 @@ import com.hubspot.jinjava.lib.SimpleLibrary;
 import com.hubspot.jinjava.lib.filter.time.FormatDateFilter;
 import com.hubspot.jinjava.lib.filter.time.FormatDatetimeFilter;
 import com.hubspot.jinjava.lib.filter.time.FormatTimeFilter;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class FunctionLibrary extends SimpleLibrary<ELFunctionDefinition> {
 
+  // built from the registered functions on first use, and cleared by each registration
+  private volatile Map<String, Method> methods;
+
   public FunctionLibrary(boolean registerDefaults, Set<String> disabled) {
     super(registerDefaults, disabled);
   }
 
+  public FunctionLibrary(FunctionLibrary source) {
+    super(source);
+  }
+
+  @Override
+  public void register(String name, ELFunctionDefinition obj) {
+    super.register(name, obj);
+    methods = null;
+  }
+
+  /**
+   * @return The methods of the registered functions, keyed by function name. The map is
+   *         immutable, and the same map is returned until another function is registered.
+   */
+  public Map<String, Method> getMethods() {
+    Map<String, Method> result = methods;
+    if (result == null) {
+      Map<String, Method> built = new HashMap<>();
+      for (ELFunctionDefinition fn : entries()) {
+        built.put(fn.getName(), fn.getMethod());
+      }
+      result = Collections.unmodifiableMap(built);
+      methods = result;
+    }
+    return result;
+  }
+
   @Override
   protected void registerDefaults() {
     register(
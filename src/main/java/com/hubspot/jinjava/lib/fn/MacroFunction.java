@@ -1,5 +1,6 @@
 package com.hubspot.jinjava.lib.fn;
 
+import com.hubspot.jinjava.cache.MacroCacheKey;
 import com.hubspot.jinjava.el.ext.AbstractCallableMethod;
 import com.hubspot.jinjava.interpret.AutoCloseableSupplier;
 import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
@@ -8,8 +9,9 @@ import com.hubspot.jinjava.interpret.Context.TemporaryValueClosable;
 import com.hubspot.jinjava.interpret.DeferredValue;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter.InterpreterScopeClosable;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.tree.Node;
-import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
+import com.hubspot.jinjava.tree.output.CompositeOutputNode;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -67,13 +69,35 @@ public class MacroFunction extends AbstractCallableMethod {
     this.deferred = source.deferred;
   }
 
+  /**
+   * Starts profiling a call of this macro, which is ended by closing the returned span.
+   * Callers profile the call as they already hold the interpreter rendering it.
+   */
+  public RenderProfiler.Span startProfiling(JinjavaInterpreter interpreter) {
+    return interpreter.startProfiling("macro", getName(), definitionLineNumber);
+  }
+
   @Override
   public Object doEvaluate(
     Map<String, Object> argMap,
     Map<String, Object> kwargMap,
     List<Object> varArgs
   ) {
+    // macros are called through AbstractCallableMethod.evaluate, which is invoked
+    // reflectively and has no way of passing the interpreter, so this is the one lookup
     JinjavaInterpreter interpreter = JinjavaInterpreter.getCurrent();
+    Optional<MacroCacheKey> cacheKey = getCacheKey(
+      argMap,
+      kwargMap,
+      varArgs,
+      interpreter
+    );
+    if (cacheKey.isPresent()) {
+      Optional<String> cachedResult = interpreter.getMacroResult(cacheKey.get());
+      if (cachedResult.isPresent()) {
+        return cachedResult.get();
+      }
+    }
     try (
       InterpreterScopeClosable c = interpreter.enterScope();
       AutoCloseableImpl<Optional<String>> importFile = getImportFileWithWrapper(
@@ -81,8 +105,33 @@ public class MacroFunction extends AbstractCallableMethod {
       )
         .get()
     ) {
-      return getEvaluationResult(argMap, kwargMap, varArgs, interpreter);
+      int errorCount = interpreter.getErrorCount();
+      String result = getEvaluationResult(argMap, kwargMap, varArgs, interpreter);
+      // a remembered result wouldn't report the errors again
+      if (cacheKey.isPresent() && interpreter.getErrorCount() == errorCount) {
+        interpreter.putMacroResult(cacheKey.get(), result);
+      }
+      return result;
+    }
+  }
+
+  private Optional<MacroCacheKey> getCacheKey(
+    Map<String, Object> argMap,
+    Map<String, Object> kwargMap,
+    List<Object> varArgs,
+    JinjavaInterpreter interpreter
+  ) {
+    if (
+      !interpreter.getConfig().isEnableMacroMemoization() ||
+      interpreter.getConfig().getExecutionMode().useEagerParser() ||
+      caller ||
+      deferred ||
+      content == null ||
+      !interpreter.isPureMacro(content, getDefaults().keySet())
+    ) {
+      return Optional.empty();
     }
+    return MacroCacheKey.of(content, argMap, kwargMap, varArgs, interpreter);
   }
 
   public Optional<String> getImportFile(JinjavaInterpreter interpreter) {
@@ -157,17 +206,17 @@ public class MacroFunction extends AbstractCallableMethod {
     // varargs list
     interpreter.getContext().put(VARARGS_KEY, varArgs);
 
-    LengthLimitingStringBuilder result = new LengthLimitingStringBuilder(
+    CompositeOutputNode result = new CompositeOutputNode(
       interpreter.getConfig().getMaxOutputSize()
     );
     try (
       TemporaryValueClosable<Boolean> c = interpreter.getContext().withUnwrapRawOverride()
     ) {
       for (Node node : content) {
-        result.append(node.render(interpreter));
+        result.add(node.render(interpreter));
       }
     }
-    return result.toString();
+    return result.getValue();
   }
 
   public void setDeferred(boolean deferred) {
@@ -6,7 +6,9 @@ import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter.InterpreterScopeClosable;
 import com.hubspot.jinjava.tree.Node;
 import com.hubspot.jinjava.tree.TagNode;
-import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
+import com.hubspot.jinjava.tree.output.CompositeOutputNode;
+import com.hubspot.jinjava.tree.output.OutputNode;
+import com.hubspot.jinjava.tree.output.RenderedOutputNode;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -24,6 +26,10 @@ public class AutoEscapeTag implements Tag {
   public static final String TAG_NAME = "autoescape";
 
   private static final long serialVersionUID = 786006577642541285L;
+  private static final ClassValue<Boolean> INHERITS_INTERPRET = InheritedMethods.of(
+    AutoEscapeTag.class,
+    "interpret"
+  );
 
   @Override
   public String getName() {
@@ -37,6 +43,18 @@ public class AutoEscapeTag implements Tag {
 
   @Override
   public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+    return renderOutput(tagNode, interpreter).getValue();
+  }
+
+  @Override
+  public OutputNode interpretOutput(TagNode tagNode, JinjavaInterpreter interpreter) {
+    if (!INHERITS_INTERPRET.get(getClass())) {
+      return new RenderedOutputNode(interpret(tagNode, interpreter));
+    }
+    return renderOutput(tagNode, interpreter);
+  }
+
+  private OutputNode renderOutput(TagNode tagNode, JinjavaInterpreter interpreter) {
     try (InterpreterScopeClosable c = interpreter.enterScope()) {
       String boolFlagStr = StringUtils.trim(tagNode.getHelpers());
       boolean escapeFlag = BooleanUtils.toBoolean(
@@ -44,15 +62,15 @@ public class AutoEscapeTag implements Tag {
       );
       interpreter.getContext().setAutoEscape(escapeFlag);
 
-      LengthLimitingStringBuilder result = new LengthLimitingStringBuilder(
+      CompositeOutputNode result = new CompositeOutputNode(
         interpreter.getConfig().getMaxOutputSize()
       );
 
       for (Node child : tagNode.getChildren()) {
-        result.append(child.render(interpreter));
+        result.add(child.render(interpreter));
       }
 
-      return result.toString();
+      return result;
     }
   }
 }
@@ -31,7 +31,10 @@ public class DoTag implements Tag, FlexibleTag {
     if (hasEndTag((TagToken) tagNode.getMaster())) {
       tagNode.getChildren().forEach(child -> child.render(interpreter));
     } else {
-      interpreter.resolveELExpression(tagNode.getHelpers(), tagNode.getLineNumber());
+      interpreter.resolveELExpression(
+        tagNode.getCompiledHelpers(),
+        tagNode.getLineNumber()
+      );
     }
     return "";
   }
@@ -107,14 +107,14 @@ public class ExtendsTag implements Tag {
       tagNode.getStartPosition()
     );
     path = interpreter.resolveResourceLocation(path);
+    interpreter.addTemplateDependency(path);
     interpreter
       .getContext()
       .getExtendPathStack()
       .push(path, tagNode.getLineNumber(), tagNode.getStartPosition());
 
     try {
-      String template = interpreter.getResource(path);
-      Node node = interpreter.parse(template);
+      Node node = interpreter.parseResource(path);
 
       interpreter.getContext().addDependency("coded_files", path);
       interpreter.addExtendParentRoot(node);
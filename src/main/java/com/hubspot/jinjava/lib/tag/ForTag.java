@@ -35,10 +35,12 @@ import com.hubspot.jinjava.objects.collections.PyList;
 import com.hubspot.jinjava.tree.ExpressionNode;
 import com.hubspot.jinjava.tree.Node;
 import com.hubspot.jinjava.tree.TagNode;
+import com.hubspot.jinjava.tree.output.CompositeOutputNode;
+import com.hubspot.jinjava.tree.output.OutputNode;
+import com.hubspot.jinjava.tree.output.RenderedOutputNode;
 import com.hubspot.jinjava.tree.parse.TagToken;
 import com.hubspot.jinjava.util.ForLoop;
 import com.hubspot.jinjava.util.HelperStringTokenizer;
-import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
 import com.hubspot.jinjava.util.ObjectIterator;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
@@ -46,6 +48,9 @@ import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.tuple.Pair;
@@ -99,16 +104,45 @@ public class ForTag implements Tag {
 
   private static final long serialVersionUID = 6175143875754966497L;
   private static final Pattern IN_PATTERN = Pattern.compile("\\sin\\s");
+  private static final UnaryOperator<String> LOOP_EXPRESSION = helpers ->
+    getLoopExpression(helpers).orElse("");
   public static final String TOO_LARGE_EXCEPTION_MESSAGE = "Loop too large";
+  private static final ClassValue<Boolean> INHERITS_STRING_RENDERING =
+    InheritedMethods.of(
+      ForTag.class,
+      "interpret",
+      "interpretUnchecked",
+      "renderForCollection"
+    );
 
   @Override
   public boolean isRenderedInValidationMode() {
     return true;
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+    return checkNotDeferred(interpreter, () -> interpretUnchecked(tagNode, interpreter));
+  }
+
+  @Override
+  public OutputNode interpretOutput(TagNode tagNode, JinjavaInterpreter interpreter) {
+    if (!INHERITS_STRING_RENDERING.get(getClass())) {
+      return new RenderedOutputNode(interpret(tagNode, interpreter));
+    }
+    return checkNotDeferred(
+      interpreter,
+      () ->
+        renderLoop(
+          tagNode,
+          interpreter,
+          (loopVars, collection) ->
+            renderForCollectionOutput(tagNode, interpreter, loopVars, collection)
+        )
+    );
+  }
+
+  private <T> T checkNotDeferred(JinjavaInterpreter interpreter, Supplier<T> render) {
     long numDeferredNodesBefore = interpreter
       .getContext()
       .getDeferredNodes()
@@ -116,7 +150,7 @@ public class ForTag implements Tag {
       .filter(n -> !(n instanceof ExpressionNode))
       .count();
 
-    String result = interpretUnchecked(tagNode, interpreter);
+    T result = render.get();
     if (
       interpreter
         .getContext()
@@ -136,17 +170,29 @@ public class ForTag implements Tag {
   }
 
   public String interpretUnchecked(TagNode tagNode, JinjavaInterpreter interpreter) {
+    return renderLoop(
+      tagNode,
+      interpreter,
+      (loopVars, collection) ->
+        renderForCollection(tagNode, interpreter, loopVars, collection)
+    );
+  }
+
+  private <T> T renderLoop(
+    TagNode tagNode,
+    JinjavaInterpreter interpreter,
+    BiFunction<List<String>, Object, T> renderForCollection
+  ) {
     Pair<List<String>, String> loopVarsAndExpression = getLoopVarsAndExpression(
       (TagToken) tagNode.getMaster()
     );
     List<String> loopVars = loopVarsAndExpression.getLeft();
-    String loopExpression = loopVarsAndExpression.getRight();
 
     Object collection = interpreter.resolveELExpression(
-      loopExpression,
+      ((TagToken) tagNode.getMaster()).getCompiledExpression(LOOP_EXPRESSION),
       tagNode.getLineNumber()
     );
-    return renderForCollection(tagNode, interpreter, loopVars, collection);
+    return renderForCollection.apply(loopVars, collection);
   }
 
   public String renderForCollection(
@@ -155,17 +201,28 @@ public class ForTag implements Tag {
     List<String> loopVars,
     Object collection
   ) {
-    ForLoop loop = ObjectIterator.getLoop(collection);
+    return renderForCollectionOutput(tagNode, interpreter, loopVars, collection)
+      .getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  public OutputNode renderForCollectionOutput(
+    TagNode tagNode,
+    JinjavaInterpreter interpreter,
+    List<String> loopVars,
+    Object collection
+  ) {
+    ForLoop loop = ObjectIterator.getLoop(collection, interpreter);
 
     try (InterpreterScopeClosable c = interpreter.enterScope()) {
       if (interpreter.isValidationMode() && !loop.hasNext()) {
-        loop = ObjectIterator.getLoop(new DummyObject());
+        loop = ObjectIterator.getLoop(new DummyObject(), interpreter);
         interpreter.getContext().setValidationMode(true);
       }
 
       interpreter.getContext().put(LOOP, loop);
 
-      LengthLimitingStringBuilder buff = new LengthLimitingStringBuilder(
+      CompositeOutputNode buff = new CompositeOutputNode(
         interpreter.getConfig().getMaxOutputSize()
       );
       while (loop.hasNext()) {
@@ -262,7 +319,7 @@ public class ForTag implements Tag {
             node.render(interpreter);
           } else {
             try {
-              buff.append(node.render(interpreter));
+              buff.add(node.render(interpreter));
             } catch (OutputTooBigException e) {
               if (interpreter.getConfig().getExecutionMode().useEagerParser()) {
                 throw new DeferredValueException(TOO_LARGE_EXCEPTION_MESSAGE);
@@ -288,9 +345,9 @@ public class ForTag implements Tag {
     }
   }
 
-  private String checkLoopVariable(
+  private OutputNode checkLoopVariable(
     JinjavaInterpreter interpreter,
-    LengthLimitingStringBuilder buff
+    CompositeOutputNode buff
   ) {
     if (interpreter.getContext().get(LOOP) instanceof DeferredValue) {
       throw new DeferredValueException(
@@ -299,7 +356,7 @@ public class ForTag implements Tag {
         interpreter.getPosition()
       );
     }
-    return buff.toString();
+    return buff;
   }
 
   public Pair<List<String>, String> getLoopVarsAndExpression(TagToken tagToken) {
@@ -320,7 +377,7 @@ public class ForTag implements Tag {
     return Pair.of(loopVars, maybeLoopExpr.get());
   }
 
-  private Optional<String> getLoopExpression(String helpers) {
+  private static Optional<String> getLoopExpression(String helpers) {
     Matcher matcher = IN_PATTERN.matcher(helpers);
     if (matcher.find()) {
       return Optional.of(helpers.substring(matcher.end()).trim());
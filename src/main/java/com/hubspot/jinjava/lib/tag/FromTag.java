@@ -106,8 +106,7 @@ public class FromTag implements Tag {
             Map<String, String> imports = getImportMap(helper);
 
             try {
-              String template = interpreter.getResource(templateFile);
-              Node node = interpreter.parse(template);
+              Node node = interpreter.parseResource(templateFile);
 
               JinjavaInterpreter child = interpreter
                 .getConfig()
@@ -236,6 +235,7 @@ public class FromTag implements Tag {
     );
     templateFile = interpreter.resolveResourceLocation(templateFile);
     interpreter.getContext().addDependency("coded_files", templateFile);
+    interpreter.addTemplateDependency(templateFile);
     return interpreter
       .getContext()
       .getFromPathStack()
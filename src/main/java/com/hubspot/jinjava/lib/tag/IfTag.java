@@ -26,7 +26,9 @@ import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.TemplateSyntaxException;
 import com.hubspot.jinjava.tree.Node;
 import com.hubspot.jinjava.tree.TagNode;
-import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
+import com.hubspot.jinjava.tree.output.CompositeOutputNode;
+import com.hubspot.jinjava.tree.output.OutputNode;
+import com.hubspot.jinjava.tree.output.RenderedOutputNode;
 import com.hubspot.jinjava.util.ObjectTruthValue;
 import java.util.Iterator;
 import org.apache.commons.lang3.StringUtils;
@@ -66,6 +68,10 @@ public class IfTag implements Tag {
   public static final String TAG_NAME = "if";
 
   private static final long serialVersionUID = -3784039314941268904L;
+  private static final ClassValue<Boolean> INHERITS_INTERPRET = InheritedMethods.of(
+    IfTag.class,
+    "interpret"
+  );
 
   @Override
   public boolean isRenderedInValidationMode() {
@@ -74,6 +80,18 @@ public class IfTag implements Tag {
 
   @Override
   public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+    return renderOutput(tagNode, interpreter).getValue();
+  }
+
+  @Override
+  public OutputNode interpretOutput(TagNode tagNode, JinjavaInterpreter interpreter) {
+    if (!INHERITS_INTERPRET.get(getClass())) {
+      return new RenderedOutputNode(interpret(tagNode, interpreter));
+    }
+    return renderOutput(tagNode, interpreter);
+  }
+
+  private OutputNode renderOutput(TagNode tagNode, JinjavaInterpreter interpreter) {
     if (StringUtils.isBlank(tagNode.getHelpers())) {
       throw new TemplateSyntaxException(
         tagNode.getMaster().getImage(),
@@ -83,7 +101,7 @@ public class IfTag implements Tag {
       );
     }
 
-    LengthLimitingStringBuilder sb = new LengthLimitingStringBuilder(
+    CompositeOutputNode output = new CompositeOutputNode(
       interpreter.getConfig().getMaxOutputSize()
     );
 
@@ -115,10 +133,10 @@ public class IfTag implements Tag {
 
         if (execute) {
           try {
-            sb.append(node.render(interpreter));
+            output.add(node.render(interpreter));
           } catch (OutputTooBigException e) {
             interpreter.addError(TemplateError.fromOutputTooBigException(e));
-            return sb.toString();
+            return output;
           }
         } else if (interpreter.getContext().isValidationMode()) {
           node.render(interpreter);
@@ -128,13 +146,13 @@ public class IfTag implements Tag {
       interpreter.getContext().setValidationMode(parentValidationMode);
     }
 
-    return sb.toString();
+    return output;
   }
 
   public boolean isPositiveIfElseNode(TagNode tagNode, JinjavaInterpreter interpreter) {
     return ObjectTruthValue.evaluate(
       interpreter.resolveELExpression(
-        tagNode.getHelpers(),
+        tagNode.getCompiledHelpers(),
         tagNode.getLineNumber(),
         tagNode.getStartPosition()
       )
@@ -0,0 +1,219 @@
+package com.hubspot.jinjava.lib.tag;
+
+import com.google.common.collect.ImmutableSet;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.cache.ParsedTemplate;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.lib.fn.MacroFunction;
+import com.hubspot.jinjava.objects.SafeString;
+import com.hubspot.jinjava.objects.collections.PyList;
+import com.hubspot.jinjava.objects.collections.PyMap;
+import com.hubspot.jinjava.objects.collections.SizeLimitingPyList;
+import com.hubspot.jinjava.objects.collections.SizeLimitingPyMap;
+import com.hubspot.jinjava.tree.analysis.TemplateDependencies;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The parsed template, macros, bindings and errors produced by rendering an imported
+ * template. Kept for the rest of a render when
+ * {@link com.hubspot.jinjava.JinjavaConfig#isEnableImportMemoization()} is set, so that
+ * importing the same template again can be integrated without rendering it.
+ *
+ * <p>Only the result of a template which reads nothing from the context it's imported
+ * into is kept, as its result would otherwise depend on where it's imported. Its bindings
+ * are copied each time they're integrated, so an importing template can change them
+ * without changing what later imports get. A template which binds anything that can't be
+ * copied, such as an object from the bindings of the render, isn't kept.
+ */
+public class ImportResult {
+
+  // tags whose targets may read the importing context
+  private static final Set<String> TEMPLATE_TAGS = ImmutableSet.of(
+    ImportTag.TAG_NAME,
+    FromTag.TAG_NAME,
+    IncludeTag.TAG_NAME,
+    ExtendsTag.TAG_NAME
+  );
+  private static final Set<Class<?>> IMMUTABLE_TYPES = ImmutableSet.of(
+    String.class,
+    SafeString.class,
+    Boolean.class,
+    Character.class,
+    Byte.class,
+    Short.class,
+    Integer.class,
+    Long.class,
+    Float.class,
+    Double.class,
+    BigInteger.class,
+    BigDecimal.class
+  );
+  // returned by copy for a value which can't be copied
+  private static final Object UNCOPYABLE = new Object();
+
+  private final ParsedTemplate parsedTemplate;
+  private final Map<String, MacroFunction> macros;
+  private final Map<String, Object> bindings;
+  private final List<TemplateError> errors;
+
+  private ImportResult(
+    ParsedTemplate parsedTemplate,
+    Map<String, MacroFunction> macros,
+    Map<String, Object> bindings,
+    List<TemplateError> errors
+  ) {
+    this.parsedTemplate = parsedTemplate;
+    this.macros = macros;
+    this.bindings = bindings;
+    this.errors = errors;
+  }
+
+  /**
+   * Captures the result of a rendered import, if it can be reused by later imports. Must
+   * be called before the child is integrated into its parent, as integration mutates the
+   * child's bindings and errors.
+   *
+   * @return The result of the import, or empty if the imported template reads from the
+   *         context it's imported into, or binds a value which can't be copied.
+   */
+  public static Optional<ImportResult> of(
+    ParsedTemplate parsedTemplate,
+    JinjavaInterpreter child
+  ) {
+    if (!isIndependentOfImportingContext(parsedTemplate.getDependencies(child))) {
+      return Optional.empty();
+    }
+    JinjavaConfig config = child.getConfig();
+    Map<String, Object> bindings = new HashMap<>();
+    for (Map.Entry<String, Object> entry : child
+      .getContext()
+      .getSessionBindings()
+      .entrySet()) {
+      if (Context.GLOBAL_MACROS_SCOPE_KEY.equals(entry.getKey())) {
+        continue;
+      }
+      Object value = copy(entry.getValue(), config);
+      if (value == UNCOPYABLE) {
+        return Optional.empty();
+      }
+      bindings.put(entry.getKey(), value);
+    }
+    return Optional.of(
+      new ImportResult(
+        parsedTemplate,
+        new HashMap<>(child.getContext().getGlobalMacros()),
+        bindings,
+        copyErrors(child.getErrorsCopy())
+      )
+    );
+  }
+
+  public void integrate(
+    String templateFile,
+    String contextVar,
+    JinjavaInterpreter interpreter
+  ) {
+    ImportTag
+      .withParseErrorsReported(interpreter, templateFile, parsedTemplate)
+      .get()
+      .close();
+    interpreter.addAllChildErrors(templateFile, copyErrors(errors));
+
+    Map<String, Object> childBindings = new HashMap<>();
+    JinjavaConfig config = interpreter.getConfig();
+    bindings.forEach((key, value) -> childBindings.put(key, copy(value, config)));
+    if (StringUtils.isBlank(contextVar)) {
+      for (MacroFunction macro : macros.values()) {
+        interpreter.getContext().addGlobalMacro(macro);
+      }
+      interpreter
+        .getContext()
+        .putAll(ImportTag.getChildBindingsWithoutImportResourcePath(childBindings));
+    } else {
+      childBindings.putAll(macros);
+      interpreter.getContext().put(contextVar, childBindings);
+    }
+  }
+
+  private static boolean isIndependentOfImportingContext(
+    TemplateDependencies dependencies
+  ) {
+    return (
+      dependencies.getVariables().isEmpty() &&
+      Collections.disjoint(dependencies.getTags(), TEMPLATE_TAGS)
+    );
+  }
+
+  /**
+   * @return A copy of the value which shares nothing mutable with it, or
+   *         {@link #UNCOPYABLE}. Macros are shared, as they're shared by every import
+   *         of a template which isn't memoized too.
+   */
+  private static Object copy(Object value, JinjavaConfig config) {
+    if (
+      value == null ||
+      value instanceof MacroFunction ||
+      IMMUTABLE_TYPES.contains(value.getClass())
+    ) {
+      return value;
+    }
+    // subclasses, such as Namespace, may hold more than their entries
+    Class<?> type = value.getClass();
+    if (
+      type == SizeLimitingPyList.class || type == PyList.class || type == ArrayList.class
+    ) {
+      List<Object> list = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        Object copy = copy(element, config);
+        if (copy == UNCOPYABLE) {
+          return UNCOPYABLE;
+        }
+        list.add(copy);
+      }
+      if (type == SizeLimitingPyList.class) {
+        return new SizeLimitingPyList(list, config.getMaxListSize());
+      }
+      return type == PyList.class ? new PyList(list) : list;
+    }
+    if (
+      type == SizeLimitingPyMap.class ||
+      type == PyMap.class ||
+      type == HashMap.class ||
+      type == LinkedHashMap.class
+    ) {
+      Map<String, Object> map = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        Object copy = copy(entry.getValue(), config);
+        if (!(entry.getKey() instanceof String) || copy == UNCOPYABLE) {
+          return UNCOPYABLE;
+        }
+        map.put((String) entry.getKey(), copy);
+      }
+      if (type == SizeLimitingPyMap.class) {
+        return new SizeLimitingPyMap(map, config.getMaxMapSize());
+      }
+      return type == PyMap.class ? new PyMap(map) : map;
+    }
+    return UNCOPYABLE;
+  }
+
+  private static List<TemplateError> copyErrors(List<TemplateError> errors) {
+    return errors
+      .stream()
+      .map(error -> error.withScopeDepth(error.getScopeDepth()))
+      .collect(Collectors.toList());
+  }
+}
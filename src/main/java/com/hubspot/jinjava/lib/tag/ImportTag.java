@@ -2,6 +2,7 @@ package com.hubspot.jinjava.lib.tag;
 
 import com.google.common.collect.ImmutableMap;
 import com.hubspot.algebra.Result;
+import com.hubspot.jinjava.cache.ParsedTemplate;
 import com.hubspot.jinjava.doc.annotations.JinjavaDoc;
 import com.hubspot.jinjava.doc.annotations.JinjavaParam;
 import com.hubspot.jinjava.doc.annotations.JinjavaSnippet;
@@ -33,8 +34,11 @@ import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 
 /**
- * Jinja2 supports putting often used code into macros. These macros can go into different templates and get imported from there. This works similar to the import statements in Python. It’s important to know that imports are cached and
+ * Jinja2 supports putting often used code into macros. These macros can go into different templates and get imported from there. This works similar to the import statements in Python. It’s important to know that
  * imported templates don’t have access to the current template variables, just the globals by default.
+ * When {@link com.hubspot.jinjava.JinjavaConfig#isEnableImportMemoization()} is set,
+ * the result of an import is remembered for the rest of the render, so repeated imports
+ * of the same path and alias are only rendered once.
  *
  * @author jstehler
  */
@@ -111,20 +115,35 @@ public class ImportTag implements Tag {
             return "";
           },
           templateFile -> {
+            boolean memoize = interpreter.getConfig().isEnableImportMemoization();
+            if (memoize) {
+              Optional<ImportResult> importResult = interpreter.getImportResult(
+                templateFile,
+                contextVar
+              );
+              if (importResult.isPresent()) {
+                importResult.get().integrate(templateFile, contextVar, interpreter);
+                return "";
+              }
+            }
             try (
-              AutoCloseableImpl<Node> node = parseTemplateAsNode(
+              AutoCloseableImpl<ParsedTemplate> parsedTemplate = parseTemplate(
                 interpreter,
                 templateFile
               )
                 .get()
             ) {
+              Node node = parsedTemplate.value().getRoot();
               JinjavaInterpreter child = interpreter
                 .getConfig()
                 .getInterpreterFactory()
                 .newInstance(interpreter);
               child.getContext().put(Context.IMPORT_RESOURCE_PATH_KEY, templateFile);
-              child.render(node.value());
+              child.render(node);
 
+              Optional<ImportResult> importResult = memoize
+                ? ImportResult.of(parsedTemplate.value(), child)
+                : Optional.empty();
               interpreter.addAllChildErrors(templateFile, child.getErrorsCopy());
 
               Map<String, Object> childBindings = child.getContext().getSessionBindings();
@@ -132,7 +151,7 @@ public class ImportTag implements Tag {
               // If the template depends on deferred values it should not be rendered and all defined variables and macros should be deferred too
               if (!child.getContext().getDeferredNodes().isEmpty()) {
                 handleDeferredNodesDuringImport(
-                  node.value(),
+                  node,
                   contextVar,
                   childBindings,
                   child,
@@ -145,6 +164,9 @@ public class ImportTag implements Tag {
                 );
               }
 
+              importResult.ifPresent(result ->
+                interpreter.putImportResult(templateFile, contextVar, result)
+              );
               integrateChild(contextVar, childBindings, child, interpreter);
               return "";
             } catch (IOException e) {
@@ -232,12 +254,33 @@ public class ImportTag implements Tag {
     JinjavaInterpreter interpreter,
     String templateFile
   ) throws IOException {
-    String template = interpreter.getResource(templateFile);
+    return parseTemplate(interpreter, templateFile).map(ParsedTemplate::getRoot);
+  }
+
+  public static AutoCloseableSupplier<ParsedTemplate> parseTemplate(
+    JinjavaInterpreter interpreter,
+    String templateFile
+  ) throws IOException {
+    return withParseErrorsReported(
+      interpreter,
+      templateFile,
+      interpreter.getParsedResource(templateFile)
+    );
+  }
+
+  static AutoCloseableSupplier<ParsedTemplate> withParseErrorsReported(
+    JinjavaInterpreter interpreter,
+    String templateFile,
+    ParsedTemplate parsedTemplate
+  ) {
     return interpreter
       .getContext()
       .getCurrentPathStack()
       .closeablePush(templateFile, interpreter.getLineNumber(), interpreter.getPosition())
-      .map(currentPath -> interpreter.parse(template));
+      .map(currentPath -> {
+        interpreter.reportParseErrors(parsedTemplate);
+        return parsedTemplate;
+      });
   }
 
   public static AutoCloseableSupplier<Result<String, TagCycleException>> getTemplateFileWithWrapper(
@@ -253,6 +296,7 @@ public class ImportTag implements Tag {
     );
     templateFile = interpreter.resolveResourceLocation(templateFile);
     interpreter.getContext().addDependency("coded_files", templateFile);
+    interpreter.addTemplateDependency(templateFile);
     return interpreter
       .getContext()
       .getImportPathStack()
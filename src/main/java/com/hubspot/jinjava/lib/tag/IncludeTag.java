@@ -24,6 +24,7 @@ import com.hubspot.jinjava.doc.annotations.JinjavaTextMateSnippet;
 import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
 import com.hubspot.jinjava.interpret.InterpretException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.interpret.TagCycleException;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
@@ -126,9 +127,13 @@ public class IncludeTag implements Tag {
                   return "";
                 },
                 currentPath -> {
+                  RenderProfiler.Span span = interpreter.startProfiling(
+                    "include",
+                    finalTemplateFile,
+                    -1
+                  );
                   try {
-                    String template = interpreter.getResource(finalTemplateFile);
-                    Node node = interpreter.parse(template);
+                    Node node = interpreter.parseResource(finalTemplateFile);
                     interpreter
                       .getContext()
                       .addDependency("coded_files", finalTemplateFile);
@@ -140,6 +145,8 @@ public class IncludeTag implements Tag {
                       finalTagNode.getLineNumber(),
                       finalTagNode.getStartPosition()
                     );
+                  } finally {
+                    span.close();
                   }
                 }
               )
@@ -168,6 +175,7 @@ public class IncludeTag implements Tag {
       tagNode.getStartPosition()
     );
     templateFile = interpreter.resolveResourceLocation(templateFile);
+    interpreter.addTemplateDependency(templateFile);
     return templateFile;
   }
 
@@ -0,0 +1,37 @@
+package com.hubspot.jinjava.lib.tag;
+
+import com.google.common.collect.ImmutableSet;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Tells whether a class inherits some public methods from a tag without overriding them.
+ * Tags which render their body as output nodes use this to only do so when subclasses
+ * haven't overridden the methods rendering it as a string, which would be skipped.
+ */
+final class InheritedMethods {
+
+  private InheritedMethods() {}
+
+  /**
+   * @param base
+   *          the tag declaring the methods
+   * @param methodNames
+   *          the names of the methods, including all their overloads
+   * @return Whether a subclass of the tag inherits all of them, computed once per class.
+   */
+  static ClassValue<Boolean> of(Class<? extends Tag> base, String... methodNames) {
+    Set<String> names = ImmutableSet.copyOf(methodNames);
+    return new ClassValue<>() {
+      @Override
+      protected Boolean computeValue(Class<?> type) {
+        for (Method method : type.getMethods()) {
+          if (names.contains(method.getName()) && method.getDeclaringClass() != base) {
+            return false;
+          }
+        }
+        return true;
+      }
+    };
+  }
+}
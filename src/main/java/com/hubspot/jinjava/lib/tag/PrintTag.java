@@ -34,7 +34,10 @@ public class PrintTag implements Tag {
   @Override
   public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
     return Objects.toString(
-      interpreter.resolveELExpression(tagNode.getHelpers(), tagNode.getLineNumber()),
+      interpreter.resolveELExpression(
+        tagNode.getCompiledHelpers(),
+        tagNode.getLineNumber()
+      ),
       ""
     );
   }
@@ -31,6 +31,7 @@ import com.hubspot.jinjava.tree.parse.TagToken;
 import com.hubspot.jinjava.util.DeferredValueUtils;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -82,6 +83,8 @@ public class SetTag implements Tag, FlexibleTag {
   public static final String IGNORED_VARIABLE_NAME = "__ignored__";
 
   private static final long serialVersionUID = -8558479410226781539L;
+  private static final UnaryOperator<String> LIST_EXPRESSION = helpers ->
+    "[" + helpers.substring(helpers.indexOf('=') + 1) + "]";
 
   @Override
   public String getName() {
@@ -120,7 +123,7 @@ public class SetTag implements Tag, FlexibleTag {
     try {
       @SuppressWarnings("unchecked")
       List<?> exprVals = (List<Object>) interpreter.resolveELExpression(
-        "[" + expr + "]",
+        ((TagToken) tagNode.getMaster()).getCompiledExpression(LIST_EXPRESSION),
         tagNode.getMaster().getLineNumber()
       );
       executeSet((TagToken) tagNode.getMaster(), interpreter, varTokens, exprVals, false);
@@ -193,7 +196,7 @@ public class SetTag implements Tag, FlexibleTag {
     if (hasFilterOp) {
       // Evaluate the whole expression to get the filtered result
       Object finalVal = interpreter.resolveELExpression(
-        tagNode.getHelpers().trim(),
+        tagNode.getCompiledHelpers(),
         tagNode.getMaster().getLineNumber()
       );
       executeSet(
@@ -24,6 +24,10 @@ public class TagLibrary extends SimpleLibrary<Tag> {
     super(registerDefaults, disabled);
   }
 
+  public TagLibrary(TagLibrary source) {
+    super(source);
+  }
+
   @Override
   protected void registerDefaults() {
     registerClasses(
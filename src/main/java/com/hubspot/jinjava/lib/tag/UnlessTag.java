@@ -47,7 +47,7 @@ public class UnlessTag extends IfTag {
     if (tagNode.getName().equals("unless")) {
       return !ObjectTruthValue.evaluate(
         interpreter.resolveELExpression(
-          tagNode.getHelpers(),
+          tagNode.getCompiledHelpers(),
           tagNode.getLineNumber(),
           tagNode.getStartPosition()
         )
@@ -111,8 +111,7 @@ public class EagerFromTag extends EagerStateChangingTag<FromTag> {
           },
           templateFile -> {
             try {
-              String template = interpreter.getResource(templateFile);
-              Node node = interpreter.parse(template);
+              Node node = interpreter.parseResource(templateFile);
 
               JinjavaInterpreter child = interpreter
                 .getConfig()
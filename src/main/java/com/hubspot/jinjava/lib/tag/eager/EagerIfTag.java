@@ -68,7 +68,6 @@ public class EagerIfTag extends EagerTagDecorator<IfTag> {
         )
         .asTemplateString()
     );
-    tagNode.getMaster().setRightTrimAfterEnd(false);
     result.append(EagerReconstructionUtils.reconstructEnd(tagNode));
 
     return result.toString();
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Optional;
 
 public class FileLocator implements ResourceLocator {
 
@@ -63,4 +64,15 @@ public class FileLocator implements ResourceLocator {
 
     return Files.toString(file, encoding);
   }
+
+  @Override
+  public Optional<String> getVersion(String name, JinjavaInterpreter interpreter) {
+    File file = resolveFileName(name);
+
+    if (!file.exists() || !file.isFile()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(file.lastModified() + ":" + file.length());
+  }
 }
@@ -27,4 +27,16 @@ public interface ResourceLocator {
   default Optional<LocationResolver> getLocationResolver() {
     return Optional.empty();
   }
+
+  /**
+   * Get a value which changes whenever the content of the named resource changes, such
+   * as its last modified time or an ETag. A parsed copy of the resource may be reused for
+   * as long as its version stays the same.
+   *
+   * @return the current version of the resource, or empty if this locator can't tell
+   */
+  default Optional<String> getVersion(String fullName, JinjavaInterpreter interpreter)
+    throws IOException {
+    return Optional.empty();
+  }
 }
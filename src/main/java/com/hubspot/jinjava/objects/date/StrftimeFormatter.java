@@ -5,6 +5,7 @@ import static com.hubspot.jinjava.objects.date.StrftimeFormatter.ConversionCompo
 
 import com.google.common.collect.ImmutableMap;
 import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.cache.CompiledArgumentCache;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -120,11 +121,14 @@ public class StrftimeFormatter {
   }
 
   private static DateTimeFormatter formatter(String strftime, Locale locale) {
-    DateTimeFormatter fmt;
+    String format = strftime == null ? "" : strftime;
+    return CompiledArgumentCache
+      .getCurrent()
+      .get("strftime", format, locale, () -> buildFormatter(format, locale));
+  }
 
-    if (strftime == null) {
-      strftime = "";
-    }
+  private static DateTimeFormatter buildFormatter(String strftime, Locale locale) {
+    DateTimeFormatter fmt;
 
     switch (strftime.toLowerCase()) {
       case "short":
@@ -111,19 +111,16 @@ public class PyishObjectMapper {
 
   public static String getAsPyishStringOrThrow(Object val, boolean forOutput)
     throws IOException {
-    boolean useSnakeCaseMappingOverride = JinjavaInterpreter
-      .getCurrentMaybe()
-      .map(interpreter ->
-        interpreter.getConfig().getLegacyOverrides().isUseSnakeCasePropertyNaming()
-      )
+    Optional<JinjavaInterpreter> interpreter = JinjavaInterpreter.getCurrentMaybe();
+    boolean useSnakeCaseMappingOverride = interpreter
+      .map(i -> i.getConfig().getLegacyOverrides().isUseSnakeCasePropertyNaming())
       .orElse(false);
     ObjectWriter objectWriter = useSnakeCaseMappingOverride
       ? SNAKE_CASE_PYISH_OBJECT_WRITER
       : PYISH_OBJECT_WRITER;
     Writer writer;
-    Optional<Long> maxOutputSize = JinjavaInterpreter
-      .getCurrentMaybe()
-      .map(interpreter -> interpreter.getConfig().getMaxOutputSize())
+    Optional<Long> maxOutputSize = interpreter
+      .map(i -> i.getConfig().getMaxOutputSize())
       .filter(max -> max > 0);
     if (maxOutputSize.isPresent()) {
       AtomicInteger remainingLength = new AtomicInteger(
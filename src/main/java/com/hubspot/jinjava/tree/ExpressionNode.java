@@ -17,6 +17,7 @@ package com.hubspot.jinjava.tree;
 
 import com.hubspot.jinjava.interpret.DeferredValueException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.lib.expression.DefaultExpressionStrategy;
 import com.hubspot.jinjava.lib.expression.ExpressionStrategy;
 import com.hubspot.jinjava.tree.output.OutputNode;
@@ -45,12 +46,18 @@ public class ExpressionNode extends Node {
   @Override
   public OutputNode render(JinjavaInterpreter interpreter) {
     preProcess(interpreter);
+    RenderProfiler.Span span = interpreter.startProfiling(
+      "expression",
+      master.getExpr(),
+      getLineNumber()
+    );
     try {
       return expressionStrategy.interpretOutput(master, interpreter);
     } catch (DeferredValueException e) {
       interpreter.getContext().handleDeferredNode(this);
       return new RenderedOutputNode(master.getImage());
     } finally {
+      span.close();
       postProcess(interpreter);
     }
   }
@@ -0,0 +1,232 @@
+package com.hubspot.jinjava.tree;
+
+import com.google.common.collect.ForwardingListIterator;
+import com.google.common.collect.Iterators;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The children of a frozen {@link Node}. This is still a {@link LinkedList} so that
+ * {@link Node#getChildren()} keeps its signature, but every modification is rejected with
+ * an {@link UnsupportedOperationException}.
+ */
+final class FrozenNodeList extends LinkedList<Node> {
+
+  private static final long serialVersionUID = -2404832914745396235L;
+
+  // false while the LinkedList constructor copies the nodes in
+  private final boolean frozen;
+
+  FrozenNodeList(Collection<Node> nodes) {
+    super(nodes);
+    frozen = true;
+  }
+
+  private UnsupportedOperationException frozenException() {
+    return new UnsupportedOperationException(
+      "Children of a frozen node can't be modified"
+    );
+  }
+
+  @Override
+  public boolean add(Node node) {
+    if (frozen) {
+      throw frozenException();
+    }
+    return super.add(node);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Node> nodes) {
+    if (frozen) {
+      throw frozenException();
+    }
+    return super.addAll(nodes);
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends Node> nodes) {
+    if (frozen) {
+      throw frozenException();
+    }
+    return super.addAll(index, nodes);
+  }
+
+  @Override
+  public void add(int index, Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public void addFirst(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public void addLast(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean offer(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean offerFirst(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean offerLast(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public void push(Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public Node set(int index, Node node) {
+    throw frozenException();
+  }
+
+  @Override
+  public Node remove() {
+    throw frozenException();
+  }
+
+  @Override
+  public Node remove(int index) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw frozenException();
+  }
+
+  @Override
+  public Node removeFirst() {
+    throw frozenException();
+  }
+
+  @Override
+  public Node removeLast() {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean removeFirstOccurrence(Object o) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean removeLastOccurrence(Object o) {
+    throw frozenException();
+  }
+
+  @Override
+  public Node poll() {
+    throw frozenException();
+  }
+
+  @Override
+  public Node pollFirst() {
+    throw frozenException();
+  }
+
+  @Override
+  public Node pollLast() {
+    throw frozenException();
+  }
+
+  @Override
+  public Node pop() {
+    throw frozenException();
+  }
+
+  @Override
+  public void clear() {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    throw frozenException();
+  }
+
+  @Override
+  public boolean removeIf(Predicate<? super Node> filter) {
+    throw frozenException();
+  }
+
+  @Override
+  public void replaceAll(UnaryOperator<Node> operator) {
+    throw frozenException();
+  }
+
+  @Override
+  public void sort(Comparator<? super Node> c) {
+    throw frozenException();
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    throw frozenException();
+  }
+
+  @Override
+  public ListIterator<Node> listIterator(int index) {
+    ListIterator<Node> delegate = super.listIterator(index);
+    return new ForwardingListIterator<Node>() {
+      @Override
+      protected ListIterator<Node> delegate() {
+        return delegate;
+      }
+
+      @Override
+      public void add(Node node) {
+        throw frozenException();
+      }
+
+      @Override
+      public void set(Node node) {
+        throw frozenException();
+      }
+
+      @Override
+      public void remove() {
+        throw frozenException();
+      }
+    };
+  }
+
+  @Override
+  public Iterator<Node> descendingIterator() {
+    return Iterators.unmodifiableIterator(super.descendingIterator());
+  }
+
+  @Override
+  public List<Node> subList(int fromIndex, int toIndex) {
+    return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+  }
+
+  @Override
+  public Object clone() {
+    return new LinkedList<>(this);
+  }
+}
@@ -34,6 +34,7 @@ public abstract class Node implements Serializable {
 
   private Node parent = null;
   private LinkedList<Node> children = new LinkedList<>();
+  private boolean frozen = false;
 
   public Node(Token master, int lineNumber, int startPosition) {
     this.master = master;
@@ -46,6 +47,7 @@ public abstract class Node implements Serializable {
   }
 
   public void setParent(Node parent) {
+    checkNotFrozen();
     this.parent = parent;
   }
 
@@ -66,9 +68,39 @@ public abstract class Node implements Serializable {
   }
 
   public void setChildren(LinkedList<Node> children) {
+    checkNotFrozen();
     this.children = children;
   }
 
+  /**
+   * Make this node, its descendants and their tokens immutable. A frozen tree isn't
+   * modified by rendering, so a single parsed tree can be cached and rendered by many
+   * threads at once.
+   */
+  public void freeze() {
+    if (frozen) {
+      return;
+    }
+    if (master != null) {
+      master.freeze();
+    }
+    for (Node child : children) {
+      child.freeze();
+    }
+    children = new FrozenNodeList(children);
+    frozen = true;
+  }
+
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("Node " + getName() + " is frozen");
+    }
+  }
+
   public String reconstructImage() {
     return master.getImage();
   }
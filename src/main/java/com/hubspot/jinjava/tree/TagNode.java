@@ -15,12 +15,14 @@
  **********************************************************************/
 package com.hubspot.jinjava.tree;
 
+import com.hubspot.jinjava.el.CompiledExpression;
 import com.hubspot.jinjava.interpret.DeferredValueException;
 import com.hubspot.jinjava.interpret.InterpretException;
 import com.hubspot.jinjava.interpret.InvalidArgumentException;
 import com.hubspot.jinjava.interpret.InvalidInputException;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.OutputTooBigException;
+import com.hubspot.jinjava.interpret.RenderProfiler;
 import com.hubspot.jinjava.lib.tag.FlexibleTag;
 import com.hubspot.jinjava.lib.tag.Tag;
 import com.hubspot.jinjava.tree.output.OutputNode;
@@ -46,6 +48,11 @@ public class TagNode extends Node {
   @Override
   public OutputNode render(JinjavaInterpreter interpreter) {
     preProcess(interpreter);
+    RenderProfiler.Span span = interpreter.startProfiling(
+      "tag",
+      tag.getName(),
+      getLineNumber()
+    );
     try {
       if (
         interpreter.getContext().isValidationMode() && !tag.isRenderedInValidationMode()
@@ -74,6 +81,7 @@ public class TagNode extends Node {
         master.getStartPosition()
       );
     } finally {
+      span.close();
       postProcess(interpreter);
     }
   }
@@ -96,6 +104,10 @@ public class TagNode extends Node {
     return master.getHelpers();
   }
 
+  public CompiledExpression getCompiledHelpers() {
+    return master.getCompiledHelpers();
+  }
+
   public Tag getTag() {
     return tag;
   }
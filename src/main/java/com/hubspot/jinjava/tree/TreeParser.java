@@ -40,7 +40,9 @@ import com.hubspot.jinjava.tree.parse.TokenScanner;
 import com.hubspot.jinjava.tree.parse.TokenScannerSymbols;
 import com.hubspot.jinjava.tree.parse.UnclosedToken;
 import com.hubspot.jinjava.tree.parse.WhitespaceControlParser;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 
 public class TreeParser {
@@ -49,6 +51,7 @@ public class TreeParser {
   private final JinjavaInterpreter interpreter;
   private final TokenScannerSymbols symbols;
   private final WhitespaceControlParser whitespaceControlParser;
+  private final List<TemplateError> parseErrors = new ArrayList<>();
 
   private Node parent;
 
@@ -89,7 +92,7 @@ public class TreeParser {
 
     do {
       if (parent != root) {
-        interpreter.addError(
+        addError(
           TemplateError.fromException(
             new MissingEndTagException(
               ((TagNode) parent).getEndName(),
@@ -106,6 +109,20 @@ public class TreeParser {
     return root;
   }
 
+  /**
+   * @return copies of the errors encountered while building the tree, as they were before
+   * the interpreter's error handling strategy was applied. Used to report the same errors
+   * again when a cached tree is reused.
+   */
+  public List<TemplateError> getParseErrors() {
+    return parseErrors;
+  }
+
+  private void addError(TemplateError error) {
+    parseErrors.add(error.withScopeDepth(error.getScopeDepth()));
+    interpreter.addError(error);
+  }
+
   private static Iterator<Token> createScanner(String input, JinjavaConfig config) {
     if (config.getTokenScannerSymbols().isStringBased()) {
       return new StringTokenScanner(input, config);
@@ -128,7 +145,7 @@ public class TreeParser {
 
     if (token.getType() == symbols.getFixed()) {
       if (token instanceof UnclosedToken) {
-        interpreter.addError(
+        addError(
           new TemplateError(
             ErrorType.WARNING,
             ErrorReason.SYNTAX_ERROR,
@@ -149,7 +166,7 @@ public class TreeParser {
     } else if (token.getType() == symbols.getNote()) {
       String commentClosed = symbols.getClosingComment();
       if (!token.getImage().endsWith(commentClosed)) {
-        interpreter.addError(
+        addError(
           new TemplateError(
             ErrorType.WARNING,
             ErrorReason.SYNTAX_ERROR,
@@ -163,7 +180,7 @@ public class TreeParser {
         );
       }
     } else {
-      interpreter.addError(
+      addError(
         TemplateError.fromException(
           new UnexpectedTokenException(
             token.getImage(),
@@ -256,13 +273,11 @@ public class TreeParser {
     try {
       tag = interpreter.getContext().getTag(tagToken.getTagName());
       if (tag == null) {
-        interpreter.addError(
-          TemplateError.fromException(new UnknownTagException(tagToken))
-        );
+        addError(TemplateError.fromException(new UnknownTagException(tagToken)));
         return null;
       }
     } catch (DisabledException e) {
-      interpreter.addError(
+      addError(
         new TemplateError(
           ErrorType.FATAL,
           ErrorReason.DISABLED,
@@ -311,7 +326,7 @@ public class TreeParser {
         hasMatchingStartTag = true;
         break;
       } else {
-        interpreter.addError(
+        addError(
           TemplateError.fromException(
             new TemplateSyntaxException(
               tagToken.getImage(),
@@ -324,7 +339,7 @@ public class TreeParser {
       }
     }
     if (!hasMatchingStartTag) {
-      interpreter.addError(
+      addError(
         new TemplateError(
           ErrorType.WARNING,
           ErrorReason.SYNTAX_ERROR,
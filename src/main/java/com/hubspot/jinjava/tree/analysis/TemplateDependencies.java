@@ -0,0 +1,109 @@
+package com.hubspot.jinjava.tree.analysis;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+
+/**
+ * What a parsed template depends on, as found by {@link TemplateDependencyAnalyzer}
+ * without rendering it.
+ */
+public class TemplateDependencies {
+
+  private final Set<String> templates;
+  private final Set<String> tags;
+  private final Set<String> macroCalls;
+  private final Set<String> filters;
+  private final Set<String> functions;
+  private final Set<String> expTests;
+  private final Set<String> variables;
+
+  public TemplateDependencies(
+    Set<String> templates,
+    Set<String> tags,
+    Set<String> macroCalls,
+    Set<String> filters,
+    Set<String> functions,
+    Set<String> expTests,
+    Set<String> variables
+  ) {
+    this.templates = ImmutableSet.copyOf(templates);
+    this.tags = ImmutableSet.copyOf(tags);
+    this.macroCalls = ImmutableSet.copyOf(macroCalls);
+    this.filters = ImmutableSet.copyOf(filters);
+    this.functions = ImmutableSet.copyOf(functions);
+    this.expTests = ImmutableSet.copyOf(expTests);
+    this.variables = ImmutableSet.copyOf(variables);
+  }
+
+  /**
+   * @return The locations of the templates which are included, imported, extended or
+   *         imported from, as written in the template. Locations which aren't string
+   *         literals can't be known without rendering, so aren't included.
+   */
+  public Set<String> getTemplates() {
+    return templates;
+  }
+
+  /**
+   * @return The names of the tags which are used, not including end tags.
+   */
+  public Set<String> getTags() {
+    return tags;
+  }
+
+  /**
+   * @return The names of the macros which are called, either macros defined in the
+   *         template or imported with a from tag, or {@code alias.name} for macros of a
+   *         template imported with an import tag.
+   */
+  public Set<String> getMacroCalls() {
+    return macroCalls;
+  }
+
+  public Set<String> getFilters() {
+    return filters;
+  }
+
+  /**
+   * @return The names of the functions which are called, other than macros, including
+   *         the namespace of functions which have one, such as {@code ns:name}.
+   */
+  public Set<String> getFunctions() {
+    return functions;
+  }
+
+  public Set<String> getExpTests() {
+    return expTests;
+  }
+
+  /**
+   * @return The names of the variables which may be read before the template sets them,
+   *         by a set or for tag, a macro argument or an import, so may come from the
+   *         bindings of the render or from the template including or importing it.
+   */
+  public Set<String> getVariables() {
+    return variables;
+  }
+
+  @Override
+  public String toString() {
+    return (
+      "TemplateDependencies{" +
+      "templates=" +
+      templates +
+      ", tags=" +
+      tags +
+      ", macroCalls=" +
+      macroCalls +
+      ", filters=" +
+      filters +
+      ", functions=" +
+      functions +
+      ", expTests=" +
+      expTests +
+      ", variables=" +
+      variables +
+      '}'
+    );
+  }
+}
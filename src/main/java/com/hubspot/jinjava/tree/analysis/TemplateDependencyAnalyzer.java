@@ -0,0 +1,394 @@
+package com.hubspot.jinjava.tree.analysis;
+
+import com.google.common.base.Splitter;
+import com.hubspot.jinjava.el.ext.AstDict;
+import com.hubspot.jinjava.el.ext.AstFilterChain;
+import com.hubspot.jinjava.el.ext.AstList;
+import com.hubspot.jinjava.el.ext.AstNamedParameter;
+import com.hubspot.jinjava.el.ext.ExtendedParser;
+import com.hubspot.jinjava.el.ext.FilterSpec;
+import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.tag.BreakTag;
+import com.hubspot.jinjava.lib.tag.CallTag;
+import com.hubspot.jinjava.lib.tag.ContinueTag;
+import com.hubspot.jinjava.lib.tag.DoTag;
+import com.hubspot.jinjava.lib.tag.ElseIfTag;
+import com.hubspot.jinjava.lib.tag.ElseTag;
+import com.hubspot.jinjava.lib.tag.ExtendsTag;
+import com.hubspot.jinjava.lib.tag.ForTag;
+import com.hubspot.jinjava.lib.tag.FromTag;
+import com.hubspot.jinjava.lib.tag.IfTag;
+import com.hubspot.jinjava.lib.tag.ImportTag;
+import com.hubspot.jinjava.lib.tag.IncludeTag;
+import com.hubspot.jinjava.lib.tag.MacroTag;
+import com.hubspot.jinjava.lib.tag.PrintTag;
+import com.hubspot.jinjava.lib.tag.SetTag;
+import com.hubspot.jinjava.lib.tag.UnlessTag;
+import com.hubspot.jinjava.tree.ExpressionNode;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.TagNode;
+import com.hubspot.jinjava.tree.parse.ExpressionToken;
+import com.hubspot.jinjava.util.HelperStringTokenizer;
+import de.odysseus.el.tree.impl.ast.AstDot;
+import de.odysseus.el.tree.impl.ast.AstFunction;
+import de.odysseus.el.tree.impl.ast.AstIdentifier;
+import de.odysseus.el.tree.impl.ast.AstMethod;
+import de.odysseus.el.tree.impl.ast.AstNode;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.el.ELException;
+
+/**
+ * Finds what a parsed template depends on by walking its tree and the expressions in it,
+ * without rendering it: the templates it references, the macros, filters, functions and
+ * expression tests it uses, and the variables it reads from the bindings of a render.
+ *
+ * <p>The analysis only sees what is written in the template. Template locations which
+ * are computed when rendering aren't found. A variable is only treated as set after the
+ * statement setting it, and within the block it's set in, so a variable which may be
+ * read before it's set, such as by {@code {% set x = x + 1 %}}, is reported as read.
+ * The loop variable, and breaking out of or continuing a loop, are only local within a
+ * for loop in the template.
+ */
+public final class TemplateDependencyAnalyzer {
+
+  private static final Pattern IN_PATTERN = Pattern.compile("\\sin\\s");
+  private static final Splitter COMMA_SPLITTER = Splitter
+    .on(',')
+    .omitEmptyStrings()
+    .trimResults();
+
+  private final JinjavaInterpreter interpreter;
+  private final Set<String> templates = new HashSet<>();
+  private final Set<String> tags = new HashSet<>();
+  private final Set<String> definedMacros = new HashSet<>();
+  private final Set<String> importAliases = new HashSet<>();
+  private final Set<String> functionCalls = new HashSet<>();
+  private final Set<String> methodCalls = new HashSet<>();
+  private final Set<String> filters = new HashSet<>();
+  private final Set<String> expTests = new HashSet<>();
+  private final Set<String> readNames = new HashSet<>();
+  // the names set so far in each block around the node being analyzed, innermost first
+  private final Deque<Set<String>> scopes = new ArrayDeque<>();
+
+  private TemplateDependencyAnalyzer(JinjavaInterpreter interpreter) {
+    this.interpreter = interpreter;
+    scopes.push(new HashSet<>());
+  }
+
+  /**
+   * Find the dependencies of the given template.
+   *
+   * @param root
+   *          root node of the parsed template
+   * @param interpreter
+   *          an interpreter with the config the template is rendered with
+   */
+  public static TemplateDependencies analyze(Node root, JinjavaInterpreter interpreter) {
+    return analyze(Collections.singletonList(root), interpreter);
+  }
+
+  /**
+   * Find the dependencies of a part of a template, such as the body of a macro.
+   *
+   * @param nodes
+   *          the nodes making up that part of the template, with their children
+   * @param interpreter
+   *          an interpreter with the config the template is rendered with
+   */
+  public static TemplateDependencies analyze(
+    List<Node> nodes,
+    JinjavaInterpreter interpreter
+  ) {
+    TemplateDependencyAnalyzer analyzer = new TemplateDependencyAnalyzer(interpreter);
+    try (
+      AutoCloseableImpl<JinjavaInterpreter> c = JinjavaInterpreter
+        .closeablePushCurrent(interpreter)
+        .get()
+    ) {
+      for (Node node : nodes) {
+        analyzer.addNode(node);
+      }
+    }
+    return analyzer.getDependencies();
+  }
+
+  private TemplateDependencies getDependencies() {
+    Set<String> macroCalls = new HashSet<>();
+    Set<String> functions = new HashSet<>();
+    for (String name : functionCalls) {
+      (definedMacros.contains(name) ? macroCalls : functions).add(name);
+    }
+    for (String name : methodCalls) {
+      if (importAliases.contains(name.substring(0, name.indexOf('.')))) {
+        macroCalls.add(name);
+      }
+    }
+    Set<String> variables = new HashSet<>(readNames);
+    variables.removeAll(definedMacros);
+    return new TemplateDependencies(
+      templates,
+      tags,
+      macroCalls,
+      filters,
+      functions,
+      expTests,
+      variables
+    );
+  }
+
+  private void addNode(Node node) {
+    if (node instanceof TagNode) {
+      addTag((TagNode) node);
+      return;
+    }
+    if (node instanceof ExpressionNode) {
+      addExpression(((ExpressionToken) node.getMaster()).getExpr());
+    }
+    for (Node child : node.getChildren()) {
+      addNode(child);
+    }
+  }
+
+  /**
+   * Adds the children of a tag in a scope of their own, as what they set may not be set
+   * once the tag has been rendered. The names bound by an else or elif branch start out
+   * empty again, as the branches before it haven't run.
+   */
+  private void addChildren(TagNode tagNode, Collection<String> boundNames) {
+    scopes.push(new HashSet<>(boundNames));
+    for (Node child : tagNode.getChildren()) {
+      if (child instanceof TagNode && isBranch((TagNode) child)) {
+        scopes.peek().clear();
+      }
+      addNode(child);
+    }
+    scopes.pop();
+  }
+
+  private static boolean isBranch(TagNode tagNode) {
+    String name = tagNode.getTag().getName();
+    return ElseTag.TAG_NAME.equals(name) || ElseIfTag.TAG_NAME.equals(name);
+  }
+
+  private boolean isSet(String name) {
+    for (Set<String> scope : scopes) {
+      if (scope.contains(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void addTag(TagNode tagNode) {
+    String helpers = tagNode.getHelpers().trim();
+    tags.add(tagNode.getTag().getName());
+    switch (tagNode.getTag().getName()) {
+      case IfTag.TAG_NAME:
+      case ElseIfTag.TAG_NAME:
+      case UnlessTag.TAG_NAME:
+      case PrintTag.TAG_NAME:
+      case DoTag.TAG_NAME:
+      case CallTag.TAG_NAME:
+        addExpression(helpers);
+        addChildren(tagNode, Collections.emptySet());
+        break;
+      case ForTag.TAG_NAME:
+        addFor(tagNode, helpers);
+        break;
+      case BreakTag.TAG_NAME:
+      case ContinueTag.TAG_NAME:
+        // they act on the loop the template is rendered in
+        addIdentifier(ForTag.LOOP);
+        break;
+      case SetTag.TAG_NAME:
+        addSet(tagNode, helpers);
+        break;
+      case MacroTag.TAG_NAME:
+        addMacro(tagNode, helpers);
+        break;
+      case IncludeTag.TAG_NAME:
+      case ExtendsTag.TAG_NAME:
+        addTemplate(new HelperStringTokenizer(helpers).allTokens());
+        break;
+      case ImportTag.TAG_NAME:
+        List<String> importHelpers = new HelperStringTokenizer(helpers).allTokens();
+        addTemplate(importHelpers);
+        if (importHelpers.size() > 2 && "as".equals(importHelpers.get(1))) {
+          importAliases.add(importHelpers.get(2));
+          scopes.peek().add(importHelpers.get(2));
+        }
+        break;
+      case FromTag.TAG_NAME:
+        List<String> fromHelpers = new HelperStringTokenizer(helpers)
+          .splitComma(true)
+          .allTokens();
+        addTemplate(fromHelpers);
+        if (fromHelpers.size() > 2 && "import".equals(fromHelpers.get(1))) {
+          definedMacros.addAll(FromTag.getImportMap(fromHelpers).values());
+        }
+        break;
+      default:
+        addChildren(tagNode, Collections.emptySet());
+        break;
+    }
+  }
+
+  private void addFor(TagNode tagNode, String helpers) {
+    Matcher matcher = IN_PATTERN.matcher(helpers);
+    if (!matcher.find()) {
+      addChildren(tagNode, Collections.emptySet());
+      return;
+    }
+    // the collection is resolved before the loop variables are bound
+    addExpression(helpers.substring(matcher.end()));
+    Set<String> loopVars = new HashSet<>(
+      COMMA_SPLITTER.splitToList(helpers.substring(0, matcher.start()))
+    );
+    loopVars.add(ForTag.LOOP);
+    addChildren(tagNode, loopVars);
+  }
+
+  private void addSet(TagNode tagNode, String helpers) {
+    int equals = helpers.indexOf('=');
+    if (equals < 0) {
+      // a block set, whose value is its rendered body
+      addChildren(tagNode, Collections.emptySet());
+      new HelperStringTokenizer(helpers).forEachRemaining(scopes.peek()::add);
+      return;
+    }
+    // the value is resolved before anything is set, so it may read what is set
+    addExpression("[" + helpers.substring(equals + 1) + "]");
+    for (String name : COMMA_SPLITTER.split(helpers.substring(0, equals))) {
+      int dot = name.indexOf('.');
+      if (dot < 0) {
+        scopes.peek().add(name);
+      } else {
+        // setting an attribute, such as of a namespace, reads the object it's set on
+        addIdentifier(name.substring(0, dot));
+      }
+    }
+  }
+
+  private void addMacro(TagNode tagNode, String helpers) {
+    Matcher matcher = MacroTag.MACRO_PATTERN.matcher(helpers);
+    if (!matcher.find()) {
+      return;
+    }
+    definedMacros.add(matcher.group(1));
+    Set<String> argNames = new HashSet<>();
+    for (String arg : COMMA_SPLITTER.split(matcher.group(2))) {
+      int equals = arg.indexOf('=');
+      if (equals < 0) {
+        argNames.add(arg);
+      } else {
+        argNames.add(arg.substring(0, equals).trim());
+        addExpression(arg.substring(equals + 1));
+      }
+    }
+    addChildren(tagNode, argNames);
+  }
+
+  private void addTemplate(List<String> helpers) {
+    if (helpers.isEmpty()) {
+      return;
+    }
+    String path = helpers.get(0);
+    if (isStringLiteral(path)) {
+      templates.add(path.substring(1, path.length() - 1));
+    } else {
+      addExpression(path);
+    }
+  }
+
+  private static boolean isStringLiteral(String token) {
+    if (token.length() < 2) {
+      return false;
+    }
+    char quote = token.charAt(0);
+    return (
+      (quote == '\'' || quote == '"') &&
+      token.charAt(token.length() - 1) == quote &&
+      token.indexOf(quote, 1) == token.length() - 1 &&
+      token.indexOf('\\') < 0
+    );
+  }
+
+  private void addExpression(String expression) {
+    if (expression.trim().isEmpty()) {
+      return;
+    }
+    de.odysseus.el.tree.Node root;
+    try {
+      root = interpreter.parseELExpression(expression).getRoot();
+    } catch (ELException e) {
+      // reported as an error when the template is rendered
+      return;
+    }
+    addExpressionNode(root);
+  }
+
+  private void addExpressionNode(de.odysseus.el.tree.Node node) {
+    if (node instanceof AstIdentifier) {
+      addIdentifier(((AstIdentifier) node).getName());
+    } else if (node instanceof AstFunction) {
+      functionCalls.add(((AstFunction) node).getName());
+    } else if (node instanceof AstFilterChain) {
+      for (FilterSpec spec : ((AstFilterChain) node).getFilterSpecs()) {
+        filters.add(spec.getName());
+      }
+    } else if (node instanceof AstMethod) {
+      addMethod((AstMethod) node);
+    } else if (node instanceof AstList) {
+      addExpressionNode(((AstList) node).getElements());
+    } else if (node instanceof AstDict) {
+      for (Map.Entry<AstNode, AstNode> entry : ((AstDict) node).getDict().entrySet()) {
+        // identifier keys are names rather than variables
+        if (!(entry.getKey() instanceof AstIdentifier)) {
+          addExpressionNode(entry.getKey());
+        }
+        addExpressionNode(entry.getValue());
+      }
+    } else if (node instanceof AstNamedParameter) {
+      addExpressionNode(((AstNamedParameter) node).getValue());
+    }
+    for (int i = 0; i < node.getCardinality(); i++) {
+      de.odysseus.el.tree.Node child = node.getChild(i);
+      if (child != null) {
+        addExpressionNode(child);
+      }
+    }
+  }
+
+  private void addIdentifier(String name) {
+    if (name.startsWith(ExtendedParser.FILTER_PREFIX)) {
+      filters.add(name.substring(ExtendedParser.FILTER_PREFIX.length()));
+    } else if (name.startsWith(ExtendedParser.EXPTEST_PREFIX)) {
+      expTests.add(name.substring(ExtendedParser.EXPTEST_PREFIX.length()));
+    } else if (!ExtendedParser.INTERPRETER.equals(name) && !isSet(name)) {
+      readNames.add(name);
+    }
+  }
+
+  private void addMethod(AstMethod method) {
+    de.odysseus.el.tree.Node property = method.getChild(0);
+    if (property instanceof AstDot && property.getChild(0) instanceof AstIdentifier) {
+      // AstDot prints itself as ". name"
+      String name = property.toString();
+      methodCalls.add(
+        ((AstIdentifier) property.getChild(0)).getName() +
+        "." +
+        name.substring(name.lastIndexOf(' ') + 1)
+      );
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.hubspot.jinjava.tree.analysis;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which templates reference which others, by resolved location, across a corpus of
+ * templates. The graph is built up one template at a time, such as from the
+ * {@link TemplateDependencies} of each template as it's parsed, and a template's
+ * references are replaced whenever it's updated.
+ *
+ * <p>The number of references kept can be limited, for example when templates reference
+ * others by computed locations. A template whose references don't all fit is marked as
+ * incomplete, and is treated as referencing every template, so that it's never missing
+ * from {@link #getTransitiveDependents(String)}.
+ *
+ * <p>This class is thread-safe. Updates are serialized, while checking whether a
+ * reference is already known is not.
+ */
+public class TemplateDependencyGraph {
+
+  private final Map<String, Set<String>> dependencies = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+  private final Set<String> incomplete = ConcurrentHashMap.newKeySet();
+  private final int maxDependencies;
+  private int dependencyCount = 0;
+
+  public TemplateDependencyGraph() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param maxDependencies
+   *          the maximum number of references kept
+   */
+  public TemplateDependencyGraph(int maxDependencies) {
+    Preconditions.checkArgument(
+      maxDependencies >= 0,
+      "maxDependencies must not be negative"
+    );
+    this.maxDependencies = maxDependencies;
+  }
+
+  /**
+   * Set the templates which the given template references, replacing those it was
+   * previously known to reference.
+   */
+  public synchronized void setDependencies(
+    String location,
+    Collection<String> references
+  ) {
+    removeDependencies(location);
+    for (String reference : references) {
+      add(location, reference);
+    }
+  }
+
+  /**
+   * Record that the given template references another, in addition to the templates it's
+   * already known to reference. Recording a reference which is already known doesn't
+   * take a lock, so this can be called for every reference followed while rendering.
+   */
+  public void addDependency(String location, String reference) {
+    Set<String> locationDependencies = dependencies.get(location);
+    if (locationDependencies != null && locationDependencies.contains(reference)) {
+      return;
+    }
+    synchronized (this) {
+      add(location, reference);
+    }
+  }
+
+  private void add(String location, String reference) {
+    Set<String> locationDependencies = dependencies.get(location);
+    if (locationDependencies != null && locationDependencies.contains(reference)) {
+      return;
+    }
+    if (dependencyCount >= maxDependencies) {
+      incomplete.add(location);
+      return;
+    }
+    dependencies
+      .computeIfAbsent(location, k -> ConcurrentHashMap.newKeySet())
+      .add(reference);
+    dependents
+      .computeIfAbsent(reference, k -> ConcurrentHashMap.newKeySet())
+      .add(location);
+    dependencyCount++;
+  }
+
+  /**
+   * Forget the templates which the given template references. Templates which reference
+   * it are kept.
+   */
+  public synchronized void removeDependencies(String location) {
+    incomplete.remove(location);
+    Set<String> references = dependencies.remove(location);
+    if (references == null) {
+      return;
+    }
+    dependencyCount -= references.size();
+    for (String reference : references) {
+      Set<String> referencedBy = dependents.get(reference);
+      referencedBy.remove(location);
+      if (referencedBy.isEmpty()) {
+        dependents.remove(reference);
+      }
+    }
+  }
+
+  /**
+   * @return The templates which the given template references directly, which are only
+   *         some of them if it's {@link #isIncomplete(String) incomplete}.
+   */
+  public synchronized Set<String> getDependencies(String location) {
+    return ImmutableSet.copyOf(dependencies.getOrDefault(location, ImmutableSet.of()));
+  }
+
+  /**
+   * @return Whether some of the references of the given template weren't kept, as the
+   *         graph was full.
+   */
+  public boolean isIncomplete(String location) {
+    return incomplete.contains(location);
+  }
+
+  /**
+   * @return The templates which reference the given template directly.
+   */
+  public synchronized Set<String> getDependents(String location) {
+    return ImmutableSet.copyOf(dependents.getOrDefault(location, ImmutableSet.of()));
+  }
+
+  /**
+   * @return The templates which the given template references, directly or through other
+   *         templates, not including the template itself.
+   */
+  public synchronized Set<String> getTransitiveDependencies(String location) {
+    return traverse(location, ImmutableSet.of(), dependencies);
+  }
+
+  /**
+   * @return The templates which reference the given template, directly or through other
+   *         templates, not including the template itself. These are the templates whose
+   *         output may change when the given template changes, including every
+   *         {@link #isIncomplete(String) incomplete} template.
+   */
+  public synchronized Set<String> getTransitiveDependents(String location) {
+    return traverse(location, incomplete, dependents);
+  }
+
+  private static Set<String> traverse(
+    String start,
+    Set<String> alsoReached,
+    Map<String, Set<String>> edges
+  ) {
+    Set<String> visited = new HashSet<>();
+    Set<String> result = new LinkedHashSet<>();
+    Deque<String> queue = new ArrayDeque<>();
+    visited.add(start);
+    queue.add(start);
+    for (String location : alsoReached) {
+      if (visited.add(location)) {
+        result.add(location);
+        queue.add(location);
+      }
+    }
+    while (!queue.isEmpty()) {
+      for (String next : edges.getOrDefault(queue.poll(), ImmutableSet.of())) {
+        if (visited.add(next)) {
+          result.add(next);
+          queue.add(next);
+        }
+      }
+    }
+    return ImmutableSet.copyOf(result);
+  }
+}
@@ -0,0 +1,112 @@
+package com.hubspot.jinjava.tree.output;
+
+import com.hubspot.jinjava.interpret.OutputTooBigException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The output of a tag made up of the output of its children, such as the body of an
+ * {@code if} or every iteration of a {@code for} loop. The children are kept as they are
+ * rather than being copied into a string, so nested tags don't copy the same output once
+ * for every level of nesting, and it's only joined once it's written to the final output.
+ *
+ * <p>Like {@link com.hubspot.jinjava.util.LengthLimitingStringBuilder}, adding a node
+ * past the max length throws an {@link OutputTooBigException}, leaving the nodes which
+ * were added before it.
+ */
+public class CompositeOutputNode implements OutputNode {
+
+  private final List<OutputNode> nodes = new ArrayList<>();
+  private final long maxLength;
+  private long length = 0;
+  private long size = -1;
+  private String value;
+
+  public CompositeOutputNode(long maxLength) {
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Add the output of a child. Nodes whose value may still change, such as dynamic or
+   * block placeholder nodes, have their current value added instead.
+   */
+  public CompositeOutputNode add(OutputNode node) {
+    OutputNode child = node;
+    long childLength;
+    if (node instanceof CompositeOutputNode) {
+      childLength = ((CompositeOutputNode) node).length;
+    } else {
+      String childValue = node.getValue();
+      if (childValue == null || !(node instanceof RenderedOutputNode)) {
+        child = new RenderedOutputNode(String.valueOf(childValue));
+      }
+      childLength = child.getValue().length();
+    }
+
+    long newLength = length + childLength;
+    if (maxLength > 0 && newLength > maxLength) {
+      throw new OutputTooBigException(maxLength, newLength);
+    }
+    length = newLength;
+    nodes.add(child);
+    size = -1;
+    value = null;
+    return this;
+  }
+
+  /**
+   * @return The number of characters added.
+   */
+  public long length() {
+    return length;
+  }
+
+  @Override
+  public String getValue() {
+    if (value == null) {
+      StringBuilder builder = new StringBuilder(
+        (int) Math.min(length, Integer.MAX_VALUE)
+      );
+      try {
+        writeTo(builder);
+      } catch (IOException e) {
+        // StringBuilder doesn't throw
+        throw new UncheckedIOException(e);
+      }
+      value = builder.toString();
+      // the children aren't needed any more, so their output isn't kept twice
+      nodes.clear();
+      nodes.add(new RenderedOutputNode(value));
+    }
+    return value;
+  }
+
+  @Override
+  public long getSize() {
+    if (size < 0) {
+      size = 0;
+      for (OutputNode node : nodes) {
+        size += node.getSize();
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void writeTo(Appendable appendable) throws IOException {
+    if (value != null) {
+      appendable.append(value);
+      return;
+    }
+    for (OutputNode node : nodes) {
+      node.writeTo(appendable);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getValue();
+  }
+}
@@ -1,13 +1,17 @@
 package com.hubspot.jinjava.tree.output;
 
+import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.features.BuiltInFeatures;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.OutputTooBigException;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.tree.parse.TokenScannerSymbols;
-import com.hubspot.jinjava.util.LengthLimitingStringBuilder;
+import com.hubspot.jinjava.util.LengthLimitingAppendable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 
 public class OutputList {
 
@@ -16,10 +20,24 @@ public class OutputList {
   private final List<OutputNode> nodes = new LinkedList<>();
   private final List<BlockPlaceholderOutputNode> blocks = new LinkedList<>();
   private final long maxOutputSize;
+  private final JinjavaInterpreter interpreter;
   private long currentSize;
+  private long writtenLength;
+  private String lastWritten;
+  private boolean truncated;
 
   public OutputList(long maxOutputSize) {
+    this(maxOutputSize, null);
+  }
+
+  /**
+   * @param interpreter
+   *          the interpreter rendering the output, which is told about errors while
+   *          writing it. If {@code null}, the current interpreter is looked up instead.
+   */
+  public OutputList(long maxOutputSize, JinjavaInterpreter interpreter) {
     this.maxOutputSize = maxOutputSize;
+    this.interpreter = interpreter;
   }
 
   public void addNode(OutputNode node) {
@@ -51,10 +69,56 @@ public class OutputList {
   }
 
   public String getValue() {
-    LengthLimitingStringBuilder val = new LengthLimitingStringBuilder(maxOutputSize);
+    StringBuilder val = new StringBuilder();
+    try {
+      writeTo(val);
+    } catch (IOException e) {
+      // StringBuilder doesn't throw
+      throw new UncheckedIOException(e);
+    }
+    return val.toString();
+  }
+
+  /**
+   * Write the value of each node to the given appendable, without first joining them into
+   * a single string. Stops, adding an error, once the max output size is reached.
+   */
+  public void writeTo(Appendable appendable) throws IOException {
+    write(appendable, false);
+  }
+
+  /**
+   * Write the nodes added so far to the given appendable and stop keeping them, so that
+   * output which won't change any more doesn't have to be held until rendering is done.
+   * Later calls, and {@link #writeTo(Appendable)}, carry on from where this left off, so
+   * they must be given the same appendable.
+   *
+   * @throws IllegalStateException
+   *           if a block placeholder has been added, as it has yet to be resolved
+   */
+  public void flush(Appendable appendable) throws IOException {
+    if (!blocks.isEmpty()) {
+      throw new IllegalStateException("Cannot flush unresolved block placeholders");
+    }
+    write(appendable, true);
+    nodes.clear();
+  }
 
-    return JinjavaInterpreter
-      .getCurrentMaybe()
+  private void write(Appendable appendable, boolean flush) throws IOException {
+    if (truncated) {
+      return;
+    }
+    LengthLimitingAppendable val = new LengthLimitingAppendable(
+      appendable,
+      maxOutputSize,
+      writtenLength
+    );
+
+    JinjavaInterpreter interpreter = this.interpreter != null
+      ? this.interpreter
+      : JinjavaInterpreter.getCurrent();
+    Optional<TokenScannerSymbols> tokenScannerSymbols = Optional
+      .ofNullable(interpreter)
       .map(JinjavaInterpreter::getConfig)
       .filter(config ->
         config
@@ -62,45 +126,51 @@ public class OutputList {
           .getActivationStrategy(BuiltInFeatures.PREVENT_ACCIDENTAL_EXPRESSIONS)
           .isActive(null)
       )
-      .map(config ->
-        joinNodesWithoutAddingExpressions(val, config.getTokenScannerSymbols())
-      )
-      .orElseGet(() -> joinNodes(val));
+      .map(JinjavaConfig::getTokenScannerSymbols);
+    String last = lastWritten;
+    try {
+      if (tokenScannerSymbols.isPresent()) {
+        last = joinNodesWithoutAddingExpressions(val, tokenScannerSymbols.get());
+      } else {
+        joinNodes(val);
+      }
+    } catch (OutputTooBigException e) {
+      interpreter.addError(TemplateError.fromOutputTooBigException(e));
+      truncated = flush;
+    }
+    if (flush) {
+      writtenLength = val.length();
+      // only the last character is needed to tell whether to add a separator
+      lastWritten =
+        last == null || last.isEmpty() ? last : last.substring(last.length() - 1);
+    }
   }
 
   private String joinNodesWithoutAddingExpressions(
-    LengthLimitingStringBuilder val,
+    LengthLimitingAppendable val,
     TokenScannerSymbols tokenScannerSymbols
-  ) {
+  ) throws IOException {
     String separator = getWhitespaceSeparator(tokenScannerSymbols);
-    String prev = null;
+    String prev = lastWritten;
     String cur;
     for (OutputNode node : nodes) {
-      try {
-        cur = node.getValue();
+      cur = node.getValue();
+      if (
+        prev != null &&
+        prev.length() > 0 &&
+        prev.charAt(prev.length() - 1) == tokenScannerSymbols.getExprStartChar()
+      ) {
         if (
-          prev != null &&
-          prev.length() > 0 &&
-          prev.charAt(prev.length() - 1) == tokenScannerSymbols.getExprStartChar()
+          cur.length() > 0 &&
+          TokenScannerSymbols.isNoteTagOrExprChar(tokenScannerSymbols, cur.charAt(0))
         ) {
-          if (
-            cur.length() > 0 &&
-            TokenScannerSymbols.isNoteTagOrExprChar(tokenScannerSymbols, cur.charAt(0))
-          ) {
-            val.append(separator);
-          }
+          val.append(separator);
         }
-        prev = cur;
-        val.append(node.getValue());
-      } catch (OutputTooBigException e) {
-        JinjavaInterpreter
-          .getCurrent()
-          .addError(TemplateError.fromOutputTooBigException(e));
-        return val.toString();
       }
+      prev = cur;
+      val.append(cur);
     }
-
-    return val.toString();
+    return prev;
   }
 
   private static String getWhitespaceSeparator(TokenScannerSymbols tokenScannerSymbols) {
@@ -117,19 +187,14 @@ public class OutputList {
     return separator;
   }
 
-  private String joinNodes(LengthLimitingStringBuilder val) {
+  private void joinNodes(LengthLimitingAppendable val) throws IOException {
     for (OutputNode node : nodes) {
-      try {
-        val.append(node.getValue());
-      } catch (OutputTooBigException e) {
-        JinjavaInterpreter
-          .getCurrent()
-          .addError(TemplateError.fromOutputTooBigException(e));
-        return val.toString();
+      if (node instanceof CompositeOutputNode) {
+        // drop the whole node rather than writing part of it
+        val.checkRoomFor(((CompositeOutputNode) node).length());
       }
+      node.writeTo(val);
     }
-
-    return val.toString();
   }
 
   @Override
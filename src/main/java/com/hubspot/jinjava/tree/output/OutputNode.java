@@ -1,7 +1,17 @@
 package com.hubspot.jinjava.tree.output;
 
+import java.io.IOException;
+
 public interface OutputNode {
   String getValue();
 
   long getSize();
+
+  /**
+   * Write the value of this node to the given appendable. Nodes made up of other nodes
+   * can write each of them in turn, rather than joining them into a string first.
+   */
+  default void writeTo(Appendable appendable) throws IOException {
+    appendable.append(getValue());
+  }
 }
@@ -15,6 +15,7 @@ limitations under the License.
  **********************************************************************/
 package com.hubspot.jinjava.tree.parse;
 
+import com.hubspot.jinjava.el.CompiledExpression;
 import com.hubspot.jinjava.util.WhitespaceUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -22,6 +23,7 @@ public class ExpressionToken extends Token {
 
   private static final long serialVersionUID = 6336768632140743908L;
   private String expr;
+  private volatile CompiledExpression compiledExpr;
 
   public ExpressionToken(
     String image,
@@ -69,4 +71,16 @@ public class ExpressionToken extends Token {
   public String getExpr() {
     return expr;
   }
+
+  /**
+   * @return The expression, parsed the first time it's resolved.
+   */
+  public CompiledExpression getCompiledExpr() {
+    CompiledExpression result = compiledExpr;
+    if (result == null) {
+      result = new CompiledExpression(expr);
+      compiledExpr = result;
+    }
+    return result;
+  }
 }
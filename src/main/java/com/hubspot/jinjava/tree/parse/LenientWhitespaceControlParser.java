@@ -4,6 +4,8 @@ import com.hubspot.jinjava.util.WhitespaceUtils;
 
 public class LenientWhitespaceControlParser implements WhitespaceControlParser {
 
+  private static final long serialVersionUID = -2417795263181509432L;
+
   @Override
   public boolean hasLeftTrim(String unwrapped) {
     return WhitespaceUtils.startsWith(unwrapped, "-");
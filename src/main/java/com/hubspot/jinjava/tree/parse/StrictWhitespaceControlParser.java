@@ -2,6 +2,8 @@ package com.hubspot.jinjava.tree.parse;
 
 public class StrictWhitespaceControlParser implements WhitespaceControlParser {
 
+  private static final long serialVersionUID = 6730129417853261585L;
+
   @Override
   public boolean hasLeftTrim(String unwrapped) {
     return !unwrapped.isEmpty() && unwrapped.charAt(0) == '-';
@@ -15,7 +15,9 @@ limitations under the License.
  **********************************************************************/
 package com.hubspot.jinjava.tree.parse;
 
+import com.hubspot.jinjava.el.CompiledExpression;
 import com.hubspot.jinjava.interpret.TemplateSyntaxException;
+import java.util.function.UnaryOperator;
 
 public class TagToken extends Token {
 
@@ -24,6 +26,8 @@ public class TagToken extends Token {
   private String tagName;
   private String rawTagName;
   private String helpers;
+  private volatile CompiledExpression compiledHelpers;
+  private transient volatile DerivedExpression derivedExpression;
 
   public TagToken(
     String image,
@@ -102,6 +106,37 @@ public class TagToken extends Token {
     return helpers;
   }
 
+  /**
+   * @return The helpers as an expression, parsed the first time it's resolved.
+   */
+  public CompiledExpression getCompiledHelpers() {
+    CompiledExpression result = compiledHelpers;
+    if (result == null) {
+      result = new CompiledExpression(helpers);
+      compiledHelpers = result;
+    }
+    return result;
+  }
+
+  /**
+   * Get an expression which a tag derives from its helpers, such as the collection of a
+   * for loop, parsed the first time it's resolved. The derived expression is kept for as
+   * long as the same {@code fromHelpers} instance is passed in, so tags should pass a
+   * constant.
+   */
+  public CompiledExpression getCompiledExpression(UnaryOperator<String> fromHelpers) {
+    DerivedExpression result = derivedExpression;
+    if (result == null || result.fromHelpers != fromHelpers) {
+      result =
+        new DerivedExpression(
+          fromHelpers,
+          new CompiledExpression(fromHelpers.apply(helpers))
+        );
+      derivedExpression = result;
+    }
+    return result.expression;
+  }
+
   @Override
   public String toString() {
     if (helpers.length() == 0) {
@@ -109,4 +144,18 @@ public class TagToken extends Token {
     }
     return "{% " + tagName + " " + helpers + " %}";
   }
+
+  private static class DerivedExpression {
+
+    private final UnaryOperator<String> fromHelpers;
+    private final CompiledExpression expression;
+
+    private DerivedExpression(
+      UnaryOperator<String> fromHelpers,
+      CompiledExpression expression
+    ) {
+      this.fromHelpers = fromHelpers;
+      this.expression = expression;
+    }
+  }
 }
@@ -41,6 +41,7 @@ public class TextToken extends Token {
   }
 
   public void mergeImageAndContent(TextToken otherToken) {
+    checkNotFrozen();
     String thisOutput = output();
     String otherTokenOutput = otherToken.output();
     this.image = thisOutput + otherTokenOutput;
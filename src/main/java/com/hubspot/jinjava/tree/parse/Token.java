@@ -34,6 +34,7 @@ public abstract class Token implements Serializable {
   private boolean leftTrim;
   private boolean rightTrim;
   private boolean rightTrimAfterEnd;
+  private boolean frozen;
 
   public Token(
     String image,
@@ -71,17 +72,37 @@ public abstract class Token implements Serializable {
   }
 
   public void setLeftTrim(boolean leftTrim) {
+    checkNotFrozen();
     this.leftTrim = leftTrim;
   }
 
   public void setRightTrim(boolean rightTrim) {
+    checkNotFrozen();
     this.rightTrim = rightTrim;
   }
 
   public void setRightTrimAfterEnd(boolean rightTrimAfterEnd) {
+    checkNotFrozen();
     this.rightTrimAfterEnd = rightTrimAfterEnd;
   }
 
+  /**
+   * Make this token immutable, once parsing is finished with it.
+   */
+  public void freeze() {
+    frozen = true;
+  }
+
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  protected void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException("Token " + image + " is frozen");
+    }
+  }
+
   /**
    * Handle any whitespace control characters, capturing whether leading or trailing
    * whitespace should be stripped.
@@ -1,6 +1,8 @@
 package com.hubspot.jinjava.tree.parse;
 
-public interface WhitespaceControlParser {
+import java.io.Serializable;
+
+public interface WhitespaceControlParser extends Serializable {
   WhitespaceControlParser LENIENT = new LenientWhitespaceControlParser();
   WhitespaceControlParser STRICT = new StrictWhitespaceControlParser();
 
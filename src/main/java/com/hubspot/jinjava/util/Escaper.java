@@ -0,0 +1,336 @@
+package com.hubspot.jinjava.util;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Escapes the characters of a string which aren't safe in some output format, in a single
+ * pass over the string. Characters below the size of a table are looked up in that table
+ * of replacements, while other characters are handled by the escaper for the format.
+ *
+ * <p>A string in which nothing needs escaping is returned as is, without being copied.
+ */
+public abstract class Escaper {
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private static final Map<Character, String> HTML_ENTITIES = ImmutableMap.of(
+    '&',
+    "&amp;",
+    '>',
+    "&gt;",
+    '<',
+    "&lt;",
+    '\'',
+    "&#39;",
+    '"',
+    "&quot;"
+  );
+
+  /**
+   * Escapes {@code & < > ' "} as HTML entities, as done when autoescaping.
+   */
+  public static final Escaper HTML = new Escaper(
+    128,
+    c -> HTML_ENTITIES.get((char) c)
+  ) {};
+
+  /**
+   * Escapes strings for use in a JavaScript string literal, as {@code \n} for the usual
+   * control characters and as unicode escape sequences for other control characters and
+   * non-ASCII characters.
+   */
+  public static final Escaper JS = new UnicodeEscaper(false);
+
+  /**
+   * Escapes strings for use in a JSON string, like {@link #JS} but also escaping
+   * {@code /}.
+   */
+  public static final Escaper JSON = new UnicodeEscaper(true);
+
+  /**
+   * Escapes strings for use in XML 1.0 text or attribute values. Characters which aren't
+   * allowed in XML 1.0 are removed, including unpaired surrogates, and discouraged
+   * control characters are escaped as numeric entities.
+   */
+  public static final Escaper XML = new XmlEscaper();
+
+  /**
+   * Escapes strings for use in a URL query, in the same way as
+   * {@link java.net.URLEncoder} with UTF-8.
+   */
+  public static final Escaper URL = new UrlEscaper();
+
+  private final String[] replacements;
+
+  /**
+   * @param tableSize
+   *          the number of characters in the table of replacements
+   * @param replacements
+   *          the replacement for each character in the table, or {@code null} for
+   *          characters which don't need escaping
+   */
+  protected Escaper(int tableSize, IntFunction<String> replacements) {
+    this.replacements = new String[tableSize];
+    for (int c = 0; c < tableSize; c++) {
+      this.replacements[c] = replacements.apply(c);
+    }
+  }
+
+  /**
+   * @return Whether a character beyond the table of replacements needs escaping.
+   */
+  protected boolean needsEscapingBeyondTable(char c) {
+    return false;
+  }
+
+  /**
+   * Append the escaped form of the character at the given index, which is beyond the
+   * table of replacements and needs escaping.
+   *
+   * @return The index of the next character to escape, past any characters which were
+   *         escaped along with this one.
+   */
+  protected int escapeBeyondTable(CharSequence input, int index, Appendable out)
+    throws IOException {
+    throw new IllegalStateException(
+      "Unexpected character beyond escape table: " + input.charAt(index)
+    );
+  }
+
+  /**
+   * @return The escaped string, or the given string itself if nothing in it needs
+   *         escaping.
+   */
+  public String escape(String input) {
+    int index = 0;
+    int length = input.length();
+    while (index < length && !needsEscaping(input.charAt(index))) {
+      index++;
+    }
+    if (index == length) {
+      return input;
+    }
+    StringBuilder builder = new StringBuilder(length + 16);
+    builder.append(input, 0, index);
+    escape(input, index, builder);
+    return builder.toString();
+  }
+
+  /**
+   * Append the escaped string to the given output, such as the builder of the string
+   * it's part of, without escaping it into a string of its own first.
+   */
+  public void escape(CharSequence input, Appendable out) {
+    escape(input, 0, out);
+  }
+
+  private void escape(CharSequence input, int start, Appendable out) {
+    try {
+      int length = input.length();
+      // the start of the characters which don't need escaping and aren't appended yet
+      int unescaped = start;
+      int index = start;
+      while (index < length) {
+        char c = input.charAt(index);
+        if (c < replacements.length) {
+          String replacement = replacements[c];
+          if (replacement == null) {
+            index++;
+          } else {
+            out.append(input, unescaped, index).append(replacement);
+            unescaped = ++index;
+          }
+        } else if (needsEscapingBeyondTable(c)) {
+          out.append(input, unescaped, index);
+          index = escapeBeyondTable(input, index, out);
+          unescaped = index;
+        } else {
+          index++;
+        }
+      }
+      out.append(input, unescaped, length);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private boolean needsEscaping(char c) {
+    return c < replacements.length
+      ? replacements[c] != null
+      : needsEscapingBeyondTable(c);
+  }
+
+  private static String hexEscape(String prefix, int c, int digits) {
+    StringBuilder builder = new StringBuilder(prefix);
+    for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+      builder.append(HEX_DIGITS[(c >> shift) & 0xF]);
+    }
+    return builder.toString();
+  }
+
+  private static class UnicodeEscaper extends Escaper {
+
+    private UnicodeEscaper(boolean escapeSlash) {
+      super(128, c -> getReplacement(c, escapeSlash));
+    }
+
+    private static String getReplacement(int c, boolean escapeSlash) {
+      switch (c) {
+        case '\b':
+          return "\\b";
+        case '\f':
+          return "\\f";
+        case '\n':
+          return "\\n";
+        case '\t':
+          return "\\t";
+        case '\r':
+          return "\\r";
+        case '"':
+          return "\\\"";
+        case '\\':
+          return "\\\\";
+        case '/':
+          return escapeSlash ? "\\/" : null;
+        default:
+          return c < 32 ? hexEscape("\\u", c, 4) : null;
+      }
+    }
+
+    @Override
+    protected boolean needsEscapingBeyondTable(char c) {
+      return true;
+    }
+
+    @Override
+    protected int escapeBeyondTable(CharSequence input, int index, Appendable out)
+      throws IOException {
+      out.append(hexEscape("\\u", input.charAt(index), 4));
+      return index + 1;
+    }
+  }
+
+  private static class XmlEscaper extends Escaper {
+
+    private XmlEscaper() {
+      super(0xA0, XmlEscaper::getReplacement);
+    }
+
+    private static String getReplacement(int c) {
+      switch (c) {
+        case '&':
+          return "&amp;";
+        case '<':
+          return "&lt;";
+        case '>':
+          return "&gt;";
+        case '"':
+          return "&quot;";
+        case '\'':
+          return "&apos;";
+        case '\t':
+        case '\n':
+        case '\r':
+          return null;
+        default:
+          if (c < 32) {
+            // not allowed in XML 1.0
+            return "";
+          }
+          if (c >= 0x7F && c != 0x85) {
+            return "&#" + c + ";";
+          }
+          return null;
+      }
+    }
+
+    @Override
+    protected boolean needsEscapingBeyondTable(char c) {
+      return Character.isSurrogate(c) || c == '\uFFFE' || c == '\uFFFF';
+    }
+
+    @Override
+    protected int escapeBeyondTable(CharSequence input, int index, Appendable out)
+      throws IOException {
+      char c = input.charAt(index);
+      if (
+        Character.isHighSurrogate(c) &&
+        index + 1 < input.length() &&
+        Character.isLowSurrogate(input.charAt(index + 1))
+      ) {
+        out.append(c).append(input.charAt(index + 1));
+        return index + 2;
+      }
+      // unpaired surrogates and non-characters are removed
+      return index + 1;
+    }
+  }
+
+  private static class UrlEscaper extends Escaper {
+
+    private UrlEscaper() {
+      super(128, UrlEscaper::getReplacement);
+    }
+
+    private static String getReplacement(int c) {
+      if (
+        (c >= 'a' && c <= 'z') ||
+        (c >= 'A' && c <= 'Z') ||
+        (c >= '0' && c <= '9') ||
+        c == '.' ||
+        c == '-' ||
+        c == '*' ||
+        c == '_'
+      ) {
+        return null;
+      }
+      return c == ' ' ? "+" : hexEscape("%", c, 2);
+    }
+
+    @Override
+    protected boolean needsEscapingBeyondTable(char c) {
+      return true;
+    }
+
+    @Override
+    protected int escapeBeyondTable(CharSequence input, int index, Appendable out)
+      throws IOException {
+      char c = input.charAt(index);
+      int codePoint = c;
+      int next = index + 1;
+      if (Character.isSurrogate(c)) {
+        if (
+          Character.isHighSurrogate(c) &&
+          next < input.length() &&
+          Character.isLowSurrogate(input.charAt(next))
+        ) {
+          codePoint = Character.toCodePoint(c, input.charAt(next++));
+        } else {
+          // URLEncoder replaces unpaired surrogates with '?'
+          out.append("%3F");
+          return next;
+        }
+      }
+      if (codePoint < 0x800) {
+        appendByte(out, 0xC0 | (codePoint >> 6));
+      } else if (codePoint < 0x10000) {
+        appendByte(out, 0xE0 | (codePoint >> 12));
+        appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+      } else {
+        appendByte(out, 0xF0 | (codePoint >> 18));
+        appendByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+        appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+      }
+      appendByte(out, 0x80 | (codePoint & 0x3F));
+      return next;
+    }
+
+    private static void appendByte(Appendable out, int b) throws IOException {
+      out.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+  }
+}
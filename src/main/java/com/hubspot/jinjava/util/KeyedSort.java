@@ -0,0 +1,94 @@
+package com.hubspot.jinjava.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sorts items by a key which is extracted from each item once, before sorting, rather
+ * than on every comparison. Extracting a key can mean resolving a chain of properties,
+ * which would otherwise be done O(n log n) times.
+ *
+ * <p>The sort is stable. Large collections are sorted in parallel, so the comparator
+ * mustn't depend on the current interpreter.
+ */
+public final class KeyedSort {
+
+  // sorting fewer items in parallel isn't worth splitting them up
+  static final int PARALLEL_THRESHOLD = 8192;
+
+  private KeyedSort() {}
+
+  /**
+   * @param items
+   *          the items to sort, which aren't modified
+   * @param keyExtractor
+   *          extracts the key of an item, called once for each item in order. It isn't
+   *          called if there are fewer than 2 items, as nothing needs comparing.
+   * @param comparator
+   *          compares the keys of two items
+   * @return A new list of the items, sorted by their keys.
+   */
+  public static <T, K> List<T> sort(
+    Collection<? extends T> items,
+    Function<? super T, ? extends K> keyExtractor,
+    Comparator<? super K> comparator
+  ) {
+    int size = items.size();
+    if (size < 2) {
+      return new ArrayList<>(items);
+    }
+
+    List<Keyed<T, K>> keyed = new ArrayList<>(size);
+    for (T item : items) {
+      keyed.add(new Keyed<>(keyExtractor.apply(item), item));
+    }
+
+    Comparator<Keyed<T, K>> byKey = (a, b) -> comparator.compare(a.key, b.key);
+    if (size >= PARALLEL_THRESHOLD) {
+      // a stream of a list is ordered, so sorting it in parallel is stable too
+      return keyed
+        .parallelStream()
+        .sorted(byKey)
+        .map(k -> k.item)
+        .collect(Collectors.toCollection(ArrayList::new));
+    }
+    keyed.sort(byKey);
+
+    List<T> sorted = new ArrayList<>(size);
+    for (Keyed<T, K> k : keyed) {
+      sorted.add(k.item);
+    }
+    return sorted;
+  }
+
+  /**
+   * @return A comparator of arrays of keys of the same length, which compares the first
+   *         keys, then the second keys if they're equal, and so on.
+   */
+  public static Comparator<Object[]> lexicographic(Comparator<Object> comparator) {
+    return (a, b) -> {
+      for (int i = 0; i < a.length; i++) {
+        int result = comparator.compare(a[i], b[i]);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    };
+  }
+
+  private static final class Keyed<T, K> {
+
+    private final K key;
+    private final T item;
+
+    private Keyed(K key, T item) {
+      this.key = key;
+      this.item = item;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.hubspot.jinjava.util;
+
+import com.hubspot.jinjava.interpret.OutputTooBigException;
+import java.io.IOException;
+
+/**
+ * Like {@link LengthLimitingStringBuilder}, but passes everything through to another
+ * {@link Appendable} rather than keeping it in memory.
+ */
+public class LengthLimitingAppendable implements Appendable {
+
+  private final Appendable delegate;
+  private long length = 0;
+  private final long maxLength;
+
+  public LengthLimitingAppendable(Appendable delegate, long maxLength) {
+    this(delegate, maxLength, 0);
+  }
+
+  /**
+   * @param length
+   *          the number of characters already written to the delegate, which count
+   *          towards the max length
+   */
+  public LengthLimitingAppendable(Appendable delegate, long maxLength, long length) {
+    this.delegate = delegate;
+    this.maxLength = maxLength;
+    this.length = length;
+  }
+
+  /**
+   * @return The number of characters appended, including any already written before.
+   */
+  public long length() {
+    return length;
+  }
+
+  /**
+   * Throws an {@link OutputTooBigException} if appending the given number of characters
+   * would go past the max length, without appending anything.
+   */
+  public void checkRoomFor(long csqLength) {
+    if (maxLength > 0 && length + csqLength > maxLength) {
+      throw new OutputTooBigException(maxLength, length + csqLength);
+    }
+  }
+
+  @Override
+  public LengthLimitingAppendable append(CharSequence csq) throws IOException {
+    int csqLength = 4; // null
+    if (csq != null) {
+      csqLength = csq.length();
+    }
+    length += csqLength;
+    checkLength();
+    delegate.append(csq);
+    return this;
+  }
+
+  @Override
+  public LengthLimitingAppendable append(CharSequence csq, int start, int end)
+    throws IOException {
+    int csqLength = 4; // null
+    if (csq != null) {
+      csqLength = end - start;
+    }
+    length += csqLength;
+    checkLength();
+    delegate.append(csq, start, end);
+    return this;
+  }
+
+  @Override
+  public LengthLimitingAppendable append(char c) throws IOException {
+    length++;
+    checkLength();
+    delegate.append(c);
+    return this;
+  }
+
+  private void checkLength() {
+    if (maxLength > 0 && length > maxLength) {
+      throw new OutputTooBigException(maxLength, length);
+    }
+  }
+}
@@ -26,8 +26,16 @@ public final class ObjectIterator {
 
   private ObjectIterator() {}
 
-  @SuppressWarnings("unchecked")
   public static ForLoop getLoop(Object obj) {
+    return getLoop(obj, JinjavaInterpreter.getCurrent());
+  }
+
+  /**
+   * Like {@link #getLoop(Object)}, for callers which already have the interpreter, which
+   * may be null, rather than looking up the current one.
+   */
+  @SuppressWarnings("unchecked")
+  public static ForLoop getLoop(Object obj, JinjavaInterpreter interpreter) {
     if (obj == null) {
       return new ForLoop(Collections.emptyIterator(), 0);
     }
@@ -44,12 +52,8 @@ public final class ObjectIterator {
     // map
     if (obj instanceof Map) {
       boolean iterateOverMapKeys =
-        JinjavaInterpreter.getCurrent() != null &&
-        JinjavaInterpreter
-          .getCurrent()
-          .getConfig()
-          .getLegacyOverrides()
-          .isIterateOverMapKeys();
+        interpreter != null &&
+        interpreter.getConfig().getLegacyOverrides().isIterateOverMapKeys();
       Collection<Object> clt = iterateOverMapKeys
         ? ((Map<Object, Object>) obj).keySet()
         : ((Map<Object, Object>) obj).values();
@@ -0,0 +1,170 @@
+package com.hubspot.jinjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.testobjects.RenderAllTestObjects.TallyFilter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RenderAllTest extends BaseJinjavaTest {
+
+  private static final String TEMPLATE =
+    "{% macro greet(name) %}Hello {{ name }}!{% endmacro %}" +
+    "{% for i in range(n) %}{{ greet(names[i]) }}{% endfor %}";
+
+  private ExecutorService executor;
+
+  @Before
+  public void setupExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void itRendersEachBindingsInOrder() {
+    List<Map<String, ?>> bindings = IntStream
+      .range(0, 100)
+      .mapToObj(RenderAllTest::bindings)
+      .collect(Collectors.toList());
+
+    List<RenderResult> results = jinjava
+      .renderAll(TEMPLATE, bindings.stream(), executor, 8)
+      .collect(Collectors.toList());
+
+    assertThat(results).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(results.get(i).getErrors()).isEmpty();
+      assertThat(results.get(i).getOutput())
+        .isEqualTo(jinjava.render(TEMPLATE, bindings.get(i)));
+    }
+  }
+
+  @Test
+  public void itOnlyReadsBindingsAsResultsAreConsumed() {
+    AtomicInteger read = new AtomicInteger();
+    Stream<Map<String, ?>> bindings = IntStream
+      .range(0, 1000)
+      .mapToObj(i -> {
+        read.incrementAndGet();
+        return bindings(i);
+      });
+
+    Iterator<RenderResult> results = jinjava
+      .renderAll(TEMPLATE, bindings, executor, 3)
+      .iterator();
+
+    assertThat(results.next().getOutput()).isEqualTo("");
+    assertThat(read.get()).isEqualTo(3);
+    assertThat(results.next().getOutput()).isEqualTo("Hello name0!");
+    assertThat(read.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void itReportsParseErrorsInEachResult() {
+    String template = "{{ n }}{% if %}";
+    RenderResult expected = jinjava.renderForResult(template, ImmutableMap.of("n", 1));
+    assertThat(expected.getErrors()).isNotEmpty();
+
+    List<RenderResult> results = jinjava
+      .renderAll(
+        template,
+        Stream.of(ImmutableMap.of("n", 1), ImmutableMap.of("n", 1)),
+        executor
+      )
+      .collect(Collectors.toList());
+
+    assertThat(results)
+      .allSatisfy(result -> {
+        assertThat(result.getOutput()).isEqualTo(expected.getOutput());
+        assertThat(result.getErrors())
+          .extracting(TemplateError::getMessage)
+          .containsExactlyElementsOf(
+            expected
+              .getErrors()
+              .stream()
+              .map(TemplateError::getMessage)
+              .collect(Collectors.toList())
+          );
+      });
+  }
+
+  @Test
+  public void itClosesTheBindingsWithTheResults() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<Map<String, ?>> bindings = Stream
+      .<Map<String, ?>>of(bindings(1))
+      .onClose(() -> closed.set(true));
+
+    try (Stream<RenderResult> results = jinjava.renderAll(TEMPLATE, bindings, executor)) {
+      assertThat(results.count()).isEqualTo(1);
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void itCancelsOutstandingRendersWhenClosed() {
+    TallyFilter tally = new TallyFilter();
+    jinjava.registerFilter(tally);
+    // runs the first render straight away, and holds back the rest
+    List<Runnable> queued = new ArrayList<>();
+    AtomicBoolean ranFirst = new AtomicBoolean();
+    Executor queueing = task -> {
+      if (ranFirst.compareAndSet(false, true)) {
+        task.run();
+      } else {
+        queued.add(task);
+      }
+    };
+
+    try (
+      Stream<RenderResult> results = jinjava.renderAll(
+        "{{ n|tally }}",
+        Stream.of(1, 2, 3).map(n -> ImmutableMap.of("n", n)),
+        queueing,
+        3
+      )
+    ) {
+      assertThat(results.findFirst()).map(RenderResult::getOutput).contains("1");
+    }
+    assertThat(queued).hasSize(2);
+    queued.forEach(Runnable::run);
+
+    assertThat(tally.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void itRejectsNonPositiveConcurrency() {
+    assertThatThrownBy(() -> jinjava.renderAll(TEMPLATE, Stream.empty(), executor, 0))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Map<String, ?> bindings(int n) {
+    return ImmutableMap.of(
+      "n",
+      n,
+      "names",
+      IntStream.range(0, n).mapToObj(i -> "name" + i).collect(Collectors.toList())
+    );
+  }
+}
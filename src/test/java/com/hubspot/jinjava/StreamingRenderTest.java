@@ -0,0 +1,204 @@
+package com.hubspot.jinjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.features.FeatureConfig;
+import com.hubspot.jinjava.features.FeatureStrategies;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.testobjects.StreamingRenderTestObjects.WrittenOutput;
+import com.hubspot.jinjava.tree.output.OutputList;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class StreamingRenderTest extends BaseJinjavaTest {
+
+  @Test
+  public void itStreamsTheSameOutputAsRender() {
+    String template =
+      "{% macro greet(name) %}Hello {{ name }}!{% endmacro %}" +
+      "{% for name in names %}{{ greet(name) }}\n{% endfor %}";
+    Map<String, Object> bindings = ImmutableMap.of("names", List.of("a", "b", "c"));
+
+    StringWriter writer = new StringWriter();
+    jinjava.render(template, bindings, writer);
+
+    assertThat(writer.toString())
+      .isEqualTo(jinjava.render(template, bindings))
+      .isEqualTo("Hello a!\nHello b!\nHello c!");
+  }
+
+  @Test
+  public void itWritesOutputAsItIsRendered() {
+    StringBuilder output = new StringBuilder();
+    Map<String, Object> bindings = ImmutableMap.of(
+      "written",
+      new WrittenOutput(output)
+    );
+
+    jinjava.render("a{{ written.output }}b{{ written.output }}", bindings, output);
+    assertThat(output.toString()).isEqualTo("a[a]b[a[a]b]");
+  }
+
+  @Test
+  public void itHoldsOutputBackOnceABlockIsReached() {
+    StringBuilder output = new StringBuilder();
+    Map<String, Object> bindings = ImmutableMap.of(
+      "written",
+      new WrittenOutput(output)
+    );
+
+    jinjava.render(
+      "a{{ written.output }}{% block content %}b{% endblock %}{{ written.output }}",
+      bindings,
+      output
+    );
+    assertThat(output.toString()).isEqualTo("a[a]b[a[a]]");
+  }
+
+  @Test
+  public void itHoldsOutputBackWhenAnExtendsTagCouldReplaceIt() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "parent{% block content %}{% endblock %}"
+    );
+    StringBuilder output = new StringBuilder();
+    Map<String, Object> bindings = ImmutableMap.of(
+      "written",
+      new WrittenOutput(output)
+    );
+
+    jinjava.render(
+      "ignored{% if true %}{% extends 'parent.jinja' %}{% endif %}" +
+      "{% block content %}{{ written.output }}{% endblock %}",
+      bindings,
+      output
+    );
+    assertThat(output.toString()).isEqualTo("parent[]");
+  }
+
+  @Test
+  public void itPreventsAccidentalExpressionsBetweenWrittenNodes() {
+    Jinjava preventingJinjava = new Jinjava(
+      BaseJinjavaTest
+        .newConfigBuilder()
+        .withFeatureConfig(
+          FeatureConfig
+            .newBuilder()
+            .add(OutputList.PREVENT_ACCIDENTAL_EXPRESSIONS, FeatureStrategies.ACTIVE)
+            .build()
+        )
+        .build()
+    );
+    String template = "{{ '{' }}{{ '{' }}";
+
+    StringBuilder output = new StringBuilder();
+    preventingJinjava.render(template, new HashMap<>(), output);
+    assertThat(output.toString())
+      .isEqualTo(preventingJinjava.render(template, new HashMap<>()))
+      .isEqualTo("{\n{#- #}{");
+  }
+
+  @Test
+  public void itStreamsResolvedBlocksFromExtendParents() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "<{% block content %}parent{% endblock %}>{% block footer %}footer{% endblock %}"
+    );
+    String template =
+      "{% extends 'parent.jinja' %}ignored{% block content %}child{% endblock %}";
+
+    StringBuilder output = new StringBuilder();
+    RenderResult result = jinjava.renderForResult(
+      template,
+      new HashMap<>(),
+      jinjava.getGlobalConfig(),
+      output
+    );
+
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.getOutput()).isEmpty();
+    assertThat(output.toString()).isEqualTo("<child>footer");
+  }
+
+  @Test
+  public void itOnlyStripsTheFinalTrailingNewline() {
+    StringBuilder output = new StringBuilder();
+    jinjava.render("{% for i in range(3) %}{{ i }}\n{% endfor %}\n", Map.of(), output);
+    assertThat(output.toString()).isEqualTo("0\n1\n2\n");
+
+    Jinjava keepingJinjava = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withKeepTrailingNewline(true).build()
+    );
+    output = new StringBuilder();
+    keepingJinjava.render("hello\n", Map.of(), output);
+    assertThat(output.toString()).isEqualTo("hello\n");
+  }
+
+  @Test
+  public void itEnforcesTheMaxOutputSize() {
+    Jinjava limitedJinjava = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withMaxOutputSize(10).build()
+    );
+
+    StringBuilder output = new StringBuilder();
+    RenderResult result = limitedJinjava.renderForResult(
+      "{% for i in range(20) %} {{ i }} {% endfor %}",
+      new HashMap<>(),
+      limitedJinjava.getGlobalConfig(),
+      output
+    );
+
+    assertThat(result.getErrors().get(0).getMessage()).contains("OutputTooBigException");
+    assertThat(output.toString()).isEqualTo(" 0  1  2  ");
+  }
+
+  @Test
+  public void itEnforcesTheMaxOutputSizeInExtendParents() {
+    Jinjava limitedJinjava = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withMaxOutputSize(10).build()
+    );
+    limitedJinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{% for i in range(20) %} {{ i }} {% endfor %}"
+    );
+    String template = "{% extends 'parent.jinja' %}ignored";
+
+    StringBuilder output = new StringBuilder();
+    RenderResult result = limitedJinjava.renderForResult(
+      template,
+      new HashMap<>(),
+      limitedJinjava.getGlobalConfig(),
+      output
+    );
+
+    assertThat(result.getErrors().get(0).getMessage()).contains("OutputTooBigException");
+    assertThat(output.toString())
+      .isEqualTo(limitedJinjava.renderForResult(template, new HashMap<>()).getOutput())
+      .isEqualTo(" 0  1  2  ");
+  }
+
+  @Test
+  public void itReportsWriterFailures() {
+    Writer failingWriter = new Writer() {
+      @Override
+      public void write(char[] cbuf, int off, int len) throws IOException {
+        throw new IOException("disk full");
+      }
+
+      @Override
+      public void flush() {}
+
+      @Override
+      public void close() {}
+    };
+
+    assertThatThrownBy(() -> jinjava.render("hello", new HashMap<>(), failingWriter))
+      .isInstanceOf(FatalTemplateErrorsException.class)
+      .hasMessageContaining("disk full");
+  }
+}
@@ -0,0 +1,143 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.objects.date.StrftimeFormatter;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Test;
+
+public class CompiledArgumentCacheTest {
+
+  @Test
+  public void itCompilesEachArgumentOnce() {
+    CompiledArgumentCache cache = new CompiledArgumentCache(10);
+    AtomicInteger compilations = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(
+        cache.get("f", "a", Locale.ENGLISH, () -> "a" + compilations.incrementAndGet())
+      )
+        .isEqualTo("a1");
+    }
+    assertThat(cache.get("f", "a", Locale.FRENCH, () -> "french")).isEqualTo("french");
+    assertThat(cache.get("g", "a", Locale.ENGLISH, () -> "other")).isEqualTo("other");
+    assertThat(cache.get("f", "b", null, () -> "b")).isEqualTo("b");
+
+    TemplateCacheStats stats = cache.getStats();
+    assertThat(stats.getHitCount()).isEqualTo(2);
+    assertThat(stats.getMissCount()).isEqualTo(4);
+    assertThat(stats.getSize()).isEqualTo(4);
+  }
+
+  @Test
+  public void itDoesNotCacheFailures() {
+    CompiledArgumentCache cache = new CompiledArgumentCache(10);
+
+    assertThatThrownBy(() ->
+        cache.get(
+          "f",
+          "[",
+          null,
+          () -> {
+            throw new IllegalArgumentException("invalid");
+          }
+        )
+      )
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThat(cache.get("f", "[", null, () -> "valid")).isEqualTo("valid");
+  }
+
+  @Test
+  public void itEvictsOnceFull() {
+    CompiledArgumentCache cache = new CompiledArgumentCache(2);
+    for (int i = 0; i < 5; i++) {
+      int value = i;
+      cache.get("f", value, null, () -> value);
+    }
+
+    assertThat(cache.getStats().getSize()).isEqualTo(2);
+    assertThat(cache.getStats().getEvictionCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void itCachesStrftimeFormatters() {
+    ZonedDateTime date = ZonedDateTime.of(2024, 3, 9, 14, 5, 0, 0, ZoneOffset.UTC);
+    long hitsBefore = CompiledArgumentCache.getCurrent().getStats().getHitCount();
+
+    assertThat(StrftimeFormatter.format(date, "%Y-%m-%d %H:%M", Locale.ENGLISH))
+      .isEqualTo("2024-03-09 14:05");
+    assertThat(StrftimeFormatter.format(date, "%Y-%m-%d %H:%M", Locale.ENGLISH))
+      .isEqualTo("2024-03-09 14:05");
+    assertThat(CompiledArgumentCache.getCurrent().getStats().getHitCount())
+      .isGreaterThan(hitsBefore);
+  }
+
+  @Test
+  public void itUsesTheCacheOfTheRenderingInstance() {
+    Jinjava jinjava = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withCompiledArgumentCacheSize(1).build()
+    );
+    ZonedDateTime date = ZonedDateTime.of(2024, 3, 9, 14, 5, 0, 0, ZoneOffset.UTC);
+
+    JinjavaInterpreter.pushCurrent(jinjava.newInterpreter());
+    try {
+      for (int i = 0; i < 2; i++) {
+        assertThat(StrftimeFormatter.format(date, "%Y", Locale.ENGLISH))
+          .isEqualTo("2024");
+        assertThat(StrftimeFormatter.format(date, "%m", Locale.ENGLISH)).isEqualTo("03");
+      }
+    } finally {
+      JinjavaInterpreter.popCurrent();
+    }
+
+    TemplateCacheStats stats = jinjava.getCompiledArgumentCache().getStats();
+    assertThat(stats.getSize()).isEqualTo(1);
+    assertThat(stats.getMissCount()).isEqualTo(4);
+    assertThat(stats.getEvictionCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void itCompilesConcurrentlyRequestedArgumentsOnce() throws Exception {
+    CompiledArgumentCache cache = new CompiledArgumentCache(10);
+    CountDownLatch compiling = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger compilations = new AtomicInteger();
+    Supplier<String> compiler = () -> {
+      int compilation = compilations.incrementAndGet();
+      compiling.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+      return "a" + compilation;
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<String> first = executor.submit(() -> cache.get("f", "a", null, compiler));
+      compiling.await();
+      Future<String> second = executor.submit(() -> cache.get("f", "a", null, compiler));
+      Thread.sleep(50);
+      release.countDown();
+
+      assertThat(first.get()).isEqualTo("a1");
+      assertThat(second.get()).isEqualTo("a1");
+      assertThat(compilations.get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
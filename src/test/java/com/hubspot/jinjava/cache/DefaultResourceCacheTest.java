@@ -0,0 +1,290 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.loader.ResourceLocator;
+import com.hubspot.jinjava.loader.ResourceNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultResourceCacheTest extends BaseJinjavaTest {
+
+  private final Map<String, String> resources = new HashMap<>();
+  private final Map<String, String> versions = new HashMap<>();
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = new Ticker() {
+    @Override
+    public long read() {
+      return nanos.get();
+    }
+  };
+  private int loadCount;
+  private int versionCheckCount;
+  private DefaultResourceCache resourceCache;
+
+  @Before
+  public void setup() {
+    jinjava.setResourceLocator(
+      new ResourceLocator() {
+        @Override
+        public String getString(
+          String fullName,
+          Charset encoding,
+          JinjavaInterpreter interpreter
+        ) throws ResourceNotFoundException {
+          loadCount++;
+          String resource = resources.get(fullName);
+          if (resource == null) {
+            throw new ResourceNotFoundException("Couldn't find resource: " + fullName);
+          }
+          return resource;
+        }
+
+        @Override
+        public Optional<String> getVersion(
+          String fullName,
+          JinjavaInterpreter interpreter
+        ) {
+          versionCheckCount++;
+          return Optional.ofNullable(versions.get(fullName));
+        }
+      }
+    );
+    resourceCache = DefaultResourceCache.newBuilder().withTicker(ticker).build();
+    jinjava.setResourceCache(resourceCache);
+  }
+
+  @Test
+  public void itLoadsIncludesOnce() {
+    resources.put("footer.jinja", "[{{ i }}]");
+
+    assertThat(
+      jinjava.render(
+        "{% for i in range(3) %}{% include 'footer.jinja' %}{% endfor %}",
+        ImmutableMap.of()
+      )
+    )
+      .isEqualTo("[0][1][2]");
+    assertThat(loadCount).isEqualTo(1);
+    assertThat(resourceCache.getStats().getHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void itLoadsResourcesOnceForConcurrentRequests() throws Exception {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    ResourceCacheKey key = ResourceCacheKey.of(
+      "footer.jinja",
+      jinjava.getResourceLocator(),
+      interpreter
+    );
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    ResourceCache.ResourceLoader loader = new ResourceCache.ResourceLoader() {
+      @Override
+      public Optional<String> getVersion() {
+        return Optional.of("1");
+      }
+
+      @Override
+      public ParsedTemplate load() throws IOException {
+        loads.incrementAndGet();
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException();
+        }
+        return new ParsedTemplate(interpreter.parse("one"), List.of());
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<ParsedTemplate> first = executor.submit(() ->
+        resourceCache.get(key, loader)
+      );
+      loading.await();
+      Future<ParsedTemplate> second = executor.submit(() ->
+        resourceCache.get(key, loader)
+      );
+      Thread.sleep(50);
+      release.countDown();
+
+      assertThat(second.get()).isSameAs(first.get());
+      assertThat(loads.get()).isEqualTo(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void itSharesParsedResourcesAcrossTags() {
+    resources.put(
+      "macros.jinja",
+      "{% macro hello(name) %}Hello {{ name }}{% endmacro %}"
+    );
+
+    assertThat(
+      jinjava.render(
+        "{% import 'macros.jinja' as m %}{% from 'macros.jinja' import hello %}" +
+        "{{ m.hello('a') }} {{ hello('b') }}",
+        ImmutableMap.of()
+      )
+    )
+      .isEqualTo("Hello a Hello b");
+    assertThat(loadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void itReloadsWhenTheVersionChanges() {
+    resources.put("footer.jinja", "one");
+    versions.put("footer.jinja", "1");
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("one");
+
+    resources.put("footer.jinja", "two");
+    advance(DefaultResourceCache.DEFAULT_VERSION_CHECK_INTERVAL);
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("one");
+
+    versions.put("footer.jinja", "2");
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("one");
+    advance(DefaultResourceCache.DEFAULT_VERSION_CHECK_INTERVAL);
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("two");
+    assertThat(loadCount).isEqualTo(2);
+  }
+
+  @Test
+  public void itChecksVersionsOncePerInterval() {
+    resources.put("footer.jinja", "[{{ i }}]");
+    versions.put("footer.jinja", "1");
+
+    assertThat(
+      jinjava.render(
+        "{% for i in range(3) %}{% include 'footer.jinja' %}{% endfor %}",
+        ImmutableMap.of()
+      )
+    )
+      .isEqualTo("[0][1][2]");
+    assertThat(versionCheckCount).isEqualTo(1);
+
+    advance(DefaultResourceCache.DEFAULT_VERSION_CHECK_INTERVAL);
+    jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of());
+    assertThat(versionCheckCount).isEqualTo(2);
+    assertThat(loadCount).isEqualTo(1);
+  }
+
+  @Test
+  public void itExpiresUnversionedResources() {
+    resources.put("footer.jinja", "one");
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("one");
+
+    resources.put("footer.jinja", "two");
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("one");
+    advance(DefaultResourceCache.DEFAULT_UNVERSIONED_TIME_TO_LIVE);
+    assertThat(jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("two");
+    assertThat(loadCount).isEqualTo(2);
+  }
+
+  @Test
+  public void itCanSkipCachingUnversionedResources() {
+    jinjava.setResourceCache(
+      DefaultResourceCache.newBuilder().withUnversionedTimeToLive(Duration.ZERO).build()
+    );
+    resources.put("footer.jinja", "one");
+
+    jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of());
+    jinjava.render("{% include 'footer.jinja' %}", ImmutableMap.of());
+
+    assertThat(loadCount).isEqualTo(2);
+    assertThat(jinjava.getResourceCache().getStats().getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void itReportsParseErrorsForCachedResources() {
+    resources.put("broken.jinja", "{% unknowntag %}");
+
+    RenderResult first = jinjava.renderForResult(
+      "{% include 'broken.jinja' %}",
+      ImmutableMap.of()
+    );
+    RenderResult second = jinjava.renderForResult(
+      "{% include 'broken.jinja' %}",
+      ImmutableMap.of()
+    );
+
+    assertThat(loadCount).isEqualTo(1);
+    assertThat(first.getErrors()).hasSize(1);
+    assertThat(second.getErrors()).hasSize(1);
+    assertThat(second.getErrors().get(0).getSourceTemplate()).contains("broken.jinja");
+  }
+
+  @Test
+  public void itDoesNotCacheMissingResources() {
+    jinjava.renderForResult("{% include 'missing.jinja' %}", ImmutableMap.of());
+    jinjava.renderForResult("{% include 'missing.jinja' %}", ImmutableMap.of());
+
+    assertThat(loadCount).isEqualTo(2);
+    assertThat(resourceCache.getStats().getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void itInvalidatesResourcesAndFindsTheirDependents() {
+    resources.put("page.jinja", "{% include 'footer.jinja' %}");
+    resources.put("footer.jinja", "one");
+    resources.put("other.jinja", "other");
+    Map<String, Object> bindings = ImmutableMap.of("current_path", "main.jinja");
+    assertThat(jinjava.render("{% include 'page.jinja' %}", bindings)).isEqualTo("one");
+    assertThat(jinjava.render("{% include 'other.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("other");
+
+    resources.put("footer.jinja", "two");
+    assertThat(jinjava.invalidate("footer.jinja"))
+      .containsExactlyInAnyOrder("page.jinja", "main.jinja");
+    assertThat(jinjava.render("{% include 'page.jinja' %}", bindings)).isEqualTo("two");
+    assertThat(jinjava.render("{% include 'other.jinja' %}", ImmutableMap.of()))
+      .isEqualTo("other");
+    assertThat(loadCount).isEqualTo(4);
+  }
+
+  @Test
+  public void itOnlyRecordsDependenciesWithAResourceCache() {
+    resources.put("page.jinja", "{% include 'footer.jinja' %}");
+    resources.put("footer.jinja", "one");
+    jinjava.setResourceCache(ResourceCache.disabled());
+
+    jinjava.render("{% include 'page.jinja' %}", ImmutableMap.of());
+
+    assertThat(jinjava.getTemplateDependencyGraph().getDependents("footer.jinja"))
+      .isEmpty();
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
@@ -0,0 +1,155 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.lib.tag.RawTag;
+import com.hubspot.jinjava.lib.tag.Tag;
+import com.hubspot.jinjava.tree.TagNode;
+import com.hubspot.jinjava.mode.EagerExecutionMode;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DefaultTemplateCacheTest extends BaseJinjavaTest {
+
+  private DefaultTemplateCache templateCache;
+
+  @Before
+  public void setup() {
+    templateCache = DefaultTemplateCache.newBuilder().withMaximumSize(10).build();
+    jinjava.setTemplateCache(templateCache);
+  }
+
+  @Test
+  public void itReusesParsedTemplates() {
+    String template = "{% for i in range(n) %}{{ i }}{% endfor %}";
+
+    assertThat(jinjava.render(template, ImmutableMap.of("n", 3))).isEqualTo("012");
+    assertThat(jinjava.render(template, ImmutableMap.of("n", 2))).isEqualTo("01");
+
+    TemplateCacheStats stats = templateCache.getStats();
+    assertThat(stats.getMissCount()).isEqualTo(1);
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void itReportsParseErrorsForCachedTemplates() {
+    String template = "{% unknowntag %}hello";
+
+    RenderResult first = jinjava.renderForResult(template, ImmutableMap.of());
+    RenderResult second = jinjava.renderForResult(template, ImmutableMap.of());
+
+    assertThat(templateCache.getStats().getHitCount()).isEqualTo(1);
+    assertThat(first.getErrors()).hasSize(1);
+    assertThat(second.getErrors()).hasSize(1);
+    assertThat(second.getErrors().get(0).getMessage())
+      .isEqualTo(first.getErrors().get(0).getMessage());
+    assertThat(second.getOutput()).isEqualTo(first.getOutput());
+  }
+
+  @Test
+  public void itDoesNotShareTreesAcrossParseConfigs() {
+    String template = "{% if true %}\n  hello{% endif %}";
+
+    assertThat(jinjava.render(template, ImmutableMap.of())).isEqualTo("\n  hello");
+    assertThat(
+      jinjava
+        .renderForResult(
+          template,
+          ImmutableMap.of(),
+          BaseJinjavaTest.newConfigBuilder().withTrimBlocks(true).build()
+        )
+        .getOutput()
+    )
+      .isEqualTo("  hello");
+    assertThat(
+      jinjava
+        .renderForResult(
+          template,
+          ImmutableMap.of(),
+          BaseJinjavaTest
+            .newConfigBuilder()
+            .withExecutionMode(EagerExecutionMode.instance())
+            .build()
+        )
+        .getOutput()
+    )
+      .isEqualTo("\n  hello");
+
+    assertThat(templateCache.getStats().getMissCount()).isEqualTo(3);
+    assertThat(templateCache.getStats().getSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void itEvictsTemplatesOverTheMaximumSize() {
+    jinjava.setTemplateCache(
+      DefaultTemplateCache.newBuilder().withMaximumSize(1).build()
+    );
+
+    jinjava.render("a", ImmutableMap.of());
+    jinjava.render("b", ImmutableMap.of());
+
+    TemplateCacheStats stats = jinjava.getTemplateCache().getStats();
+    assertThat(stats.getSize()).isEqualTo(1);
+    assertThat(stats.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void itEvictsTemplatesOverTheMaximumWeight() {
+    jinjava.setTemplateCache(
+      DefaultTemplateCache.newBuilder().withMaximumWeight(5).build()
+    );
+
+    jinjava.render("abc", ImmutableMap.of());
+    jinjava.render("def", ImmutableMap.of());
+
+    assertThat(jinjava.getTemplateCache().getStats().getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void itInvalidatesWhenTagsAreRegistered() {
+    jinjava.render("hello", ImmutableMap.of());
+    jinjava.registerTag(new RawTag());
+
+    assertThat(templateCache.getStats().getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void itDoesNotShareTreesAcrossTagsRegisteredForARender() {
+    String template = "{% shout %}";
+    assertThat(jinjava.renderForResult(template, ImmutableMap.of()).getErrors())
+      .hasSize(1);
+
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    interpreter.getContext().registerTag(new ShoutTag());
+
+    assertThat(interpreter.render(template)).isEqualTo("SHOUT");
+    assertThat(interpreter.getErrors()).isEmpty();
+    assertThat(jinjava.renderForResult(template, ImmutableMap.of()).getErrors())
+      .hasSize(1);
+    assertThat(templateCache.getStats().getSize()).isEqualTo(2);
+    assertThat(templateCache.getStats().getHitCount()).isEqualTo(1);
+  }
+
+  private static class ShoutTag implements Tag {
+
+    @Override
+    public String getName() {
+      return "shout";
+    }
+
+    @Override
+    public String getEndTagName() {
+      return null;
+    }
+
+    @Override
+    public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+      return "SHOUT";
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.DeferredValue;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.mode.EagerExecutionMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ExpressionTreeCacheTest extends BaseJinjavaTest {
+
+  private static final String TEMPLATE =
+    "{% macro count(n) %}{{ n }}{% if n > 0 %}{{ count(n - 1) }}{% endif %}{% endmacro %}" +
+    "{% set prefix = 'item' %}" +
+    "{% for i in range(3) %}{{ count(i) }}-{{ prefix ~ i ~ deferred }};{% endfor %}" +
+    "{% if deferred %}{{ prefix|upper ~ [1, 2] }}{% endif %}";
+
+  @Test
+  public void itCachesEagerExpressionTrees() {
+    Jinjava eagerJinjava = newEagerJinjava(1000);
+
+    RenderResult first = render(eagerJinjava);
+    TemplateCacheStats afterFirst = eagerJinjava.getEagerExpressionCacheStats();
+    RenderResult second = render(eagerJinjava);
+    TemplateCacheStats afterSecond = eagerJinjava.getEagerExpressionCacheStats();
+
+    assertThat(second.getOutput()).isEqualTo(first.getOutput());
+    assertThat(afterSecond.getMissCount()).isEqualTo(afterFirst.getMissCount());
+    assertThat(afterSecond.getHitCount()).isGreaterThan(afterFirst.getHitCount());
+    assertThat(afterSecond.getSize()).isPositive();
+  }
+
+  @Test
+  public void itRendersTheSameWithAndWithoutCachedTrees() {
+    RenderResult uncached = render(newEagerJinjava(0));
+    Jinjava cachingJinjava = newEagerJinjava(1000);
+    render(cachingJinjava);
+    RenderResult cached = render(cachingJinjava);
+
+    assertThat(uncached.getErrors()).isEmpty();
+    assertThat(uncached.getOutput()).contains("{{ 'item0' ~ deferred }}");
+    assertThat(cached.getErrors()).isEmpty();
+    assertThat(cached.getOutput()).isEqualTo(uncached.getOutput());
+  }
+
+  @Test
+  public void itSharesCachedTreesBetweenThreads() throws Exception {
+    Jinjava eagerJinjava = newEagerJinjava(1000);
+    String expected = render(eagerJinjava).getOutput();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(executor.submit(() -> render(eagerJinjava).getOutput()));
+      }
+      for (Future<String> result : results) {
+        assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(expected);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static Jinjava newEagerJinjava(int expressionCacheSize) {
+    return new Jinjava(
+      BaseJinjavaTest
+        .newConfigBuilder()
+        .withExecutionMode(EagerExecutionMode.instance())
+        .withEnableRecursiveMacroCalls(true)
+        .withExpressionCacheSize(expressionCacheSize)
+        .build()
+    );
+  }
+
+  private static RenderResult render(Jinjava jinjava) {
+    Map<String, Object> bindings = new HashMap<>();
+    bindings.put("deferred", DeferredValue.instance());
+    return jinjava.renderForResult(TEMPLATE, bindings);
+  }
+}
@@ -0,0 +1,203 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.tag.RawTag;
+import com.hubspot.jinjava.tree.TagNode;
+import com.hubspot.jinjava.tree.parse.DefaultTokenScannerSymbols;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplateCacheSnapshotTest extends BaseJinjavaTest {
+
+  private static final String TEMPLATE =
+    "{% macro greet(name) %}Hello {{ name|upper }}!{% endmacro %}\n" +
+    "{%- set total = 0 -%}\n" +
+    "{% for item in items %}{% if loop.first %}[{% elif loop.last %}]{% endif %}" +
+    "{{ greet(item) }}{% set total = total + 1 %}{% endfor %}\n" +
+    "{% raw %}{{ not rendered }}{% endraw %}{# a comment #}\n" +
+    "{% for x in [2] %}{{ x * 3 }}{% cycle 'a','b' %}{% endfor %}";
+
+  // Jinjava isn't loaded from its jar in tests, so its version is unknown
+  private static final String VERSION = "1.0.0";
+
+  private static final Map<String, Object> BINDINGS = ImmutableMap.of(
+    "items",
+    List.of("a", "b", "c")
+  );
+
+  @Before
+  public void setup() {
+    jinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+  }
+
+  @Test
+  public void itRestoresParsedTemplates() throws Exception {
+    String expected = jinjava.render(TEMPLATE, BINDINGS);
+    jinjava.renderForResult("{% if %}", ImmutableMap.of());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(TemplateCacheSnapshot.write(jinjava, out, VERSION)).isEqualTo(1);
+
+    Jinjava restored = newJinjava();
+    assertThat(
+      TemplateCacheSnapshot.read(
+        restored,
+        new ByteArrayInputStream(out.toByteArray()),
+        VERSION
+      )
+    )
+      .isEqualTo(1);
+
+    assertThat(restored.render(TEMPLATE, BINDINGS)).isEqualTo(expected);
+    TemplateCacheStats stats = restored.getTemplateCache().getStats();
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void itIgnoresSnapshotsWithOtherParseSettings() throws Exception {
+    jinjava.render(TEMPLATE, BINDINGS);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TemplateCacheSnapshot.write(jinjava, out, VERSION);
+
+    Jinjava restored = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withTrimBlocks(true).build()
+    );
+    restored.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+
+    assertThat(
+      TemplateCacheSnapshot.read(
+        restored,
+        new ByteArrayInputStream(out.toByteArray()),
+        VERSION
+      )
+    )
+      .isEqualTo(0);
+    assertThat(restored.getTemplateCache().getStats().getSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void itResolvesTagsFromTheReadingInstance() throws Exception {
+    jinjava.render(TEMPLATE, BINDINGS);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TemplateCacheSnapshot.write(jinjava, out, VERSION);
+
+    Jinjava restored = newJinjava();
+    restored.registerTag(new ShoutingRawTag());
+    TemplateCacheSnapshot.read(
+      restored,
+      new ByteArrayInputStream(out.toByteArray()),
+      VERSION
+    );
+
+    assertThat(restored.render(TEMPLATE, BINDINGS)).contains("{{ NOT RENDERED }}");
+    assertThat(restored.getTemplateCache().getStats().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void itSkipsTemplatesWithTagsTheReadingInstanceDoesNotHave() throws Exception {
+    jinjava.registerTag(new ShoutingRawTag("shout"));
+    jinjava.render("{% shout %}a{% endshout %}", ImmutableMap.of());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(TemplateCacheSnapshot.write(jinjava, out, VERSION)).isEqualTo(1);
+
+    assertThat(
+      TemplateCacheSnapshot.read(
+        newJinjava(),
+        new ByteArrayInputStream(out.toByteArray()),
+        VERSION
+      )
+    )
+      .isEqualTo(0);
+  }
+
+  @Test
+  public void itOnlyReadsTheClassesOfParsedTemplates() throws Exception {
+    // the symbols are kept by every token, and this class isn't part of Jinjava
+    JinjavaConfig config = BaseJinjavaTest
+      .newConfigBuilder()
+      .withTokenScannerSymbols(new ForeignSymbols())
+      .build();
+    Jinjava writer = new Jinjava(config);
+    writer.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    writer.render(TEMPLATE, BINDINGS);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(TemplateCacheSnapshot.write(writer, out, VERSION)).isEqualTo(1);
+
+    Jinjava restored = new Jinjava(config);
+    restored.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    assertThat(
+      TemplateCacheSnapshot.read(
+        restored,
+        new ByteArrayInputStream(out.toByteArray()),
+        VERSION
+      )
+    )
+      .isEqualTo(0);
+  }
+
+  @Test
+  public void itRefusesSnapshotsWhenTheVersionIsUnknown() throws Exception {
+    jinjava.render(TEMPLATE, BINDINGS);
+
+    assertThatThrownBy(() ->
+        TemplateCacheSnapshot.write(jinjava, new ByteArrayOutputStream(), null)
+      )
+      .isInstanceOf(IllegalStateException.class);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TemplateCacheSnapshot.write(jinjava, out, VERSION);
+    Jinjava restored = newJinjava();
+    assertThat(
+      TemplateCacheSnapshot.read(
+        restored,
+        new ByteArrayInputStream(out.toByteArray()),
+        null
+      )
+    )
+      .isEqualTo(0);
+    assertThat(restored.getTemplateCache().getStats().getSize()).isEqualTo(0);
+  }
+
+  private static Jinjava newJinjava() {
+    Jinjava jinjava = new Jinjava(BaseJinjavaTest.newConfigBuilder().build());
+    jinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    return jinjava;
+  }
+
+  private static class ForeignSymbols extends DefaultTokenScannerSymbols {}
+
+  private static class ShoutingRawTag extends RawTag {
+
+    private final String name;
+
+    ShoutingRawTag() {
+      this("raw");
+    }
+
+    ShoutingRawTag(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+      return super.interpret(tagNode, interpreter).toUpperCase();
+    }
+  }
+}
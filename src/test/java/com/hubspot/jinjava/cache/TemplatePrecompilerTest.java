@@ -0,0 +1,150 @@
+package com.hubspot.jinjava.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.loader.LocationResolver;
+import com.hubspot.jinjava.loader.RelativePathResolver;
+import com.hubspot.jinjava.loader.ResourceLocator;
+import com.hubspot.jinjava.loader.ResourceNotFoundException;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplatePrecompilerTest extends BaseJinjavaTest {
+
+  private final Map<String, String> resources = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> loadCounts = new ConcurrentHashMap<>();
+  private ExecutorService executor;
+
+  @Before
+  public void setup() {
+    jinjava.setResourceLocator(
+      new ResourceLocator() {
+        @Override
+        public String getString(
+          String fullName,
+          Charset encoding,
+          JinjavaInterpreter interpreter
+        ) throws ResourceNotFoundException {
+          loadCounts
+            .computeIfAbsent(fullName, k -> new AtomicInteger())
+            .incrementAndGet();
+          String resource = resources.get(fullName);
+          if (resource == null) {
+            throw new ResourceNotFoundException("Couldn't find resource: " + fullName);
+          }
+          return resource;
+        }
+
+        @Override
+        public Optional<LocationResolver> getLocationResolver() {
+          return Optional.of((path, interpreter) -> {
+            if (path.startsWith("unresolvable")) {
+              throw new IllegalArgumentException("Can't resolve " + path);
+            }
+            return new RelativePathResolver().resolve(path, interpreter);
+          });
+        }
+      }
+    );
+    jinjava.setResourceCache(DefaultResourceCache.newBuilder().build());
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @After
+  public void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void itPrecompilesReferencedTemplates() {
+    resources.put("pages/home.jinja", "{% extends './base.jinja' %}");
+    resources.put(
+      "pages/base.jinja",
+      "{% import 'macros.jinja' as m %}{% from \"macros.jinja\" import icon %}" +
+      "{% block body %}{% include '../footer.jinja' %}{% endblock %}"
+    );
+    resources.put("pages/about.jinja", "{% extends './base.jinja' %}");
+    resources.put(
+      "macros.jinja",
+      "{% macro icon(name) %}<i>{{ name }}</i>{% endmacro %}"
+    );
+    resources.put("footer.jinja", "{% include dynamic_path %}bye");
+
+    PrecompileResult result = jinjava.precompile(
+      ImmutableList.of("pages/home.jinja", "pages/about.jinja"),
+      executor
+    );
+
+    assertThat(result.hasErrors()).isFalse();
+    assertThat(result.getParseTimes())
+      .containsOnlyKeys(
+        "pages/home.jinja",
+        "pages/about.jinja",
+        "pages/base.jinja",
+        "macros.jinja",
+        "footer.jinja"
+      );
+    assertThat(loadCounts.values()).allMatch(count -> count.get() == 1);
+    assertThat(result.getDependencyGraph().getTransitiveDependents("footer.jinja"))
+      .containsExactlyInAnyOrder(
+        "pages/base.jinja",
+        "pages/home.jinja",
+        "pages/about.jinja"
+      );
+
+    assertThat(
+      jinjava.render(
+        "{% include 'pages/home.jinja' %}",
+        ImmutableMap.of("dynamic_path", "macros.jinja")
+      )
+    )
+      .isEqualTo("bye");
+    assertThat(loadCounts.values()).allMatch(count -> count.get() == 1);
+  }
+
+  @Test
+  public void itReportsErrorsForEachTemplate() {
+    resources.put("broken.jinja", "{% if %}{% include 'missing.jinja' %}");
+
+    PrecompileResult result = jinjava.precompile(
+      ImmutableList.of("broken.jinja"),
+      executor
+    );
+
+    assertThat(result.getErrors()).containsOnlyKeys("broken.jinja", "missing.jinja");
+    assertThat(result.getErrors().get("missing.jinja").get(0).getMessage())
+      .contains("Couldn't find resource: missing.jinja");
+  }
+
+  @Test
+  public void itReportsTemplatesWhichCannotBeResolvedWithoutFailingOthers() {
+    resources.put(
+      "page.jinja",
+      "{% include 'unresolvable.jinja' %}{% include 'footer.jinja' %}"
+    );
+    resources.put("footer.jinja", "bye");
+
+    PrecompileResult result = jinjava.precompile(
+      ImmutableList.of("unresolvable-page.jinja", "page.jinja"),
+      executor
+    );
+
+    assertThat(result.getErrors())
+      .containsOnlyKeys("unresolvable-page.jinja", "page.jinja");
+    assertThat(result.getErrors().get("page.jinja").get(0).getMessage())
+      .contains("Can't resolve unresolvable.jinja");
+    assertThat(result.getParseTimes()).containsOnlyKeys("page.jinja", "footer.jinja");
+  }
+}
@@ -0,0 +1,89 @@
+package com.hubspot.jinjava.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hubspot.jinjava.BaseInterpretingTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
+import com.hubspot.jinjava.mode.EagerExecutionMode;
+import com.hubspot.jinjava.tree.ExpressionNode;
+import com.hubspot.jinjava.tree.Node;
+import com.hubspot.jinjava.tree.TreeParser;
+import com.hubspot.jinjava.tree.parse.ExpressionToken;
+import de.odysseus.el.tree.Tree;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class CompiledExpressionTest extends BaseInterpretingTest {
+
+  @Test
+  public void itParsesOnlyOnce() {
+    CompiledExpression expression = new CompiledExpression(" foo ~ 'bar' ");
+    context.put("foo", "a");
+    assertThat(interpreter.resolveELExpression(expression, 1)).isEqualTo("abar");
+
+    Tree tree = expression.getTree(jinjava.getExpressionTreeBuilder());
+    context.put("foo", "b");
+    assertThat(interpreter.resolveELExpression(expression, 1)).isEqualTo("bbar");
+    assertThat(expression.getTree(jinjava.getExpressionTreeBuilder())).isSameAs(tree);
+    assertThat(expression.getExpression()).isEqualTo("foo ~ 'bar'");
+  }
+
+  @Test
+  public void itReparsesForAnotherBuilder() {
+    CompiledExpression expression = new CompiledExpression("1 + 2");
+    Tree tree = expression.getTree(jinjava.getExpressionTreeBuilder());
+    Jinjava otherJinjava = new Jinjava();
+    assertThat(expression.getTree(otherJinjava.getExpressionTreeBuilder()))
+      .isNotSameAs(tree);
+  }
+
+  @Test
+  public void itKeepsTheExpressionWithTheToken() {
+    Node root = new TreeParser(interpreter, "{{ items|length }}").buildTree();
+    ExpressionToken token = (ExpressionToken) root.getChildren().getFirst().getMaster();
+    assertThat(root.getChildren().getFirst()).isInstanceOf(ExpressionNode.class);
+
+    for (int i = 1; i <= 3; i++) {
+      context.put("items", Collections.nCopies(i, "x"));
+      assertThat(interpreter.render(root)).isEqualTo(String.valueOf(i));
+    }
+    assertThat(token.getCompiledExpr()).isSameAs(token.getCompiledExpr());
+  }
+
+  @Test
+  public void itReportsSyntaxErrorsLikeUncompiledExpressions() {
+    interpreter.resolveELExpression(new CompiledExpression("foo |"), 1);
+    JinjavaInterpreter uncompiled = jinjava.newInterpreter();
+    uncompiled.resolveELExpression("foo |", 1);
+
+    assertThat(interpreter.getErrors()).hasSize(1);
+    assertThat(interpreter.getErrors().get(0).getReason())
+      .isEqualTo(ErrorReason.SYNTAX_ERROR);
+    assertThat(interpreter.getErrors().get(0).getMessage())
+      .isEqualTo(uncompiled.getErrors().get(0).getMessage());
+    assertThat(interpreter.getErrors().get(0).getStartPosition())
+      .isEqualTo(uncompiled.getErrors().get(0).getStartPosition());
+  }
+
+  @Test
+  public void itResolvesCompiledExpressionsInEagerMode() {
+    Jinjava eagerJinjava = new Jinjava(
+      newConfigBuilder().withExecutionMode(EagerExecutionMode.instance()).build()
+    );
+    Map<String, Object> bindings = new HashMap<>();
+    bindings.put("items", List.of(1, 2, 3));
+    RenderResult result = eagerJinjava.renderForResult(
+      "{% for i in items %}{% if i is odd %}{{ i }}{% endif %}{% endfor %}" +
+      "{% set total = items|sum %}{{ total }}",
+      bindings
+    );
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.getOutput()).isEqualTo("136");
+  }
+}
@@ -18,8 +18,10 @@ import com.hubspot.jinjava.interpret.RenderResult;
 import com.hubspot.jinjava.interpret.TemplateError;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
+import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
 import com.hubspot.jinjava.objects.date.PyishDate;
 import com.hubspot.jinjava.testobjects.ExpressionResolverTestObjects;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
@@ -616,6 +618,35 @@ public class ExpressionResolverTest {
       .isEqualTo(ErrorReason.INVALID_INPUT);
   }
 
+  @Test
+  public void itSharesGlobalFunctionsBetweenInterpreters() {
+    Map<String, Method> functions = jinjava.getGlobalContext().getFunctionMethods();
+    assertThat(jinjava.getGlobalContext().getFunctionMethods()).isSameAs(functions);
+    assertThat(functions).containsKey(":range");
+
+    jinjava
+      .getGlobalContext()
+      .registerFunction(
+        new ELFunctionDefinition(
+          "",
+          "shout",
+          ExpressionResolverTest.class,
+          "shout",
+          String.class
+        )
+      );
+
+    assertThat(jinjava.getGlobalContext().getFunctionMethods())
+      .isNotSameAs(functions)
+      .containsKey(":shout");
+    assertThat(functions).doesNotContainKey(":shout");
+    assertThat(jinjava.render("{{ shout('hi') }}", Maps.newHashMap())).isEqualTo("HI!");
+  }
+
+  public static String shout(String value) {
+    return value.toUpperCase() + "!";
+  }
+
   public String result(String value, ExpressionResolverTestObjects.TestClass testClass) {
     testClass.touch();
     return value;
@@ -7,10 +7,12 @@ import com.google.common.collect.ImmutableSet;
 import com.hubspot.jinjava.BaseJinjavaTest;
 import com.hubspot.jinjava.Jinjava;
 import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.interpret.RenderResult;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
 import com.hubspot.jinjava.objects.date.PyishDate;
+import de.odysseus.el.tree.Tree;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -173,4 +175,52 @@ public class AstFilterChainTest {
       .as("Optimized should match un-optimized for disabled filter in chain")
       .isEqualTo(unoptimizedResult.getOutput());
   }
+
+  @Test
+  public void itReusesConstantFilterArgumentsAcrossCalls() {
+    String result = jinjava.render(
+      "{% for i in range(3) %}{{ name|trim|replace('o', '0') }};{% endfor %}",
+      context
+    );
+    assertThat(result).isEqualTo("Hell0 W0rld;Hell0 W0rld;Hell0 W0rld;");
+  }
+
+  @Test
+  public void itEvaluatesOtherFilterArgumentsOnEachCall() {
+    String result = jinjava.render(
+      "{% for c in ['a', 'x'] %}{{ 'xax'|replace(c, '-') }};{% endfor %}",
+      context
+    );
+    assertThat(result).isEqualTo("x-x;-a-;");
+  }
+
+  @Test
+  public void itPassesConstantNamedArguments() {
+    String template =
+      "{% for i in range(2) %}{{ 'a\nb'|indent(2, indentfirst=true) }};" +
+      "{{ 'a\nb'|indent(indentfirst=false) }};{% endfor %}";
+    assertThat(jinjava.render(template, context))
+      .isEqualTo("  a\n  b;a\n    b;  a\n  b;a\n    b;");
+  }
+
+  @Test
+  public void itFindsConstantFilterParams() {
+    assertThat(new FilterSpec("trim", null).hasConstantParams()).isTrue();
+    assertThat(filterSpec("x|replace('a', 1, true, null)").hasConstantParams())
+      .isTrue();
+    assertThat(filterSpec("x|indent(width=2)").hasConstantParams()).isTrue();
+    assertThat(filterSpec("x|replace(a, 'b')").hasConstantParams()).isFalse();
+    assertThat(filterSpec("x|indent(width=a)").hasConstantParams()).isFalse();
+  }
+
+  private FilterSpec filterSpec(String expression) {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    JinjavaInterpreter.pushCurrent(interpreter);
+    try {
+      Tree tree = interpreter.parseELExpression(expression);
+      return ((AstFilterChain) tree.getRoot().getChild(0)).getFilterSpecs().get(0);
+    } finally {
+      JinjavaInterpreter.popCurrent();
+    }
+  }
 }
@@ -5,11 +5,15 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.hubspot.jinjava.BaseJinjavaTest;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.el.JinjavaELContext;
 import com.hubspot.jinjava.interpret.AutoCloseableSupplier;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.testobjects.JinjavaBeanELResolverTestObjects;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import javax.el.ELContext;
+import javax.el.MethodNotFoundException;
 import javax.el.PropertyNotFoundException;
 import org.junit.Before;
 import org.junit.Test;
@@ -148,4 +152,163 @@ public class JinjavaBeanELResolverTest {
         .isInstanceOf(PropertyNotFoundException.class);
     }
   }
+
+  @Test
+  public void itDoesNotCacheLookupsWhichFindNothing() {
+    try (
+      var a = JinjavaInterpreter.closeablePushCurrent(jinjava.newInterpreter()).get()
+    ) {
+      JinjavaBeanELResolverTestObjects.TempItCachesAccessors var =
+        new JinjavaBeanELResolverTestObjects.TempItCachesAccessors();
+      for (int i = 0; i < 10; i++) {
+        String name = "missing" + i;
+        assertThatThrownBy(() -> jinjavaBeanELResolver.getValue(elContext, var, name))
+          .isInstanceOf(PropertyNotFoundException.class);
+        assertThatThrownBy(() ->
+            jinjavaBeanELResolver.invoke(elContext, var, name, null, new Object[0])
+          )
+          .isInstanceOf(MethodNotFoundException.class);
+      }
+      assertThat(jinjavaBeanELResolver.getCachedAccessorCount()).isEqualTo(0);
+
+      assertThat(jinjavaBeanELResolver.getValue(elContext, var, "name"))
+        .isEqualTo("name");
+      assertThat(jinjavaBeanELResolver.getCachedAccessorCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void itInvokesStaticVoidAndVarArgsMethods() {
+    try (
+      var a = JinjavaInterpreter.closeablePushCurrent(jinjava.newInterpreter()).get()
+    ) {
+      JinjavaBeanELResolverTestObjects.TempItCachesAccessors var =
+        new JinjavaBeanELResolverTestObjects.TempItCachesAccessors();
+      assertThat(jinjavaBeanELResolver.getValue(elContext, var, "name"))
+        .isEqualTo("name");
+      assertThat(
+        jinjavaBeanELResolver.invoke(elContext, var, "describe", null, new Object[] { 1 })
+      )
+        .isEqualTo("static 1");
+      assertThat(
+        jinjavaBeanELResolver.invoke(elContext, var, "record", null, new Object[] { "a" })
+      )
+        .isNull();
+      assertThat(jinjavaBeanELResolver.getValue(elContext, var, "calls")).isEqualTo("a");
+      assertThat(
+        jinjavaBeanELResolver.invoke(
+          elContext,
+          var,
+          "join",
+          null,
+          new Object[] { "-", "a", "b", "c" }
+        )
+      )
+        .isEqualTo("a-b-c");
+      assertThat(
+        jinjavaBeanELResolver.invoke(elContext, var, "join", null, new Object[] { "-" })
+      )
+        .isEqualTo("");
+    }
+  }
+
+  @Test
+  public void itValidatesCachedAccessorsAgainstEachValidator() {
+    JinjavaBeanELResolverTestObjects.TempItCachesAccessors var =
+      new JinjavaBeanELResolverTestObjects.TempItCachesAccessors();
+    try (
+      var a = JinjavaInterpreter.closeablePushCurrent(jinjava.newInterpreter()).get()
+    ) {
+      assertThat(jinjavaBeanELResolver.getValue(elContext, var, "name"))
+        .isEqualTo("name");
+      assertThat(
+        jinjavaBeanELResolver.invoke(elContext, var, "describe", null, new Object[] { 1 })
+      )
+        .isEqualTo("static 1");
+    }
+
+    Jinjava defaultJinjava = new Jinjava(
+      JinjavaConfig
+        .builder()
+        .withMethodValidator(AllowlistMethodValidator.DEFAULT)
+        .build()
+    );
+    try (
+      var a = JinjavaInterpreter
+        .closeablePushCurrent(defaultJinjava.newInterpreter())
+        .get()
+    ) {
+      assertThatThrownBy(() -> jinjavaBeanELResolver.getValue(elContext, var, "name"))
+        .isInstanceOf(PropertyNotFoundException.class);
+      assertThatThrownBy(() ->
+          jinjavaBeanELResolver.invoke(
+            elContext,
+            var,
+            "describe",
+            null,
+            new Object[] { 1 }
+          )
+        )
+        .isInstanceOf(MethodNotFoundException.class);
+    }
+  }
+
+  @Test
+  public void itAsksOverriddenHooksOnEveryAccess() {
+    JinjavaBeanELResolverTestObjects.TempItCachesAccessors var =
+      new JinjavaBeanELResolverTestObjects.TempItCachesAccessors();
+    JinjavaBeanELResolver restrictingResolver = new JinjavaBeanELResolver() {
+      @Override
+      protected Method getReadMethod(Object base, Object property) {
+        return "name".equals(property) ? null : super.getReadMethod(base, property);
+      }
+
+      @Override
+      protected Method findMethod(
+        Object base,
+        String name,
+        Class<?>[] types,
+        Object[] params,
+        int paramCount
+      ) {
+        return "describe".equals(name)
+          ? null
+          : super.findMethod(base, name, types, params, paramCount);
+      }
+    };
+
+    try (
+      var a = JinjavaInterpreter.closeablePushCurrent(jinjava.newInterpreter()).get()
+    ) {
+      assertThat(jinjavaBeanELResolver.getValue(elContext, var, "name"))
+        .isEqualTo("name");
+      assertThatThrownBy(() -> restrictingResolver.getValue(elContext, var, "name"))
+        .isInstanceOf(PropertyNotFoundException.class);
+      assertThatThrownBy(() ->
+          restrictingResolver.invoke(elContext, var, "describe", null, new Object[] { 1 })
+        )
+        .isInstanceOf(MethodNotFoundException.class);
+    }
+  }
+
+  @Test
+  public void itFailsLikeReflectionWhenArgumentsDontMatch() throws Exception {
+    MethodAccessor charAt = MethodAccessor.of(
+      String.class.getMethod("charAt", int.class)
+    );
+
+    assertThat(charAt.invoke("abc", 1)).isEqualTo('b');
+    assertThat(charAt.invoke("abc", (short) 2)).isEqualTo('c');
+    assertThatThrownBy(() -> charAt.invoke("abc", "1"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> charAt.invoke("abc", 1L))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> charAt.invoke("abc", 1, 2))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> charAt.invoke(null, 1))
+      .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> charAt.invoke("abc", 5))
+      .isInstanceOf(InvocationTargetException.class)
+      .hasCauseInstanceOf(StringIndexOutOfBoundsException.class);
+  }
 }
@@ -24,17 +24,21 @@ public class EagerAstIdentifierTest extends BaseInterpretingTest {
   @Test
   public void itSavesNullEvalResult() {
     EagerAstIdentifier identifier = new EagerAstIdentifier("foo", 0, true);
-    identifier.eval(
-      new Bindings(
-        new Method[] {},
-        new ValueExpression[] {
-          jinjava
-            .getEagerExpressionFactory()
-            .createValueExpression(elContext, "#{foo}", Object.class),
-        }
-      ),
-      elContext
-    );
-    assertThat(identifier.hasEvalResult()).isTrue();
+    boolean hasEvalResult = EvalResults.evaluate(() -> {
+      identifier.eval(
+        new Bindings(
+          new Method[] {},
+          new ValueExpression[] {
+            jinjava
+              .getEagerExpressionFactory()
+              .createValueExpression(elContext, "#{foo}", Object.class),
+          }
+        ),
+        elContext
+      );
+      return identifier.hasEvalResult();
+    });
+    assertThat(hasEvalResult).isTrue();
+    assertThat(identifier.hasEvalResult()).isFalse();
   }
 }
@@ -1,10 +1,14 @@
 package com.hubspot.jinjava.interpret;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context.Library;
+import com.hubspot.jinjava.lib.filter.Filter;
 import com.hubspot.jinjava.lib.fn.ELFunctionDefinition;
 import com.hubspot.jinjava.loader.RelativePathResolver;
 import com.hubspot.jinjava.mode.EagerExecutionMode;
@@ -120,7 +124,136 @@ public class ContextTest {
       .contains(RelativePathResolver.CURRENT_PATH_CONTEXT_KEY);
   }
 
+  @Test
+  public void itSharesLibrariesWithTheContextItWasCreatedFrom() {
+    Context source = new Context();
+    source.registerFilter(new NamedFilter("shout"));
+
+    Context copy = Context.withLibrariesOf(source, ImmutableMap.of("foo", "bar"));
+
+    assertThat(copy.getFilter("shout")).isSameAs(source.getFilter("shout"));
+    assertThat(copy.getFilter("upper")).isSameAs(source.getFilter("upper"));
+    assertThat(copy.getTag("for")).isSameAs(source.getTag("for"));
+    assertThat(copy.getAllFunctions()).hasSameSizeAs(source.getAllFunctions());
+    assertThat(copy.getAllExpTests()).hasSameSizeAs(source.getAllExpTests());
+    assertThat(copy.get("foo")).isEqualTo("bar");
+  }
+
+  @Test
+  public void itDoesNotShareLaterRegistrations() {
+    Context source = new Context();
+    Context copy = Context.withLibrariesOf(source, null);
+    Context otherCopy = Context.withLibrariesOf(source, null);
+
+    copy.registerFilter(new NamedFilter("only_in_copy"));
+    source.registerFilter(new NamedFilter("only_in_source"));
+    NamedFilter upper = new NamedFilter("upper");
+    otherCopy.registerFilter(upper);
+
+    assertThat(copy.getFilter("only_in_copy")).isNotNull();
+    assertThat(source.getFilter("only_in_copy")).isNull();
+    assertThat(otherCopy.getFilter("only_in_copy")).isNull();
+    assertThat(source.getFilter("only_in_source")).isNotNull();
+    assertThat(copy.getFilter("only_in_source")).isNull();
+    assertThat(otherCopy.getFilter("upper")).isSameAs(upper);
+    assertThat(source.getFilter("upper")).isNotSameAs(upper);
+    assertThat(copy.getFilter("upper")).isNotSameAs(upper);
+  }
+
+  @Test
+  public void itDoesNotLeakRegistrationsBetweenRenders() {
+    Jinjava jinjava = new Jinjava();
+    NamedFilter shout = new NamedFilter("shout");
+    jinjava.getGlobalContext().registerFilter(shout);
+
+    RenderResult first = jinjava.renderForResult("{{ 'a'|upper }}", ImmutableMap.of());
+    first.getContext().registerFilter(new NamedFilter("whisper"));
+    RenderResult second = jinjava.renderForResult("{{ 'b'|upper }}", ImmutableMap.of());
+
+    assertThat(first.getOutput()).isEqualTo("A");
+    assertThat(second.getOutput()).isEqualTo("B");
+    assertThat(second.getContext().getFilter("shout")).isSameAs(shout);
+    assertThat(second.getContext().getFilter("whisper")).isNull();
+    assertThat(jinjava.getGlobalContext().getFilter("whisper")).isNull();
+  }
+
+  @Test
+  public void itKeepsRegistrationsInChildScopes() {
+    Context child = new Context(context);
+    NamedFilter upper = new NamedFilter("upper");
+    child.registerFilter(upper);
+
+    assertThat(child.getFilter("upper")).isSameAs(upper);
+    assertThat(context.getFilter("upper")).isNotSameAs(upper);
+    assertThat(new Context(context).getFilter("upper"))
+      .isSameAs(context.getFilter("upper"));
+    assertThat(child.getAllFilters()).contains(upper);
+  }
+
+  @Test
+  public void itBlocksDisabledEntriesInChildScopes() {
+    Context child = new Context(
+      context,
+      null,
+      ImmutableMap.of(Library.FILTER, ImmutableSet.of("upper"))
+    );
+
+    assertThatThrownBy(() -> child.getFilter("upper"))
+      .isInstanceOf(DisabledException.class);
+    assertThat(child.getFilter("lower")).isSameAs(context.getFilter("lower"));
+  }
+
+  @Test
+  public void itSharesCallStacksWithTheParentScope() {
+    context.getMacroStack().push("outer", 1, 1);
+    Context child = new Context(context);
+    Context sharingChild = new Context(context, null, null, false);
+
+    assertThat(sharingChild.getMacroStack()).isSameAs(context.getMacroStack());
+    assertThat(child.getMacroStack()).isNotSameAs(context.getMacroStack());
+    assertThat(child.getMacroStack()).isSameAs(child.getMacroStack());
+    assertThat(child.getMacroStack().contains("outer")).isTrue();
+
+    child.getMacroStack().push("inner", 2, 1);
+    assertThat(context.getMacroStack().contains("inner")).isFalse();
+    assertThat(child.getMacroStack().pop()).contains("inner");
+    assertThat(child.getMacroStack().pop()).contains("outer");
+    assertThat(context.getMacroStack().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void itCombinesTheScopesSharingTheCurrentPathStack() {
+    context.put("global", 1);
+    Context scope = new Context(context);
+    scope.put("outer", 2);
+    Context sharingChild = new Context(scope, null, null, false);
+    sharingChild.put("inner", 3);
+
+    assertThat(sharingChild.getCombinedScope())
+      .containsOnlyKeys("outer", "inner")
+      .containsEntry("outer", 2);
+  }
+
   public static void throwException() {
     throw new RuntimeException();
   }
+
+  private static class NamedFilter implements Filter {
+
+    private final String name;
+
+    NamedFilter(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
+      return name + ":" + var;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+  }
 }
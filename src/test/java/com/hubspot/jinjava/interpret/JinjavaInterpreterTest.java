@@ -11,6 +11,7 @@ import com.hubspot.jinjava.JinjavaConfig;
 import com.hubspot.jinjava.LegacyOverrides;
 import com.hubspot.jinjava.features.FeatureConfig;
 import com.hubspot.jinjava.features.FeatureStrategies;
+import com.hubspot.jinjava.interpret.AutoCloseableSupplier.AutoCloseableImpl;
 import com.hubspot.jinjava.interpret.JinjavaInterpreter.InterpreterScopeClosable;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorItem;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
@@ -52,6 +53,31 @@ public class JinjavaInterpreterTest {
     symbols = interpreter.getConfig().getTokenScannerSymbols();
   }
 
+  @Test
+  public void itTracksNestedCurrentInterpreters() {
+    assertThat(JinjavaInterpreter.getCurrent()).isNull();
+    try (
+      AutoCloseableImpl<JinjavaInterpreter> outer = JinjavaInterpreter
+        .closeablePushCurrent(interpreter)
+        .get()
+    ) {
+      for (int i = 0; i < 20; i++) {
+        JinjavaInterpreter.pushCurrent(new JinjavaInterpreter(interpreter));
+      }
+      JinjavaInterpreter innermost = new JinjavaInterpreter(interpreter);
+      JinjavaInterpreter.pushCurrent(innermost);
+      assertThat(JinjavaInterpreter.getCurrent()).isSameAs(innermost);
+      for (int i = 0; i < 21; i++) {
+        assertThat(JinjavaInterpreter.getCurrent()).isNotSameAs(interpreter);
+        JinjavaInterpreter.popCurrent();
+      }
+      assertThat(JinjavaInterpreter.getCurrent()).isSameAs(interpreter);
+    }
+    assertThat(JinjavaInterpreter.getCurrentMaybe()).isEmpty();
+    JinjavaInterpreter.popCurrent();
+    assertThat(JinjavaInterpreter.getCurrent()).isNull();
+  }
+
   @Test
   public void resolveBlockStubsWithNoStubs() {
     assertThat(interpreter.render("foo")).isEqualTo("foo");
@@ -0,0 +1,145 @@
+package com.hubspot.jinjava.interpret;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RenderProfilerTest extends BaseJinjavaTest {
+
+  private static final String TEMPLATE =
+    "{% macro greet(name) %}Hello {{ name|upper }}{% endmacro %}\n" +
+    "{% for name in names %}{{ greet(name) }}{% endfor %}\n" +
+    "{% include 'footer.jinja' %}";
+
+  private Jinjava profilingJinjava;
+
+  @Before
+  public void setup() {
+    profilingJinjava =
+      new Jinjava(
+        BaseJinjavaTest.newConfigBuilder().withEnableRenderProfiling(true).build()
+      );
+    profilingJinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{{ 'bye'|capitalize }}"
+    );
+  }
+
+  @Test
+  public void itDoesNotProfileByDefault() {
+    RenderResult result = jinjava.renderForResult("{{ 1 + 1 }}", new HashMap<>());
+    assertThat(result.getRenderProfile()).isEmpty();
+  }
+
+  @Test
+  public void itProfilesEachPartOfTheRender() {
+    RenderResult result = profilingJinjava.renderForResult(TEMPLATE, bindings());
+
+    assertThat(result.getErrors()).isEmpty();
+    assertThat(result.getOutput()).isEqualTo("\nHello AHello BHello C\nBye");
+    RenderProfile profile = result.getRenderProfile().get();
+    assertThat(profile.getName()).isEqualTo("render");
+
+    RenderProfile forTag = child(profile, "tag:for (line 2)");
+    assertThat(forTag.getInvocationCount()).isEqualTo(1);
+    RenderProfile expression = child(forTag, "expression:greet(name) (line 2)");
+    assertThat(expression.getInvocationCount()).isEqualTo(3);
+    RenderProfile macro = child(expression, "macro:greet (line 1)");
+    assertThat(macro.getInvocationCount()).isEqualTo(3);
+    RenderProfile filter = child(
+      child(macro, "expression:name|upper (line 1)"),
+      "filter:upper"
+    );
+    assertThat(filter.getInvocationCount()).isEqualTo(3);
+
+    RenderProfile include = child(
+      child(profile, "tag:include (line 3)"),
+      "include:footer.jinja"
+    );
+    assertThat(child(include, "expression:'bye'|capitalize (line 1)").getChildren())
+      .extracting(RenderProfile::getName)
+      .containsExactly("filter:capitalize");
+
+    assertThat(forTag.getWallNanos()).isGreaterThanOrEqualTo(expression.getWallNanos());
+    assertThat(forTag.getSelfNanos())
+      .isEqualTo(forTag.getWallNanos() - expression.getWallNanos());
+    assertThat(profile.getWallNanos())
+      .isEqualTo(
+        profile.getChildren().stream().mapToLong(RenderProfile::getWallNanos).sum()
+      );
+  }
+
+  @Test
+  public void itExportsJson() throws Exception {
+    RenderProfile profile = profilingJinjava
+      .renderForResult(TEMPLATE, bindings())
+      .getRenderProfile()
+      .get();
+
+    JsonNode json = new ObjectMapper().readTree(profile.toJson());
+    assertThat(json.get("name").asText()).isEqualTo("render");
+    assertThat(json.get("children").get(0).get("name").asText())
+      .isEqualTo("tag:macro (line 1)");
+    assertThat(json.get("children").get(1).get("invocationCount").asLong())
+      .isEqualTo(1);
+  }
+
+  @Test
+  public void itExportsCollapsedStacks() {
+    RenderProfile profile = profilingJinjava
+      .renderForResult(TEMPLATE, bindings())
+      .getRenderProfile()
+      .get();
+
+    List<String> lines = List.of(profile.toCollapsedStacks().split("\n"));
+    assertThat(lines)
+      .anyMatch(line ->
+        line.startsWith(
+          "render;tag:for (line 2);expression:greet(name) (line 2);macro:greet (line 1) "
+        )
+      );
+    assertThat(lines).allMatch(line -> line.matches("render(;[^;]+)* [0-9]+"));
+  }
+
+  @Test
+  public void itIncludesRenderTimingsSpans() {
+    JinjavaInterpreter interpreter = profilingJinjava.newInterpreter();
+    interpreter.startRender("module");
+    interpreter.render("{{ 'a'|upper }}");
+    interpreter.endRender("module");
+
+    Optional<RenderProfile> profile = interpreter.getRenderProfile();
+    assertThat(profile).isPresent();
+    RenderProfile module = child(profile.get(), "module");
+    assertThat(module.getInvocationCount()).isEqualTo(1);
+    assertThat(child(module, "expression:'a'|upper (line 1)").getInvocationCount())
+      .isEqualTo(1);
+  }
+
+  private static Map<String, Object> bindings() {
+    Map<String, Object> bindings = new HashMap<>();
+    bindings.put("names", List.of("a", "b", "c"));
+    return bindings;
+  }
+
+  private static RenderProfile child(RenderProfile profile, String name) {
+    return profile
+      .getChildren()
+      .stream()
+      .filter(child -> child.getName().equals(name))
+      .findAny()
+      .orElseThrow(() ->
+        new AssertionError(
+          "No child " + name + " in " + profile.getChildren() + " of " + profile
+        )
+      );
+  }
+}
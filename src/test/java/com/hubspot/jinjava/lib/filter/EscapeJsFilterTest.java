@@ -1,9 +1,13 @@
 package com.hubspot.jinjava.lib.filter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.OutputTooBigException;
 import java.util.HashMap;
 import java.util.Map;
 import org.junit.Before;
@@ -49,6 +53,20 @@ public class EscapeJsFilterTest extends BaseJinjavaTest {
       .isEqualTo("Testing a \\\"quote for the week\\\"");
   }
 
+  @Test
+  public void itStopsEscapingOnceTheOutputIsTooBig() {
+    Jinjava limited = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder().withMaxOutputSize(10).build()
+    );
+
+    assertThatThrownBy(() ->
+        new EscapeJsFilter()
+          .filter(Strings.repeat("\u00ea", 1000), limited.newInterpreter())
+      )
+      .isInstanceOf(OutputTooBigException.class)
+      .hasMessage("12 byte output rendered, over limit of 10 bytes");
+  }
+
   @Test
   public void testSafeStringCanBeEscaped() {
     assertThat(
@@ -2,12 +2,15 @@ package com.hubspot.jinjava.lib.filter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.hubspot.jinjava.BaseJinjavaTest;
 import com.hubspot.jinjava.interpret.RenderResult;
 import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
 import com.hubspot.jinjava.testobjects.SortFilterTestObjects;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Test;
 
@@ -122,6 +125,23 @@ public class SortFilterTest extends BaseJinjavaTest {
       .contains("cannot contain a null item");
   }
 
+  @Test
+  public void sortWithMultipleAttrs() {
+    List<Map<String, Object>> items = ImmutableList.of(
+      ImmutableMap.of("group", "b", "name", "x"),
+      ImmutableMap.of("group", "a", "name", "y"),
+      ImmutableMap.of("group", "b", "name", "w"),
+      ImmutableMap.of("group", "a", "name", "x")
+    );
+
+    Object sorted = new SortFilter()
+      .filter(items, jinjava.newInterpreter(), "false", "false", "group, name");
+    assertThat(sorted)
+      .isEqualTo(
+        ImmutableList.of(items.get(3), items.get(1), items.get(2), items.get(0))
+      );
+  }
+
   String render(Object... items) {
     return render("", items);
   }
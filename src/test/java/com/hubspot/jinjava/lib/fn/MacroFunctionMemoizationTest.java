@@ -0,0 +1,178 @@
+package com.hubspot.jinjava.lib.fn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.cache.DefaultTemplateCache;
+import com.hubspot.jinjava.cache.TemplateCacheStats;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderResult;
+import com.hubspot.jinjava.tree.Node;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MacroFunctionMemoizationTest extends BaseJinjavaTest {
+
+  @Before
+  public void setup() {
+    jinjava =
+      new Jinjava(
+        BaseJinjavaTest.newConfigBuilder().withEnableMacroMemoization(true).build()
+      );
+  }
+
+  @Test
+  public void itMemoizesPureMacroCallsWithinARender() {
+    String template =
+      "{% macro icon(name, size=16) %}" +
+      "<i class='{{ name|lower }}' {{ size }}>{% endmacro %}" +
+      "{% for i in range(3) %}{{ icon('X') }}{% endfor %}" +
+      "{{ icon('X', size=24) }}{{ icon(name='Y') }}";
+
+    assertThat(jinjava.render(template, new HashMap<>()))
+      .isEqualTo(
+        "<i class='x' 16><i class='x' 16><i class='x' 16><i class='x' 24><i class='y' 16>"
+      );
+    TemplateCacheStats stats = jinjava.getMacroCacheStats();
+    assertThat(stats.getHitCount()).isEqualTo(2);
+    assertThat(stats.getMissCount()).isEqualTo(3);
+    assertThat(stats.getSize()).isEqualTo(0);
+
+    jinjava.render(template, new HashMap<>());
+    assertThat(jinjava.getMacroCacheStats().getHitCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void itSharesResultsBetweenRendersOfCachedTemplates() {
+    jinjava =
+      new Jinjava(
+        BaseJinjavaTest
+          .newConfigBuilder()
+          .withEnableMacroMemoization(true)
+          .withMacroResultCacheSize(10)
+          .build()
+      );
+    jinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    String template =
+      "{% macro hello(name) %}Hello {{ name }}{% endmacro %}{{ hello('a') }}";
+
+    assertThat(jinjava.render(template, new HashMap<>())).isEqualTo("Hello a");
+    assertThat(jinjava.render(template, new HashMap<>())).isEqualTo("Hello a");
+    assertThat(jinjava.getMacroCacheStats().getHitCount()).isEqualTo(1);
+    assertThat(jinjava.getMacroCacheStats().getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void itDoesNotShareResultsOfMacrosReadingVariablesBeforeSettingThem() {
+    Jinjava sharing = newSharingJinjava();
+    String template =
+      "{% macro greet() %}{% set name = name|default('friend') %}" +
+      "Hello {{ name }}{% endmacro %}{{ greet() }}";
+
+    assertThat(sharing.render(template, ImmutableMap.of("name", "Alice")))
+      .isEqualTo("Hello Alice");
+    assertThat(sharing.render(template, ImmutableMap.of("name", "Bob")))
+      .isEqualTo("Hello Bob");
+  }
+
+  @Test
+  public void itDoesNotShareResultsOfMacrosRenderingTemplates() {
+    Jinjava sharing = newSharingJinjava();
+    String template =
+      "{% macro show() %}{{ '{{ name }}'|render }}{% endmacro %}" +
+      "{{ show() }}{% set name = 'Carol' %}{{ show() }}";
+
+    assertThat(sharing.render(template, ImmutableMap.of("name", "Alice")))
+      .isEqualTo("AliceCarol");
+    assertThat(sharing.render(template, ImmutableMap.of("name", "Bob")))
+      .isEqualTo("BobCarol");
+  }
+
+  @Test
+  public void itOnlyMemoizesCallsWithSimpleArguments() {
+    String template =
+      "{% macro first(items) %}{{ items[0] }}{% endmacro %}" +
+      "{{ first(items) }}{% do items.append('b') %}{{ first(items) }}";
+
+    assertThat(
+      jinjava.render(template, ImmutableMap.of("items", Lists.newArrayList("a")))
+    )
+      .isEqualTo("aa");
+    assertThat(jinjava.getMacroCacheStats().getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void itDoesNotMemoizeCallsWithErrors() {
+    RenderResult result = jinjava.renderForResult(
+      "{% macro broken(x) %}{{ x + }}{% endmacro %}{{ broken(1) }}\n{{ broken(1) }}",
+      new HashMap<>()
+    );
+
+    assertThat(result.getErrors()).isNotEmpty();
+    assertThat(jinjava.getMacroCacheStats().getHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void itDoesNotMemoizeMacrosUsingTheLoopTheyAreCalledIn() {
+    assertThat(
+      jinjava.render(
+        "{% macro m() %}[{{ loop.index }}]{% endmacro %}" +
+        "{% for i in [1, 2, 3] %}{{ m() }}{% endfor %}",
+        new HashMap<>()
+      )
+    )
+      .isEqualTo("[1][2][3]");
+    assertThat(jinjava.getMacroCacheStats().getMissCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void itFindsPureMacros() {
+    assertThat(isPure("{{ a|upper }}{% for i in range(b) %}{{ loop.index }}{% endfor %}"))
+      .isTrue();
+    assertThat(isPure("{% set c = a ~ b %}{{ c }}{{ kwargs.d }}{{ varargs|length }}"))
+      .isTrue();
+  }
+
+  @Test
+  public void itFindsImpureMacros() {
+    assertThat(isPure("{{ a }}{{ other }}")).isFalse();
+    assertThat(isPure("{% set ns.value = a %}")).isFalse();
+    assertThat(isPure("{{ caller() }}")).isFalse();
+    assertThat(isPure("{{ caller }}")).isFalse();
+    assertThat(isPure("{{ loop.index }}")).isFalse();
+    assertThat(isPure("{% if a %}{% break %}{% endif %}")).isFalse();
+    assertThat(isPure("{{ m(a) }}")).isFalse();
+    assertThat(isPure("{{ [a, b]|random }}")).isFalse();
+    assertThat(isPure("{{ today() }}")).isFalse();
+    assertThat(isPure("{% set a = b %}{{ a }}{% set b = 1 %}")).isTrue();
+    assertThat(isPure("{% set c = c|default(a) %}{{ c }}")).isFalse();
+    assertThat(isPure("{{ '{{ c }}'|render }}")).isFalse();
+    assertThat(isPure("{% include 'footer.jinja' %}")).isFalse();
+  }
+
+  private static Jinjava newSharingJinjava() {
+    Jinjava sharing = new Jinjava(
+      BaseJinjavaTest
+        .newConfigBuilder()
+        .withEnableMacroMemoization(true)
+        .withMacroResultCacheSize(100)
+        .build()
+    );
+    sharing.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    return sharing;
+  }
+
+  private boolean isPure(String body) {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    List<Node> content = interpreter.parse(body).getChildren();
+    return jinjava
+      .getMacroResultCache()
+      .isPure(content, ImmutableList.of("a", "b"), interpreter);
+  }
+}
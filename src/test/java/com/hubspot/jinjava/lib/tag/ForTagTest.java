@@ -73,6 +73,33 @@ public class ForTagTest extends BaseInterpretingTest {
     assertThat(dom.select("h3")).hasSize(3);
   }
 
+  @Test
+  public void itRendersThroughAnOverriddenRenderForCollection() {
+    Jinjava overriding = new Jinjava(BaseJinjavaTest.newConfigBuilder().build());
+    overriding.registerTag(
+      new ForTag() {
+        @Override
+        public String renderForCollection(
+          TagNode tagNode,
+          JinjavaInterpreter interpreter,
+          List<String> loopVars,
+          Object collection
+        ) {
+          return (
+            "[" +
+            super.renderForCollection(tagNode, interpreter, loopVars, collection) +
+            "]"
+          );
+        }
+      }
+    );
+
+    assertThat(
+      overriding.render("{% for i in [1, 2] %}{{ i }}{% endfor %}", Maps.newHashMap())
+    )
+      .isEqualTo("[12]");
+  }
+
   @Test
   public void forLoopUsingScalarValue() {
     context.put("the_list", 999L);
@@ -5,11 +5,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.google.common.collect.Lists;
 import com.google.common.io.Resources;
 import com.hubspot.jinjava.BaseInterpretingTest;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
 import com.hubspot.jinjava.testobjects.IfTagTestObjects;
 import com.hubspot.jinjava.tree.TagNode;
 import com.hubspot.jinjava.tree.TreeParser;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -114,6 +118,22 @@ public class IfTagTest extends BaseInterpretingTest {
     assertThat(tag.interpret(n, interpreter).trim()).isEqualTo("ifblock");
   }
 
+  @Test
+  public void itRendersThroughAnOverriddenInterpret() {
+    Jinjava overriding = new Jinjava(BaseJinjavaTest.newConfigBuilder().build());
+    overriding.registerTag(
+      new IfTag() {
+        @Override
+        public String interpret(TagNode tagNode, JinjavaInterpreter interpreter) {
+          return super.interpret(tagNode, interpreter).toUpperCase();
+        }
+      }
+    );
+
+    assertThat(overriding.render("{% if true %}ifblock{% endif %}", new HashMap<>()))
+      .isEqualTo("IFBLOCK");
+  }
+
   private TagNode fixture(String name) {
     try {
       return (TagNode) new TreeParser(
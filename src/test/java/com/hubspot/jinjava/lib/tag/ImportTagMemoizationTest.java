@@ -0,0 +1,156 @@
+package com.hubspot.jinjava.lib.tag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.Resources;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.DeferredValue;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.RenderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImportTagMemoizationTest extends BaseJinjavaTest {
+
+  @Before
+  public void setup() {
+    jinjava =
+      new Jinjava(
+        BaseJinjavaTest.newConfigBuilder().withEnableImportMemoization(true).build()
+      );
+  }
+
+  @Test
+  public void itMemoizesRepeatedImportsWithinARender() {
+    Map<String, Integer> loads = new HashMap<>();
+    jinjava.setResourceLocator((fullName, encoding, interpreter) -> {
+      loads.merge(fullName, 1, Integer::sum);
+      return "{% set greeting = 'Hello' %}{% macro hello(name) %}{{ greeting }} {{ name }}{% endmacro %}";
+    });
+
+    String template =
+      "{% import 'macros.jinja' as m %}{{ m.hello('a') }}|" +
+      "{% import 'macros.jinja' as m %}{{ m.hello('b') }}|" +
+      "{% import 'macros.jinja' as other %}{{ other.greeting }}|" +
+      "{% import 'macros.jinja' %}{{ hello('c') }}|" +
+      "{% import 'macros.jinja' %}{{ hello('d') }}";
+
+    assertThat(jinjava.render(template, new HashMap<>()))
+      .isEqualTo("Hello a|Hello b|Hello|Hello c|Hello d");
+    // once per distinct alias
+    assertThat(loads.get("macros.jinja")).isEqualTo(3);
+
+    assertThat(jinjava.render(template, new HashMap<>()))
+      .isEqualTo("Hello a|Hello b|Hello|Hello c|Hello d");
+    assertThat(loads.get("macros.jinja")).isEqualTo(6);
+  }
+
+  @Test
+  public void itDoesNotShareImportedMapsBetweenMemoizedImports() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{% set value = 'original' %}"
+    );
+
+    assertThat(
+      jinjava.render(
+        "{% import 'vars.jinja' as v %}{% do v.update({'value': 'changed'}) %}" +
+        "{% import 'vars.jinja' as v %}{{ v.value }}",
+        new HashMap<>()
+      )
+    )
+      .isEqualTo("original");
+  }
+
+  @Test
+  public void itDoesNotMemoizeImportsWhichReadVariablesBeforeSettingThem() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{% set title = title|default('none') %}{% set t = title %}"
+    );
+
+    assertThat(
+      jinjava.render(
+        "{% set title = 'A' %}{% import 'p' as m %}{{ m.t }} " +
+        "{% set title = 'B' %}{% import 'p' as m %}{{ m.t }}",
+        new HashMap<>()
+      )
+    )
+      .isEqualTo("A B");
+  }
+
+  @Test
+  public void itDoesNotMemoizeImportsWhichReadTheImportingContext() {
+    Map<String, Integer> loads = new HashMap<>();
+    jinjava.setResourceLocator((fullName, encoding, interpreter) -> {
+      loads.merge(fullName, 1, Integer::sum);
+      return "{% set v = outer ~ '!' %}";
+    });
+
+    assertThat(
+      jinjava.render(
+        "{% set outer = 'a' %}{% import 'x.jinja' as x %}{{ x.v }}" +
+        "{% set outer = 'b' %}{% import 'x.jinja' as x %}{{ x.v }}",
+        new HashMap<>()
+      )
+    )
+      .isEqualTo("a!b!");
+    assertThat(loads.get("x.jinja")).isEqualTo(2);
+  }
+
+  @Test
+  public void itDoesNotShareNestedValuesBetweenMemoizedImports() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{% set items = [[1]] %}"
+    );
+
+    assertThat(
+      jinjava.render(
+        "{% import 'vars.jinja' as v %}{% do v.items[0].append(2) %}{{ v.items }}" +
+        "{% import 'vars.jinja' as v %}{{ v.items }}" +
+        "{% import 'vars.jinja' as v %}{% do v.items.append(3) %}" +
+        "{% import 'vars.jinja' as v %}{{ v.items }}",
+        new HashMap<>()
+      )
+    )
+      .isEqualTo("[[1, 2]][[1]][[1]]");
+  }
+
+  @Test
+  public void itReportsErrorsForMemoizedImports() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      "{% unknowntag %}"
+    );
+
+    RenderResult result = jinjava.renderForResult(
+      "{% import 'broken.jinja' as b %}\n{% import 'broken.jinja' as b %}",
+      new HashMap<>()
+    );
+    assertThat(result.getErrors()).hasSize(2);
+    assertThat(result.getErrors().get(1).getLineno()).isEqualTo(2);
+  }
+
+  @Test
+  public void itDoesNotMemoizeDeferredImports() {
+    jinjava.setResourceLocator((fullName, encoding, interpreter) ->
+      Resources.toString(Resources.getResource(fullName), StandardCharsets.UTF_8)
+    );
+    JinjavaInterpreter memoizingInterpreter = jinjava.newInterpreter();
+    memoizingInterpreter
+      .getContext()
+      .put("primary_font_size_num", DeferredValue.instance());
+
+    memoizingInterpreter.render(
+      "{% import 'tags/settag/set-var-exp.jinja' as pegasus %}" +
+      "{% import 'tags/settag/set-var-exp.jinja' as pegasus %}"
+    );
+    assertThat(
+      memoizingInterpreter.getImportResult("tags/settag/set-var-exp.jinja", "pegasus")
+    )
+      .isEmpty();
+    assertThat(memoizingInterpreter.getContext().get("pegasus"))
+      .isInstanceOf(DeferredValue.class);
+  }
+}
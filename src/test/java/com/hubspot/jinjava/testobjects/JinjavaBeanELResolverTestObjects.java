@@ -35,4 +35,29 @@ public class JinjavaBeanELResolverTestObjects {
       return "Number int";
     }
   }
+
+  public static class TempItCachesAccessors {
+
+    private final StringBuilder calls = new StringBuilder();
+
+    public String getName() {
+      return "name";
+    }
+
+    public static String describe(Object a) {
+      return "static " + a;
+    }
+
+    public void record(String call) {
+      calls.append(call);
+    }
+
+    public String join(String separator, String... parts) {
+      return String.join(separator, parts);
+    }
+
+    public String getCalls() {
+      return calls.toString();
+    }
+  }
 }
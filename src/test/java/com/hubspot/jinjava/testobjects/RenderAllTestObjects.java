@@ -0,0 +1,28 @@
+package com.hubspot.jinjava.testobjects;
+
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.lib.filter.Filter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RenderAllTestObjects {
+
+  public static class TallyFilter implements Filter {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public String getName() {
+      return "tally";
+    }
+
+    @Override
+    public Object filter(Object var, JinjavaInterpreter interpreter, String... args) {
+      count.incrementAndGet();
+      return var;
+    }
+
+    public int getCount() {
+      return count.get();
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.hubspot.jinjava.testobjects;
+
+public class StreamingRenderTestObjects {
+
+  public static class WrittenOutput {
+
+    private final StringBuilder output;
+
+    public WrittenOutput(StringBuilder output) {
+      this.output = output;
+    }
+
+    public String getOutput() {
+      return "[" + output + "]";
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package com.hubspot.jinjava.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableMap;
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.cache.DefaultTemplateCache;
+import com.hubspot.jinjava.cache.ParsedTemplate;
+import com.hubspot.jinjava.cache.TemplateCache;
+import com.hubspot.jinjava.cache.TemplateCacheKey;
+import com.hubspot.jinjava.cache.TemplateCacheStats;
+import com.hubspot.jinjava.interpret.DeferredValue;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.mode.EagerExecutionMode;
+import com.hubspot.jinjava.tree.parse.TextToken;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FrozenTreeTest extends BaseJinjavaTest {
+
+  private static final int THREADS = 16;
+  private static final int RENDERS_PER_THREAD = 50;
+
+  private static final String TEMPLATE =
+    "{% macro item(name, i) -%}\n" +
+    "  <li class=\"{{ loop_class }}\">{{ i }}: {{ name|upper }}</li>\n" +
+    "{%- endmacro %}\n" +
+    "{% set loop_class = 'row-' ~ id %}\n" +
+    "<ul>\n" +
+    "{% for name in names -%}\n" +
+    "  {% if loop.index is even -%}\n" +
+    "    {{ item(name, loop.index) }}\n" +
+    "  {%- else -%}\n" +
+    "    {{ item(name|reverse, loop.index) }}\n" +
+    "  {%- endif %}\n" +
+    "{% endfor -%}\n" +
+    "</ul>\n" +
+    "{% if flag -%} flagged {%- endif %} {{ id }}";
+
+  private ExecutorService executorService;
+
+  @Before
+  public void setup() {
+    executorService = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @After
+  public void teardown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void itOnlyFreezesCachedTrees() {
+    JinjavaInterpreter interpreter = jinjava.newInterpreter();
+    String template = "a{% if true %}b{% endif %}c";
+    Node uncached = new TreeParser(interpreter, template).buildTree();
+    assertThat(uncached.isFrozen()).isFalse();
+    uncached.getChildren().removeLast();
+    assertThat(uncached.getChildren()).hasSize(2);
+
+    jinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    Node root = jinjava.newInterpreter().parseCached(template);
+
+    assertThat(root.isFrozen()).isTrue();
+    assertThat(root.getChildren()).hasSize(3);
+    Node ifNode = root.getChildren().get(1);
+    assertThat(ifNode.isFrozen()).isTrue();
+    assertThat(ifNode.getMaster().isFrozen()).isTrue();
+
+    assertThatThrownBy(() -> root.getChildren().add(ifNode))
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> ifNode.getChildren().clear())
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> root.getChildren().iterator().remove())
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> ifNode.setParent(null))
+      .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> ifNode.getMaster().setRightTrimAfterEnd(true))
+      .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() ->
+        ((TextToken) root.getChildren().getFirst().getMaster()).mergeImageAndContent(
+            (TextToken) root.getChildren().getLast().getMaster()
+          )
+      )
+      .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void itRendersASharedTreeFromManyThreads() throws Exception {
+    TemplateCache cache = DefaultTemplateCache.newBuilder().build();
+    AtomicInteger parses = new AtomicInteger();
+    jinjava.setTemplateCache(
+      new TemplateCache() {
+        @Override
+        public ParsedTemplate get(
+          TemplateCacheKey key,
+          Function<TemplateCacheKey, ParsedTemplate> parser
+        ) {
+          return cache.get(
+            key,
+            k -> {
+              parses.incrementAndGet();
+              return parser.apply(k);
+            }
+          );
+        }
+
+        @Override
+        public void invalidateAll() {
+          cache.invalidateAll();
+        }
+
+        @Override
+        public TemplateCacheStats getStats() {
+          return cache.getStats();
+        }
+      }
+    );
+    assertSameOutputWhenRenderedConcurrently(
+      jinjava,
+      i ->
+        ImmutableMap.of(
+          "id",
+          i,
+          "flag",
+          i % 3 == 0,
+          "names",
+          List.of("alpha" + i, "beta", "gamma" + i)
+        )
+    );
+    // threads waiting on the first parse are counted as misses, so count the parses
+    assertThat(parses.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void itRendersASharedTreeEagerlyFromManyThreads() throws Exception {
+    Jinjava eagerJinjava = new Jinjava(
+      BaseJinjavaTest.newConfigBuilder()
+        .withExecutionMode(EagerExecutionMode.instance())
+        .build()
+    );
+    eagerJinjava.setTemplateCache(DefaultTemplateCache.newBuilder().build());
+    assertSameOutputWhenRenderedConcurrently(
+      eagerJinjava,
+      i ->
+        ImmutableMap.of(
+          "id",
+          i,
+          "flag",
+          DeferredValue.instance(),
+          "names",
+          i % 2 == 0 ? DeferredValue.instance() : List.of("alpha" + i, "beta")
+        )
+    );
+  }
+
+  private void assertSameOutputWhenRenderedConcurrently(
+    Jinjava jinjava,
+    Function<Integer, Map<String, Object>> bindingsForId
+  ) throws Exception {
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      expected.add(
+        new Jinjava(jinjava.getGlobalConfig()).render(TEMPLATE, bindingsForId.apply(i))
+      );
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<List<String>>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int id = t;
+      Callable<List<String>> task = () -> {
+        start.await();
+        List<String> outputs = new ArrayList<>();
+        for (int r = 0; r < RENDERS_PER_THREAD; r++) {
+          outputs.add(jinjava.render(TEMPLATE, bindingsForId.apply(id)));
+        }
+        return outputs;
+      };
+      futures.add(executorService.submit(task));
+    }
+    start.countDown();
+
+    for (int t = 0; t < THREADS; t++) {
+      assertThat(futures.get(t).get(1, TimeUnit.MINUTES))
+        .hasSize(RENDERS_PER_THREAD)
+        .containsOnly(expected.get(t));
+    }
+  }
+}
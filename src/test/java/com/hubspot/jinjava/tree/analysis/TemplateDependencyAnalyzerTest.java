@@ -0,0 +1,131 @@
+package com.hubspot.jinjava.tree.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hubspot.jinjava.BaseJinjavaTest;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TemplateDependencyAnalyzerTest extends BaseJinjavaTest {
+
+  private JinjavaInterpreter interpreter;
+
+  @Before
+  public void setup() {
+    interpreter = jinjava.newInterpreter();
+  }
+
+  @Test
+  public void itFindsLiteralTemplateReferences() {
+    TemplateDependencies dependencies = analyze(
+      "{% extends 'base.jinja' %}" +
+      "{% include \"header.jinja\" %}" +
+      "{% import 'macros.jinja' as m %}" +
+      "{% from 'forms.jinja' import input, button as btn %}" +
+      "{% include footer_path %}"
+    );
+
+    assertThat(dependencies.getTemplates())
+      .containsExactlyInAnyOrder(
+        "base.jinja",
+        "header.jinja",
+        "macros.jinja",
+        "forms.jinja"
+      );
+    assertThat(dependencies.getTags())
+      .containsExactlyInAnyOrder("extends", "include", "import", "from");
+    assertThat(dependencies.getVariables()).containsExactly("footer_path");
+  }
+
+  @Test
+  public void itFindsMacroCalls() {
+    TemplateDependencies dependencies = analyze(
+      "{% import 'macros.jinja' as m %}" +
+      "{% from 'forms.jinja' import button as btn %}" +
+      "{% macro greet(name) %}Hello {{ name }}{% endmacro %}" +
+      "{{ greet('a') }}{{ btn('b') }}{{ m.icon('c') }}{{ range(3) }}"
+    );
+
+    assertThat(dependencies.getMacroCalls())
+      .containsExactlyInAnyOrder("greet", "btn", "m.icon");
+    assertThat(dependencies.getFunctions()).containsExactly("range");
+    assertThat(dependencies.getVariables()).isEmpty();
+  }
+
+  @Test
+  public void itFindsFiltersAndExpTests() {
+    TemplateDependencies dependencies = analyze(
+      "{{ title|lower|capitalize }}" +
+      "{% if items is iterable and items|length > 2 %}{% endif %}" +
+      "{% for item in items|sort(attribute='name') %}{{ item is odd }}{% endfor %}"
+    );
+
+    assertThat(dependencies.getFilters())
+      .containsExactlyInAnyOrder("lower", "capitalize", "length", "sort");
+    assertThat(dependencies.getExpTests()).containsExactlyInAnyOrder("iterable", "odd");
+    assertThat(dependencies.getVariables()).containsExactlyInAnyOrder("title", "items");
+  }
+
+  @Test
+  public void itOnlyReportsVariablesWhichAreNeverSet() {
+    TemplateDependencies dependencies = analyze(
+      "{% set a, b = 1, c %}{% set block_set %}{{ d }}{% endset %}" +
+      "{% for k, v in e.items() %}{{ k }}{{ v }}{{ loop.index }}{% endfor %}" +
+      "{% macro m(x, y=f) %}{{ x }}{{ y }}{{ caller() }}{% endmacro %}" +
+      "{{ a }}{{ b }}{{ block_set }}{{ g.h }}{% set ns.value = a %}"
+    );
+
+    assertThat(dependencies.getVariables())
+      .containsExactlyInAnyOrder("c", "d", "e", "f", "g", "ns");
+  }
+
+  @Test
+  public void itOnlyTreatsTheLoopAsSetWithinAForLoop() {
+    assertThat(analyze("{% for i in a %}{{ loop.index }}{% endfor %}").getVariables())
+      .containsExactly("a");
+    assertThat(analyze("{{ loop.index }}").getVariables()).containsExactly("loop");
+    assertThat(analyze("{% continue %}").getVariables()).containsExactly("loop");
+    assertThat(analyze("{{ caller }}").getVariables()).containsExactly("caller");
+  }
+
+  @Test
+  public void itReportsVariablesWhichMayBeReadBeforeTheyAreSet() {
+    assertThat(analyze("{% set x = x + 1 %}").getVariables()).containsExactly("x");
+    assertThat(analyze("{% for x in x %}{{ x }}{% endfor %}").getVariables())
+      .containsExactly("x");
+    assertThat(analyze("{{ x }}{% set x = 1 %}{{ x }}").getVariables())
+      .containsExactly("x");
+    assertThat(
+      analyze("{% for i in a %}{% set x = i %}{% endfor %}{{ x }}").getVariables()
+    )
+      .containsExactlyInAnyOrder("a", "x");
+    assertThat(
+      analyze("{% if a %}{% set x = 1 %}{% else %}{{ x }}{% endif %}").getVariables()
+    )
+      .containsExactlyInAnyOrder("a", "x");
+    assertThat(analyze("{% set ns = {} %}{% set ns.x = 1 %}{{ ns.x }}").getVariables())
+      .isEmpty();
+  }
+
+  @Test
+  public void itFindsVariablesInCollectionsAndNamedArguments() {
+    TemplateDependencies dependencies = analyze(
+      "{{ [a, (b, 1)] }}{{ {'key': c, name: 2} }}{{ d|truncate(length=e) }}"
+    );
+
+    assertThat(dependencies.getVariables())
+      .containsExactlyInAnyOrder("a", "b", "c", "d", "e");
+  }
+
+  @Test
+  public void itIgnoresInvalidExpressions() {
+    TemplateDependencies dependencies = analyze("{{ a + }}{{ b }}");
+
+    assertThat(dependencies.getVariables()).containsExactly("b");
+  }
+
+  private TemplateDependencies analyze(String template) {
+    return TemplateDependencyAnalyzer.analyze(interpreter.parse(template), interpreter);
+  }
+}
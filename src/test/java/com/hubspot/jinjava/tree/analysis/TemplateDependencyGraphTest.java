@@ -0,0 +1,65 @@
+package com.hubspot.jinjava.tree.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+public class TemplateDependencyGraphTest {
+
+  private final TemplateDependencyGraph graph = new TemplateDependencyGraph();
+
+  @Test
+  public void itFindsTransitiveDependenciesAndDependents() {
+    graph.setDependencies("page", ImmutableList.of("base", "macros"));
+    graph.setDependencies("base", ImmutableList.of("footer"));
+    graph.setDependencies("other", ImmutableList.of("footer"));
+
+    assertThat(graph.getDependencies("page"))
+      .containsExactlyInAnyOrder("base", "macros");
+    assertThat(graph.getTransitiveDependencies("page"))
+      .containsExactlyInAnyOrder("base", "macros", "footer");
+    assertThat(graph.getDependents("footer")).containsExactlyInAnyOrder("base", "other");
+    assertThat(graph.getTransitiveDependents("footer"))
+      .containsExactlyInAnyOrder("base", "other", "page");
+  }
+
+  @Test
+  public void itReplacesDependenciesOnUpdate() {
+    graph.setDependencies("page", ImmutableList.of("a", "b"));
+    graph.setDependencies("page", ImmutableList.of("b", "c"));
+
+    assertThat(graph.getDependencies("page")).containsExactlyInAnyOrder("b", "c");
+    assertThat(graph.getDependents("a")).isEmpty();
+    assertThat(graph.getDependents("c")).containsExactly("page");
+  }
+
+  @Test
+  public void itHandlesCycles() {
+    graph.setDependencies("a", ImmutableList.of("b"));
+    graph.addDependency("b", "a");
+
+    assertThat(graph.getTransitiveDependencies("a")).containsExactly("b");
+    assertThat(graph.getTransitiveDependents("a")).containsExactly("b");
+  }
+
+  @Test
+  public void itTreatsTemplatesWhoseReferencesDontFitAsReferencingEverything() {
+    TemplateDependencyGraph graph = new TemplateDependencyGraph(2);
+    graph.setDependencies("page", ImmutableList.of("base"));
+    graph.addDependency("other", "footer");
+    graph.addDependency("dynamic", "generated");
+
+    assertThat(graph.getDependencies("dynamic")).isEmpty();
+    assertThat(graph.isIncomplete("dynamic")).isTrue();
+    assertThat(graph.getTransitiveDependents("base"))
+      .containsExactlyInAnyOrder("page", "dynamic");
+
+    graph.removeDependencies("page");
+    graph.setDependencies("dynamic", ImmutableList.of("generated"));
+
+    assertThat(graph.isIncomplete("dynamic")).isFalse();
+    assertThat(graph.getTransitiveDependents("generated")).containsExactly("dynamic");
+    assertThat(graph.getTransitiveDependents("base")).isEmpty();
+  }
+}
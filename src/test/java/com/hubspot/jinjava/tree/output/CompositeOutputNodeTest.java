@@ -0,0 +1,71 @@
+package com.hubspot.jinjava.tree.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hubspot.jinjava.interpret.OutputTooBigException;
+import org.junit.Test;
+
+public class CompositeOutputNodeTest {
+
+  @Test
+  public void itJoinsNestedNodes() {
+    CompositeOutputNode inner = new CompositeOutputNode(0)
+      .add(new RenderedOutputNode("b"))
+      .add(new RenderedOutputNode("\u00e9"));
+    CompositeOutputNode outer = new CompositeOutputNode(0)
+      .add(new RenderedOutputNode("a"))
+      .add(inner)
+      .add(new RenderedOutputNode(null));
+
+    assertThat(outer.getValue()).isEqualTo("ab\u00e9null");
+    assertThat(outer.length()).isEqualTo(7);
+    assertThat(outer.getSize()).isEqualTo(8);
+  }
+
+  @Test
+  public void itAddsTheCurrentValueOfDynamicNodes() {
+    DynamicRenderedOutputNode dynamic = new DynamicRenderedOutputNode();
+    dynamic.setValue("before");
+    CompositeOutputNode node = new CompositeOutputNode(0).add(dynamic);
+    dynamic.setValue("after");
+
+    assertThat(node.getValue()).isEqualTo("before");
+  }
+
+  @Test
+  public void itWritesWithoutJoiningFirst() throws Exception {
+    CompositeOutputNode node = new CompositeOutputNode(0)
+      .add(new RenderedOutputNode("a"))
+      .add(new CompositeOutputNode(0).add(new RenderedOutputNode("b")));
+    StringBuilder builder = new StringBuilder();
+    node.writeTo(builder);
+
+    assertThat(builder.toString()).isEqualTo("ab");
+  }
+
+  @Test
+  public void itKeepsTheNodesAddedBeforeTheMaxLength() {
+    CompositeOutputNode node = new CompositeOutputNode(5)
+      .add(new RenderedOutputNode("abc"));
+
+    assertThatThrownBy(() -> node.add(new RenderedOutputNode("def")))
+      .isInstanceOf(OutputTooBigException.class);
+    assertThat(node.getValue()).isEqualTo("abc");
+    assertThat(node.length()).isEqualTo(3);
+    assertThat(node.add(new RenderedOutputNode("de")).getValue()).isEqualTo("abcde");
+  }
+
+  @Test
+  public void itKeepsAddingAfterBeingJoined() {
+    CompositeOutputNode node = new CompositeOutputNode(0)
+      .add(new RenderedOutputNode("a"))
+      .add(new RenderedOutputNode("b"));
+
+    assertThat(node.getValue()).isEqualTo("ab");
+    node.add(new RenderedOutputNode("c"));
+
+    assertThat(node.getValue()).isEqualTo("abc");
+    assertThat(node.getSize()).isEqualTo(3);
+  }
+}
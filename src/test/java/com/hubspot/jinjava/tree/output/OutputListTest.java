@@ -0,0 +1,64 @@
+package com.hubspot.jinjava.tree.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorReason;
+import java.io.IOException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OutputListTest {
+
+  private JinjavaInterpreter interpreter;
+
+  @Before
+  public void setup() {
+    interpreter = new Jinjava().newInterpreter();
+  }
+
+  @Test
+  public void itDropsCompositeNodesWhichDoNotFit() {
+    OutputList output = new OutputList(10, interpreter);
+    BlockPlaceholderOutputNode block = new BlockPlaceholderOutputNode("content");
+    output.addNode(block);
+    output.addNode(
+      new CompositeOutputNode(0)
+        .add(new RenderedOutputNode("ab"))
+        .add(new RenderedOutputNode("cd"))
+    );
+    block.resolve("12345678");
+
+    assertThat(output.getValue()).isEqualTo("12345678");
+    assertThat(interpreter.getErrors())
+      .extracting(TemplateError::getReason)
+      .containsExactly(ErrorReason.OUTPUT_TOO_BIG);
+  }
+
+  @Test
+  public void itCarriesOnWritingAfterFlushing() throws IOException {
+    OutputList output = new OutputList(0, interpreter);
+    StringBuilder builder = new StringBuilder();
+    output.addNode(new RenderedOutputNode("ab"));
+    output.flush(builder);
+
+    assertThat(builder.toString()).isEqualTo("ab");
+    assertThat(output.getNodes()).isEmpty();
+
+    output.addNode(new RenderedOutputNode("cd"));
+    output.writeTo(builder);
+    assertThat(builder.toString()).isEqualTo("abcd");
+  }
+
+  @Test
+  public void itDoesNotFlushUnresolvedBlocks() {
+    OutputList output = new OutputList(0, interpreter);
+    output.addNode(new BlockPlaceholderOutputNode("content"));
+
+    assertThatThrownBy(() -> output.flush(new StringBuilder()))
+      .isInstanceOf(IllegalStateException.class);
+  }
+}
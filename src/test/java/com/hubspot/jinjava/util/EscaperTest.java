@@ -0,0 +1,83 @@
+package com.hubspot.jinjava.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.hubspot.jinjava.lib.filter.EscapeFilter;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.Test;
+
+public class EscaperTest {
+
+  private static final List<String> INPUTS = ImmutableList.of(
+    "",
+    "plain text",
+    "<a href=\"x\">Tom & Jerry's</a>",
+    "tab\tnew\nline\rfeed\fback\bslash\\ /path",
+    "\u0000\u0001\u000b\u001f\u007f\u0080\u0085\u009f\u00a0",
+    "caf\u00e9 \u20ac \u0fff \u1000 \ufffe\uffff",
+    "emoji \ud83d\ude00 high \ud83d alone, low \ude00 alone\ud83d",
+    "a-b_c.d*e~f!g(h)i'j+k=l?m#n%o"
+  );
+
+  @Test
+  public void itReturnsTheSameStringWhenNothingNeedsEscaping() {
+    String input = "nothing to escape here";
+
+    assertThat(Escaper.HTML.escape(input)).isSameAs(input);
+    assertThat(Escaper.JS.escape(input)).isSameAs(input);
+    assertThat(Escaper.JSON.escape(input)).isSameAs(input);
+    assertThat(Escaper.XML.escape(input)).isSameAs(input);
+    String urlInput = "nothing_to.escape-here";
+    assertThat(Escaper.URL.escape(urlInput)).isSameAs(urlInput);
+  }
+
+  @Test
+  public void itEscapesHtmlLikeTheEscapeFilterDid() {
+    for (String input : INPUTS) {
+      assertThat(Escaper.HTML.escape(input))
+        .isEqualTo(EscapeFilter.oldEscapeHtmlEntities(input));
+    }
+  }
+
+  @Test
+  public void itEscapesJsonLikeCommonsLang() {
+    for (String input : INPUTS) {
+      assertThat(Escaper.JSON.escape(input))
+        .isEqualTo(StringEscapeUtils.escapeJson(input));
+    }
+  }
+
+  @Test
+  public void itEscapesXmlLikeCommonsLang() {
+    for (String input : INPUTS) {
+      assertThat(Escaper.XML.escape(input))
+        .isEqualTo(StringEscapeUtils.escapeXml10(input));
+    }
+  }
+
+  @Test
+  public void itEscapesUrlsLikeUrlEncoder() {
+    for (String input : INPUTS) {
+      assertThat(Escaper.URL.escape(input))
+        .isEqualTo(URLEncoder.encode(input, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void itEscapesJs() {
+    assertThat(Escaper.JS.escape("\"a\\b\" </script>\n\u0001\u00e9\u20ac"))
+      .isEqualTo("\\\"a\\\\b\\\" </script>\\n\\u0001\\u00E9\\u20AC");
+  }
+
+  @Test
+  public void itAppendsToTheGivenOutput() {
+    StringBuilder builder = new StringBuilder("title=\"");
+    Escaper.XML.escape("a < b", builder);
+
+    assertThat(builder.append('"').toString()).isEqualTo("title=\"a &lt; b\"");
+  }
+}
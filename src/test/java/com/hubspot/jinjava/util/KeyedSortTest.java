@@ -0,0 +1,82 @@
+package com.hubspot.jinjava.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class KeyedSortTest {
+
+  @Test
+  public void itExtractsEachKeyOnce() {
+    AtomicInteger extractions = new AtomicInteger();
+    List<String> sorted = KeyedSort.sort(
+      ImmutableList.of("ccc", "a", "bb", "dddd", ""),
+      s -> {
+        extractions.incrementAndGet();
+        return s.length();
+      },
+      Comparator.naturalOrder()
+    );
+
+    assertThat(sorted).containsExactly("", "a", "bb", "ccc", "dddd");
+    assertThat(extractions.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void itDoesNotExtractKeysWithNothingToCompare() {
+    List<Object> single = new ArrayList<>();
+    single.add(null);
+
+    assertThat(
+      KeyedSort.sort(
+        single,
+        o -> {
+          throw new IllegalStateException();
+        },
+        Comparator.naturalOrder()
+      )
+    )
+      .containsExactly((Object) null);
+  }
+
+  @Test
+  public void itSortsStablyByEachKeyInTurn() {
+    List<String> sorted = KeyedSort.sort(
+      ImmutableList.of("b2", "a2", "b1", "a1", "a2"),
+      s -> new Object[] { s.charAt(1), s.charAt(0) },
+      KeyedSort.lexicographic((a, b) -> ((Character) a).compareTo((Character) b))
+    );
+
+    assertThat(sorted).containsExactly("a1", "b1", "a2", "a2", "b2");
+  }
+
+  @Test
+  public void itSortsLargeCollectionsStably() {
+    List<int[]> items = new ArrayList<>();
+    for (int i = 0; i < KeyedSort.PARALLEL_THRESHOLD * 2; i++) {
+      items.add(new int[] { (i * 7919) % 100, i });
+    }
+
+    List<int[]> sorted = KeyedSort.sort(
+      items,
+      item -> item[0],
+      Comparator.naturalOrder()
+    );
+
+    assertThat(sorted).hasSameSizeAs(items);
+    for (int i = 1; i < sorted.size(); i++) {
+      int[] previous = sorted.get(i - 1);
+      int[] current = sorted.get(i);
+      assertThat(
+        previous[0] < current[0] ||
+        (previous[0] == current[0] && previous[1] < current[1])
+      )
+        .isTrue();
+    }
+  }
+}